@@ -0,0 +1,218 @@
+package com.technicalchallenge.benchmark;
+
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeLegDTO;
+import com.technicalchallenge.model.*;
+import com.technicalchallenge.repository.HolidayDateRow;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded generator of synthetic trades for the benchmarks.
+ *
+ * Only names present in data.sql are used, so generated DTOs book cleanly against a freshly
+ * seeded database. The same seed always yields the same sequence; dates are placed relative
+ * to the run date because validation rejects trade dates more than 30 days in the past.
+ */
+public final class BenchmarkData {
+
+    public static final long DEFAULT_SEED = 20240601L;
+
+    private static final String[] BOOKS = {"FX-BOOK-1", "RATES-BOOK-1"};
+    private static final String[] COUNTERPARTIES = {"BigBank", "MegaFund"};
+    private static final String[] TRADERS = {"Simon", "Joey"};
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP"};
+    private static final String[] INDEXES = {"LIBOR", "EURIBOR"};
+    private static final String[] SCHEDULES = {"Monthly", "Quarterly"};
+    private static final String[] STATUSES = {"NEW", "AMENDED", "LIVE"};
+
+    private final Random random;
+    private final LocalDate today = LocalDate.now();
+    private long nextId = 1;
+
+    public BenchmarkData(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /** A two-legged fixed/floating swap as the booking API receives it */
+    public TradeDTO tradeDto() {
+        LocalDate tradeDate = today.minusDays(random.nextInt(20));
+        LocalDate startDate = tradeDate.plusDays(2);
+
+        TradeDTO dto = new TradeDTO();
+        dto.setTradeDate(tradeDate);
+        dto.setTradeStartDate(startDate);
+        dto.setTradeMaturityDate(startDate.plusYears(1 + random.nextInt(10)));
+        dto.setBookName(pick(BOOKS));
+        dto.setCounterpartyName(pick(COUNTERPARTIES));
+        dto.setTraderUserName(pick(TRADERS));
+
+        BigDecimal notional = BigDecimal.valueOf(1_000_000L * (1 + random.nextInt(50)));
+        String currency = pick(CURRENCIES);
+        String schedule = pick(SCHEDULES);
+
+        TradeLegDTO fixed = new TradeLegDTO();
+        fixed.setNotional(notional);
+        fixed.setRate(Math.round((0.5 + random.nextDouble() * 5) * 100) / 100.0);
+        fixed.setCurrency(currency);
+        fixed.setLegType("Fixed");
+        fixed.setCalculationPeriodSchedule(schedule);
+        fixed.setPayReceiveFlag("Pay");
+
+        TradeLegDTO floating = new TradeLegDTO();
+        floating.setNotional(notional);
+        floating.setCurrency(currency);
+        floating.setLegType("Floating");
+        floating.setIndexName(pick(INDEXES));
+        floating.setCalculationPeriodSchedule(schedule);
+        floating.setPayReceiveFlag("Receive");
+
+        dto.setTradeLegs(List.of(fixed, floating));
+        return dto;
+    }
+
+    /** A fully populated trade entity graph, as loaded for the blotter */
+    public Trade trade(int legCount, int cashflowsPerLeg) {
+        Trade trade = new Trade();
+        trade.setId(nextId++);
+        trade.setTradeId(100_000L + trade.getId());
+        trade.setVersion(1);
+        trade.setTradeDate(today.minusDays(random.nextInt(20)));
+        trade.setTradeStartDate(trade.getTradeDate().plusDays(2));
+        trade.setTradeMaturityDate(trade.getTradeStartDate().plusYears(5));
+        trade.setUtiCode("UTI-" + trade.getTradeId());
+        trade.setSettlementInstructions("Settle via CLS, account " + random.nextInt(1_000_000));
+        trade.setLastTouchTimestamp(LocalDateTime.now());
+        trade.setActive(true);
+        trade.setCreatedDate(LocalDateTime.now());
+
+        Book book = new Book();
+        book.setId(1000L);
+        book.setBookName(pick(BOOKS));
+        trade.setBook(book);
+        Counterparty counterparty = new Counterparty();
+        counterparty.setId(1000L);
+        counterparty.setName(pick(COUNTERPARTIES));
+        trade.setCounterparty(counterparty);
+        ApplicationUser trader = new ApplicationUser();
+        trader.setId(1003L);
+        trader.setFirstName("Simon");
+        trader.setLastName("King");
+        trade.setTraderUser(trader);
+        trade.setTradeInputterUser(trader);
+        TradeType type = new TradeType();
+        type.setId(1001L);
+        type.setTradeType("Swap");
+        trade.setTradeType(type);
+        TradeStatus status = new TradeStatus();
+        status.setId(1000L);
+        status.setTradeStatus(pick(STATUSES));
+        trade.setTradeStatus(status);
+
+        List<TradeLeg> legs = new ArrayList<>(legCount);
+        for (int i = 0; i < legCount; i++) {
+            TradeLeg leg = fixedLeg(pick(SCHEDULES));
+            leg.setLegId(nextId++);
+            leg.setTrade(trade);
+            List<Cashflow> cashflows = new ArrayList<>(cashflowsPerLeg);
+            LocalDate valueDate = trade.getTradeStartDate();
+            for (int c = 0; c < cashflowsPerLeg; c++) {
+                valueDate = valueDate.plusMonths(1);
+                Cashflow cashflow = new Cashflow();
+                cashflow.setId(nextId++);
+                cashflow.setTradeLeg(leg);
+                cashflow.setValueDate(valueDate);
+                cashflow.setRate(leg.getRate());
+                cashflow.setPaymentValue(BigDecimal.valueOf(random.nextInt(100_000), 2));
+                cashflow.setPayRec(leg.getPayReceiveFlag());
+                cashflow.setPaymentType(leg.getLegRateType());
+                cashflow.setPaymentBusinessDayConvention(leg.getPaymentBusinessDayConvention());
+                cashflow.setCreatedDate(LocalDateTime.now());
+                cashflows.add(cashflow);
+            }
+            leg.setCashflows(cashflows);
+            legs.add(leg);
+        }
+        trade.setTradeLegs(legs);
+        return trade;
+    }
+
+    /** A fixed leg with every reference populated, rolled on the given schedule */
+    public TradeLeg fixedLeg(String schedule) {
+        TradeLeg leg = new TradeLeg();
+        leg.setNotional(BigDecimal.valueOf(1_000_000L * (1 + random.nextInt(50))));
+        leg.setRate(Math.round((0.5 + random.nextDouble() * 5) * 100) / 100.0);
+
+        Currency currency = new Currency();
+        currency.setId(1000L);
+        currency.setCurrency(pick(CURRENCIES));
+        leg.setCurrency(currency);
+        LegType legType = new LegType();
+        legType.setId(1000L);
+        legType.setType("Fixed");
+        leg.setLegRateType(legType);
+        Index index = new Index();
+        index.setId(1000L);
+        index.setIndex(pick(INDEXES));
+        leg.setIndex(index);
+        HolidayCalendar calendar = new HolidayCalendar();
+        calendar.setId(1000L);
+        calendar.setHolidayCalendar("NY");
+        leg.setHolidayCalendar(calendar);
+        Schedule legSchedule = new Schedule();
+        legSchedule.setId(1000L);
+        legSchedule.setSchedule(schedule);
+        leg.setCalculationPeriodSchedule(legSchedule);
+        BusinessDayConvention bdc = new BusinessDayConvention();
+        bdc.setId(1001L);
+        bdc.setBdc("Modified Following");
+        leg.setPaymentBusinessDayConvention(bdc);
+        leg.setFixingBusinessDayConvention(bdc);
+        PayRec payRec = new PayRec();
+        payRec.setId(1000L);
+        payRec.setPayRec("Pay");
+        leg.setPayReceiveFlag(payRec);
+        return leg;
+    }
+
+    /** Fixed-date holidays plus one random day a month, for every year in the range */
+    public List<HolidayDateRow> holidays(String calendar, int fromYear, int toYear) {
+        List<HolidayDateRow> rows = new ArrayList<>();
+        for (int year = fromYear; year <= toYear; year++) {
+            rows.add(new HolidayDateRow(calendar, LocalDate.of(year, 1, 1)));
+            rows.add(new HolidayDateRow(calendar, LocalDate.of(year, 7, 4)));
+            rows.add(new HolidayDateRow(calendar, LocalDate.of(year, 12, 25)));
+            for (int month = 1; month <= 12; month++) {
+                rows.add(new HolidayDateRow(calendar, LocalDate.of(year, month, 1 + random.nextInt(28))));
+            }
+        }
+        return rows;
+    }
+
+    /** Distinct RSQL queries of the shapes users save: header filters, leg filters and parameters */
+    public List<String> rsqlQueries(int count) {
+        List<String> queries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate from = today.minusDays(random.nextInt(365));
+            switch (i % 4) {
+                case 0 -> queries.add("counterparty.name==" + pick(COUNTERPARTIES) + ";tradeDate=ge=" + from);
+                case 1 -> queries.add("book.bookName=in=(" + String.join(",", BOOKS) + ");tradeStatus.tradeStatus=="
+                        + pick(STATUSES));
+                case 2 -> queries.add("tradeLegs.currency.currency==" + pick(CURRENCIES) + ";tradeLegs.notional=gt="
+                        + 1_000_000L * (1 + random.nextInt(50)));
+                default -> queries.add("(counterparty.name==:cp,book.bookName==:book);tradeMaturityDate=le="
+                        + from.plusYears(5));
+            }
+        }
+        return queries;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
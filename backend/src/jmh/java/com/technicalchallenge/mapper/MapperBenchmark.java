@@ -0,0 +1,161 @@
+package com.technicalchallenge.mapper;
+
+import com.technicalchallenge.dto.BookDTO;
+import com.technicalchallenge.dto.CounterpartyDTO;
+import com.technicalchallenge.dto.UserDTO;
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.CostCenter;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.UserProfile;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List-endpoint mapping (entities to DTOs) through the generated MapStruct mappers against the
+ * reflective ModelMapper configuration they replaced. Run with the GC profiler to compare
+ * allocation as well: -Djmh.args="MapperBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"100"})
+    public int rows;
+
+    private ModelMapper modelMapper;
+    private CounterpartyMapper counterpartyMapper;
+    private BookMapper bookMapper;
+    private ApplicationUserMapper applicationUserMapper;
+
+    private List<Counterparty> counterparties;
+    private List<Book> books;
+    private List<ApplicationUser> users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // As configured in the former ModelMapperConfig
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setFieldMatchingEnabled(true)
+                .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
+        counterpartyMapper = new CounterpartyMapperImpl();
+        bookMapper = new BookMapperImpl();
+        applicationUserMapper = new ApplicationUserMapperImpl();
+
+        CostCenter costCenter = new CostCenter();
+        costCenter.setId(1000L);
+        costCenter.setCostCenterName("London Trading");
+        UserProfile profile = new UserProfile();
+        profile.setId(1000L);
+        profile.setUserType("TRADER_SALES");
+
+        counterparties = new ArrayList<>(rows);
+        books = new ArrayList<>(rows);
+        users = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Counterparty counterparty = new Counterparty();
+            counterparty.setId(1000L + i);
+            counterparty.setName("Counterparty " + i);
+            counterparty.setAddress(i + " Bank Street, London");
+            counterparty.setPhoneNumber("+44 20 7946 " + (1000 + i));
+            counterparty.setInternalCode(5000L + i);
+            counterparty.setCreatedDate(LocalDate.of(2024, 1, 1));
+            counterparty.setLastModifiedDate(LocalDate.of(2024, 6, 1));
+            counterparty.setActive(true);
+            counterparties.add(counterparty);
+
+            Book book = new Book();
+            book.setId(1000L + i);
+            book.setBookName("BOOK-" + i);
+            book.setActive(true);
+            book.setVersion(1);
+            book.setCostCenter(costCenter);
+            books.add(book);
+
+            ApplicationUser user = new ApplicationUser();
+            user.setId(1000L + i);
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setLoginId("user" + i);
+            user.setPassword("password");
+            user.setActive(true);
+            user.setUserProfile(profile);
+            user.setVersion(1);
+            user.setLastModifiedTimestamp(LocalDateTime.of(2024, 6, 1, 12, 0));
+            users.add(user);
+        }
+    }
+
+    @Benchmark
+    public List<CounterpartyDTO> counterpartiesModelMapper() {
+        List<CounterpartyDTO> result = new ArrayList<>(rows);
+        for (Counterparty counterparty : counterparties) {
+            result.add(modelMapper.map(counterparty, CounterpartyDTO.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<CounterpartyDTO> counterpartiesGenerated() {
+        List<CounterpartyDTO> result = new ArrayList<>(rows);
+        for (Counterparty counterparty : counterparties) {
+            result.add(counterpartyMapper.toDto(counterparty));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<BookDTO> booksModelMapper() {
+        List<BookDTO> result = new ArrayList<>(rows);
+        for (Book book : books) {
+            BookDTO dto = modelMapper.map(book, BookDTO.class);
+            dto.setCostCenterName(book.getCostCenter() != null ? book.getCostCenter().getCostCenterName() : null);
+            result.add(dto);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<BookDTO> booksGenerated() {
+        List<BookDTO> result = new ArrayList<>(rows);
+        for (Book book : books) {
+            result.add(bookMapper.toDto(book));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<UserDTO> usersModelMapper() {
+        List<UserDTO> result = new ArrayList<>(rows);
+        for (ApplicationUser user : users) {
+            UserDTO dto = modelMapper.map(user, UserDTO.class);
+            if (user.getUserProfile() != null) {
+                dto.setUserProfile(user.getUserProfile().getUserType());
+            }
+            result.add(dto);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<UserDTO> usersGenerated() {
+        List<UserDTO> result = new ArrayList<>(rows);
+        for (ApplicationUser user : users) {
+            result.add(applicationUserMapper.toDto(user));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,48 @@
+package com.technicalchallenge.mapper;
+
+import com.technicalchallenge.benchmark.BenchmarkData;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.model.Trade;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TradeMapper.toDto for two-legged trades with growing cashflow schedules.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TradeMapperBenchmark {
+
+    private static final int POOL_SIZE = 64;
+
+    @Param({"4", "60", "360"})
+    public int cashflowsPerLeg;
+
+    private TradeMapper tradeMapper;
+    private List<Trade> trades;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tradeMapper = new TradeMapper();
+
+        BenchmarkData data = new BenchmarkData(BenchmarkData.DEFAULT_SEED);
+        trades = new ArrayList<>(POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            trades.add(data.trade(2, cashflowsPerLeg));
+        }
+    }
+
+    @Benchmark
+    public TradeDTO toDto() {
+        next = (next + 1) % POOL_SIZE;
+        return tradeMapper.toDto(trades.get(next));
+    }
+}
@@ -0,0 +1,47 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.benchmark.BenchmarkData;
+import com.technicalchallenge.model.Trade;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RsqlBuilder.from for a rotating set of saved queries, served from the plan cache and
+ * parsed from scratch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RsqlBuilderBenchmark {
+
+    private static final Map<String, String> PARAMS = Map.of("cp", "BigBank", "book", "FX-BOOK-1");
+
+    private List<String> queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queries = new BenchmarkData(BenchmarkData.DEFAULT_SEED).rsqlQueries(64);
+        RsqlBuilder.clearCache();
+    }
+
+    @Benchmark
+    public Specification<Trade> cached() {
+        next = (next + 1) % queries.size();
+        return RsqlBuilder.from(queries.get(next), PARAMS);
+    }
+
+    @Benchmark
+    public Specification<Trade> uncached() {
+        next = (next + 1) % queries.size();
+        RsqlBuilder.clearCache();
+        return RsqlBuilder.from(queries.get(next), PARAMS);
+    }
+}
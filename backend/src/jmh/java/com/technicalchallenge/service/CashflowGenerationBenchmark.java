@@ -0,0 +1,58 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.benchmark.BenchmarkData;
+import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.TradeLeg;
+import com.technicalchallenge.repository.HolidayCalendarDateRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cashflow schedule generation for one fixed leg across schedules and tenors, adjusted
+ * Modified Following against a NY calendar; no database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CashflowGenerationBenchmark {
+
+    @Param({"Monthly", "Quarterly", "6M", "12M"})
+    public String schedule;
+
+    @Param({"1", "10", "30"})
+    public int tenorYears;
+
+    private TradeService tradeService;
+    private TradeLeg leg;
+    private LocalDate startDate;
+    private LocalDate maturityDate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // buildCashflows only needs the cashflow engine; its holiday calendars come from generated dates
+        BenchmarkData data = new BenchmarkData(BenchmarkData.DEFAULT_SEED);
+        HolidayCalendarDateRepository repository = mock(HolidayCalendarDateRepository.class);
+        when(repository.findAllHolidayDates()).thenReturn(data.holidays("NY", 2025, 2060));
+        tradeService = new TradeService();
+        ReflectionTestUtils.setField(tradeService, "cashflowGenerationEngine",
+                new CashflowGenerationEngine(new HolidayCalendarStore(repository), "ACT/360"));
+        leg = data.fixedLeg(schedule);
+        startDate = LocalDate.of(2025, 1, 15);
+        maturityDate = startDate.plusYears(tenorYears);
+    }
+
+    @Benchmark
+    public List<Cashflow> buildCashflows() {
+        return tradeService.buildCashflows(leg, startDate, maturityDate);
+    }
+}
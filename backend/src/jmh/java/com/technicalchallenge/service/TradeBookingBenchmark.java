@@ -0,0 +1,51 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.benchmark.BenchmarkContext;
+import com.technicalchallenge.benchmark.BenchmarkData;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.model.Trade;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TradeService.createTrade end to end: validation, reference data lookups, id allocation,
+ * trade, leg and cashflow inserts and the aggregate upserts, each in its own transaction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TradeBookingBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private TradeService tradeService;
+    private BenchmarkData data;
+    private TradeDTO next;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start();
+        tradeService = context.getBean(TradeService.class);
+        data = new BenchmarkData(BenchmarkData.DEFAULT_SEED);
+    }
+
+    // createTrade fills in the trade id and status, so every call books a fresh DTO
+    @Setup(Level.Invocation)
+    public void nextTrade() {
+        next = data.tradeDto();
+    }
+
+    @Benchmark
+    public Trade createTrade() {
+        return tradeService.createTrade(next);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+}
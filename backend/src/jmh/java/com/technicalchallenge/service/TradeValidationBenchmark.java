@@ -0,0 +1,54 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.benchmark.BenchmarkContext;
+import com.technicalchallenge.benchmark.BenchmarkData;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.ValidationResult;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TradeValidationService.validateTradeBusinessRules over a rotating pool of valid swaps,
+ * including the book, counterparty and trader lookups against H2.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TradeValidationBenchmark {
+
+    private static final int POOL_SIZE = 256;
+
+    private ConfigurableApplicationContext context;
+    private TradeValidationService tradeValidationService;
+    private List<TradeDTO> trades;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start();
+        tradeValidationService = context.getBean(TradeValidationService.class);
+        BenchmarkData data = new BenchmarkData(BenchmarkData.DEFAULT_SEED);
+        trades = new ArrayList<>(POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            trades.add(data.tradeDto());
+        }
+    }
+
+    @Benchmark
+    public ValidationResult validateTradeBusinessRules() {
+        next = (next + 1) % POOL_SIZE;
+        return tradeValidationService.validateTradeBusinessRules(trades.get(next));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+}
@@ -0,0 +1,38 @@
+package com.technicalchallenge.config;
+
+import com.technicalchallenge.repository.RsqlBuilder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the RSQL compiled-query cache statistics and applies the configured cache size.
+ */
+@Component
+public class RsqlCacheMetrics implements MeterBinder {
+
+    public RsqlCacheMetrics(@Value("${rsql.cache.max-size:" + RsqlBuilder.DEFAULT_CACHE_SIZE + "}") int maxSize) {
+        RsqlBuilder.resizeCache(maxSize);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("rsql.cache.requests", RsqlBuilder.class, c -> RsqlBuilder.cacheStats().hits())
+                .tag("result", "hit")
+                .description("RSQL queries served from a cached plan")
+                .register(registry);
+        FunctionCounter.builder("rsql.cache.requests", RsqlBuilder.class, c -> RsqlBuilder.cacheStats().misses())
+                .tag("result", "miss")
+                .description("RSQL queries that had to be parsed and compiled")
+                .register(registry);
+        FunctionCounter.builder("rsql.cache.evictions", RsqlBuilder.class, c -> RsqlBuilder.cacheStats().evictions())
+                .description("Compiled RSQL plans evicted by the LRU bound")
+                .register(registry);
+        Gauge.builder("rsql.cache.size", RsqlBuilder.class, c -> RsqlBuilder.cacheStats().size())
+                .description("Compiled RSQL plans currently cached")
+                .register(registry);
+    }
+}
@@ -0,0 +1,62 @@
+package com.technicalchallenge.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes Hibernate second-level and query cache statistics per region, so the reference
+ * data cache can be watched through the actuator metrics endpoint.
+ */
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            FunctionCounter.builder("hibernate.cache.requests", regionStatistics, CacheRegionStatistics::getHitCount)
+                    .tag("region", region).tag("result", "hit")
+                    .description("Second-level cache lookups served from the cache")
+                    .register(registry);
+            FunctionCounter.builder("hibernate.cache.requests", regionStatistics, CacheRegionStatistics::getMissCount)
+                    .tag("region", region).tag("result", "miss")
+                    .description("Second-level cache lookups that went to the database")
+                    .register(registry);
+            FunctionCounter.builder("hibernate.cache.puts", regionStatistics, CacheRegionStatistics::getPutCount)
+                    .tag("region", region)
+                    .description("Entries written to the second-level cache")
+                    .register(registry);
+            Gauge.builder("hibernate.cache.size", regionStatistics, CacheRegionStatistics::getElementCountInMemory)
+                    .tag("region", region)
+                    .description("Entries currently held in the region, -1 if unknown")
+                    .register(registry);
+        }
+        FunctionCounter.builder("hibernate.cache.query.requests", statistics, Statistics::getQueryCacheHitCount)
+                .tag("result", "hit")
+                .description("Cacheable queries answered from the query cache")
+                .register(registry);
+        FunctionCounter.builder("hibernate.cache.query.requests", statistics, Statistics::getQueryCacheMissCount)
+                .tag("result", "miss")
+                .description("Cacheable queries that had to run against the database")
+                .register(registry);
+        FunctionCounter.builder("hibernate.cache.query.puts", statistics, Statistics::getQueryCachePutCount)
+                .description("Query results written to the query cache")
+                .register(registry);
+    }
+}
@@ -0,0 +1,33 @@
+package com.technicalchallenge.config;
+
+import com.technicalchallenge.service.SettlementInstructionIndex;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/settlementindex: the size and state of the settlement instruction index. POST
+ * rebuilds it from the active trades, e.g. after trades were loaded around the application.
+ */
+@Component
+@Endpoint(id = "settlementindex")
+public class SettlementIndexEndpoint {
+
+    private final SettlementInstructionIndex settlementInstructionIndex;
+
+    public SettlementIndexEndpoint(SettlementInstructionIndex settlementInstructionIndex) {
+        this.settlementInstructionIndex = settlementInstructionIndex;
+    }
+
+    @ReadOperation
+    public SettlementInstructionIndex.Stats stats() {
+        return settlementInstructionIndex.stats();
+    }
+
+    @WriteOperation
+    public SettlementInstructionIndex.Stats rebuild() {
+        settlementInstructionIndex.rebuild();
+        return settlementInstructionIndex.stats();
+    }
+}
@@ -0,0 +1,166 @@
+package com.technicalchallenge.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers and counters for the booking, validation, RSQL, dashboard and mapping hot paths.
+ *
+ * Meters go to Micrometer's global registry, which Spring Boot adds its own registry to, so
+ * they are scraped from /actuator/prometheus like the built-in ones. Being static, they also
+ * reach RsqlBuilder and mappers constructed without Spring; with no registry attached (plain
+ * unit tests) every meter is a no-op. Timers publish percentile histograms. Tag values come
+ * from reference data or fixed names only, never from free text, to keep series bounded.
+ */
+public final class TradeMetrics {
+
+    public static final String BOOKING = "trade.booking";
+    public static final String BOOKING_PHASE = "trade.booking.phase";
+    public static final String BOOKING_ROWS = "trade.booking.rows";
+    public static final String VALIDATION = "trade.validation";
+    public static final String MAPPING = "trade.mapping";
+    public static final String RSQL = "rsql.build";
+    public static final String DASHBOARD = "dashboard.query";
+
+    public static final String CREATE = "create";
+    public static final String AMEND = "amend";
+    public static final String UNKNOWN = "unknown";
+
+    private static final MeterRegistry REGISTRY = Metrics.globalRegistry;
+
+    private TradeMetrics() {
+    }
+
+    /** Stages of a booking; each stage's time is the sum of its laps */
+    public enum Phase {
+        VALIDATION, LOAD, ID_ALLOCATION, REFERENCE_LOOKUP, TRADE_INSERT, LEG_INSERT, CASHFLOW_GENERATION;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    /** Tables a booking writes to */
+    public enum Table {
+        TRADE, TRADE_LEG, CASHFLOW;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public static Booking startBooking(String operation, int legs) {
+        return new Booking(operation, legs);
+    }
+
+    /** Milliseconds-to-seconds timer, for work that goes to the database */
+    public static Timer timer(String name, String... tags) {
+        return histogram(name, Duration.ofMillis(1), Duration.ofSeconds(30), Tags.of(tags));
+    }
+
+    /** Microseconds-to-milliseconds timer, for in-memory work such as mapping or compiling */
+    public static Timer fastTimer(String name, String... tags) {
+        return histogram(name, Duration.ofNanos(1_000), Duration.ofMillis(100), Tags.of(tags));
+    }
+
+    public static <T> T time(Timer timer, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Legs beyond four share a bucket; bookings carry two
+    public static String legsTag(int legs) {
+        return legs > 4 ? "5+" : String.valueOf(legs);
+    }
+
+    private static Timer histogram(String name, Duration min, Duration max, Tags tags) {
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(min)
+                .maximumExpectedValue(max)
+                .register(REGISTRY);
+    }
+
+    /**
+     * Times one booking and its phases. Call {@link #lap} as each phase ends, {@link #rows}
+     * as rows are written and {@link #stop} in a finally block. The trade type tag is unknown
+     * until {@link #tradeType} is set after reference lookup.
+     */
+    public static final class Booking {
+
+        private final String operation;
+        private final String legs;
+        private final long started = System.nanoTime();
+        private final long[] phaseNanos = new long[Phase.values().length];
+        private final boolean[] phaseRan = new boolean[Phase.values().length];
+        private long lapStarted = started;
+        private volatile String tradeType = UNKNOWN;
+        private boolean succeeded;
+
+        private Booking(String operation, int legs) {
+            this.operation = operation;
+            this.legs = legsTag(legs);
+        }
+
+        /** Adds the time since the previous lap (or the start) to the phase */
+        public void lap(Phase phase) {
+            long now = System.nanoTime();
+            phaseNanos[phase.ordinal()] += now - lapStarted;
+            phaseRan[phase.ordinal()] = true;
+            lapStarted = now;
+        }
+
+        public void tradeType(String tradeType) {
+            if (tradeType != null) {
+                this.tradeType = tradeType;
+            }
+        }
+
+        /** Counts rows as they are written, also after stop for asynchronously written cashflows */
+        public void rows(Table table, long count) {
+            if (count <= 0) {
+                return;
+            }
+            Counter.builder(BOOKING_ROWS)
+                    .tags(tags().and("table", table.tag()))
+                    .description("Rows written by trade bookings")
+                    .register(REGISTRY)
+                    .increment(count);
+        }
+
+        public void succeeded() {
+            succeeded = true;
+        }
+
+        public void stop() {
+            long now = System.nanoTime();
+            Tags tags = tags();
+            histogram(BOOKING, Duration.ofMillis(1), Duration.ofSeconds(30),
+                    tags.and("outcome", succeeded ? "success" : "failure"))
+                    .record(now - started, TimeUnit.NANOSECONDS);
+            for (Phase phase : Phase.values()) {
+                if (phaseRan[phase.ordinal()]) {
+                    histogram(BOOKING_PHASE, Duration.ofNanos(1_000), Duration.ofSeconds(30), tags.and("phase", phase.tag()))
+                            .record(phaseNanos[phase.ordinal()], TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        private Tags tags() {
+            return Tags.of("operation", operation, "tradeType", tradeType, "legs", legs);
+        }
+    }
+}
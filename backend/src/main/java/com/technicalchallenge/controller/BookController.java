@@ -4,6 +4,7 @@ import com.technicalchallenge.dto.BookDTO;
 import com.technicalchallenge.mapper.BookMapper;
 import com.technicalchallenge.model.Book;
 import com.technicalchallenge.service.BookService;
+import com.technicalchallenge.service.TypeaheadIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -26,6 +27,9 @@ public class BookController {
     @Autowired
     private BookService bookService;
 
+    @Autowired
+    private TypeaheadIndex typeaheadIndex;
+
 
     @GetMapping
     public ResponseEntity<List<BookDTO>> getAllBooks() {
@@ -68,4 +72,15 @@ public class BookController {
                 .map(BookDTO::getBookName)
                 .toList();
     }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggestBooks(@RequestParam(name = "q", defaultValue = "") String q,
+                                          @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        logger.debug("Suggesting books for: {}", q);
+        try {
+            return ResponseEntity.ok(typeaheadIndex.suggest(TypeaheadIndex.Kind.BOOK, q, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
 }
@@ -20,12 +20,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import jakarta.validation.Valid;
 
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
-import java.math.BigDecimal;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -128,57 +126,15 @@ public class CashflowController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<List<CashflowDTO>> generateCashflows(@RequestBody CashflowGenerationRequest request) {
-        List<CashflowDTO> allCashflows = new ArrayList<>();
         if (request.getLegs() == null || request.getLegs().isEmpty()) {
-            return ResponseEntity.badRequest().body(allCashflows);
+            return ResponseEntity.badRequest().body(new ArrayList<>());
         }
-        for (CashflowGenerationRequest.TradeLegDTO leg : request.getLegs()) {
-            LocalDate startDate = request.getTradeStartDate();
-            LocalDate maturityDate = request.getTradeMaturityDate();
-            String schedule = leg.getCalculationPeriodSchedule();
-            int months = scheduleToMonths(schedule);
-            if (months <= 0) {
-                continue;
-            }
-            LocalDate valueDate = startDate;
-            while (valueDate.isBefore(maturityDate)) {
-                LocalDate nextValueDate = valueDate.plusMonths(months);
-                if (nextValueDate.isAfter(maturityDate)) {
-                    nextValueDate = maturityDate;
-                }
-                BigDecimal paymentValue = BigDecimal.ZERO;
-                if ("Fixed".equalsIgnoreCase(leg.getLegType())) {
-                    long days = java.time.temporal.ChronoUnit.DAYS.between(valueDate, nextValueDate);
-                    double rate = leg.getRate() != null ? leg.getRate() : 0.0;
-                    paymentValue = leg.getNotional().multiply(BigDecimal.valueOf(rate)).multiply(BigDecimal.valueOf(days)).divide(BigDecimal.valueOf(360), 2, BigDecimal.ROUND_HALF_UP);
-                }
-                // For floating, paymentValue remains 0
-                CashflowDTO cf = new CashflowDTO();
-                cf.setValueDate(nextValueDate);
-                cf.setPaymentValue(paymentValue);
-                cf.setPayRec(leg.getPayReceiveFlag());
-                cf.setPaymentType(leg.getLegType());
-                cf.setPaymentBusinessDayConvention(leg.getPaymentBusinessDayConvention());
-                cf.setRate(leg.getRate());
-                allCashflows.add(cf);
-                valueDate = nextValueDate;
-            }
+        try {
+            return ResponseEntity.ok(cashflowService.previewCashflows(request));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected cashflow generation request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ArrayList<>());
         }
-        return ResponseEntity.ok(allCashflows);
-    }
-
-    private int scheduleToMonths(String schedule) {
-        if (schedule == null) return 0;
-        schedule = schedule.toLowerCase();
-        if (schedule.contains("month")) {
-            if (schedule.contains("3")) return 3;
-            if (schedule.contains("6")) return 6;
-            if (schedule.contains("12")) return 12;
-            return 1;
-        }
-        if (schedule.contains("quarter")) return 3;
-        if (schedule.contains("annual") || schedule.contains("year")) return 12;
-        return 0;
     }
 
 }
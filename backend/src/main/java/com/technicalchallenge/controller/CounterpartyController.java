@@ -1,9 +1,11 @@
 package com.technicalchallenge.controller;
 
 import com.technicalchallenge.dto.CounterpartyDTO;
+import com.technicalchallenge.dto.SuggestionDTO;
 import com.technicalchallenge.mapper.CounterpartyMapper;
 import com.technicalchallenge.model.Counterparty;
 import com.technicalchallenge.service.CounterpartyService;
+import com.technicalchallenge.service.TypeaheadIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -31,6 +33,8 @@ public class CounterpartyController {
     private CounterpartyService counterpartyService;
     @Autowired
     private CounterpartyMapper counterpartyMapper;
+    @Autowired
+    private TypeaheadIndex typeaheadIndex;
 
     @GetMapping
     @Operation(summary = "Get all counterparties",
@@ -110,4 +114,24 @@ public class CounterpartyController {
                 .map(Counterparty::getName)
                 .toList();
     }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest counterparties",
+               description = "Retrieves the active counterparties whose name starts with or contains the text, best matches first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved suggestions, best first",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = SuggestionDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Limit out of range"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> suggestCounterparties(
+            @Parameter(description = "Text typed so far") @RequestParam(name = "q", defaultValue = "") String q,
+            @Parameter(description = "Maximum number of suggestions, 1 to 50") @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(typeaheadIndex.suggest(TypeaheadIndex.Kind.COUNTERPARTY, q, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
 }
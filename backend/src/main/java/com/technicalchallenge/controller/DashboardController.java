@@ -1,9 +1,14 @@
 package com.technicalchallenge.controller;
 
+import com.technicalchallenge.dto.CursorPage;
 import com.technicalchallenge.dto.DailySummaryDTO;
 import com.technicalchallenge.dto.TradeSummaryDTO;
 import com.technicalchallenge.mapper.TradeMapper;
 import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.repository.TradeCursor;
+import com.technicalchallenge.repository.TradeFetchPlan;
+import com.technicalchallenge.repository.TradeFieldSet;
 import com.technicalchallenge.service.DashboardService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,6 +25,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -45,10 +51,27 @@ public class DashboardController {
     public ResponseEntity<?> myTrades(
             @Parameter(description = "Trader identifier (loginId or numeric id)")
             @RequestParam(name = "performedBy") String performedBy,
+            @Parameter(description = "How much of each trade to return: summary, legs or cashflows (default)")
+            @RequestParam(name = "include", required = false) String include,
+            @Parameter(description = "Comma-separated TradeDTO header fields to return as slim rows, "
+                    + "e.g. tradeId,tradeDate,bookName,counterpartyName,tradeStatus; include is ignored when set")
+            @RequestParam(name = "fields", required = false) String fields,
             Pageable pageable
     ) {
+        TradeFetchPlan plan;
+        TradeFieldSet fieldSet;
+        try {
+            plan = TradeFetchPlan.fromParam(include, TradeFetchPlan.CASHFLOWS);
+            fieldSet = TradeFieldSet.parse(fields);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+        if (fieldSet != null) {
+            return ResponseEntity.ok(dashboardService.getMyTradeFields(performedBy, fieldSet, pageable));
+        }
         Page<Trade> page = dashboardService.getMyTrades(performedBy, pageable);
-        return ResponseEntity.ok(page.map(tradeMapper::toDto));
+        dashboardService.fetchAssociations(page.getContent(), plan);
+        return ResponseEntity.ok(page.map(dtoMapper(plan)));
     }
 
     @GetMapping("/book/{id}/trades")
@@ -60,10 +83,85 @@ public class DashboardController {
         schema = @Schema(implementation = com.technicalchallenge.dto.TradeDTO.class)))
     public ResponseEntity<?> bookTrades(
             @Parameter(description = "Book id") @PathVariable("id") Long bookId,
+            @Parameter(description = "How much of each trade to return: summary, legs or cashflows (default)")
+            @RequestParam(name = "include", required = false) String include,
+            @Parameter(description = "Comma-separated TradeDTO header fields to return as slim rows, "
+                    + "e.g. tradeId,tradeDate,bookName,counterpartyName,tradeStatus; include is ignored when set")
+            @RequestParam(name = "fields", required = false) String fields,
             Pageable pageable
     ) {
+        TradeFetchPlan plan;
+        TradeFieldSet fieldSet;
+        try {
+            plan = TradeFetchPlan.fromParam(include, TradeFetchPlan.CASHFLOWS);
+            fieldSet = TradeFieldSet.parse(fields);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+        if (fieldSet != null) {
+            return ResponseEntity.ok(dashboardService.getTradeFieldsByBook(bookId, fieldSet, pageable));
+        }
         Page<Trade> page = dashboardService.getTradesByBook(bookId, pageable);
-        return ResponseEntity.ok(page.map(tradeMapper::toDto));
+        dashboardService.fetchAssociations(page.getContent(), plan);
+        return ResponseEntity.ok(page.map(dtoMapper(plan)));
+    }
+
+    @GetMapping("/my-trades/cursor")
+    @Operation(
+        summary = "My trades (cursor blotter)",
+        description = "Blotter for the current trader paged with an opaque continuation token. "
+                    + "The total count is skipped unless includeTotal=true."
+    )
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+        schema = @Schema(implementation = CursorPage.class)))
+    public ResponseEntity<?> myTradesByCursor(
+            @Parameter(description = "Trader identifier (loginId or numeric id)")
+            @RequestParam(name = "performedBy") String performedBy,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "50") int size,
+            @RequestParam(name = "sortBy", required = false) String sortBy,
+            @RequestParam(name = "direction", required = false) String direction,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "How much of each trade to return: summary, legs or cashflows (default)")
+            @RequestParam(name = "include", required = false) String include
+    ) {
+        try {
+            TradeFetchPlan plan = TradeFetchPlan.fromParam(include, TradeFetchPlan.CASHFLOWS);
+            TradeCursor position = TradeCursor.resolve(cursor, sortBy, direction);
+            CursorPage<Trade> page = dashboardService.getMyTradesByCursor(performedBy, position, size, includeTotal);
+            dashboardService.fetchAssociations(page.getContent(), plan);
+            return ResponseEntity.ok(page.map(dtoMapper(plan)));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    @GetMapping("/book/{id}/trades/cursor")
+    @Operation(
+        summary = "Book-level trades (cursor blotter)",
+        description = "Blotter for a given book id paged with an opaque continuation token."
+    )
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+        schema = @Schema(implementation = CursorPage.class)))
+    public ResponseEntity<?> bookTradesByCursor(
+            @Parameter(description = "Book id") @PathVariable("id") Long bookId,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "50") int size,
+            @RequestParam(name = "sortBy", required = false) String sortBy,
+            @RequestParam(name = "direction", required = false) String direction,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "How much of each trade to return: summary, legs or cashflows (default)")
+            @RequestParam(name = "include", required = false) String include
+    ) {
+        try {
+            TradeFetchPlan plan = TradeFetchPlan.fromParam(include, TradeFetchPlan.CASHFLOWS);
+            TradeCursor position = TradeCursor.resolve(cursor, sortBy, direction);
+            CursorPage<Trade> page = dashboardService.getTradesByBookByCursor(bookId, position, size, includeTotal);
+            dashboardService.fetchAssociations(page.getContent(), plan);
+            return ResponseEntity.ok(page.map(dtoMapper(plan)));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
     }
 
     @GetMapping("/summary")
@@ -103,4 +201,9 @@ public class DashboardController {
         DailySummaryDTO dto = dashboardService.buildDailySummary(performedBy, asOf);
         return ResponseEntity.ok(dto);
     }
-}
\ No newline at end of file
+
+    // The full mapping stays toDto(trade); shallower plans leave legs or cashflows out
+    private Function<Trade, TradeDTO> dtoMapper(TradeFetchPlan plan) {
+        return plan == TradeFetchPlan.CASHFLOWS ? tradeMapper::toDto : trade -> tradeMapper.toDto(trade, plan);
+    }
+}
@@ -1,9 +1,18 @@
 package com.technicalchallenge.controller;
 
+import com.technicalchallenge.dto.BatchBookingResultDTO;
+import com.technicalchallenge.dto.CashflowStatusDTO;
+import com.technicalchallenge.dto.CursorPage;
 import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.mapper.TradeMapper;
+import com.technicalchallenge.model.CashflowGenerationStatus;
 import com.technicalchallenge.model.Trade;
 import com.technicalchallenge.repository.RsqlBuilder;
+import com.technicalchallenge.repository.TradeCursor;
+import com.technicalchallenge.repository.TradeFetchPlan;
+import com.technicalchallenge.repository.TradeFieldSet;
+import com.technicalchallenge.service.CashflowGenerationMode;
+import com.technicalchallenge.service.TradeExportService;
 import com.technicalchallenge.service.TradeService;
 import com.technicalchallenge.service.TradeValidationService;
 
@@ -12,15 +21,19 @@ import cz.jirutka.rsql.parser.RSQLParserException;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.format.annotation.DateTimeFormat;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 
@@ -34,7 +47,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +61,7 @@ import org.slf4j.LoggerFactory;
 @Tag(name = "Trades", description = "Trade management operations including booking, searching, and lifecycle management")
 public class TradeController {
     private static final Logger logger = LoggerFactory.getLogger(TradeController.class);
+    private static final long MAX_CASHFLOW_WAIT_MILLIS = 30_000;
 
     @Autowired
     private TradeService tradeService;
@@ -52,18 +69,27 @@ public class TradeController {
     private TradeMapper tradeMapper;
     @Autowired
     private TradeValidationService tradeValidationService;
+    @Autowired
+    private TradeExportService tradeExportService;
 
     @GetMapping
     @Operation(summary = "Get all trades", description = "Retrieves a list of all trades in the system. Returns comprehensive trade information including legs and cashflows.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved all trades", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TradeDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid include value"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public List<TradeDTO> getAllTrades() {
+    public ResponseEntity<?> getAllTrades(
+            @Parameter(description = "How much of each trade to return: summary, legs or cashflows (default)") @RequestParam(required = false) String include) {
         logger.info("Fetching all trades");
-        return tradeService.getAllTrades().stream()
-                .map(tradeMapper::toDto)
-                .toList();
+        try {
+            TradeFetchPlan plan = TradeFetchPlan.fromParam(include, TradeFetchPlan.CASHFLOWS);
+            List<Trade> trades = tradeService.getAllTrades();
+            tradeService.fetchAssociations(trades, plan);
+            return ResponseEntity.ok(trades.stream().map(dtoMapper(plan)).toList());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
@@ -77,7 +103,10 @@ public class TradeController {
             @Parameter(description = "Unique identifier of the trade", required = true) @PathVariable(name = "id") Long id) {
         logger.debug("Fetching trade by id: {}", id);
         return tradeService.getTradeById(id)
-                .map(tradeMapper::toDto)
+                .map(trade -> {
+                    tradeService.fetchAssociations(List.of(trade), TradeFetchPlan.CASHFLOWS);
+                    return tradeMapper.toDto(trade);
+                })
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -90,13 +119,15 @@ public class TradeController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
 
-    public ResponseEntity<Page<TradeDTO>> searchTrades(
+    public ResponseEntity<?> searchTrades(
             @Parameter(description = "Counterparty name (contains, case-insensitive)") @RequestParam(required = false) String counterparty,
             @Parameter(description = "Book name (contains, case-insensitive)") @RequestParam(required = false) String book,
             @Parameter(description = "Trader (first name / last name / loginId contains, case-insensitive)") @RequestParam(required = false) String trader,
             @Parameter(description = "Trade status (exact match, e.g. NEW, AMENDED, CANCELLED)") @RequestParam(required = false) String status,
             @Parameter(description = "Start of trade date range (inclusive, ISO-8601: yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
             @Parameter(description = "End of trade date range (inclusive, ISO-8601: yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @Parameter(description = "How much of each trade to return: summary, legs or cashflows (default)") @RequestParam(required = false) String include,
+            @Parameter(description = "Comma-separated TradeDTO header fields to return as slim rows, e.g. tradeId,tradeDate,bookName,counterpartyName,tradeStatus; include is ignored when set") @RequestParam(required = false) String fields,
             Pageable pageable) {
         TradeDTO criteria = new TradeDTO();
         criteria.setCounterpartyName(counterparty);
@@ -105,23 +136,83 @@ public class TradeController {
         criteria.setValidityStartDate(dateFrom);
         criteria.setValidityEndDate(dateTo);
 
+        TradeFetchPlan plan;
+        TradeFieldSet fieldSet;
+        try {
+            plan = TradeFetchPlan.fromParam(include, TradeFetchPlan.CASHFLOWS);
+            fieldSet = TradeFieldSet.parse(fields);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+        if (fieldSet != null) {
+            Specification<Trade> spec = tradeService.buildSearchSpecification(criteria);
+            return ResponseEntity.ok(tradeService.searchFields(spec, fieldSet, pageable));
+        }
         Page<Trade> page = tradeService.searchTrades(criteria, pageable);
-        Page<TradeDTO> dtoPage = page.map(tradeMapper::toDto);
+        tradeService.fetchAssociations(page.getContent(), plan);
+        Page<TradeDTO> dtoPage = page.map(dtoMapper(plan));
         return ResponseEntity.ok(dtoPage);
     }
 
+    @GetMapping("/search/cursor")
+    @Operation(summary = "Search trades with cursor pagination", description = "Same filters as /search, but pages with an opaque continuation token seeking on (tradeDate, id) or (id). Cost does not grow with page depth; the total count is only computed when includeTotal=true.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or query parameters")
+    })
+    public ResponseEntity<?> searchTradesByCursor(
+            @Parameter(description = "Counterparty name (contains, case-insensitive)") @RequestParam(required = false) String counterparty,
+            @Parameter(description = "Book name (contains, case-insensitive)") @RequestParam(required = false) String book,
+            @Parameter(description = "Trader (first name / last name / loginId contains, case-insensitive)") @RequestParam(required = false) String trader,
+            @Parameter(description = "Trade status (exact match, e.g. NEW, AMENDED, CANCELLED)") @RequestParam(required = false) String status,
+            @Parameter(description = "Start of trade date range (inclusive, ISO-8601: yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @Parameter(description = "End of trade date range (inclusive, ISO-8601: yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-500)") @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Seek key for the first page: tradeDate or id") @RequestParam(required = false) String sortBy,
+            @Parameter(description = "asc or desc for the first page") @RequestParam(required = false) String direction,
+            @Parameter(description = "Also count all matching trades") @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "How much of each trade to return: summary, legs or cashflows (default)") @RequestParam(required = false) String include) {
+        TradeDTO criteria = new TradeDTO();
+        criteria.setCounterpartyName(counterparty);
+        criteria.setBookName(book);
+        criteria.setTraderUserName(trader);
+        criteria.setTradeStatus(status);
+        criteria.setValidityStartDate(dateFrom);
+        criteria.setValidityEndDate(dateTo);
+
+        try {
+            TradeFetchPlan plan = TradeFetchPlan.fromParam(include, TradeFetchPlan.CASHFLOWS);
+            TradeCursor position = TradeCursor.resolve(cursor, sortBy, direction);
+            CursorPage<Trade> page = tradeService.searchTradesByCursor(criteria, position, size, includeTotal);
+            tradeService.fetchAssociations(page.getContent(), plan);
+            return ResponseEntity.ok(page.map(dtoMapper(plan)));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     @GetMapping("/search/settlement-instructions")
     @Operation(summary = "Search trades by settlement instructions (partial, case-insensitive)", description = "Returns trades whose settlement instructions contain the given text.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TradeDTO.class)))
+            @ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TradeDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid include value")
     })
-    public ResponseEntity<List<TradeDTO>> searchBySettlementInstructions(
-            @Parameter(description = "Partial text to search within settlement instructions (case-insensitive)", required = true) @RequestParam String instructions) {
+    public ResponseEntity<?> searchBySettlementInstructions(
+            @Parameter(description = "Partial text to search within settlement instructions (case-insensitive)", required = true) @RequestParam String instructions,
+            @Parameter(description = "How much of each trade to return: summary, legs or cashflows (default)") @RequestParam(required = false) String include) {
 
         logger.info("Searching trades by settlement instructions containing: {}", instructions);
-        List<TradeDTO> results = tradeService.searchBySettlementInstructions(instructions)
-                .stream()
-                .map(tradeMapper::toDto)
+        TradeFetchPlan plan;
+        try {
+            plan = TradeFetchPlan.fromParam(include, TradeFetchPlan.CASHFLOWS);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+        List<Trade> trades = tradeService.searchBySettlementInstructions(instructions);
+        tradeService.fetchAssociations(trades, plan);
+        List<TradeDTO> results = trades.stream()
+                .map(dtoMapper(plan))
                 .toList();
 
         return ResponseEntity.ok(results);
@@ -131,17 +222,57 @@ public class TradeController {
     @Operation(summary = "List trades, paginated blotter", description = "Returns paginated list of trades without filters. Combine with pageable query params (?page=&size=&sort).")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Page retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TradeDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid include value"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
 
-    public ResponseEntity<Page<TradeDTO>> filterTrades(Pageable pageable) {
+    public ResponseEntity<?> filterTrades(
+            @Parameter(description = "How much of each trade to return: summary, legs or cashflows (default)") @RequestParam(required = false) String include,
+            @Parameter(description = "Comma-separated TradeDTO header fields to return as slim rows, e.g. tradeId,tradeDate,bookName,counterpartyName,tradeStatus; include is ignored when set") @RequestParam(required = false) String fields,
+            Pageable pageable) {
+        TradeFetchPlan plan;
+        TradeFieldSet fieldSet;
+        try {
+            plan = TradeFetchPlan.fromParam(include, TradeFetchPlan.CASHFLOWS);
+            fieldSet = TradeFieldSet.parse(fields);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+        if (fieldSet != null) {
+            return ResponseEntity.ok(tradeService.searchFields(null, fieldSet, pageable));
+        }
         Page<Trade> page = tradeService.filterTrades(pageable);
-        Page<TradeDTO> dtoPage = page.map(tradeMapper::toDto);
+        tradeService.fetchAssociations(page.getContent(), plan);
+        Page<TradeDTO> dtoPage = page.map(dtoMapper(plan));
         return ResponseEntity.ok(dtoPage);
     }
 
+    @GetMapping("/filter/cursor")
+    @Operation(summary = "List trades with cursor pagination", description = "Unfiltered blotter paged with an opaque continuation token instead of page numbers.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    public ResponseEntity<?> filterTradesByCursor(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-500)") @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Seek key for the first page: tradeDate or id") @RequestParam(required = false) String sortBy,
+            @Parameter(description = "asc or desc for the first page") @RequestParam(required = false) String direction,
+            @Parameter(description = "Also count all trades") @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "How much of each trade to return: summary, legs or cashflows (default)") @RequestParam(required = false) String include) {
+        try {
+            TradeFetchPlan plan = TradeFetchPlan.fromParam(include, TradeFetchPlan.CASHFLOWS);
+            TradeCursor position = TradeCursor.resolve(cursor, sortBy, direction);
+            CursorPage<Trade> page = tradeService.searchByCursor(null, position, size, includeTotal);
+            tradeService.fetchAssociations(page.getContent(), plan);
+            return ResponseEntity.ok(page.map(dtoMapper(plan)));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     @GetMapping("/rsql")
-    @Operation(summary = "Search trades with RSQL for power users", description = "Supports ==, !=, =in=, =out=, =ge=, =le=, =gt=, =lt= and nested fields. Returns paginated results.")
+    @Operation(summary = "Search trades with RSQL for power users", description = "Supports ==, !=, =in=, =out=, =ge=, =le=, =gt=, =lt= on trade, leg (tradeLegs.*) and cashflow (tradeLegs.cashflows.*) fields. Arguments written as :name are bound from p.name request parameters. Returns paginated results.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TradeDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid RSQL query"),
@@ -150,17 +281,32 @@ public class TradeController {
     })
 
     public ResponseEntity<?> rsqlSearch(
-            @Parameter(description = "RSQL query string, e.g. counterparty.name==ABC;tradeDate=ge=2025-01-01") @RequestParam(name = "query") String rsql,
+            @Parameter(description = "RSQL query string, e.g. counterparty.name==ABC;tradeDate=ge=2025-01-01 or counterparty.name==:cp") @RequestParam(name = "query") String rsql,
+            @Parameter(description = "How much of each trade to return: summary, legs or cashflows (default)") @RequestParam(required = false) String include,
+            @Parameter(description = "Comma-separated TradeDTO header fields to return as slim rows, e.g. tradeId,tradeDate,bookName,counterpartyName,tradeStatus; include is ignored when set") @RequestParam(required = false) String fields,
+            @Parameter(hidden = true) @RequestParam Map<String, String> requestParams,
             Pageable pageable) {
+        TradeFetchPlan plan;
+        TradeFieldSet fieldSet;
+        try {
+            plan = TradeFetchPlan.fromParam(include, TradeFetchPlan.CASHFLOWS);
+            fieldSet = TradeFieldSet.parse(fields);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
         try {
             if (rsql == null || rsql.isBlank()) {
                 return ResponseEntity.badRequest().body("Query must not be blank.");
             }
 
-            Specification<Trade> spec = RsqlBuilder.from(rsql);
+            Specification<Trade> spec = RsqlBuilder.from(rsql, queryParameters(requestParams));
+            if (fieldSet != null) {
+                return ResponseEntity.ok(tradeService.searchFields(spec, fieldSet, pageable));
+            }
             Page<Trade> page = tradeService.searchBySpecification(spec, pageable);
+            tradeService.fetchAssociations(page.getContent(), plan);
 
-            Page<TradeDTO> dtoPage = page.map(tradeMapper::toDto);
+            Page<TradeDTO> dtoPage = page.map(dtoMapper(plan));
 
             return ResponseEntity.ok(dtoPage);
 
@@ -174,6 +320,122 @@ public class TradeController {
         }
     }
 
+    @GetMapping("/rsql/cursor")
+    @Operation(summary = "Search trades with RSQL and cursor pagination", description = "RSQL search paged with an opaque continuation token instead of page numbers.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid RSQL query or cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> rsqlSearchByCursor(
+            @Parameter(description = "RSQL query string, e.g. counterparty.name==ABC;tradeDate=ge=2025-01-01 or counterparty.name==:cp") @RequestParam(name = "query") String rsql,
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-500)") @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Seek key for the first page: tradeDate or id") @RequestParam(required = false) String sortBy,
+            @Parameter(description = "asc or desc for the first page") @RequestParam(required = false) String direction,
+            @Parameter(description = "Also count all matching trades") @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "How much of each trade to return: summary, legs or cashflows (default)") @RequestParam(required = false) String include,
+            @Parameter(hidden = true) @RequestParam Map<String, String> requestParams) {
+        TradeFetchPlan plan;
+        try {
+            plan = TradeFetchPlan.fromParam(include, TradeFetchPlan.CASHFLOWS);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+        try {
+            if (rsql == null || rsql.isBlank()) {
+                return ResponseEntity.badRequest().body("Query must not be blank.");
+            }
+
+            Specification<Trade> spec = RsqlBuilder.from(rsql, queryParameters(requestParams));
+            TradeCursor position = TradeCursor.resolve(cursor, sortBy, direction);
+            CursorPage<Trade> page = tradeService.searchByCursor(spec, position, size, includeTotal);
+            tradeService.fetchAssociations(page.getContent(), plan);
+            return ResponseEntity.ok(page.map(dtoMapper(plan)));
+
+        } catch (RSQLParserException ex) {
+            return ResponseEntity.badRequest().body("Invalid RSQL syntax: " + ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Invalid RSQL query: " + ex.getMessage());
+        } catch (Exception ex) {
+            logger.error("RSQL cursor search failed: {}", ex.getMessage(), ex);
+            return ResponseEntity.internalServerError().body("Error executing RSQL search.");
+        }
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export trades as CSV or NDJSON", description = "Streams every matching trade header straight from the database to the response, so memory use does not depend on the number of rows. Accepts the /search filters and, optionally, an RSQL query (with p.name parameters); both are combined with AND.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully", content = {
+                    @Content(mediaType = "text/csv"),
+                    @Content(mediaType = "application/x-ndjson")
+            }),
+            @ApiResponse(responseCode = "400", description = "Invalid format, filter or RSQL query")
+    })
+    public ResponseEntity<StreamingResponseBody> exportTrades(
+            @Parameter(description = "csv (default) or ndjson") @RequestParam(required = false) String format,
+            @Parameter(description = "Counterparty name (contains, case-insensitive)") @RequestParam(required = false) String counterparty,
+            @Parameter(description = "Book name (contains, case-insensitive)") @RequestParam(required = false) String book,
+            @Parameter(description = "Trader (first name / last name / loginId contains, case-insensitive)") @RequestParam(required = false) String trader,
+            @Parameter(description = "Trade status (exact match, e.g. NEW, AMENDED, CANCELLED)") @RequestParam(required = false) String status,
+            @Parameter(description = "Start of trade date range (inclusive, ISO-8601: yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @Parameter(description = "End of trade date range (inclusive, ISO-8601: yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @Parameter(description = "Optional RSQL query, e.g. tradeLegs.currency.currency==USD") @RequestParam(name = "query", required = false) String rsql,
+            @Parameter(hidden = true) @RequestParam Map<String, String> requestParams) {
+        TradeDTO criteria = new TradeDTO();
+        criteria.setCounterpartyName(counterparty);
+        criteria.setBookName(book);
+        criteria.setTraderUserName(trader);
+        criteria.setTradeStatus(status);
+        criteria.setValidityStartDate(dateFrom);
+        criteria.setValidityEndDate(dateTo);
+
+        TradeExportService.Format exportFormat;
+        Specification<Trade> spec;
+        try {
+            exportFormat = TradeExportService.Format.fromParam(format);
+            spec = Specification.where(tradeService.buildSearchSpecification(criteria));
+            if (rsql != null && !rsql.isBlank()) {
+                spec = spec.and(RsqlBuilder.from(rsql, queryParameters(requestParams)));
+            }
+        } catch (RSQLParserException ex) {
+            return badExportRequest("Invalid RSQL syntax: " + ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            return badExportRequest(ex.getMessage());
+        }
+
+        Specification<Trade> filter = spec;
+        StreamingResponseBody body = out -> tradeExportService.export(filter, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"trades." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    // Streaming bodies are only handled for ResponseEntity<StreamingResponseBody>, so errors are streamed too
+    private static ResponseEntity<StreamingResponseBody> badExportRequest(String message) {
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(out -> out.write(String.valueOf(message).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // Values for :name placeholders in saved RSQL queries arrive as p.name request parameters
+    private static Map<String, String> queryParameters(Map<String, String> requestParams) {
+        Map<String, String> params = new HashMap<>();
+        requestParams.forEach((key, value) -> {
+            if (key.startsWith("p.") && key.length() > 2) {
+                params.put(key.substring(2), value);
+            }
+        });
+        return params;
+    }
+
+    // The full mapping stays toDto(trade); shallower plans leave legs or cashflows out
+    private Function<Trade, TradeDTO> dtoMapper(TradeFetchPlan plan) {
+        return plan == TradeFetchPlan.CASHFLOWS ? tradeMapper::toDto : trade -> tradeMapper.toDto(trade, plan);
+    }
+
     @PostMapping
     @Operation(summary = "Create new trade", description = "Creates a new trade with the provided details. Automatically generates cashflows and validates business rules.")
     @ApiResponses(value = {
@@ -183,7 +445,8 @@ public class TradeController {
     })
     public ResponseEntity<?> createTrade(
             @Parameter(description = "Trade details for creation", required = true) @Valid @RequestBody TradeDTO tradeDTO,
-            @RequestParam(name = "performedBy", required = false) String performedBy) {
+            @RequestParam(name = "performedBy", required = false) String performedBy,
+            @Parameter(description = "Cashflow persistence: INLINE, BATCH or ASYNC (poll /{id}/cashflow-status); defaults to the configured mode") @RequestParam(name = "cashflowMode", required = false) String cashflowMode) {
 
         if (performedBy == null || performedBy.isBlank()) {
             if (tradeDTO.getTradeInputterUserId() != null) {
@@ -215,7 +478,7 @@ public class TradeController {
         try {
             Trade trade = tradeMapper.toEntity(tradeDTO);
             tradeService.populateReferenceDataByName(trade, tradeDTO);
-            Trade savedTrade = tradeService.saveTrade(trade, tradeDTO);
+            Trade savedTrade = tradeService.saveTrade(trade, tradeDTO, CashflowGenerationMode.fromParam(cashflowMode));
             TradeDTO responseDTO = tradeMapper.toDto(savedTrade);
             return ResponseEntity.status(HttpStatus.CREATED).body(responseDTO);
         } catch (Exception e) {
@@ -224,8 +487,36 @@ public class TradeController {
         }
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Book trades in bulk", description = "Validates and books a list of trades with their legs and cashflows using batched inserts. Each trade is reported separately; a positive chunkSize commits every chunk in its own transaction.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-trade results", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchBookingResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Empty batch"),
+            @ApiResponse(responseCode = "403", description = "Insufficient privileges to create trades")
+    })
+    public ResponseEntity<?> bookTrades(
+            @Parameter(description = "Trades to book", required = true) @RequestBody List<TradeDTO> tradeDTOs,
+            @RequestParam(name = "performedBy") String performedBy,
+            @Parameter(description = "Trades committed per transaction, 0 commits the whole batch at once") @RequestParam(name = "chunkSize", defaultValue = "0") int chunkSize) {
+
+        if (performedBy == null || performedBy.isBlank()
+                || !tradeValidationService.validateUserPrivileges(
+                        performedBy, TradeValidationService.OPERATION_CREATE, null)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("User not authorised to CREATE trades.");
+        }
+
+        if (tradeDTOs == null || tradeDTOs.isEmpty()) {
+            return ResponseEntity.badRequest().body("At least one trade is required");
+        }
+
+        logger.info("Booking batch of {} trades by [{}]", tradeDTOs.size(), performedBy);
+        BatchBookingResultDTO result = tradeService.bookTrades(tradeDTOs, chunkSize);
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{id}")
-    @Operation(summary = "Update existing trade", description = "Updates an existing trade with new information. Subject to business rule validation and user privileges.")
+    @Operation(summary = "Update existing trade", description = "Amends an existing trade as a new version. Only legs whose economics changed get new cashflows; unchanged legs keep theirs. The amendment section of the response lists what changed. Subject to business rule validation and user privileges.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Trade updated successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TradeDTO.class))),
             @ApiResponse(responseCode = "404", description = "Trade not found"),
@@ -235,7 +526,8 @@ public class TradeController {
     public ResponseEntity<?> updateTrade(
             @Parameter(description = "Unique identifier of the trade to update", required = true) @PathVariable Long id,
             @Parameter(description = "Updated trade details", required = true) @Valid @RequestBody TradeDTO tradeDTO,
-            @RequestParam(name = "performedBy", required = false) String performedBy) {
+            @RequestParam(name = "performedBy", required = false) String performedBy,
+            @Parameter(description = "Cashflow persistence: INLINE, BATCH or ASYNC; defaults to the configured mode") @RequestParam(name = "cashflowMode", required = false) String cashflowMode) {
         logger.info("Updating trade with id: {}", id);
 
         if (tradeDTO.getTradeId() != null && !tradeDTO.getTradeId().equals(id)) {
@@ -265,11 +557,11 @@ public class TradeController {
                         .body("User not authorised to AMEND trades.");
             }
 
-            Trade trade = tradeMapper.toEntity(tradeDTO);
-            tradeService.populateReferenceDataByName(trade, tradeDTO);
-            Trade savedTrade = tradeService.saveTrade(trade, tradeDTO);
+            TradeService.AmendmentResult amendment = tradeService.amendTradeWithSummary(id, tradeDTO,
+                    CashflowGenerationMode.fromParam(cashflowMode));
 
-            TradeDTO responseDTO = tradeMapper.toDto(savedTrade);
+            TradeDTO responseDTO = tradeMapper.toDto(amendment.trade());
+            responseDTO.setAmendment(amendment.summary());
 
             if (responseDTO.getTradeId() == null) {
                 responseDTO.setTradeId(id);
@@ -334,6 +626,23 @@ public class TradeController {
         }
     }
 
+    @GetMapping("/{id}/cashflow-status")
+    @Operation(summary = "Get cashflow generation status", description = "Returns PENDING, COMPLETE or FAILED for the active version of a trade. With waitMillis the call waits up to that long for a pending asynchronous generation to finish.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status returned", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CashflowStatusDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Trade not found")
+    })
+    public ResponseEntity<?> getCashflowStatus(
+            @Parameter(description = "Unique identifier of the trade", required = true) @PathVariable Long id,
+            @Parameter(description = "Milliseconds to wait for a pending generation, at most " + MAX_CASHFLOW_WAIT_MILLIS) @RequestParam(name = "waitMillis", defaultValue = "0") long waitMillis) {
+        long wait = Math.max(0, Math.min(waitMillis, MAX_CASHFLOW_WAIT_MILLIS));
+        return tradeService.awaitCashflowGeneration(id, wait)
+                .<ResponseEntity<?>>map(trade -> ResponseEntity.ok(new CashflowStatusDTO(trade.getTradeId(),
+                        trade.getVersion(), trade.getCashflowStatus() != null ? trade.getCashflowStatus().name()
+                                : CashflowGenerationStatus.COMPLETE.name())))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping("/{id}/terminate")
     @Operation(summary = "Terminate trade", description = "Terminates an existing trade before its natural maturity date")
     @ApiResponses(value = {
@@ -0,0 +1,47 @@
+package com.technicalchallenge.controller;
+
+import com.technicalchallenge.dto.ServerSideRowsRequest;
+import com.technicalchallenge.dto.ServerSideRowsResponse;
+import com.technicalchallenge.service.TradeGridService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RestController
+@RequestMapping("/api/trades/grid")
+@Tag(name = "Trade Grid", description = "AG Grid server-side row model for the trade blotter")
+public class TradeGridController {
+    private static final Logger logger = LoggerFactory.getLogger(TradeGridController.class);
+
+    @Autowired
+    private TradeGridService tradeGridService;
+
+    @PostMapping("/rows")
+    @Operation(summary = "Get one block of blotter rows",
+               description = "Takes the grid's IServerSideGetRowsRequest as posted by a server-side datasource. Returns leaf trade rows, or group rows with childCount and notional while row group columns remain to be opened. rowCount is -1 until the last block is reached.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rows returned",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = ServerSideRowsResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid row range, column, filter or group key"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> getRows(@RequestBody ServerSideRowsRequest request) {
+        logger.debug("Grid rows requested: {}-{}", request.getStartRow(), request.getEndRow());
+        try {
+            return ResponseEntity.ok(tradeGridService.getRows(request));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.technicalchallenge.controller;
 
+import com.technicalchallenge.dto.SuggestionDTO;
 import com.technicalchallenge.dto.UserDTO;
 import com.technicalchallenge.mapper.ApplicationUserMapper;
 import com.technicalchallenge.model.ApplicationUser;
 import com.technicalchallenge.model.TradeType;
 import com.technicalchallenge.service.ApplicationUserService;
+import com.technicalchallenge.service.TypeaheadIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -38,6 +40,9 @@ public class UserController {
     @Autowired
     private ApplicationUserMapper applicationUserMapper;
 
+    @Autowired
+    private TypeaheadIndex typeaheadIndex;
+
     @GetMapping
     @Operation(summary = "Get all users",
                description = "Retrieves a list of all users in the system with their profile information and privileges")
@@ -160,4 +165,25 @@ public class UserController {
                 .map(ApplicationUser::getLoginId)
                 .toList();
     }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest traders",
+               description = "Retrieves the active users whose first name, last name or login ID starts with or contains the text, best matches first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved suggestions, best first",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = SuggestionDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Limit out of range"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> suggestTraders(
+            @Parameter(description = "Text typed so far") @RequestParam(name = "q", defaultValue = "") String q,
+            @Parameter(description = "Maximum number of suggestions, 1 to 50") @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        logger.debug("Suggesting traders for: {}", q);
+        try {
+            return ResponseEntity.ok(typeaheadIndex.suggest(TypeaheadIndex.Kind.TRADER, q, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package com.technicalchallenge.diagnostics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Times each statement run through the proxied data source and hands it to
+ * {@link QueryDiagnostics}. The diagnostics bean is looked up on first use, because the data
+ * source is wrapped before it exists.
+ */
+class DiagnosticsQueryListener implements QueryExecutionListener {
+
+    private static final String STARTED = "diagnostics.started";
+
+    private final Supplier<QueryDiagnostics> queryDiagnostics;
+
+    DiagnosticsQueryListener(Supplier<QueryDiagnostics> queryDiagnostics) {
+        this.queryDiagnostics = queryDiagnostics;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long started = execInfo.getCustomValue(STARTED, Long.class);
+        if (started == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - started;
+        String sql = queryInfoList.size() == 1 ? queryInfoList.get(0).getQuery()
+                : queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        queryDiagnostics.get().queryExecuted(sql, nanos, execInfo.isBatch() ? execInfo.getBatchSize() : 0,
+                execInfo.isSuccess());
+    }
+}
@@ -0,0 +1,32 @@
+package com.technicalchallenge.diagnostics;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts every entity Hibernate loads, from the database or the second-level cache, against
+ * the current request.
+ */
+@Component
+public class EntityLoadListener implements PostLoadEventListener {
+
+    private final QueryDiagnostics queryDiagnostics;
+
+    public EntityLoadListener(EntityManagerFactory entityManagerFactory, QueryDiagnostics queryDiagnostics) {
+        this.queryDiagnostics = queryDiagnostics;
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, this);
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        queryDiagnostics.entityLoaded();
+    }
+}
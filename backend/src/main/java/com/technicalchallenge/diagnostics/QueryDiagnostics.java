@@ -0,0 +1,179 @@
+package com.technicalchallenge.diagnostics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Per-request SQL diagnostics, fed by the data source proxy and the entity load listener.
+ *
+ * Every statement is counted against the HTTP request running on its thread, and each request
+ * is folded into running totals for its endpoint (method and mapped path pattern). Statements
+ * slower than the threshold also go into a fixed-size ring buffer with their normalized SQL and
+ * endpoint, so the latest slow queries can be read from the actuator without SQL logging.
+ */
+@Component
+public class QueryDiagnostics {
+    private static final Logger logger = LoggerFactory.getLogger(QueryDiagnostics.class);
+
+    public static final String BACKGROUND = "background";
+    public static final String UNMAPPED = "UNMAPPED";
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final ThreadLocal<RequestQueryStats> current = new ThreadLocal<>();
+    private final Map<String, EndpointTotals> endpoints = new ConcurrentHashMap<>();
+
+    // Ring buffer of slow queries; next is the slot the next one overwrites
+    private final SlowQuery[] slowQueries;
+    private int next;
+    private long slowQueryCount;
+
+    public QueryDiagnostics(MeterRegistry meterRegistry,
+            @Value("${diagnostics.sql.slow-threshold-ms:50}") long slowThresholdMillis,
+            @Value("${diagnostics.sql.slow-buffer-size:100}") int slowBufferSize) {
+        if (slowBufferSize < 1) {
+            throw new IllegalArgumentException("Slow query buffer size must be positive");
+        }
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.slowQueries = new SlowQuery[slowBufferSize];
+    }
+
+    /** Opens the stats of the request on this thread; endpoint may return null until it is mapped */
+    public RequestQueryStats beginRequest(Supplier<String> endpoint) {
+        RequestQueryStats stats = new RequestQueryStats(endpoint);
+        current.set(stats);
+        return stats;
+    }
+
+    public void endRequest(RequestQueryStats stats) {
+        current.remove();
+        String endpoint = stats.getEndpoint();
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointTotals()).add(stats);
+        DistributionSummary.builder("db.request.statements")
+                .tag("endpoint", endpoint)
+                .description("JDBC statements per HTTP request")
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("db.request.entity.loads")
+                .tag("endpoint", endpoint)
+                .description("Entities loaded per HTTP request")
+                .register(meterRegistry)
+                .record(stats.getEntityLoads());
+        logger.debug("{}: {} statements in {} ms, {} entities loaded", endpoint, stats.getStatements(),
+                millis(stats.getQueryNanos()), stats.getEntityLoads());
+    }
+
+    /** One executed statement (or JDBC batch); sql holds every query in it */
+    public void queryExecuted(String sql, long nanos, int batchSize, boolean success) {
+        RequestQueryStats stats = current.get();
+        if (stats != null) {
+            stats.queryExecuted(nanos);
+        }
+        if (nanos >= slowThresholdNanos) {
+            SlowQuery slow = new SlowQuery(SqlNormalizer.normalize(sql), millis(nanos), batchSize, success,
+                    stats != null ? stats.getEndpoint() : BACKGROUND, Thread.currentThread().getName(), Instant.now());
+            synchronized (slowQueries) {
+                slowQueries[next] = slow;
+                next = (next + 1) % slowQueries.length;
+                slowQueryCount++;
+            }
+            logger.debug("Slow query ({} ms) from {}: {}", slow.elapsedMillis(), slow.endpoint(), slow.sql());
+        }
+    }
+
+    public void entityLoaded() {
+        RequestQueryStats stats = current.get();
+        if (stats != null) {
+            stats.entityLoaded();
+        }
+    }
+
+    /** The slow queries still in the buffer, slowest first */
+    public List<SlowQuery> getSlowQueries() {
+        List<SlowQuery> queries = new ArrayList<>(slowQueries.length);
+        synchronized (slowQueries) {
+            for (SlowQuery query : slowQueries) {
+                if (query != null) {
+                    queries.add(query);
+                }
+            }
+        }
+        queries.sort(Comparator.comparingDouble(SlowQuery::elapsedMillis).reversed());
+        return queries;
+    }
+
+    public long getSlowQueryCount() {
+        synchronized (slowQueries) {
+            return slowQueryCount;
+        }
+    }
+
+    public long getSlowThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    /** Totals per endpoint, by endpoint name */
+    public Map<String, EndpointSummary> getEndpoints() {
+        Map<String, EndpointSummary> summaries = new TreeMap<>();
+        endpoints.forEach((endpoint, totals) -> summaries.put(endpoint, totals.summary()));
+        return summaries;
+    }
+
+    public void reset() {
+        endpoints.clear();
+        synchronized (slowQueries) {
+            Arrays.fill(slowQueries, null);
+            next = 0;
+            slowQueryCount = 0;
+        }
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    public record EndpointSummary(long requests, long statements, double statementsPerRequest, int maxStatements,
+            double queryMillis, double maxQueryMillisPerRequest, long entityLoads, int maxEntityLoads) {
+    }
+
+    private static final class EndpointTotals {
+        private long requests;
+        private long statements;
+        private int maxStatements;
+        private long queryNanos;
+        private long maxQueryNanos;
+        private long entityLoads;
+        private int maxEntityLoads;
+
+        synchronized void add(RequestQueryStats stats) {
+            requests++;
+            statements += stats.getStatements();
+            maxStatements = Math.max(maxStatements, stats.getStatements());
+            queryNanos += stats.getQueryNanos();
+            maxQueryNanos = Math.max(maxQueryNanos, stats.getQueryNanos());
+            entityLoads += stats.getEntityLoads();
+            maxEntityLoads = Math.max(maxEntityLoads, stats.getEntityLoads());
+        }
+
+        synchronized EndpointSummary summary() {
+            return new EndpointSummary(requests, statements, Math.round(statements * 100.0 / requests) / 100.0,
+                    maxStatements, millis(queryNanos), millis(maxQueryNanos), entityLoads, maxEntityLoads);
+        }
+    }
+}
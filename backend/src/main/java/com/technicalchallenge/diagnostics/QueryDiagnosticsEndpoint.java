@@ -0,0 +1,57 @@
+package com.technicalchallenge.diagnostics;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /actuator/querydiagnostics: the slow-query ring buffer, statement and entity load totals per
+ * endpoint, and Hibernate's session factory totals. DELETE clears the buffer and the endpoint
+ * totals; Hibernate's statistics are left alone since the cache metrics are read from them.
+ */
+@Component
+@Endpoint(id = "querydiagnostics")
+public class QueryDiagnosticsEndpoint {
+
+    private final QueryDiagnostics queryDiagnostics;
+    private final Statistics statistics;
+
+    public QueryDiagnosticsEndpoint(QueryDiagnostics queryDiagnostics, EntityManagerFactory entityManagerFactory) {
+        this.queryDiagnostics = queryDiagnostics;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Report report() {
+        Map<String, Object> hibernate = new LinkedHashMap<>();
+        hibernate.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        hibernate.put("prepareStatementCount", statistics.getPrepareStatementCount());
+        hibernate.put("queryExecutionCount", statistics.getQueryExecutionCount());
+        hibernate.put("queryExecutionMaxTimeMillis", statistics.getQueryExecutionMaxTime());
+        hibernate.put("queryExecutionMaxTimeQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        hibernate.put("entityLoadCount", statistics.getEntityLoadCount());
+        hibernate.put("entityFetchCount", statistics.getEntityFetchCount());
+        hibernate.put("collectionFetchCount", statistics.getCollectionFetchCount());
+        hibernate.put("secondLevelCacheHitCount", statistics.getSecondLevelCacheHitCount());
+        hibernate.put("secondLevelCacheMissCount", statistics.getSecondLevelCacheMissCount());
+        return new Report(queryDiagnostics.getSlowThresholdMillis(), queryDiagnostics.getSlowQueryCount(),
+                queryDiagnostics.getSlowQueries(), queryDiagnostics.getEndpoints(), hibernate);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        queryDiagnostics.reset();
+    }
+
+    public record Report(long slowThresholdMillis, long slowQueryCount, List<SlowQuery> slowQueries,
+            Map<String, QueryDiagnostics.EndpointSummary> endpoints, Map<String, Object> hibernate) {
+    }
+}
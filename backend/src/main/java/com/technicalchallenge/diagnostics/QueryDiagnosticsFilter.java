@@ -0,0 +1,39 @@
+package com.technicalchallenge.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Brackets each HTTP request so its statements and entity loads are counted against it. The
+ * endpoint is the method and mapped path pattern (GET /api/trades/{id}), never the raw URI.
+ */
+public class QueryDiagnosticsFilter extends OncePerRequestFilter {
+
+    private final QueryDiagnostics queryDiagnostics;
+
+    public QueryDiagnosticsFilter(QueryDiagnostics queryDiagnostics) {
+        this.queryDiagnostics = queryDiagnostics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = queryDiagnostics.beginRequest(() -> endpoint(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            queryDiagnostics.endRequest(stats);
+        }
+    }
+
+    static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? null : request.getMethod() + " " + pattern;
+    }
+}
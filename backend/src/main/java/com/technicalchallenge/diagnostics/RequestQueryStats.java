@@ -0,0 +1,55 @@
+package com.technicalchallenge.diagnostics;
+
+import java.util.function.Supplier;
+
+/**
+ * Statements, query time and entity loads of one HTTP request. Only the request thread writes
+ * to it. The endpoint is resolved when first needed, since the handler mapping that names it
+ * runs after the request is opened; until then the resolver returns null.
+ */
+public class RequestQueryStats {
+
+    private final Supplier<String> endpointResolver;
+    private String endpoint;
+    private int statements;
+    private long queryNanos;
+    private long slowestQueryNanos;
+    private int entityLoads;
+
+    RequestQueryStats(Supplier<String> endpointResolver) {
+        this.endpointResolver = endpointResolver;
+    }
+
+    void queryExecuted(long nanos) {
+        statements++;
+        queryNanos += nanos;
+        slowestQueryNanos = Math.max(slowestQueryNanos, nanos);
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    public String getEndpoint() {
+        if (endpoint == null) {
+            endpoint = endpointResolver.get();
+        }
+        return endpoint != null ? endpoint : QueryDiagnostics.UNMAPPED;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getQueryNanos() {
+        return queryNanos;
+    }
+
+    public long getSlowestQueryNanos() {
+        return slowestQueryNanos;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+}
@@ -0,0 +1,122 @@
+package com.technicalchallenge.diagnostics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Warns at startup when an index the trade queries rely on is missing, so a schema that was
+ * not migrated (or lost an index) shows up in the log instead of as slow blotters.
+ *
+ * An expected index is present when some index on its table starts with its columns in order;
+ * a wider index with the same leading columns serves the same lookups.
+ */
+@Component
+public class SchemaIndexCheck {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaIndexCheck.class);
+
+    public static final List<ExpectedIndex> EXPECTED = List.of(
+            new ExpectedIndex("trade", "trade_id", "active"),
+            new ExpectedIndex("trade", "trader_user_id", "active", "trade_date"),
+            new ExpectedIndex("trade", "book_id", "active"),
+            new ExpectedIndex("trade", "trade_date", "id"),
+            new ExpectedIndex("trade_leg", "trade_id"),
+            new ExpectedIndex("cashflow", "leg_id"),
+            new ExpectedIndex("additional_info", "entity_type", "entity_id", "field_name"),
+            new ExpectedIndex("trade_aggregate", "trader_user_id", "trade_date"),
+            new ExpectedIndex("settlement_trigram", "trigram", "trade_id"),
+            new ExpectedIndex("settlement_trigram", "trade_id"));
+
+    private final DataSource dataSource;
+
+    public SchemaIndexCheck(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkIndexes() {
+        try {
+            List<ExpectedIndex> missing = findMissingIndexes();
+            for (ExpectedIndex index : missing) {
+                logger.warn("Missing index on {}; queries filtering on these columns will scan the table", index);
+            }
+            if (missing.isEmpty()) {
+                logger.info("All {} expected indexes are present", EXPECTED.size());
+            }
+        } catch (SQLException ex) {
+            logger.warn("Could not check the schema for expected indexes", ex);
+        }
+    }
+
+    public List<ExpectedIndex> findMissingIndexes() throws SQLException {
+        List<ExpectedIndex> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Map<String, List<List<String>>> indexesByTable = new HashMap<>();
+            for (ExpectedIndex expected : EXPECTED) {
+                List<List<String>> indexes = indexesByTable.get(expected.table());
+                if (indexes == null) {
+                    indexes = readIndexes(metaData, connection.getSchema(), expected.table());
+                    indexesByTable.put(expected.table(), indexes);
+                }
+                if (indexes.stream().noneMatch(expected::isServedBy)) {
+                    missing.add(expected);
+                }
+            }
+        }
+        return missing;
+    }
+
+    /** The column lists of the table's indexes, in index column order */
+    private static List<List<String>> readIndexes(DatabaseMetaData metaData, String schema, String table)
+            throws SQLException {
+        Map<String, TreeMap<Short, String>> columnsByIndex = new TreeMap<>();
+        // Unquoted names may be stored upper or lower case depending on the database
+        for (String name : List.of(table, table.toUpperCase(Locale.ROOT))) {
+            try (ResultSet rs = metaData.getIndexInfo(null, schema, name, false, true)) {
+                while (rs.next()) {
+                    String index = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (index != null && column != null) {
+                        columnsByIndex.computeIfAbsent(index, key -> new TreeMap<>())
+                                .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            if (!columnsByIndex.isEmpty()) {
+                break;
+            }
+        }
+        return columnsByIndex.values().stream().map(columns -> List.copyOf(columns.values())).toList();
+    }
+
+    public record ExpectedIndex(String table, List<String> columns) {
+
+        public ExpectedIndex(String table, String... columns) {
+            this(table, List.of(columns));
+        }
+
+        boolean isServedBy(List<String> indexColumns) {
+            return indexColumns.size() >= columns.size() && indexColumns.subList(0, columns.size()).equals(columns);
+        }
+
+        @Override
+        public String toString() {
+            return table + "(" + String.join(", ", columns) + ")";
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.technicalchallenge.diagnostics;
+
+import java.time.Instant;
+
+/**
+ * One statement that ran over the slow-query threshold, with the endpoint that issued it
+ * ({@link QueryDiagnostics#BACKGROUND} outside HTTP requests). batchSize is 0 unless the
+ * statement was a JDBC batch.
+ */
+public record SlowQuery(String sql, double elapsedMillis, int batchSize, boolean success, String endpoint,
+        String thread, Instant executedAt) {
+}
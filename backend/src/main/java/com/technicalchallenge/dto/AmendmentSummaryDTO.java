@@ -0,0 +1,38 @@
+package com.technicalchallenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+public class AmendmentSummaryDTO {
+    private Long tradeId;
+    private Integer fromVersion;
+    private Integer toVersion;
+
+    // Trade header fields that differ from the previous version
+    private List<String> changedFields = new ArrayList<>();
+    // True when dates moved and every leg's schedule had to be rebuilt
+    private boolean allCashflowsRegenerated;
+    private int cashflowsCopied;
+    private List<LegChangeDTO> legs = new ArrayList<>();
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    public static class LegChangeDTO {
+        // Position of the leg in the request, or in the previous version for removed legs
+        private int index;
+        private Long previousLegId;
+        private Long legId;
+        // UNCHANGED, CHANGED, ADDED or REMOVED
+        private String change;
+        private List<String> changedFields = new ArrayList<>();
+        // COPIED, REGENERATED or NONE for removed legs
+        private String cashflows;
+    }
+}
@@ -0,0 +1,20 @@
+package com.technicalchallenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+public class BatchBookingResultDTO {
+
+    private int submitted;
+    private int booked;
+    private int failed;
+    private int chunkSize;
+    private List<TradeBookingResultDTO> results = new ArrayList<>();
+}
@@ -15,10 +15,12 @@ public class CashflowGenerationRequest {
     public static class TradeLegDTO {
         private String legType; // "Fixed" or "Floating"
         private BigDecimal notional;
-        private Double rate; // for fixed
+        private Double rate; // for fixed, in percent
         private String index; // for floating
         private String calculationPeriodSchedule; // e.g. "Monthly", "Quarterly", "Annually"
         private String paymentBusinessDayConvention;
+        private String holidayCalendar; // e.g. "NY", "LON"; weekends only when omitted
+        private String dayCountConvention; // "ACT/360", "ACT/365F" or "30/360"
         private String payReceiveFlag; // "Pay" or "Rec"
     }
 }
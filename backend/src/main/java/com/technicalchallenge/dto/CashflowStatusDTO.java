@@ -0,0 +1,15 @@
+package com.technicalchallenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+public class CashflowStatusDTO {
+    private Long tradeId;
+    private Integer version;
+    // PENDING, COMPLETE or FAILED
+    private String cashflowStatus;
+}
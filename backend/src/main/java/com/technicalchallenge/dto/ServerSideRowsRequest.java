@@ -0,0 +1,45 @@
+package com.technicalchallenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AG Grid server-side row model request (IServerSideGetRowsRequest), as the grid's datasource
+ * posts it. Column ids and fields are TradeDTO header field names. Each filterModel entry is kept
+ * as the grid sends it (text, number, date or set filter, or a combined filter with conditions).
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+public class ServerSideRowsRequest {
+
+    private int startRow;
+    private int endRow;
+    private List<Column> rowGroupCols = new ArrayList<>();
+    private List<Column> valueCols = new ArrayList<>();
+    private List<String> groupKeys = new ArrayList<>();
+    private Map<String, Map<String, Object>> filterModel = new LinkedHashMap<>();
+    private List<Sort> sortModel = new ArrayList<>();
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    public static class Column {
+        private String id;
+        private String displayName;
+        private String field;
+        private String aggFunc;
+    }
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    public static class Sort {
+        private String colId;
+        private String sort;
+    }
+}
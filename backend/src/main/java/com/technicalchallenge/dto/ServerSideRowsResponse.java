@@ -0,0 +1,23 @@
+package com.technicalchallenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One block of rows for AG Grid's server-side row model, passed to params.success({ rowData,
+ * rowCount }). rowCount is -1 while more rows may follow and the total once the last block has
+ * been read, so no count query is needed. Group rows carry the group value under the grouped
+ * field plus childCount and notional.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+public class ServerSideRowsResponse {
+
+    private List<Map<String, Object>> rowData;
+    private int rowCount;
+}
@@ -0,0 +1,18 @@
+package com.technicalchallenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDTO {
+    private Long id;
+    // What the field takes: the counterparty or book name, or the trader's login id
+    private String value;
+    // What the list shows, e.g. "Simon King (simon)" for a trader
+    private String label;
+}
@@ -0,0 +1,31 @@
+package com.technicalchallenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+public class TradeBookingResultDTO {
+
+    public static final String BOOKED = "BOOKED";
+    public static final String FAILED = "FAILED";
+
+    // Position of the trade in the submitted batch
+    private int index;
+    private Long tradeId;
+    private String status;
+    private List<String> errors = new ArrayList<>();
+
+    public static TradeBookingResultDTO booked(int index, Long tradeId) {
+        return new TradeBookingResultDTO(index, tradeId, BOOKED, new ArrayList<>());
+    }
+
+    public static TradeBookingResultDTO failed(int index, Long tradeId, List<String> errors) {
+        return new TradeBookingResultDTO(index, tradeId, FAILED, new ArrayList<>(errors));
+    }
+}
@@ -43,6 +43,12 @@ public class TradeDTO {
     private LocalDateTime createdDate;
     private LocalDateTime deactivatedDate;
 
+    // PENDING while cashflows are still being generated asynchronously
+    private String cashflowStatus;
+
+    // Only set on amendment responses
+    private AmendmentSummaryDTO amendment;
+
     @Size(min = 10, max = 500, message = "Settlement instructions must be between 10 and 500 characters")
     @jakarta.validation.constraints.Pattern(regexp = "^[a-zA-Z0-9 .,:/()\\-\\n]+$", message = "Settlement instructions contain invalid characters")
     private String settlementInstructions;
@@ -24,6 +24,9 @@ public class TradeLegDTO {
 
     private Double rate;
 
+    // Accrual basis: ACT/360, ACT/365F or 30/360 (default when omitted)
+    private String dayCountConvention;
+
     // Currency reference
     private Long currencyId;
     private String currency;
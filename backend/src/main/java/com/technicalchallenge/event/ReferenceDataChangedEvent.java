@@ -0,0 +1,20 @@
+package com.technicalchallenge.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by the reference data and user services whenever an entity of the given type is
+ * created, updated or deleted, so that in-memory copies of that data can be refreshed.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ReferenceDataChangedEvent {
+
+    private final Class<?> type;
+
+    // Null when the change is not tied to a single row
+    private final Long id;
+}
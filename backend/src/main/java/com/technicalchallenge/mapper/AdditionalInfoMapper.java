@@ -0,0 +1,15 @@
+package com.technicalchallenge.mapper;
+
+import com.technicalchallenge.dto.AdditionalInfoDTO;
+import com.technicalchallenge.model.AdditionalInfo;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface AdditionalInfoMapper {
+    AdditionalInfoDTO toDto(AdditionalInfo entity);
+
+    // Versions are only ever deactivated by AdditionalInfoService
+    @Mapping(target = "deactivatedDate", ignore = true)
+    AdditionalInfo toEntity(AdditionalInfoDTO dto);
+}
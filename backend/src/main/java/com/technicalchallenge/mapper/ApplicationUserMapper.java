@@ -4,36 +4,26 @@ import com.technicalchallenge.dto.UserDTO;
 import com.technicalchallenge.model.ApplicationUser;
 import com.technicalchallenge.model.UserProfile;
 import com.technicalchallenge.repository.UserProfileRepository;
-import org.modelmapper.ModelMapper;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
 
-import java.util.Optional;
-
-@Component
-public class ApplicationUserMapper {
+@Mapper(config = MappingConfig.class)
+public abstract class ApplicationUserMapper {
 
     @Autowired
-    private ModelMapper modelMapper;
+    protected UserProfileRepository userProfileRepository;
 
-    @Autowired
-    private UserProfileRepository userProfileRepository;
+    @Mapping(target = "userProfile", source = "userProfile.userType")
+    public abstract UserDTO toDto(ApplicationUser entity);
 
-    public UserDTO toDto(ApplicationUser entity) {
-        UserDTO dto = modelMapper.map(entity, UserDTO.class);
-        if (entity.getUserProfile() != null) {
-            dto.setUserProfile(entity.getUserProfile().getUserType());
-        }
-        return dto;
-    }
+    // userProfile is resolved by type name through userProfileByType
+    public abstract ApplicationUser toEntity(UserDTO dto);
 
-    public ApplicationUser toEntity(UserDTO dto) {
-        ApplicationUser entity = modelMapper.map(dto, ApplicationUser.class);
-        if (dto.getUserProfile() != null) {
-            Optional<UserProfile> userProfileOpt = userProfileRepository.findByUserType(dto.getUserProfile());
-            userProfileOpt.ifPresent(entity::setUserProfile);
+    protected UserProfile userProfileByType(String userType) {
+        if (userType == null) {
+            return null;
         }
-        return entity;
+        return userProfileRepository.findByUserType(userType).orElse(null);
     }
 }
-
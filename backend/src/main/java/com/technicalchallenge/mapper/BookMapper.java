@@ -4,34 +4,27 @@ import com.technicalchallenge.dto.BookDTO;
 import com.technicalchallenge.model.Book;
 import com.technicalchallenge.repository.CostCenterRepository;
 import com.technicalchallenge.model.CostCenter;
-import org.modelmapper.ModelMapper;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
 
-import java.util.Optional;
-
-@Component
-public class BookMapper {
+@Mapper(config = MappingConfig.class)
+public abstract class BookMapper {
     @Autowired
-    private ModelMapper modelMapper;
+    protected CostCenterRepository costCenterRepository;
 
-    @Autowired
-    private CostCenterRepository costCenterRepository;
+    @Mapping(target = "costCenterName", source = "costCenter.costCenterName")
+    public abstract BookDTO toDto(Book entity);
 
-    public BookDTO toDto(Book entity) {
-        BookDTO dto = modelMapper.map(entity, BookDTO.class);
-        dto.setCostCenterName(entity.getCostCenter() != null ? entity.getCostCenter().getCostCenterName() : null);
-        return dto;
-    }
+    @Mapping(target = "costCenter", source = "costCenterName")
+    public abstract Book toEntity(BookDTO dto);
 
-    public Book toEntity(BookDTO dto) {
-        Book entity = modelMapper.map(dto, Book.class);
-        if (dto.getCostCenterName() != null) {
-            CostCenter costCenter = costCenterRepository.findAll().stream()
-                .filter(cc -> dto.getCostCenterName().equals(cc.getCostCenterName()))
-                .findFirst().orElse(null);
-            entity.setCostCenter(costCenter);
+    protected CostCenter costCenterByName(String costCenterName) {
+        if (costCenterName == null) {
+            return null;
         }
-        return entity;
+        return costCenterRepository.findAll().stream()
+            .filter(cc -> costCenterName.equals(cc.getCostCenterName()))
+            .findFirst().orElse(null);
     }
 }
@@ -8,14 +8,11 @@ import com.technicalchallenge.model.BusinessDayConvention;
 import com.technicalchallenge.repository.PayRecRepository;
 import com.technicalchallenge.repository.LegTypeRepository;
 import com.technicalchallenge.repository.BusinessDayConventionRepository;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class CashflowMapper {
-    @Autowired
-    private ModelMapper modelMapper;
     @Autowired
     private PayRecRepository payRecRepository;
     @Autowired
@@ -4,34 +4,27 @@ import com.technicalchallenge.dto.CostCenterDTO;
 import com.technicalchallenge.model.CostCenter;
 import com.technicalchallenge.repository.SubDeskRepository;
 import com.technicalchallenge.model.SubDesk;
-import org.modelmapper.ModelMapper;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
 
-import java.util.Optional;
-
-@Component
-public class CostCenterMapper {
+@Mapper(config = MappingConfig.class)
+public abstract class CostCenterMapper {
     @Autowired
-    private ModelMapper modelMapper;
+    protected SubDeskRepository subDeskRepository;
 
-    @Autowired
-    private SubDeskRepository subDeskRepository;
+    @Mapping(target = "subDeskName", source = "subDesk.subdeskName")
+    public abstract CostCenterDTO toDto(CostCenter entity);
 
-    public CostCenterDTO toDto(CostCenter entity) {
-        CostCenterDTO dto = modelMapper.map(entity, CostCenterDTO.class);
-        dto.setSubDeskName(entity.getSubDesk() != null ? entity.getSubDesk().getSubdeskName() : null);
-        return dto;
-    }
+    @Mapping(target = "subDesk", source = "subDeskName")
+    public abstract CostCenter toEntity(CostCenterDTO dto);
 
-    public CostCenter toEntity(CostCenterDTO dto) {
-        CostCenter entity = modelMapper.map(dto, CostCenter.class);
-        if (dto.getSubDeskName() != null) {
-            SubDesk subDesk = subDeskRepository.findAll().stream()
-                .filter(sd -> dto.getSubDeskName().equals(sd.getSubdeskName()))
-                .findFirst().orElse(null);
-            entity.setSubDesk(subDesk);
+    protected SubDesk subDeskByName(String subDeskName) {
+        if (subDeskName == null) {
+            return null;
         }
-        return entity;
+        return subDeskRepository.findAll().stream()
+            .filter(sd -> subDeskName.equals(sd.getSubdeskName()))
+            .findFirst().orElse(null);
     }
 }
@@ -2,20 +2,11 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.HolidayCalendarDTO;
 import com.technicalchallenge.model.HolidayCalendar;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class HolidayCalendarMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = MappingConfig.class)
+public interface HolidayCalendarMapper {
+    HolidayCalendarDTO toDto(HolidayCalendar entity);
 
-    public HolidayCalendarDTO toDto(HolidayCalendar entity) {
-        return modelMapper.map(entity, HolidayCalendarDTO.class);
-    }
-
-    public HolidayCalendar toEntity(HolidayCalendarDTO dto) {
-        return modelMapper.map(dto, HolidayCalendar.class);
-    }
+    HolidayCalendar toEntity(HolidayCalendarDTO dto);
 }
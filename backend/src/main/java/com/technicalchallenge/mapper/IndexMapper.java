@@ -2,20 +2,11 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.IndexDTO;
 import com.technicalchallenge.model.Index;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class IndexMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = MappingConfig.class)
+public interface IndexMapper {
+    IndexDTO toDto(Index entity);
 
-    public IndexDTO toDto(Index entity) {
-        return modelMapper.map(entity, IndexDTO.class);
-    }
-
-    public Index toEntity(IndexDTO dto) {
-        return modelMapper.map(dto, Index.class);
-    }
+    Index toEntity(IndexDTO dto);
 }
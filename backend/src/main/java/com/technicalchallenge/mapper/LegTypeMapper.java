@@ -2,20 +2,11 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.LegTypeDTO;
 import com.technicalchallenge.model.LegType;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class LegTypeMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = MappingConfig.class)
+public interface LegTypeMapper {
+    LegTypeDTO toDto(LegType entity);
 
-    public LegTypeDTO toDto(LegType entity) {
-        return modelMapper.map(entity, LegTypeDTO.class);
-    }
-
-    public LegType toEntity(LegTypeDTO dto) {
-        return modelMapper.map(dto, LegType.class);
-    }
+    LegType toEntity(LegTypeDTO dto);
 }
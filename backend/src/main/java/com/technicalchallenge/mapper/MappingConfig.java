@@ -0,0 +1,14 @@
+package com.technicalchallenge.mapper;
+
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Shared settings for the MapStruct mappers: implementations are generated at compile time as
+ * Spring beans, and a DTO or entity field that no mapping accounts for fails the build instead
+ * of being silently left null.
+ */
+@MapperConfig(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface MappingConfig {
+}
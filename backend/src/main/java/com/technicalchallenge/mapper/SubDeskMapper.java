@@ -4,32 +4,27 @@ import com.technicalchallenge.dto.SubDeskDTO;
 import com.technicalchallenge.model.SubDesk;
 import com.technicalchallenge.repository.DeskRepository;
 import com.technicalchallenge.model.Desk;
-import org.modelmapper.ModelMapper;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
 
-@Component
-public class SubDeskMapper {
+@Mapper(config = MappingConfig.class)
+public abstract class SubDeskMapper {
     @Autowired
-    private ModelMapper modelMapper;
+    protected DeskRepository deskRepository;
 
-    @Autowired
-    private DeskRepository deskRepository;
+    @Mapping(target = "deskName", source = "desk.deskName")
+    public abstract SubDeskDTO toDto(SubDesk entity);
 
-    public SubDeskDTO toDto(SubDesk entity) {
-        SubDeskDTO dto = modelMapper.map(entity, SubDeskDTO.class);
-        dto.setDeskName(entity.getDesk() != null ? entity.getDesk().getDeskName() : null);
-        return dto;
-    }
+    @Mapping(target = "desk", source = "deskName")
+    public abstract SubDesk toEntity(SubDeskDTO dto);
 
-    public SubDesk toEntity(SubDeskDTO dto) {
-        SubDesk entity = modelMapper.map(dto, SubDesk.class);
-        if (dto.getDeskName() != null) {
-            Desk desk = deskRepository.findAll().stream()
-                .filter(d -> dto.getDeskName().equals(d.getDeskName()))
-                .findFirst().orElse(null);
-            entity.setDesk(desk);
+    protected Desk deskByName(String deskName) {
+        if (deskName == null) {
+            return null;
         }
-        return entity;
+        return deskRepository.findAll().stream()
+            .filter(d -> deskName.equals(d.getDeskName()))
+            .findFirst().orElse(null);
     }
 }
@@ -1,28 +1,61 @@
 package com.technicalchallenge.mapper;
 
+import com.technicalchallenge.config.TradeMetrics;
 import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.dto.TradeLegDTO;
 import com.technicalchallenge.dto.CashflowDTO;
+import com.technicalchallenge.model.CashflowGenerationStatus;
 import com.technicalchallenge.model.Trade;
 import com.technicalchallenge.model.TradeLeg;
 import com.technicalchallenge.model.Cashflow;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.technicalchallenge.repository.TradeFetchPlan;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Component
 public class TradeMapper {
 
-    @Autowired
-    private ModelMapper modelMapper;
+    // Per fetch plan, so lazy loads that slip past the plan show up as slow mappings
+    private static final Map<TradeFetchPlan, Timer> MAPPING_TIMERS = new EnumMap<>(TradeFetchPlan.class);
+
+    static {
+        for (TradeFetchPlan plan : TradeFetchPlan.values()) {
+            MAPPING_TIMERS.put(plan, TradeMetrics.fastTimer(TradeMetrics.MAPPING,
+                    "plan", plan.name().toLowerCase(Locale.ROOT)));
+        }
+    }
 
     public TradeDTO toDto(Trade trade) {
+        return toDto(trade, TradeFetchPlan.CASHFLOWS);
+    }
+
+    /**
+     * Maps the trade down to the depth of the fetch plan it was loaded with. Legs (SUMMARY) and
+     * cashflows (SUMMARY, LEGS) beyond the plan are left null rather than lazily loaded.
+     */
+    public TradeDTO toDto(Trade trade, TradeFetchPlan plan) {
         if (trade == null) {
             return null;
         }
+        long start = System.nanoTime();
+        try {
+            return map(trade, plan);
+        } finally {
+            Timer timer = MAPPING_TIMERS.get(plan);
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private TradeDTO map(Trade trade, TradeFetchPlan plan) {
 
         TradeDTO dto = new TradeDTO();
         dto.setId(trade.getId());
@@ -39,6 +72,9 @@ public class TradeMapper {
         dto.setValidityEndDate(trade.getValidityEndDate());
         dto.setActive(trade.getActive());
         dto.setCreatedDate(trade.getCreatedDate());
+        // Rows booked before the status existed always had their cashflows written inline
+        dto.setCashflowStatus(trade.getCashflowStatus() != null ? trade.getCashflowStatus().name()
+                : CashflowGenerationStatus.COMPLETE.name());
 
 
         if (trade.getBook() != null) {
@@ -77,9 +113,10 @@ public class TradeMapper {
         }
 
         // Map trade legs
-        if (trade.getTradeLegs() != null) {
+        if (plan != TradeFetchPlan.SUMMARY && trade.getTradeLegs() != null) {
+            boolean includeCashflows = plan == TradeFetchPlan.CASHFLOWS;
             List<TradeLegDTO> legDTOs = trade.getTradeLegs().stream()
-                    .map(this::tradeLegToDto)
+                    .map(leg -> tradeLegToDto(leg, includeCashflows))
                     .collect(Collectors.toList());
             dto.setTradeLegs(legDTOs);
         }
@@ -112,6 +149,10 @@ public class TradeMapper {
     }
 
     public TradeLegDTO tradeLegToDto(TradeLeg leg) {
+        return tradeLegToDto(leg, true);
+    }
+
+    public TradeLegDTO tradeLegToDto(TradeLeg leg, boolean includeCashflows) {
         if (leg == null) {
             return null;
         }
@@ -120,6 +161,7 @@ public class TradeMapper {
         dto.setLegId(leg.getLegId());
         dto.setNotional(leg.getNotional());
         dto.setRate(leg.getRate());
+        dto.setDayCountConvention(leg.getDayCountConvention());
 
         if (leg.getCurrency() != null) {
             dto.setCurrencyId(leg.getCurrency().getId());
@@ -162,7 +204,7 @@ public class TradeMapper {
         }
 
         // Map cashflows
-        if (leg.getCashflows() != null) {
+        if (includeCashflows && leg.getCashflows() != null) {
             List<CashflowDTO> cashflowDTOs = leg.getCashflows().stream()
                     .map(this::cashflowToDto)
                     .collect(Collectors.toList());
@@ -181,6 +223,7 @@ public class TradeMapper {
         leg.setLegId(dto.getLegId());
         leg.setNotional(dto.getNotional());
         leg.setRate(dto.getRate());
+        leg.setDayCountConvention(dto.getDayCountConvention());
 
 
         return leg;
@@ -2,20 +2,11 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.TradeStatusDTO;
 import com.technicalchallenge.model.TradeStatus;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class TradeStatusMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = MappingConfig.class)
+public interface TradeStatusMapper {
+    TradeStatusDTO toDto(TradeStatus entity);
 
-    public TradeStatusDTO toDto(TradeStatus entity) {
-        return modelMapper.map(entity, TradeStatusDTO.class);
-    }
-
-    public TradeStatus toEntity(TradeStatusDTO dto) {
-        return modelMapper.map(dto, TradeStatus.class);
-    }
+    TradeStatus toEntity(TradeStatusDTO dto);
 }
@@ -2,21 +2,11 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.UserProfileDTO;
 import com.technicalchallenge.model.UserProfile;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class UserProfileMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = MappingConfig.class)
+public interface UserProfileMapper {
+    UserProfileDTO toDto(UserProfile entity);
 
-    public UserProfileDTO toDto(UserProfile entity) {
-        return modelMapper.map(entity, UserProfileDTO.class);
-    }
-
-    public UserProfile toEntity(UserProfileDTO dto) {
-        return modelMapper.map(dto, UserProfile.class);
-    }
+    UserProfile toEntity(UserProfileDTO dto);
 }
-
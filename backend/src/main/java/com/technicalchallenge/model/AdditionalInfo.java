@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "additional_info")
+@Table(name = "additional_info", indexes = @jakarta.persistence.Index(name = "idx_additional_info_entity_field",
+        columnList = "entity_type, entity_id, field_name"))
 public class AdditionalInfo {
 
     @Id
@@ -0,0 +1,11 @@
+package com.technicalchallenge.model;
+
+/**
+ * Whether a trade version's cashflows have been written yet. Only trades booked with
+ * asynchronous generation are ever PENDING; everything else is COMPLETE on commit.
+ */
+public enum CashflowGenerationStatus {
+    PENDING,
+    COMPLETE,
+    FAILED
+}
@@ -0,0 +1,30 @@
+package com.technicalchallenge.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A non-business day of a holiday calendar. Weekends are never stored; they are closed in
+ * every calendar.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "holiday_calendar_date", uniqueConstraints = @UniqueConstraint(name = "uk_holiday_calendar_date", columnNames = {
+        "holiday_calendar_id", "holiday_date" }))
+public class HolidayCalendarDate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "holiday_calendar_id", referencedColumnName = "id", nullable = false)
+    private HolidayCalendar holidayCalendar;
+
+    @Column(name = "holiday_date", nullable = false)
+    private LocalDate holidayDate;
+
+    private String description;
+}
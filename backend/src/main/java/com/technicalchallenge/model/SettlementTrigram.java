@@ -0,0 +1,41 @@
+package com.technicalchallenge.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * One posting of the settlement instruction index: the active trade version (trade.id) whose
+ * lower-cased settlement instructions contain the trigram. The primary key leads with the
+ * trigram, so each posting list is one index range.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "settlement_trigram", indexes = @jakarta.persistence.Index(name = "idx_settlement_trigram_trade_id", columnList = "trade_id"))
+@IdClass(SettlementTrigramId.class)
+public class SettlementTrigram implements Persistable<SettlementTrigramId> {
+    @Id
+    @Column(name = "trigram", length = 3)
+    private String trigram;
+
+    @Id
+    @Column(name = "trade_id")
+    private Long tradeId;
+
+    @Override
+    public SettlementTrigramId getId() {
+        return new SettlementTrigramId(trigram, tradeId);
+    }
+
+    // Postings are only ever inserted or deleted, so saves persist without a lookup first
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
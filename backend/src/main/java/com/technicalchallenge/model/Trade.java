@@ -8,16 +8,46 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "trade")
+@Table(name = "trade", indexes = {
+        @jakarta.persistence.Index(name = "idx_trade_trade_id_active", columnList = "tradeId, active"),
+        @jakarta.persistence.Index(name = "idx_trade_trader_active_date", columnList = "trader_user_id, active, tradeDate"),
+        @jakarta.persistence.Index(name = "idx_trade_book_active", columnList = "book_id, active"),
+        @jakarta.persistence.Index(name = "idx_trade_trade_date_id", columnList = "tradeDate, id") })
+@NamedEntityGraph(name = Trade.GRAPH_SUMMARY, attributeNodes = {
+        @NamedAttributeNode("book"),
+        @NamedAttributeNode("counterparty"),
+        @NamedAttributeNode("traderUser"),
+        @NamedAttributeNode("tradeInputterUser"),
+        @NamedAttributeNode("tradeType"),
+        @NamedAttributeNode("tradeSubType"),
+        @NamedAttributeNode("tradeStatus") })
+@NamedEntityGraph(name = Trade.GRAPH_LEGS,
+        attributeNodes = @NamedAttributeNode(value = "tradeLegs", subgraph = "leg"),
+        subgraphs = @NamedSubgraph(name = "leg", attributeNodes = {
+                @NamedAttributeNode("currency"),
+                @NamedAttributeNode("legRateType"),
+                @NamedAttributeNode("index"),
+                @NamedAttributeNode("holidayCalendar"),
+                @NamedAttributeNode("calculationPeriodSchedule"),
+                @NamedAttributeNode("paymentBusinessDayConvention"),
+                @NamedAttributeNode("fixingBusinessDayConvention"),
+                @NamedAttributeNode("payReceiveFlag") }))
 public class Trade {
+    /** Header references read by TradeMapper */
+    public static final String GRAPH_SUMMARY = "Trade.summary";
+    /** The legs and the references each leg maps */
+    public static final String GRAPH_LEGS = "Trade.legs";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_seq")
+    @SequenceGenerator(name = "trade_seq", sequenceName = "trade_seq", initialValue = 10000, allocationSize = 50)
     private Long id;
 
     private Long tradeId;
@@ -67,11 +97,16 @@ public class Trade {
     private LocalDate validityStartDate;
     private LocalDate validityEndDate;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "cashflow_status", length = 16)
+    private CashflowGenerationStatus cashflowStatus = CashflowGenerationStatus.COMPLETE;
+
     // Audit fields
     private Boolean active = true;
     private LocalDateTime createdDate;
     private LocalDateTime deactivatedDate;
 
     @OneToMany(mappedBy = "trade", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     private List<TradeLeg> tradeLegs;
 }
@@ -0,0 +1,47 @@
+package com.technicalchallenge.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Pre-aggregated dashboard counters for active trades. Reference dimensions hold entity ids,
+ * with 0 standing for "not set". Rows with currencyId 0 carry the trade counts; leg counts and
+ * notionals sit on the row for the leg currency.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "trade_aggregate", uniqueConstraints = @UniqueConstraint(name = "uk_trade_aggregate_key", columnNames = {
+        "trader_user_id", "book_id", "counterparty_id", "trade_status_id", "trade_type_id", "trade_date", "currency_id" }),
+        indexes = @jakarta.persistence.Index(name = "idx_trade_aggregate_trader_date", columnList = "trader_user_id, trade_date"))
+public class TradeAggregate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "trader_user_id", nullable = false)
+    private long traderUserId;
+    @Column(name = "book_id", nullable = false)
+    private long bookId;
+    @Column(name = "counterparty_id", nullable = false)
+    private long counterpartyId;
+    @Column(name = "trade_status_id", nullable = false)
+    private long tradeStatusId;
+    @Column(name = "trade_type_id", nullable = false)
+    private long tradeTypeId;
+    @Column(name = "trade_date")
+    private LocalDate tradeDate;
+    @Column(name = "currency_id", nullable = false)
+    private long currencyId;
+
+    private long tradeCount;
+    private long legCount;
+    private BigDecimal notional;
+}
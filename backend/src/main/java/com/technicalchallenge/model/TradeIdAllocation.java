@@ -0,0 +1,23 @@
+package com.technicalchallenge.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Hi/lo row used to hand out blocks of business trade ids. nextValue is the first id
+ * that has not yet been reserved by any backend instance.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "trade_id_allocation")
+public class TradeIdAllocation {
+    @Id
+    private String name;
+    private Long nextValue;
+}
@@ -8,21 +8,35 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "trade_leg")
+@Table(name = "trade_leg", indexes = @jakarta.persistence.Index(name = "idx_trade_leg_trade_id", columnList = "trade_id"))
+@NamedEntityGraph(name = TradeLeg.GRAPH_CASHFLOWS,
+        attributeNodes = @NamedAttributeNode(value = "cashflows", subgraph = "cashflow"),
+        subgraphs = @NamedSubgraph(name = "cashflow", attributeNodes = {
+                @NamedAttributeNode("payRec"),
+                @NamedAttributeNode("paymentType"),
+                @NamedAttributeNode("paymentBusinessDayConvention") }))
 public class TradeLeg {
+    /** The cashflows and the references each cashflow maps */
+    public static final String GRAPH_CASHFLOWS = "TradeLeg.cashflows";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_leg_seq")
+    @SequenceGenerator(name = "trade_leg_seq", sequenceName = "trade_leg_seq", initialValue = 10000, allocationSize = 50)
     private Long legId;
 
     private BigDecimal notional;
     private Double rate;
 
+    // Accrual basis label, e.g. "ACT/360"; null means the configured default
+    private String dayCountConvention;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "trade_id", referencedColumnName = "id")
     private Trade trade;
@@ -65,5 +79,6 @@ public class TradeLeg {
     private LocalDateTime deactivatedDate;
 
     @OneToMany(mappedBy = "tradeLeg", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     private List<Cashflow> cashflows;
 }
@@ -2,9 +2,24 @@ package com.technicalchallenge.repository;
 
 import com.technicalchallenge.model.Cashflow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CashflowRepository extends JpaRepository<Cashflow, Long> {
-    // Custom query methods if needed
+
+    /**
+     * Copies every cashflow of one leg onto another in a single INSERT ... SELECT, so carrying
+     * an unchanged leg into a new trade version never loads its cashflows.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO Cashflow (paymentValue, valueDate, rate, tradeLeg, payRec, paymentType, "
+            + "paymentBusinessDayConvention, active, createdDate, validityStartDate, validityEndDate) "
+            + "SELECT c.paymentValue, c.valueDate, c.rate, target, c.payRec, c.paymentType, "
+            + "c.paymentBusinessDayConvention, c.active, LOCAL DATETIME, c.validityStartDate, c.validityEndDate "
+            + "FROM Cashflow c, TradeLeg target "
+            + "WHERE c.tradeLeg.legId = :sourceLegId AND target.legId = :targetLegId")
+    int copyCashflows(@Param("sourceLegId") Long sourceLegId, @Param("targetLegId") Long targetLegId);
 }
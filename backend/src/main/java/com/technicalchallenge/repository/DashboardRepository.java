@@ -4,115 +4,41 @@ import com.technicalchallenge.model.Trade;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface DashboardRepository extends JpaRepository<Trade, Long> {
 
+    /**
+     * Every active trade of the trader in the range joined to its legs, ordered by trade so a
+     * single pass can build all the summary groupings.
+     */
     @Query("""
-                select t.tradeStatus.tradeStatus as status, count(t) as cnt
-                from Trade t
-                where t.active = true
-                  and t.traderUser.id = :traderId
-                  and (:fromDate is null or t.tradeDate >= :fromDate)
-                  and (:toDate   is null or t.tradeDate <= :toDate)
-                group by t.tradeStatus.tradeStatus
-            """)
-    List<Object[]> countByStatusForTrader(
-            @Param("traderId") Long traderId,
-            @Param("fromDate") LocalDate fromDate,
-            @Param("toDate") LocalDate toDate);
-
-    @Query("""
-                select curr.currency as currency, coalesce(sum(leg.notional), 0)
-                from TradeLeg leg
-                join leg.trade t
-                left join leg.currency curr
-                where t.active = true
-                  and t.traderUser.id = :traderId
-                  and (:fromDate is null or t.tradeDate >= :fromDate)
-                  and (:toDate   is null or t.tradeDate <= :toDate)
-                group by curr.currency
-            """)
-    List<Object[]> sumNotionalByCurrencyForTrader(
-            @Param("traderId") Long traderId,
-            @Param("fromDate") LocalDate fromDate,
-            @Param("toDate") LocalDate toDate);
-
-    @Query("""
-                select tt.tradeType as type, count(t)
+                select new com.technicalchallenge.repository.TradeSummaryRow(
+                    t.id, ts.tradeStatus, tt.tradeType, cp.name, b.bookName, t.tradeDate,
+                    leg.legId, curr.currency, leg.notional)
                 from Trade t
+                left join t.tradeStatus ts
                 left join t.tradeType tt
-                where t.active = true
-                  and t.traderUser.id = :traderId
-                  and (:fromDate is null or t.tradeDate >= :fromDate)
-                  and (:toDate   is null or t.tradeDate <= :toDate)
-                group by tt.tradeType
-            """)
-    List<Object[]> countByTypeForTrader(
-            @Param("traderId") Long traderId,
-            @Param("fromDate") LocalDate fromDate,
-            @Param("toDate") LocalDate toDate);
-
-    @Query("""
-                select cp.name as counterparty, count(t)
-                from Trade t
                 left join t.counterparty cp
-                where t.active = true
-                  and t.traderUser.id = :traderId
-                  and (:fromDate is null or t.tradeDate >= :fromDate)
-                  and (:toDate   is null or t.tradeDate <= :toDate)
-                group by cp.name
-            """)
-    List<Object[]> countByCounterpartyForTrader(
-            @Param("traderId") Long traderId,
-            @Param("fromDate") LocalDate fromDate,
-            @Param("toDate") LocalDate toDate);
-
-    @Query("""
-                select cp.name as counterparty, coalesce(sum(leg.notional), 0)
-                from TradeLeg leg
-                join leg.trade t
-                left join t.counterparty cp
-                where t.active = true
-                  and t.traderUser.id = :traderId
-                  and (:fromDate is null or t.tradeDate >= :fromDate)
-                  and (:toDate   is null or t.tradeDate <= :toDate)
-                group by cp.name
-            """)
-    List<Object[]> sumNotionalByCounterpartyForTrader(
-            @Param("traderId") Long traderId,
-            @Param("fromDate") LocalDate fromDate,
-            @Param("toDate") LocalDate toDate);
-
-    @Query("""
-                select b.bookName as book, coalesce(sum(leg.notional), 0)
-                from TradeLeg leg
-                join leg.trade t
                 left join t.book b
+                left join t.tradeLegs leg
+                left join leg.currency curr
                 where t.active = true
                   and t.traderUser.id = :traderId
                   and (:fromDate is null or t.tradeDate >= :fromDate)
                   and (:toDate   is null or t.tradeDate <= :toDate)
-                group by b.bookName
-                order by coalesce(sum(leg.notional), 0) desc
-            """)
-    List<Object[]> topBooksByNotionalForTrader(
-            @Param("traderId") Long traderId,
-            @Param("fromDate") LocalDate fromDate,
-            @Param("toDate") LocalDate toDate);
-
-    @Query("""
-                select count(t), max(t.tradeDate)
-                from Trade t
-                where t.active = true
-                  and t.traderUser.id = :traderId
-                  and (:fromDate is null or t.tradeDate >= :fromDate)
-                  and (:toDate   is null or t.tradeDate <= :toDate)
+                order by t.id
             """)
-    Object[] totalAndMostRecentForTrader(
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<TradeSummaryRow> streamSummaryRowsForTrader(
             @Param("traderId") Long traderId,
             @Param("fromDate") LocalDate fromDate,
             @Param("toDate") LocalDate toDate);
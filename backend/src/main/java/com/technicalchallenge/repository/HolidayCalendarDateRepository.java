@@ -0,0 +1,16 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.HolidayCalendarDate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface HolidayCalendarDateRepository extends JpaRepository<HolidayCalendarDate, Long> {
+
+    @Query("select new com.technicalchallenge.repository.HolidayDateRow(c.holidayCalendar, d.holidayDate) "
+            + "from HolidayCalendarDate d join d.holidayCalendar c order by c.holidayCalendar, d.holidayDate")
+    List<HolidayDateRow> findAllHolidayDates();
+}
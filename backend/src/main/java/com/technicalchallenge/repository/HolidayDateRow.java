@@ -0,0 +1,7 @@
+package com.technicalchallenge.repository;
+
+import java.time.LocalDate;
+
+/** One holiday of a named calendar, as loaded into the in-memory calendar store */
+public record HolidayDateRow(String calendar, LocalDate holidayDate) {
+}
@@ -1,8 +1,16 @@
 package com.technicalchallenge.repository;
 
 import com.technicalchallenge.model.Privilege;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface PrivilegeRepository extends JpaRepository<Privilege, Long> {}
+public interface PrivilegeRepository extends JpaRepository<Privilege, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Privilege> findAll();
+}
@@ -6,116 +6,379 @@ import org.springframework.data.jpa.domain.Specification;
 import jakarta.persistence.criteria.Expression;
 
 import jakarta.persistence.criteria.*;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.function.BiFunction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import io.micrometer.core.instrument.Timer;
+
+import com.technicalchallenge.config.TradeMetrics;
 import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeLeg;
 
+/**
+ * Turns RSQL queries into trade specifications.
+ *
+ * Parsing and field resolution are done once per distinct query and kept in a bounded LRU
+ * cache keyed by the query text without surrounding whitespace; each call only binds the
+ * literal values into a fresh specification. Arguments written as :name are placeholders filled from the params
+ * map, so saved queries that only differ in their values share one compiled plan.
+ *
+ * Leg and cashflow fields never join the collections into the main query. Comparisons on them
+ * that sit in the same AND/OR group are evaluated against one leg inside a single correlated
+ * EXISTS subquery on trade_leg.trade_id, so the trade rows (and therefore paging) are unaffected
+ * and "tradeLegs.currency.currency==USD;tradeLegs.notional=gt=1000000" means one USD leg over a million.
+ */
 public final class RsqlBuilder {
 
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private static final RSQLParser PARSER = new RSQLParser();
+
+    private static final String LEGS = "tradeLegs.";
+    private static final String CASHFLOWS = "tradeLegs.cashflows.";
+
+    // Supported selectors, resolved once when a query is compiled. Paths are relative to the
+    // trade, the leg or the cashflow depending on the scope.
+    private static final Map<String, Field> FIELDS = Map.ofEntries(
+            Map.entry("tradeId", new Field(Scope.TRADE, "tradeId", Long.class)),
+            Map.entry("version", new Field(Scope.TRADE, "version", Integer.class)),
+            Map.entry("tradeDate", new Field(Scope.TRADE, "tradeDate", LocalDate.class)),
+            Map.entry("tradeStartDate", new Field(Scope.TRADE, "tradeStartDate", LocalDate.class)),
+            Map.entry("tradeMaturityDate", new Field(Scope.TRADE, "tradeMaturityDate", LocalDate.class)),
+            Map.entry("book.bookName", new Field(Scope.TRADE, "book.bookName", String.class)),
+            Map.entry("counterparty.name", new Field(Scope.TRADE, "counterparty.name", String.class)),
+            Map.entry("tradeStatus.tradeStatus", new Field(Scope.TRADE, "tradeStatus.tradeStatus", String.class)),
+            Map.entry(LEGS + "notional", new Field(Scope.LEG, "notional", BigDecimal.class)),
+            Map.entry(LEGS + "rate", new Field(Scope.LEG, "rate", Double.class)),
+            Map.entry(LEGS + "currency.currency", new Field(Scope.LEG, "currency.currency", String.class)),
+            Map.entry(LEGS + "index.index", new Field(Scope.LEG, "index.index", String.class)),
+            Map.entry(CASHFLOWS + "paymentValue", new Field(Scope.CASHFLOW, "paymentValue", BigDecimal.class)),
+            Map.entry(CASHFLOWS + "valueDate", new Field(Scope.CASHFLOW, "valueDate", LocalDate.class)));
+
+    private static final PlanCache CACHE = new PlanCache(DEFAULT_CACHE_SIZE);
+
+    // Time to turn a query into a specification, split by whether the plan had to be compiled
+    private static final Timer CACHED = TradeMetrics.fastTimer(TradeMetrics.RSQL, "plan", "cached");
+    private static final Timer COMPILED = TradeMetrics.fastTimer(TradeMetrics.RSQL, "plan", "compiled");
+
     private RsqlBuilder() {
     }
 
     public static Specification<Trade> from(String rsql) {
+        return from(rsql, Map.of());
+    }
+
+    public static Specification<Trade> from(String rsql, Map<String, String> params) {
         if (rsql == null || rsql.isBlank())
             return null;
-        Node root = new RSQLParser().parse(rsql);
-        return root.accept(new Visitor());
+        long start = System.nanoTime();
+        String key = rsql.trim();
+        Plan plan = CACHE.get(key);
+        boolean cached = plan != null;
+        try {
+            if (plan == null) {
+                // Parse or field errors propagate and are not cached
+                plan = PARSER.parse(rsql).accept(new Compiler());
+                CACHE.put(key, plan);
+            }
+            return plan.bind(params == null ? Map.of() : params);
+        } finally {
+            (cached ? CACHED : COMPILED).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
-    /** Tiny visitor with a whitelist of fields we support */
-    static class Visitor implements RSQLVisitor<Specification<Trade>, Void> {
+    public static CacheStats cacheStats() {
+        return CACHE.stats();
+    }
 
-        // Map supported selector -> Path extractor
-        private final Map<String, BiFunction<Root<Trade>, CriteriaBuilder, Path<?>>> fields = Map.of(
-                "tradeDate", (root, cb) -> root.get("tradeDate"),
-                "book.bookName", (root, cb) -> root.join("book", JoinType.LEFT).get("bookName"),
-                "counterparty.name", (root, cb) -> root.join("counterparty", JoinType.LEFT).get("name"),
-                "tradeStatus.tradeStatus", (root, cb) -> root.join("tradeStatus", JoinType.LEFT).get("tradeStatus"));
+    public static void resizeCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("RSQL cache size must be positive");
+        }
+        CACHE.resize(maxSize);
+    }
+
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    public record CacheStats(long hits, long misses, long evictions, int size, int maxSize) {
+    }
+
+    private enum Scope {
+        TRADE, LEG, CASHFLOW
+    }
 
+    private record Field(Scope scope, String path, Class<?> type) {
+
+        private Path<?> resolve(From<?, ?> from) {
+            String[] segments = path.split("\\.");
+            From<?, ?> current = from;
+            for (int i = 0; i < segments.length - 1; i++) {
+                current = leftJoin(current, segments[i]);
+            }
+            return current.get(segments[segments.length - 1]);
+        }
+    }
+
+    /** Reuses a LEFT join already made on the same attribute instead of adding another one */
+    private static Join<?, ?> leftJoin(From<?, ?> from, String attribute) {
+        for (Join<?, ?> join : from.getJoins()) {
+            if (join.getJoinType() == JoinType.LEFT && join.getAttribute() != null
+                    && attribute.equals(join.getAttribute().getName())) {
+                return join;
+            }
+        }
+        return from.join(attribute, JoinType.LEFT);
+    }
+
+    /** Compiled query: the parsed tree with fields already resolved */
+    private interface Plan {
+        Specification<Trade> bind(Map<String, String> params);
+    }
+
+    /** A comparison bound to its values, evaluated against the trade or a correlated leg */
+    private interface BoundComparison {
+        Predicate toPredicate(Root<Trade> trade, From<?, TradeLeg> leg, CriteriaBuilder cb);
+    }
+
+    private record Junction(boolean and, List<Plan> children) implements Plan {
         @Override
-        public Specification<Trade> visit(AndNode node, Void param) {
-            return node.getChildren().stream()
-                    .map(n -> n.accept(this))
-                    .reduce(Specification.where(null), Specification::and);
+        public Specification<Trade> bind(Map<String, String> params) {
+            return children.stream()
+                    .map(child -> child.bind(params))
+                    .reduce(Specification.where(null), and ? Specification::and : Specification::or);
         }
+    }
 
+    /** Leg and cashflow comparisons from one group, tested against the same leg */
+    private record LegExists(boolean and, List<Comparison> comparisons) implements Plan {
         @Override
-        public Specification<Trade> visit(OrNode node, Void param) {
-            return node.getChildren().stream()
-                    .map(n -> n.accept(this))
-                    .reduce(Specification.where(null), Specification::or);
+        public Specification<Trade> bind(Map<String, String> params) {
+            List<BoundComparison> bound = comparisons.stream().map(c -> c.bindComparison(params)).toList();
+            return (root, query, cb) -> {
+                Subquery<Long> sub = query.subquery(Long.class);
+                Root<TradeLeg> leg = sub.from(TradeLeg.class);
+
+                Predicate[] predicates = new Predicate[bound.size()];
+                for (int i = 0; i < predicates.length; i++) {
+                    predicates[i] = bound.get(i).toPredicate(root, leg, cb);
+                }
+                Predicate matches = and ? cb.and(predicates) : cb.or(predicates);
+
+                sub.select(leg.get("legId"))
+                        .where(cb.equal(leg.get("trade").get("id"), root.get("id")), matches);
+                return cb.exists(sub);
+            };
         }
+    }
 
+    private record Comparison(Field field, ComparisonOperator op, List<String> arguments) implements Plan {
         @Override
-        public Specification<Trade> visit(ComparisonNode node, Void param) {
-            String selector = node.getSelector();
-            if (!fields.containsKey(selector)) {
-                throw new IllegalArgumentException("Unsupported field: " + selector);
+        public Specification<Trade> bind(Map<String, String> params) {
+            BoundComparison bound = bindComparison(params);
+            return (root, query, cb) -> bound.toPredicate(root, null, cb);
+        }
+
+        private BoundComparison bindComparison(Map<String, String> params) {
+            List<String> args = new ArrayList<>(arguments.size());
+            for (String argument : arguments) {
+                args.add(resolveArgument(argument, params));
             }
-            ComparisonOperator op = node.getOperator();
-            List<String> args = node.getArguments();
+            return (trade, leg, cb) -> {
+                Path<?> path = switch (field.scope()) {
+                    case TRADE -> field.resolve(trade);
+                    case LEG -> field.resolve(leg);
+                    case CASHFLOW -> field.resolve(leftJoin(leg, "cashflows"));
+                };
+                return toPredicate(path, args, cb);
+            };
+        }
 
-            return (root, query, cb) -> {
-                Path<?> path = fields.get(selector).apply(root, cb);
-                Class<?> jt = path.getJavaType();
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private Predicate toPredicate(Path<?> path, List<String> args, CriteriaBuilder cb) {
+            Class<?> jt = field.type();
 
-                Object value = convert(args.get(0), jt);
+            // Literals are converted here rather than at compile time so a bad value only fails the query using it
+            Object value = convert(args.get(0), jt);
 
-                if (op.equals(RSQLOperators.EQUAL)) {
-                    if (value instanceof String s && s.contains("*")) {
-                        String like = s.replace('*', '%').toLowerCase();
-                        return cb.like(cb.lower(path.as(String.class)), like);
-                    }
-                    return cb.equal(path, value);
+            if (op.equals(RSQLOperators.EQUAL)) {
+                if (value instanceof String s && s.contains("*")) {
+                    String like = s.replace('*', '%').toLowerCase();
+                    return cb.like(cb.lower(path.as(String.class)), like);
                 }
-                if (op.equals(RSQLOperators.NOT_EQUAL)) {
-                    if (value instanceof String s && s.contains("*")) {
-                        String like = s.replace('*', '%').toLowerCase();
-                        return cb.notLike(cb.lower(path.as(String.class)), like);
-                    }
-                    return cb.notEqual(path, value);
+                return cb.equal(path, value);
+            }
+            if (op.equals(RSQLOperators.NOT_EQUAL)) {
+                if (value instanceof String s && s.contains("*")) {
+                    String like = s.replace('*', '%').toLowerCase();
+                    return cb.notLike(cb.lower(path.as(String.class)), like);
                 }
+                return cb.notEqual(path, value);
+            }
 
-                if (jt.equals(LocalDate.class)) {
-                    LocalDate v = (LocalDate) value;
-                    Expression<LocalDate> p = path.as(LocalDate.class);
+            // Ordering applies to dates and numbers; strings only support equality and wildcards
+            if (!jt.equals(String.class) && value instanceof Comparable) {
+                Expression p = path.as(jt);
+                Comparable v = (Comparable) value;
 
-                    if (op.equals(RSQLOperators.GREATER_THAN)) {
-                        return cb.greaterThan(p, v);
-                    }
-                    if (op.equals(RSQLOperators.GREATER_THAN_OR_EQUAL)) {
-                        return cb.greaterThanOrEqualTo(p, v);
-                    }
-                    if (op.equals(RSQLOperators.LESS_THAN)) {
-                        return cb.lessThan(p, v);
-                    }
-                    if (op.equals(RSQLOperators.LESS_THAN_OR_EQUAL)) {
-                        return cb.lessThanOrEqualTo(p, v);
-                    }
+                if (op.equals(RSQLOperators.GREATER_THAN)) {
+                    return cb.greaterThan(p, v);
+                }
+                if (op.equals(RSQLOperators.GREATER_THAN_OR_EQUAL)) {
+                    return cb.greaterThanOrEqualTo(p, v);
+                }
+                if (op.equals(RSQLOperators.LESS_THAN)) {
+                    return cb.lessThan(p, v);
                 }
+                if (op.equals(RSQLOperators.LESS_THAN_OR_EQUAL)) {
+                    return cb.lessThanOrEqualTo(p, v);
+                }
+            }
 
-                if (op.equals(RSQLOperators.IN) || op.equals(RSQLOperators.NOT_IN)) {
-                    CriteriaBuilder.In<Object> in = cb.in(path);
-                    for (String a : args) {
-                        in.value(convert(a, jt));
-                    }
-                    return op.equals(RSQLOperators.IN) ? in : cb.not(in);
+            if (op.equals(RSQLOperators.IN) || op.equals(RSQLOperators.NOT_IN)) {
+                CriteriaBuilder.In<Object> in = cb.in(path);
+                for (String a : args) {
+                    in.value(convert(a, jt));
                 }
+                return op.equals(RSQLOperators.IN) ? in : cb.not(in);
+            }
 
-                throw new IllegalArgumentException("Unsupported operator for field type: " + op);
-            };
+            throw new IllegalArgumentException("Unsupported operator for field type: " + op);
         }
 
-        private Object convert(String raw, Class<?> type) {
+        private static String resolveArgument(String argument, Map<String, String> params) {
+            if (argument.length() < 2 || argument.charAt(0) != ':') {
+                return argument;
+            }
+            String name = argument.substring(1);
+            String value = params.get(name);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing value for query parameter: " + name);
+            }
+            return value;
+        }
+
+        private static Object convert(String raw, Class<?> type) {
             if (raw == null)
                 return null;
             if (type.equals(String.class))
                 return raw;
             if (type.equals(LocalDate.class))
                 return LocalDate.parse(raw);
+            if (type.equals(BigDecimal.class))
+                return new BigDecimal(raw);
+            if (type.equals(Long.class))
+                return Long.valueOf(raw);
+            if (type.equals(Integer.class))
+                return Integer.valueOf(raw);
+            if (type.equals(Double.class))
+                return Double.valueOf(raw);
             return raw;
         }
     }
+
+    /** Tiny visitor with a whitelist of fields we support */
+    static class Compiler implements RSQLVisitor<Plan, Void> {
+
+        @Override
+        public Plan visit(AndNode node, Void param) {
+            return junction(true, node);
+        }
+
+        @Override
+        public Plan visit(OrNode node, Void param) {
+            return junction(false, node);
+        }
+
+        @Override
+        public Plan visit(ComparisonNode node, Void param) {
+            Comparison comparison = comparison(node);
+            if (comparison.field().scope() != Scope.TRADE) {
+                return new LegExists(true, List.of(comparison));
+            }
+            return comparison;
+        }
+
+        // Leg and cashflow comparisons directly under this node share one EXISTS subquery
+        private Plan junction(boolean and, LogicalNode node) {
+            List<Plan> children = new ArrayList<>();
+            List<Comparison> legComparisons = new ArrayList<>();
+            for (Node child : node.getChildren()) {
+                if (child instanceof ComparisonNode comparisonNode) {
+                    Comparison comparison = comparison(comparisonNode);
+                    if (comparison.field().scope() != Scope.TRADE) {
+                        legComparisons.add(comparison);
+                    } else {
+                        children.add(comparison);
+                    }
+                } else {
+                    children.add(child.accept(this));
+                }
+            }
+            if (!legComparisons.isEmpty()) {
+                children.add(new LegExists(and, List.copyOf(legComparisons)));
+            }
+            return new Junction(and, List.copyOf(children));
+        }
+
+        private Comparison comparison(ComparisonNode node) {
+            String selector = node.getSelector();
+            Field field = FIELDS.get(selector);
+            if (field == null) {
+                throw new IllegalArgumentException("Unsupported field: " + selector + ". Supported fields: "
+                        + String.join(", ", new TreeSet<>(FIELDS.keySet())));
+            }
+            return new Comparison(field, node.getOperator(), List.copyOf(node.getArguments()));
+        }
+    }
+
+    /** Access-ordered LRU of compiled plans */
+    private static final class PlanCache {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong evictions = new AtomicLong();
+        private final LinkedHashMap<String, Plan> plans = new LinkedHashMap<>(64, 0.75f, true);
+        private int maxSize;
+
+        private PlanCache(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        synchronized Plan get(String key) {
+            Plan plan = plans.get(key);
+            (plan != null ? hits : misses).incrementAndGet();
+            return plan;
+        }
+
+        synchronized void put(String key, Plan plan) {
+            plans.put(key, plan);
+            trim();
+        }
+
+        synchronized void resize(int maxSize) {
+            this.maxSize = maxSize;
+            trim();
+        }
+
+        synchronized void clear() {
+            plans.clear();
+        }
+
+        synchronized CacheStats stats() {
+            return new CacheStats(hits.get(), misses.get(), evictions.get(), plans.size(), maxSize);
+        }
+
+        private void trim() {
+            Iterator<String> eldest = plans.keySet().iterator();
+            while (plans.size() > maxSize && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
 }
@@ -0,0 +1,5 @@
+package com.technicalchallenge.repository;
+
+/** The settlement instructions of one active trade version, as read to rebuild the index */
+public record SettlementTextRow(Long id, String settlementInstructions) {
+}
@@ -0,0 +1,47 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.SettlementTrigram;
+import com.technicalchallenge.model.SettlementTrigramId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SettlementTrigramRepository extends JpaRepository<SettlementTrigram, SettlementTrigramId> {
+
+    // Intersects the posting lists: the trades that hold every one of the distinct trigrams
+    @Query("""
+                select s.tradeId from SettlementTrigram s
+                where s.trigram in :trigrams
+                group by s.tradeId
+                having count(s.trigram) = :trigramCount
+            """)
+    List<Long> findTradeIdsWithAllTrigrams(
+            @Param("trigrams") Collection<String> trigrams,
+            @Param("trigramCount") long trigramCount);
+
+    @Modifying
+    @Query("delete from SettlementTrigram s where s.tradeId = :tradeId")
+    int deleteByTradeId(@Param("tradeId") Long tradeId);
+
+    @Modifying
+    @Query("delete from SettlementTrigram s where s.tradeId = :tradeId and s.trigram in :trigrams")
+    int deleteTrigrams(@Param("tradeId") Long tradeId, @Param("trigrams") Collection<String> trigrams);
+
+    @Query("select count(distinct s.tradeId) from SettlementTrigram s")
+    long countTrades();
+
+    @Query("""
+                select new com.technicalchallenge.repository.SettlementTextRow(t.id, t.settlementInstructions)
+                from Trade t
+                where t.active = true and t.settlementInstructions is not null and t.id > :afterId
+                order by t.id
+            """)
+    List<SettlementTextRow> findActiveSettlementTexts(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -0,0 +1,136 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.TradeAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TradeAggregateRepository extends JpaRepository<TradeAggregate, Long> {
+
+    /*
+     * Creates an empty row for the group unless one exists. A concurrent booking inserting the
+     * same group makes this wait for it and then do nothing, where a MERGE would fail its insert
+     * on the unique key and take the booking down with it. Undated groups are not covered by the
+     * unique key and may end up with two rows; the summaries add them up.
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO trade_aggregate (trader_user_id, book_id, counterparty_id, trade_status_id, trade_type_id,
+                                             trade_date, currency_id, trade_count, leg_count, notional)
+                SELECT k.trader_user_id, k.book_id, k.counterparty_id, k.trade_status_id, k.trade_type_id, k.trade_date,
+                       k.currency_id, 0, 0, 0
+                FROM (SELECT CAST(:traderUserId AS BIGINT) AS trader_user_id, CAST(:bookId AS BIGINT) AS book_id,
+                             CAST(:counterpartyId AS BIGINT) AS counterparty_id, CAST(:tradeStatusId AS BIGINT) AS trade_status_id,
+                             CAST(:tradeTypeId AS BIGINT) AS trade_type_id, CAST(:tradeDate AS DATE) AS trade_date,
+                             CAST(:currencyId AS BIGINT) AS currency_id) k
+                WHERE NOT EXISTS (
+                    SELECT 1 FROM trade_aggregate a
+                    WHERE a.trader_user_id = k.trader_user_id
+                      AND a.book_id = k.book_id
+                      AND a.counterparty_id = k.counterparty_id
+                      AND a.trade_status_id = k.trade_status_id
+                      AND a.trade_type_id = k.trade_type_id
+                      AND a.trade_date IS NOT DISTINCT FROM k.trade_date
+                      AND a.currency_id = k.currency_id)
+                ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertGroupIfAbsent(
+            @Param("traderUserId") long traderUserId,
+            @Param("bookId") long bookId,
+            @Param("counterpartyId") long counterpartyId,
+            @Param("tradeStatusId") long tradeStatusId,
+            @Param("tradeTypeId") long tradeTypeId,
+            @Param("tradeDate") LocalDate tradeDate,
+            @Param("currencyId") long currencyId);
+
+    // Adds to one row of the group, row-locking it so concurrent bookings on the group add up
+    @Modifying
+    @Query(value = """
+                UPDATE trade_aggregate SET
+                   trade_count = trade_count + :tradeCount,
+                   leg_count = leg_count + :legCount,
+                   notional = notional + :notional
+                WHERE id = (
+                    SELECT MIN(a.id) FROM trade_aggregate a
+                    WHERE a.trader_user_id = :traderUserId
+                      AND a.book_id = :bookId
+                      AND a.counterparty_id = :counterpartyId
+                      AND a.trade_status_id = :tradeStatusId
+                      AND a.trade_type_id = :tradeTypeId
+                      AND a.trade_date IS NOT DISTINCT FROM CAST(:tradeDate AS DATE)
+                      AND a.currency_id = :currencyId)
+            """, nativeQuery = true)
+    int applyDelta(
+            @Param("traderUserId") long traderUserId,
+            @Param("bookId") long bookId,
+            @Param("counterpartyId") long counterpartyId,
+            @Param("tradeStatusId") long tradeStatusId,
+            @Param("tradeTypeId") long tradeTypeId,
+            @Param("tradeDate") LocalDate tradeDate,
+            @Param("currencyId") long currencyId,
+            @Param("tradeCount") long tradeCount,
+            @Param("legCount") long legCount,
+            @Param("notional") BigDecimal notional);
+
+    @Modifying
+    @Query(value = """
+                INSERT INTO trade_aggregate (trader_user_id, book_id, counterparty_id, trade_status_id, trade_type_id,
+                                             trade_date, currency_id, trade_count, leg_count, notional)
+                SELECT trader_user_id, book_id, counterparty_id, trade_status_id, trade_type_id, trade_date, currency_id,
+                       SUM(trade_count), SUM(leg_count), SUM(notional)
+                FROM (
+                    SELECT COALESCE(t.trader_user_id, 0) AS trader_user_id, COALESCE(t.book_id, 0) AS book_id,
+                           COALESCE(t.counterparty_id, 0) AS counterparty_id, COALESCE(t.trade_status_id, 0) AS trade_status_id,
+                           COALESCE(t.trade_type_id, 0) AS trade_type_id, t.trade_date AS trade_date, 0 AS currency_id,
+                           1 AS trade_count, 0 AS leg_count, 0 AS notional
+                    FROM trade t
+                    WHERE t.active = true
+                    UNION ALL
+                    SELECT COALESCE(t.trader_user_id, 0), COALESCE(t.book_id, 0), COALESCE(t.counterparty_id, 0),
+                           COALESCE(t.trade_status_id, 0), COALESCE(t.trade_type_id, 0), t.trade_date,
+                           COALESCE(l.currency_id, 0), 0, 1, COALESCE(l.notional, 0)
+                    FROM trade_leg l
+                    JOIN trade t ON l.trade_id = t.id
+                    WHERE t.active = true
+                ) contributions
+                GROUP BY trader_user_id, book_id, counterparty_id, trade_status_id, trade_type_id, trade_date, currency_id
+            """, nativeQuery = true)
+    int rebuildFromTrades();
+
+    @Query("""
+                select new com.technicalchallenge.repository.TradeAggregateRow(
+                    max(case when a.tradeCount > 0 then a.tradeDate end),
+                    a.bookId, a.counterpartyId, a.tradeStatusId, a.tradeTypeId, a.currencyId,
+                    sum(a.tradeCount), sum(a.legCount), sum(a.notional))
+                from TradeAggregate a
+                where a.traderUserId = :traderId
+                  and (:fromDate is null or a.tradeDate >= :fromDate)
+                  and (:toDate   is null or a.tradeDate <= :toDate)
+                group by a.bookId, a.counterpartyId, a.tradeStatusId, a.tradeTypeId, a.currencyId
+            """)
+    List<TradeAggregateRow> summarizeForTrader(
+            @Param("traderId") Long traderId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+
+    @Query("""
+                select new com.technicalchallenge.repository.TradeAggregateRow(
+                    a.tradeDate, a.bookId, a.counterpartyId, a.tradeStatusId, a.tradeTypeId, a.currencyId,
+                    sum(a.tradeCount), sum(a.legCount), sum(a.notional))
+                from TradeAggregate a
+                where a.traderUserId = :traderId
+                  and a.tradeDate between :fromDate and :toDate
+                group by a.tradeDate, a.bookId, a.counterpartyId, a.tradeStatusId, a.tradeTypeId, a.currencyId
+            """)
+    List<TradeAggregateRow> summarizeForTraderByDay(
+            @Param("traderId") Long traderId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+}
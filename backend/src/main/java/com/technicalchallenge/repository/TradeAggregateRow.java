@@ -0,0 +1,20 @@
+package com.technicalchallenge.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Summed dashboard aggregates for one group. tradeDate is the group's trade date when grouping
+ * by day, otherwise the latest date that still has live trades.
+ */
+public record TradeAggregateRow(
+        LocalDate tradeDate,
+        Long bookId,
+        Long counterpartyId,
+        Long tradeStatusId,
+        Long tradeTypeId,
+        Long currencyId,
+        Long tradeCount,
+        Long legCount,
+        BigDecimal notional) {
+}
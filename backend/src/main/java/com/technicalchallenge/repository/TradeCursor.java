@@ -0,0 +1,166 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.Trade;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Position in a keyset (seek) scan over trades.
+ *
+ * Trades are ordered either by (tradeDate, id) or by id alone; the surrogate id breaks ties
+ * because business trade ids repeat across amended versions. Trades without a trade date
+ * follow the dated ones in either direction, ordered by id. The next page is read with a
+ * range predicate on the last row seen, so its cost does not depend on how deep the caller is.
+ * Cursors travel to clients as opaque URL-safe tokens.
+ */
+public final class TradeCursor {
+
+    public enum Key {
+        TRADE_DATE, ID;
+
+        public static Key fromParam(String value) {
+            if (value == null || value.isBlank() || value.equalsIgnoreCase("tradeDate")) {
+                return TRADE_DATE;
+            }
+            if (value.equalsIgnoreCase("id")) {
+                return ID;
+            }
+            throw new IllegalArgumentException("Unsupported cursor sort key: " + value);
+        }
+    }
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    private final Key key;
+    private final Sort.Direction direction;
+    private final LocalDate tradeDate;
+    private final Long id;
+
+    private TradeCursor(Key key, Sort.Direction direction, LocalDate tradeDate, Long id) {
+        this.key = key;
+        this.direction = direction;
+        this.tradeDate = tradeDate;
+        this.id = id;
+    }
+
+    /**
+     * Resolves request parameters: a continuation token carries its own key and direction,
+     * otherwise a scan is started from sortBy/direction.
+     */
+    public static TradeCursor resolve(String token, String sortBy, String direction) {
+        if (token != null && !token.isBlank()) {
+            return decode(token);
+        }
+        return first(Key.fromParam(sortBy), directionFromParam(direction));
+    }
+
+    public static void checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    public static TradeCursor first(Key key, Sort.Direction direction) {
+        return new TradeCursor(key, direction, null, null);
+    }
+
+    public TradeCursor after(Trade last) {
+        return new TradeCursor(key, direction, last.getTradeDate(), last.getId());
+    }
+
+    public Key getKey() {
+        return key;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, VERSION, key.name(), direction.name(),
+                tradeDate == null ? "" : tradeDate.toString(), String.valueOf(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TradeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Key key = Key.valueOf(parts[1]);
+            Sort.Direction direction = Sort.Direction.valueOf(parts[2]);
+            LocalDate tradeDate = parts[3].isEmpty() ? null : LocalDate.parse(parts[3]);
+            Long id = Long.valueOf(parts[4]);
+            return new TradeCursor(key, direction, tradeDate, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Restricts the scan to rows strictly after this position. On the (tradeDate, id) key every
+     * undated row is after every dated one, so a scan covers the same rows a count does.
+     */
+    public Specification<Trade> toSpecification() {
+        return (root, query, cb) -> {
+            Path<LocalDate> dateAttr = root.get("tradeDate");
+            Path<Long> idAttr = root.get("id");
+            boolean asc = direction.isAscending();
+
+            if (key == Key.ID) {
+                return isFirst() ? null : (asc ? cb.greaterThan(idAttr, id) : cb.lessThan(idAttr, id));
+            }
+
+            if (isFirst()) {
+                return null;
+            }
+            Predicate beyondId = asc ? cb.greaterThan(idAttr, id) : cb.lessThan(idAttr, id);
+            if (tradeDate == null) {
+                return cb.and(cb.isNull(dateAttr), beyondId);
+            }
+            Predicate beyondDate = asc ? cb.greaterThan(dateAttr, tradeDate) : cb.lessThan(dateAttr, tradeDate);
+            Predicate sameDateBeyondId = cb.and(cb.equal(dateAttr, tradeDate), beyondId);
+            return cb.or(beyondDate, sameDateBeyondId, cb.isNull(dateAttr));
+        };
+    }
+
+    List<Order> toOrders(Root<Trade> root, CriteriaBuilder cb) {
+        Order byId = direction.isAscending() ? cb.asc(root.get("id")) : cb.desc(root.get("id"));
+        if (key == Key.ID) {
+            return List.of(byId);
+        }
+        // Explicit, so the order matches the seek predicate whatever the database's null ordering
+        HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+        Order byDate = direction.isAscending() ? hcb.asc(root.get("tradeDate"), false) : hcb.desc(root.get("tradeDate"), false);
+        return List.of(byDate, byId);
+    }
+
+    public static Sort.Direction directionFromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return Sort.Direction.DESC;
+        }
+        return Sort.Direction.fromString(value.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,30 @@
+package com.technicalchallenge.repository;
+
+import java.util.Locale;
+
+/**
+ * How much of a trade an endpoint loads and maps. Each level adds one statement per page
+ * (see {@link TradeRepositoryCustom#fetchAssociations}) instead of a lazy load per leg or
+ * cashflow.
+ */
+public enum TradeFetchPlan {
+    /** Trade header and its references only; tradeLegs are not mapped */
+    SUMMARY,
+    /** Header plus legs and their references; leg cashflows are not mapped */
+    LEGS,
+    /** Header, legs and every leg's cashflows */
+    CASHFLOWS;
+
+    /** Null or blank returns defaultPlan */
+    public static TradeFetchPlan fromParam(String value, TradeFetchPlan defaultPlan) {
+        if (value == null || value.isBlank()) {
+            return defaultPlan;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported include: " + value
+                    + ". Supported values: summary, legs, cashflows");
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.Trade;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * A sparse fieldset for the trade list endpoints, parsed from a fields= parameter.
+ *
+ * Field names are the flat {@code TradeDTO} header names (tradeId, bookName, traderUserName ...).
+ * The set selects just those columns as a tuple and left joins only the references they come
+ * from, once each, so a blotter row is read without hydrating the trade, its references or its
+ * legs. Rows are maps keyed by field name, in the requested order.
+ */
+public final class TradeFieldSet {
+
+    private static final Map<String, Column> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        trade("id", "id");
+        trade("tradeId", "tradeId");
+        trade("version", "version");
+        trade("tradeDate", "tradeDate");
+        trade("tradeStartDate", "tradeStartDate");
+        trade("tradeMaturityDate", "tradeMaturityDate");
+        trade("tradeExecutionDate", "tradeExecutionDate");
+        trade("utiCode", "utiCode");
+        trade("settlementInstructions", "settlementInstructions");
+        trade("lastTouchTimestamp", "lastTouchTimestamp");
+        trade("validityStartDate", "validityStartDate");
+        trade("validityEndDate", "validityEndDate");
+        trade("active", "active");
+        trade("createdDate", "createdDate");
+        trade("cashflowStatus", "cashflowStatus");
+        reference("bookId", "book", "id");
+        reference("bookName", "book", "bookName");
+        reference("counterpartyId", "counterparty", "id");
+        reference("counterpartyName", "counterparty", "name");
+        reference("traderUserId", "traderUser", "id");
+        userName("traderUserName", "traderUser");
+        reference("tradeInputterUserId", "tradeInputterUser", "id");
+        userName("inputterUserName", "tradeInputterUser");
+        reference("tradeTypeId", "tradeType", "id");
+        reference("tradeType", "tradeType", "tradeType");
+        reference("tradeSubTypeId", "tradeSubType", "id");
+        reference("tradeSubType", "tradeSubType", "tradeSubType");
+        reference("tradeStatusId", "tradeStatus", "id");
+        reference("tradeStatus", "tradeStatus", "tradeStatus");
+    }
+
+    private final List<String> names;
+
+    private TradeFieldSet(List<String> names) {
+        this.names = names;
+    }
+
+    /** Null or blank means no projection and returns null */
+    public static TradeFieldSet parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            String field = name.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (!COLUMNS.containsKey(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field
+                        + ". Supported fields: " + String.join(", ", COLUMNS.keySet()));
+            }
+            names.add(field);
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        return new TradeFieldSet(List.copyOf(names));
+    }
+
+    /** Every supported field, in catalogue order */
+    public static TradeFieldSet all() {
+        return new TradeFieldSet(List.copyOf(COLUMNS.keySet()));
+    }
+
+    public static boolean isField(String name) {
+        return name != null && COLUMNS.containsKey(name);
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    /** The selections for this set; references are left joined from root on first use */
+    List<Selection<?>> select(Root<Trade> root, CriteriaBuilder cb) {
+        List<Selection<?>> selections = new ArrayList<>(names.size());
+        for (String name : names) {
+            selections.add(expression(name, root, cb).alias(name));
+        }
+        return selections;
+    }
+
+    /**
+     * The expression for one field, so filters, sorting and grouping can address trades by the
+     * same names. Joins already made on root for the same reference are reused.
+     */
+    static Expression<?> expression(String name, Root<Trade> root, CriteriaBuilder cb) {
+        Column column = COLUMNS.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown field: " + name);
+        }
+        From<?, ?> from = column.association() == null ? root : leftJoin(root, column.association());
+        return column.expression().apply(from, cb);
+    }
+
+    private static From<?, ?> leftJoin(Root<Trade> root, String association) {
+        for (Join<Trade, ?> join : root.getJoins()) {
+            if (join.getJoinType() == JoinType.LEFT && join.getAttribute().getName().equals(association)) {
+                return join;
+            }
+        }
+        return root.join(association, JoinType.LEFT);
+    }
+
+    Map<String, Object> toRow(Tuple tuple) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String name : names) {
+            Object value = tuple.get(name);
+            // Same string form TradeDTO uses
+            row.put(name, value instanceof Enum<?> e ? e.name() : value);
+        }
+        return row;
+    }
+
+    private record Column(String association, BiFunction<From<?, ?>, CriteriaBuilder, Expression<?>> expression) {
+    }
+
+    private static void trade(String name, String attribute) {
+        COLUMNS.put(name, new Column(null, (from, cb) -> from.get(attribute)));
+    }
+
+    private static void reference(String name, String association, String attribute) {
+        COLUMNS.put(name, new Column(association, (from, cb) -> from.get(attribute)));
+    }
+
+    // "First Last", as TradeMapper builds it
+    private static void userName(String name, String association) {
+        COLUMNS.put(name, new Column(association, (from, cb) -> cb.concat(
+                cb.concat(from.<String>get("firstName"), " "), from.<String>get("lastName"))));
+    }
+}
@@ -0,0 +1,217 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.Trade;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Turns an AG Grid filter model into a trade specification.
+ *
+ * Keys are TradeDTO header field names (see {@link TradeFieldSet}). Supported are the text,
+ * number, date and set filters and combined filters ({@code operator} with {@code conditions},
+ * or the older condition1/condition2). Values are converted to the type of the field, so a date
+ * filter's "2025-01-02 00:00:00" compares as a LocalDate on tradeDate.
+ */
+public final class TradeGridFilters {
+
+    private TradeGridFilters() {
+    }
+
+    /** Null or empty filter models match every trade and return null */
+    public static Specification<Trade> from(Map<String, Map<String, Object>> filterModel) {
+        if (filterModel == null || filterModel.isEmpty()) {
+            return null;
+        }
+        Specification<Trade> spec = null;
+        for (Map.Entry<String, Map<String, Object>> entry : filterModel.entrySet()) {
+            String field = entry.getKey();
+            if (!TradeFieldSet.isField(field)) {
+                throw new IllegalArgumentException("Cannot filter on unknown field: " + field);
+            }
+            Map<String, Object> filter = entry.getValue();
+            Specification<Trade> fieldSpec = (root, query, cb) -> predicate(field, filter, root, cb);
+            spec = spec == null ? Specification.where(fieldSpec) : spec.and(fieldSpec);
+        }
+        return spec;
+    }
+
+    /**
+     * Restricts to the rows under an opened group: each group field equals the key of the
+     * group row at that level. Keys arrive as the grid shows them and are converted back.
+     */
+    public static Specification<Trade> groupKeys(List<String> fields, List<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                Expression<?> expression = TradeFieldSet.expression(fields.get(i), root, cb);
+                Object key = convert(keys.get(i), expression.getJavaType());
+                predicates.add(key == null ? cb.isNull(expression) : cb.equal(expression, key));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static Predicate predicate(String field, Map<String, Object> filter, Root<Trade> root, CriteriaBuilder cb) {
+        Object conditions = filter.get("conditions");
+        if (conditions == null && filter.containsKey("condition1")) {
+            conditions = List.of(filter.get("condition1"), filter.get("condition2"));
+        }
+        if (conditions instanceof Collection<?> list) {
+            List<Predicate> predicates = new ArrayList<>();
+            for (Object condition : list) {
+                if (condition instanceof Map<?, ?> map) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> typed = (Map<String, Object>) map;
+                    predicates.add(predicate(field, typed, root, cb));
+                }
+            }
+            Predicate[] array = predicates.toArray(Predicate[]::new);
+            return "OR".equalsIgnoreCase(String.valueOf(filter.get("operator"))) ? cb.or(array) : cb.and(array);
+        }
+
+        Expression<?> expression = TradeFieldSet.expression(field, root, cb);
+        String filterType = String.valueOf(filter.getOrDefault("filterType", "text"));
+        String type = String.valueOf(filter.getOrDefault("type", "equals"));
+        return switch (filterType) {
+            case "set" -> set(expression, filter.get("values"), cb);
+            case "text" -> text(expression, type, filter.get("filter"), cb);
+            case "number" -> compare(expression, type, filter.get("filter"), filter.get("filterTo"), cb);
+            case "date" -> compare(expression, type, filter.get("dateFrom"), filter.get("dateTo"), cb);
+            default -> throw new IllegalArgumentException("Unsupported filter type: " + filterType);
+        };
+    }
+
+    private static Predicate set(Expression<?> expression, Object values, CriteriaBuilder cb) {
+        if (!(values instanceof Collection<?> list)) {
+            throw new IllegalArgumentException("Set filter needs values");
+        }
+        List<Object> converted = new ArrayList<>();
+        boolean includeNull = false;
+        for (Object value : list) {
+            Object typed = convert(value, expression.getJavaType());
+            if (typed == null) {
+                includeNull = true;
+            } else {
+                converted.add(typed);
+            }
+        }
+        // An empty selection matches nothing, as in the grid
+        Predicate in = converted.isEmpty() ? cb.disjunction() : expression.in(converted);
+        return includeNull ? cb.or(in, cb.isNull(expression)) : in;
+    }
+
+    private static Predicate text(Expression<?> expression, String type, Object value, CriteriaBuilder cb) {
+        @SuppressWarnings("unchecked")
+        Expression<String> text = (Expression<String>) expression;
+        if ("blank".equals(type)) {
+            return cb.or(cb.isNull(text), cb.equal(text, ""));
+        }
+        if ("notBlank".equals(type)) {
+            return cb.and(cb.isNotNull(text), cb.notEqual(text, ""));
+        }
+        if (expression.getJavaType() != String.class) {
+            // Text filters on non-text columns compare exactly
+            return "notEqual".equals(type) ? cb.notEqual(expression, convert(value, expression.getJavaType()))
+                    : cb.equal(expression, convert(value, expression.getJavaType()));
+        }
+        Expression<String> lower = cb.lower(text);
+        String term = value == null ? "" : value.toString().toLowerCase(Locale.ROOT);
+        return switch (type) {
+            case "equals" -> cb.equal(lower, term);
+            case "notEqual" -> cb.notEqual(lower, term);
+            case "contains" -> cb.like(lower, "%" + escape(term) + "%", '\\');
+            case "notContains" -> cb.notLike(lower, "%" + escape(term) + "%", '\\');
+            case "startsWith" -> cb.like(lower, escape(term) + "%", '\\');
+            case "endsWith" -> cb.like(lower, "%" + escape(term), '\\');
+            default -> throw new IllegalArgumentException("Unsupported text filter: " + type);
+        };
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Predicate compare(Expression<?> expression, String type, Object from, Object to, CriteriaBuilder cb) {
+        Expression<Comparable> comparable = (Expression<Comparable>) expression;
+        Class<?> javaType = expression.getJavaType();
+        return switch (type) {
+            case "blank" -> cb.isNull(expression);
+            case "notBlank" -> cb.isNotNull(expression);
+            case "equals" -> cb.equal(expression, required(from, javaType));
+            case "notEqual" -> cb.notEqual(expression, required(from, javaType));
+            case "lessThan" -> cb.lessThan(comparable, required(from, javaType));
+            case "lessThanOrEqual" -> cb.lessThanOrEqualTo(comparable, required(from, javaType));
+            case "greaterThan" -> cb.greaterThan(comparable, required(from, javaType));
+            case "greaterThanOrEqual" -> cb.greaterThanOrEqualTo(comparable, required(from, javaType));
+            // The grid's inRange is inclusive at both ends
+            case "inRange" -> cb.between(comparable, required(from, javaType), required(to, javaType));
+            default -> throw new IllegalArgumentException("Unsupported filter: " + type);
+        };
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Comparable required(Object value, Class<?> javaType) {
+        Object converted = convert(value, javaType);
+        if (!(converted instanceof Comparable<?> comparable)) {
+            throw new IllegalArgumentException("Filter value missing or not comparable: " + value);
+        }
+        return comparable;
+    }
+
+    /** Converts a JSON value from the grid to the field's Java type; null stays null */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static Object convert(Object value, Class<?> javaType) {
+        if (value == null || javaType == null || javaType.isInstance(value)) {
+            return value;
+        }
+        String text = value.toString().trim();
+        try {
+            if (javaType == Long.class) {
+                return new BigDecimal(text).longValueExact();
+            }
+            if (javaType == Integer.class) {
+                return new BigDecimal(text).intValueExact();
+            }
+            if (javaType == BigDecimal.class) {
+                return new BigDecimal(text);
+            }
+            if (javaType == Double.class) {
+                return Double.valueOf(text);
+            }
+            if (javaType == Boolean.class) {
+                return Boolean.valueOf(text);
+            }
+            // Date filters send "yyyy-MM-dd HH:mm:ss"
+            if (javaType == LocalDate.class) {
+                return LocalDate.parse(text.length() > 10 ? text.substring(0, 10) : text);
+            }
+            if (javaType == LocalDateTime.class) {
+                return text.length() == 10 ? LocalDate.parse(text).atStartOfDay()
+                        : LocalDateTime.parse(text.replace(' ', 'T'));
+            }
+            if (javaType.isEnum()) {
+                return Enum.valueOf((Class<Enum>) javaType, text.toUpperCase(Locale.ROOT));
+            }
+        } catch (ArithmeticException | NumberFormatException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid filter value: " + value, ex);
+        }
+        return text;
+    }
+
+    private static String escape(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
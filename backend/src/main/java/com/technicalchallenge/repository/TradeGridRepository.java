@@ -0,0 +1,155 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.dto.ServerSideRowsRequest;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeLeg;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Row blocks for the AG Grid server-side row model. Both queries read one block by offset and
+ * limit and select only flat columns, never whole trades.
+ */
+@Repository
+public class TradeGridRepository {
+
+    public static final String CHILD_COUNT = "childCount";
+    public static final String NOTIONAL = "notional";
+    // Column id of the grid's auto group column, which sorts by the group value
+    private static final String AUTO_GROUP_COLUMN = "ag-Grid-AutoColumn";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Leaf rows: every TradeFieldSet field plus the trade's notional, summed over its legs as the
+     * dashboard does. Ordered by the sort model, then id so blocks do not overlap.
+     */
+    public List<Map<String, Object>> findLeafRows(Specification<Trade> spec, List<ServerSideRowsRequest.Sort> sortModel,
+            int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Trade> root = query.from(Trade.class);
+        where(query, root, cb, spec);
+
+        TradeFieldSet fields = TradeFieldSet.all();
+        Subquery<BigDecimal> notional = query.subquery(BigDecimal.class);
+        Root<TradeLeg> leg = notional.from(TradeLeg.class);
+        notional.select(cb.sum(leg.<BigDecimal>get("notional"))).where(cb.equal(leg.get("trade"), root));
+
+        List<Selection<?>> selections = new ArrayList<>(fields.select(root, cb));
+        selections.add(notional.alias(NOTIONAL));
+        query.multiselect(selections);
+
+        List<Order> orders = new ArrayList<>();
+        for (ServerSideRowsRequest.Sort sort : sortModel) {
+            if (AUTO_GROUP_COLUMN.equals(sort.getColId())) {
+                continue;
+            }
+            Expression<?> expression = NOTIONAL.equals(sort.getColId()) ? notional
+                    : TradeFieldSet.expression(sortField(sort), root, cb);
+            orders.add(order(cb, expression, sort));
+        }
+        orders.add(cb.asc(root.get("id")));
+        query.orderBy(orders);
+
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(tuple -> {
+                    Map<String, Object> row = fields.toRow(tuple);
+                    row.put(NOTIONAL, tuple.get(NOTIONAL));
+                    return row;
+                })
+                .toList();
+    }
+
+    /**
+     * Group rows for one level: the distinct values of groupField with the number of trades
+     * under each and their summed leg notional. Ordered by the group value unless the sort
+     * model names childCount or notional.
+     */
+    public List<Map<String, Object>> findGroupRows(Specification<Trade> spec, String groupField,
+            List<ServerSideRowsRequest.Sort> sortModel, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Trade> root = query.from(Trade.class);
+        where(query, root, cb, spec);
+
+        Expression<?> key = TradeFieldSet.expression(groupField, root, cb);
+        Join<Trade, TradeLeg> legs = root.join("tradeLegs", JoinType.LEFT);
+        // The legs join repeats each trade once per leg, so trades are counted distinct
+        Expression<Long> childCount = cb.countDistinct(root);
+        Expression<BigDecimal> notional = cb.sum(legs.<BigDecimal>get("notional"));
+        query.multiselect(key.alias(groupField), childCount.alias(CHILD_COUNT), notional.alias(NOTIONAL))
+                .groupBy(key);
+
+        List<Order> orders = new ArrayList<>();
+        for (ServerSideRowsRequest.Sort sort : sortModel) {
+            String colId = sort.getColId();
+            if (CHILD_COUNT.equals(colId)) {
+                orders.add(order(cb, childCount, sort));
+            } else if (NOTIONAL.equals(colId)) {
+                orders.add(order(cb, notional, sort));
+            } else if (groupField.equals(colId) || AUTO_GROUP_COLUMN.equals(colId)) {
+                orders.add(order(cb, key, sort));
+            }
+        }
+        if (orders.stream().noneMatch(order -> order.getExpression() == key)) {
+            orders.add(cb.asc(key));
+        }
+        query.orderBy(orders);
+
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(tuple -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    Object value = tuple.get(groupField);
+                    row.put(groupField, value instanceof Enum<?> e ? e.name() : value);
+                    row.put(CHILD_COUNT, tuple.get(CHILD_COUNT));
+                    row.put(NOTIONAL, tuple.get(NOTIONAL));
+                    return row;
+                })
+                .toList();
+    }
+
+    private static void where(CriteriaQuery<?> query, Root<Trade> root, CriteriaBuilder cb, Specification<Trade> spec) {
+        Predicate predicate = Specification.where(spec).toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    private static String sortField(ServerSideRowsRequest.Sort sort) {
+        if (!TradeFieldSet.isField(sort.getColId())) {
+            throw new IllegalArgumentException("Cannot sort on unknown column: " + sort.getColId());
+        }
+        return sort.getColId();
+    }
+
+    private static Order order(CriteriaBuilder cb, Expression<?> expression, ServerSideRowsRequest.Sort sort) {
+        return "desc".equalsIgnoreCase(sort.getSort()) ? cb.desc(expression) : cb.asc(expression);
+    }
+}
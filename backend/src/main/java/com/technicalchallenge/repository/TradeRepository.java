@@ -1,7 +1,9 @@
 package com.technicalchallenge.repository;
 
+import com.technicalchallenge.model.CashflowGenerationStatus;
 import com.technicalchallenge.model.Trade;
 
+import jakarta.persistence.LockModeType;
 import jakarta.validation.constraints.NotBlank;
 
 import java.util.List;
@@ -12,6 +14,8 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -21,7 +25,18 @@ import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 
 @Repository
-public interface TradeRepository extends JpaRepository<Trade, Long>, JpaSpecificationExecutor<Trade> {
+public interface TradeRepository
+        extends JpaRepository<Trade, Long>, JpaSpecificationExecutor<Trade>, TradeRepositoryCustom {
+    @Override
+    @EntityGraph(Trade.GRAPH_SUMMARY)
+    @NonNull
+    List<Trade> findAll();
+
+    @Override
+    @EntityGraph(Trade.GRAPH_SUMMARY)
+    @NonNull
+    Page<Trade> findAll(@NonNull Pageable pageable);
+
     List<Trade> findByTradeId(Long tradeId);
 
     @Query("SELECT MAX(t.tradeId) FROM Trade t")
@@ -30,8 +45,10 @@ public interface TradeRepository extends JpaRepository<Trade, Long>, JpaSpecific
     @Query("SELECT MAX(t.version) FROM Trade t WHERE t.tradeId = :tradeId")
     Optional<Integer> findMaxVersionByTradeId(@Param("tradeId") Long tradeId);
 
+    @EntityGraph(Trade.GRAPH_SUMMARY)
     Optional<Trade> findByTradeIdAndActiveTrue(Long tradeId);
 
+    @EntityGraph(Trade.GRAPH_SUMMARY)
     List<Trade> findByActiveTrueAndSettlementInstructionsContainingIgnoreCase(String instructions);
 
     List<Trade> findByActiveTrueOrderByTradeIdDesc();
@@ -39,8 +56,19 @@ public interface TradeRepository extends JpaRepository<Trade, Long>, JpaSpecific
     @Query("SELECT t FROM Trade t WHERE t.tradeId = :tradeId AND t.active = true ORDER BY t.version DESC")
     Optional<Trade> findLatestActiveVersionByTradeId(@Param("tradeId") Long tradeId);
 
+    @Modifying
+    @Query("UPDATE Trade t SET t.cashflowStatus = :status WHERE t.id = :id")
+    int updateCashflowStatus(@Param("id") Long id, @Param("status") CashflowGenerationStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Trade t WHERE t.id = :id")
+    Optional<Trade> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT t.id FROM Trade t WHERE t.cashflowStatus = :status ORDER BY t.id")
+    List<Long> findIdsByCashflowStatus(@Param("status") CashflowGenerationStatus status);
+
     @Override
-    @EntityGraph(attributePaths = { "book", "counterparty", "tradeStatus", "traderUser" })
+    @EntityGraph(Trade.GRAPH_SUMMARY)
     @NonNull
     Page<Trade> findAll(@Nullable Specification<Trade> spec, @NonNull Pageable pageable);
 }
@@ -0,0 +1,39 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.dto.CursorPage;
+import com.technicalchallenge.model.Trade;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface TradeRepositoryCustom {
+
+    /**
+     * Keyset scan: returns up to size trades matching spec that come after the cursor, in
+     * cursor order. The total is only counted when includeTotal is set.
+     */
+    CursorPage<Trade> findPageAfter(Specification<Trade> spec, TradeCursor cursor, int size, boolean includeTotal);
+
+    /**
+     * Forward-only, read-only scan of the trades matching spec in id order, fetched from the
+     * database fetchSize rows at a time. Must be consumed and closed inside a transaction.
+     */
+    Stream<Trade> streamAll(Specification<Trade> spec, int fetchSize);
+
+    /**
+     * Initialises the associations the plan needs on trades already loaded in the current
+     * persistence context: one statement for the legs of all the trades and, for CASHFLOWS, one
+     * for their cashflows. SUMMARY loads nothing.
+     */
+    void fetchAssociations(Collection<Trade> trades, TradeFetchPlan plan);
+
+    /**
+     * Projection alternative to findAll(spec, pageable): selects only the fields of the set, one
+     * map per trade keyed by field name. Sorting uses trade attribute paths as findAll does.
+     */
+    Page<Map<String, Object>> findFields(Specification<Trade> spec, TradeFieldSet fields, Pageable pageable);
+}
@@ -0,0 +1,146 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.dto.CursorPage;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeLeg;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+public class TradeRepositoryImpl implements TradeRepositoryCustom {
+    private static final String FETCH_GRAPH = "jakarta.persistence.fetchgraph";
+    // Keeps IN lists within what every database accepts; pages are at most 500 trades
+    private static final int FETCH_CHUNK_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public CursorPage<Trade> findPageAfter(Specification<Trade> spec, TradeCursor cursor, int size,
+            boolean includeTotal) {
+        // One extra row tells us whether another page exists without counting
+        List<Trade> rows = findAfter(spec, cursor, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<Trade> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursor.after(content.get(content.size() - 1)).encode() : null;
+        Long total = includeTotal ? count(spec) : null;
+        return new CursorPage<>(List.copyOf(content), size, hasNext, nextCursor, total);
+    }
+
+    private List<Trade> findAfter(Specification<Trade> spec, TradeCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Trade> query = cb.createQuery(Trade.class);
+        Root<Trade> root = query.from(Trade.class);
+
+        Predicate predicate = Specification.where(spec)
+                .and(cursor.toSpecification())
+                .toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(cursor.toOrders(root, cb));
+
+        // Same associations as the paged findAll(spec, pageable) graph
+        return entityManager.createQuery(query)
+                .setHint(FETCH_GRAPH, entityManager.getEntityGraph(Trade.GRAPH_SUMMARY))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Trade> streamAll(Specification<Trade> spec, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Trade> query = cb.createQuery(Trade.class);
+        Root<Trade> root = query.from(Trade.class);
+
+        Predicate predicate = Specification.where(spec).toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(cb.asc(root.get("id")));
+
+        // Header references are fetched with each row so the scan does not fan out into per-trade lookups
+        return entityManager.createQuery(query)
+                .setHint(FETCH_GRAPH, entityManager.getEntityGraph(Trade.GRAPH_SUMMARY))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public void fetchAssociations(Collection<Trade> trades, TradeFetchPlan plan) {
+        if (plan == TradeFetchPlan.SUMMARY || trades.isEmpty()) {
+            return;
+        }
+        List<Long> ids = trades.stream().map(Trade::getId).filter(Objects::nonNull).distinct().toList();
+        for (int from = 0; from < ids.size(); from += FETCH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + FETCH_CHUNK_SIZE, ids.size()));
+            // The trades are already managed, so these queries only fill in their collections.
+            // Legs and cashflows are two bags and cannot be join fetched in one statement.
+            entityManager.createQuery("SELECT t FROM Trade t WHERE t.id IN :ids", Trade.class)
+                    .setParameter("ids", chunk)
+                    .setHint(FETCH_GRAPH, entityManager.getEntityGraph(Trade.GRAPH_LEGS))
+                    .getResultList();
+            if (plan == TradeFetchPlan.CASHFLOWS) {
+                entityManager.createQuery("SELECT l FROM TradeLeg l WHERE l.trade.id IN :ids", TradeLeg.class)
+                        .setParameter("ids", chunk)
+                        .setHint(FETCH_GRAPH, entityManager.getEntityGraph(TradeLeg.GRAPH_CASHFLOWS))
+                        .getResultList();
+            }
+        }
+    }
+
+    @Override
+    public Page<Map<String, Object>> findFields(Specification<Trade> spec, TradeFieldSet fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Trade> root = query.from(Trade.class);
+
+        Predicate predicate = Specification.where(spec).toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.multiselect(fields.select(root, cb));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> rows = typedQuery.getResultList().stream().map(fields::toRow).toList();
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(spec));
+    }
+
+    private long count(Specification<Trade> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Trade> root = query.from(Trade.class);
+
+        Predicate predicate = Specification.where(spec).toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cb.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,20 @@
+package com.technicalchallenge.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One trade/leg row of the trader summary scan. Trades without legs come back once with a
+ * null legId.
+ */
+public record TradeSummaryRow(
+        Long tradeId,
+        String status,
+        String tradeType,
+        String counterparty,
+        String book,
+        LocalDate tradeDate,
+        Long legId,
+        String currency,
+        BigDecimal notional) {
+}
@@ -1,13 +1,21 @@
 package com.technicalchallenge.repository;
 
 import com.technicalchallenge.model.TradeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TradeTypeRepository extends JpaRepository<TradeType, Long> {
     // Custom query methods
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TradeType> findByTradeType(String tradeType);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<TradeType> findAll();
 }
@@ -1,9 +1,9 @@
 package com.technicalchallenge.service;
 
 import com.technicalchallenge.dto.AdditionalInfoDTO;
+import com.technicalchallenge.mapper.AdditionalInfoMapper;
 import com.technicalchallenge.model.AdditionalInfo;
 import com.technicalchallenge.repository.AdditionalInfoRepository;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,12 +20,12 @@ public class AdditionalInfoService {
     private AdditionalInfoRepository additionalInfoRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private AdditionalInfoMapper additionalInfoMapper;
 
     public List<AdditionalInfoDTO> getAdditionalInfoForEntity(String entityType, Long entityId) {
         List<AdditionalInfo> additionalInfoList = additionalInfoRepository.findActiveByEntityTypeAndEntityId(entityType, entityId);
         return additionalInfoList.stream()
-                .map(info -> modelMapper.map(info, AdditionalInfoDTO.class))
+                .map(additionalInfoMapper::toDto)
                 .collect(Collectors.toList());
     }
 
@@ -41,7 +41,7 @@ public class AdditionalInfoService {
         }
 
         // Create new version
-        AdditionalInfo newInfo = modelMapper.map(dto, AdditionalInfo.class);
+        AdditionalInfo newInfo = additionalInfoMapper.toEntity(dto);
         newInfo.setId(null); // Ensure new record
         newInfo.setActive(true);
         newInfo.setCreatedDate(LocalDateTime.now());
@@ -49,7 +49,7 @@ public class AdditionalInfoService {
         newInfo.setVersion(existing != null ? existing.getVersion() + 1 : 1);
 
         AdditionalInfo saved = additionalInfoRepository.save(newInfo);
-        return modelMapper.map(saved, AdditionalInfoDTO.class);
+        return additionalInfoMapper.toDto(saved);
     }
 
     public void removeAdditionalInfo(String entityType, Long entityId, String fieldName) {
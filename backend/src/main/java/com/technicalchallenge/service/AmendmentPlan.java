@@ -0,0 +1,187 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.CashflowGenerationStatus;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeLeg;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * What an amendment changes relative to the active trade version.
+ *
+ * Proposed legs are paired with current legs by legId when the request carries one; the rest
+ * take the current leg at the same position, or failing that the first one still unpaired.
+ * A leg whose economics are identical keeps its cashflows: they are copied to the new version
+ * instead of being generated again. Moving the start or maturity date reshapes every
+ * schedule, so then all legs are regenerated; the same applies while the current version's
+ * cashflows are still being generated asynchronously.
+ */
+public final class AmendmentPlan {
+
+    public enum LegChange {
+        UNCHANGED,
+        CHANGED,
+        ADDED,
+        REMOVED
+    }
+
+    /** One leg of the plan; current is null for added legs, proposed is null for removed ones */
+    public record LegPlan(int index, TradeLeg current, TradeLeg proposed, LegChange change,
+            List<String> changedFields) {
+    }
+
+    private static final List<Field<Trade>> TRADE_FIELDS = List.of(
+            new Field<>("tradeDate", Trade::getTradeDate),
+            new Field<>("tradeStartDate", Trade::getTradeStartDate),
+            new Field<>("tradeMaturityDate", Trade::getTradeMaturityDate),
+            new Field<>("tradeExecutionDate", Trade::getTradeExecutionDate),
+            new Field<>("utiCode", Trade::getUtiCode),
+            new Field<>("settlementInstructions", Trade::getSettlementInstructions),
+            new Field<>("validityStartDate", Trade::getValidityStartDate),
+            new Field<>("book", t -> t.getBook() == null ? null : t.getBook().getId()),
+            new Field<>("counterparty", t -> t.getCounterparty() == null ? null : t.getCounterparty().getId()),
+            new Field<>("traderUser", t -> t.getTraderUser() == null ? null : t.getTraderUser().getId()),
+            new Field<>("tradeInputterUser", t -> t.getTradeInputterUser() == null ? null : t.getTradeInputterUser().getId()),
+            new Field<>("tradeType", t -> t.getTradeType() == null ? null : t.getTradeType().getId()),
+            new Field<>("tradeSubType", t -> t.getTradeSubType() == null ? null : t.getTradeSubType().getId()));
+
+    private static final List<Field<TradeLeg>> LEG_FIELDS = List.of(
+            new Field<>("notional", l -> l.getNotional() == null ? null : l.getNotional().stripTrailingZeros()),
+            new Field<>("rate", TradeLeg::getRate),
+            new Field<>("dayCountConvention", TradeLeg::getDayCountConvention),
+            new Field<>("currency", l -> l.getCurrency() == null ? null : l.getCurrency().getId()),
+            new Field<>("legType", l -> l.getLegRateType() == null ? null : l.getLegRateType().getId()),
+            new Field<>("index", l -> l.getIndex() == null ? null : l.getIndex().getId()),
+            new Field<>("holidayCalendar", l -> l.getHolidayCalendar() == null ? null : l.getHolidayCalendar().getId()),
+            new Field<>("calculationPeriodSchedule",
+                    l -> l.getCalculationPeriodSchedule() == null ? null : l.getCalculationPeriodSchedule().getId()),
+            new Field<>("paymentBusinessDayConvention",
+                    l -> l.getPaymentBusinessDayConvention() == null ? null : l.getPaymentBusinessDayConvention().getId()),
+            new Field<>("fixingBusinessDayConvention",
+                    l -> l.getFixingBusinessDayConvention() == null ? null : l.getFixingBusinessDayConvention().getId()),
+            new Field<>("payReceiveFlag", l -> l.getPayReceiveFlag() == null ? null : l.getPayReceiveFlag().getId()));
+
+    private final List<String> changedFields;
+    private final boolean regenerateAll;
+    private final List<LegPlan> legs;
+
+    private AmendmentPlan(List<String> changedFields, boolean regenerateAll, List<LegPlan> legs) {
+        this.changedFields = changedFields;
+        this.regenerateAll = regenerateAll;
+        this.legs = legs;
+    }
+
+    /**
+     * Diffs a proposed version against the current one. requestedLegIds is parallel to
+     * proposedLegs and holds the legId each proposed leg claims to amend, or null.
+     */
+    public static AmendmentPlan diff(Trade current, Trade proposed, List<TradeLeg> proposedLegs,
+            List<Long> requestedLegIds) {
+        List<String> changedFields = changedFields(TRADE_FIELDS, current, proposed);
+        boolean regenerateAll = changedFields.contains("tradeStartDate")
+                || changedFields.contains("tradeMaturityDate")
+                || (current.getCashflowStatus() != null && current.getCashflowStatus() != CashflowGenerationStatus.COMPLETE);
+
+        List<TradeLeg> currentLegs = current.getTradeLegs() == null ? List.of() : current.getTradeLegs();
+        boolean[] matched = new boolean[currentLegs.size()];
+        int[] pairs = new int[proposedLegs.size()];
+
+        // Explicit legIds claim their legs first so positional pairing cannot take them
+        for (int i = 0; i < proposedLegs.size(); i++) {
+            Long requestedId = requestedLegIds == null || i >= requestedLegIds.size() ? null : requestedLegIds.get(i);
+            pairs[i] = indexOfLeg(currentLegs, matched, requestedId);
+            if (pairs[i] >= 0) {
+                matched[pairs[i]] = true;
+            }
+        }
+        for (int i = 0; i < proposedLegs.size(); i++) {
+            if (pairs[i] < 0) {
+                pairs[i] = freeLeg(matched, i);
+                if (pairs[i] >= 0) {
+                    matched[pairs[i]] = true;
+                }
+            }
+        }
+
+        List<LegPlan> legs = new ArrayList<>();
+        for (int i = 0; i < proposedLegs.size(); i++) {
+            TradeLeg proposedLeg = proposedLegs.get(i);
+            if (pairs[i] < 0) {
+                legs.add(new LegPlan(i, null, proposedLeg, LegChange.ADDED, List.of()));
+                continue;
+            }
+            TradeLeg currentLeg = currentLegs.get(pairs[i]);
+            List<String> legChanges = changedFields(LEG_FIELDS, currentLeg, proposedLeg);
+            legs.add(new LegPlan(i, currentLeg, proposedLeg,
+                    legChanges.isEmpty() ? LegChange.UNCHANGED : LegChange.CHANGED, legChanges));
+        }
+        for (int i = 0; i < currentLegs.size(); i++) {
+            if (!matched[i]) {
+                legs.add(new LegPlan(i, currentLegs.get(i), null, LegChange.REMOVED, List.of()));
+            }
+        }
+        return new AmendmentPlan(changedFields, regenerateAll, legs);
+    }
+
+    private static int indexOfLeg(List<TradeLeg> currentLegs, boolean[] matched, Long legId) {
+        if (legId != null) {
+            for (int i = 0; i < currentLegs.size(); i++) {
+                if (!matched[i] && legId.equals(currentLegs.get(i).getLegId())) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // The leg at the same position if still unpaired, otherwise the first unpaired one
+    private static int freeLeg(boolean[] matched, int position) {
+        if (position < matched.length && !matched[position]) {
+            return position;
+        }
+        for (int i = 0; i < matched.length; i++) {
+            if (!matched[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static <T> List<String> changedFields(List<Field<T>> fields, T current, T proposed) {
+        List<String> changed = new ArrayList<>();
+        for (Field<T> field : fields) {
+            if (!Objects.equals(field.value().apply(current), field.value().apply(proposed))) {
+                changed.add(field.name());
+            }
+        }
+        return changed;
+    }
+
+    /** Whether the leg's cashflows can be copied from the current version */
+    public boolean carriesForward(LegPlan leg) {
+        return !regenerateAll && leg.change() == LegChange.UNCHANGED && leg.current().getLegId() != null;
+    }
+
+    public List<String> getChangedFields() {
+        return Collections.unmodifiableList(changedFields);
+    }
+
+    public boolean isRegenerateAll() {
+        return regenerateAll;
+    }
+
+    public List<LegPlan> getLegs() {
+        return Collections.unmodifiableList(legs);
+    }
+
+    public long count(LegChange change) {
+        return legs.stream().filter(l -> l.change() == change).count();
+    }
+
+    private record Field<T>(String name, Function<T, Object> value) {
+    }
+}
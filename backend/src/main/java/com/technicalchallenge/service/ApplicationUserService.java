@@ -1,9 +1,11 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
 import com.technicalchallenge.model.ApplicationUser;
 import com.technicalchallenge.repository.ApplicationUserRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -17,6 +19,7 @@ import java.util.Optional;
 public class ApplicationUserService {
     private static final Logger logger = LoggerFactory.getLogger(ApplicationUserService.class);
     private final ApplicationUserRepository applicationUserRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public boolean validateCredentials(String loginId, String password) {
         logger.debug("Validating credentials for user: {}", loginId);
@@ -41,12 +44,15 @@ public class ApplicationUserService {
 
     public ApplicationUser saveUser(ApplicationUser user) {
         logger.info("Saving user: {}", user);
-        return applicationUserRepository.save(user);
+        ApplicationUser saved = applicationUserRepository.save(user);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ApplicationUser.class, saved.getId()));
+        return saved;
     }
 
     public void deleteUser(Long id) {
         logger.warn("Deleting user with id: {}", id);
         applicationUserRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ApplicationUser.class, id));
     }
 
     public ApplicationUser updateUser(Long id, ApplicationUser user) {
@@ -63,6 +69,8 @@ public class ApplicationUserService {
             existingUser.setPassword(user.getPassword());
         }
         // version and lastModifiedTimestamp handled by entity listeners
-        return applicationUserRepository.save(existingUser);
+        ApplicationUser saved = applicationUserRepository.save(existingUser);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ApplicationUser.class, id));
+        return saved;
     }
 }
@@ -1,12 +1,14 @@
 package com.technicalchallenge.service;
 
 import com.technicalchallenge.dto.BookDTO;
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
 import com.technicalchallenge.mapper.BookMapper;
 import com.technicalchallenge.model.Book;
 import com.technicalchallenge.repository.BookRepository;
 import com.technicalchallenge.repository.CostCenterRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -24,6 +26,7 @@ public class BookService {
     private final BookRepository bookRepository;
     private final CostCenterRepository costCenterRepository;
     private final BookMapper bookMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<BookDTO> getAllBooks() {
         logger.info("Retrieving all books");
@@ -54,6 +57,7 @@ public class BookService {
         logger.debug("Saving book Entity: {}", entity);
         populateReferenceDataByName(entity, dto);
         var saved = bookRepository.save(entity);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Book.class, saved.getId()));
 
         return bookMapper.toDto(saved);
     }
@@ -61,5 +65,6 @@ public class BookService {
     public void deleteBook(Long id) {
         logger.warn("Deleting book with id: {}", id);
         bookRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Book.class, id));
     }
 }
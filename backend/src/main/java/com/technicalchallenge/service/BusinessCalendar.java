@@ -0,0 +1,117 @@
+package com.technicalchallenge.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Immutable business day calendar compiled to one bit per day.
+ *
+ * The bitset covers whole years from the first to the last year with a listed holiday and has
+ * a bit set for every weekend day and holiday in that range. Outside the range only weekends
+ * are closed. Rolling to the next or previous open day is a word-level bitset scan, so the
+ * cost does not depend on how many holidays the calendar holds.
+ */
+public final class BusinessCalendar {
+
+    /** Saturdays and Sundays closed, no holidays */
+    public static final BusinessCalendar WEEKENDS_ONLY = new BusinessCalendar("WEEKENDS", 0, -1, new BitSet());
+
+    private final String name;
+    private final long firstDay;
+    private final long lastDay;
+    private final BitSet closed;
+
+    private BusinessCalendar(String name, long firstDay, long lastDay, BitSet closed) {
+        this.name = name;
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        this.closed = closed;
+    }
+
+    public static BusinessCalendar of(String name, Collection<LocalDate> holidays) {
+        if (holidays.isEmpty()) {
+            return new BusinessCalendar(name, 0, -1, new BitSet());
+        }
+        int firstYear = holidays.stream().mapToInt(LocalDate::getYear).min().getAsInt();
+        int lastYear = holidays.stream().mapToInt(LocalDate::getYear).max().getAsInt();
+        long firstDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        long lastDay = LocalDate.of(lastYear, 12, 31).toEpochDay();
+
+        BitSet closed = new BitSet((int) (lastDay - firstDay + 1));
+        for (long day = firstDay; day <= lastDay; day++) {
+            if (isWeekend(day)) {
+                closed.set((int) (day - firstDay));
+            }
+        }
+        for (LocalDate holiday : holidays) {
+            closed.set((int) (holiday.toEpochDay() - firstDay));
+        }
+        return new BusinessCalendar(name, firstDay, lastDay, closed);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isBusinessDay(LocalDate date) {
+        long day = date.toEpochDay();
+        if (day >= firstDay && day <= lastDay) {
+            return !closed.get((int) (day - firstDay));
+        }
+        return !isWeekend(day);
+    }
+
+    /** The date itself if it is a business day, otherwise the next one */
+    public LocalDate nextOrSame(LocalDate date) {
+        long day = date.toEpochDay();
+        if (day >= firstDay && day <= lastDay) {
+            int open = closed.nextClearBit((int) (day - firstDay));
+            if (open <= lastDay - firstDay) {
+                return LocalDate.ofEpochDay(firstDay + open);
+            }
+            day = lastDay + 1;
+        }
+        return LocalDate.ofEpochDay(nextOrSameWeekday(day));
+    }
+
+    /** The date itself if it is a business day, otherwise the previous one */
+    public LocalDate previousOrSame(LocalDate date) {
+        long day = date.toEpochDay();
+        if (day >= firstDay && day <= lastDay) {
+            int open = closed.previousClearBit((int) (day - firstDay));
+            if (open >= 0) {
+                return LocalDate.ofEpochDay(firstDay + open);
+            }
+            day = firstDay - 1;
+        }
+        return LocalDate.ofEpochDay(previousOrSameWeekday(day));
+    }
+
+    private static boolean isWeekend(long epochDay) {
+        DayOfWeek dow = dayOfWeek(epochDay);
+        return dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY;
+    }
+
+    private static long nextOrSameWeekday(long epochDay) {
+        return switch (dayOfWeek(epochDay)) {
+            case SATURDAY -> epochDay + 2;
+            case SUNDAY -> epochDay + 1;
+            default -> epochDay;
+        };
+    }
+
+    private static long previousOrSameWeekday(long epochDay) {
+        return switch (dayOfWeek(epochDay)) {
+            case SATURDAY -> epochDay - 1;
+            case SUNDAY -> epochDay - 2;
+            default -> epochDay;
+        };
+    }
+
+    // 1970-01-01 (epoch day 0) was a Thursday
+    private static DayOfWeek dayOfWeek(long epochDay) {
+        return DayOfWeek.of((int) Math.floorMod(epochDay + 3, 7L) + 1);
+    }
+}
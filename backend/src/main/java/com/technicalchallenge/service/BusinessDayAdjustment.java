@@ -0,0 +1,47 @@
+package com.technicalchallenge.service;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Business day conventions for rolling a date that falls on a weekend or holiday.
+ */
+public enum BusinessDayAdjustment {
+    UNADJUSTED,
+    FOLLOWING,
+    MODIFIED_FOLLOWING,
+    PRECEDING,
+    MODIFIED_PRECEDING;
+
+    public LocalDate adjust(LocalDate date, BusinessCalendar calendar) {
+        return switch (this) {
+            case UNADJUSTED -> date;
+            case FOLLOWING -> calendar.nextOrSame(date);
+            case PRECEDING -> calendar.previousOrSame(date);
+            case MODIFIED_FOLLOWING -> {
+                LocalDate following = calendar.nextOrSame(date);
+                yield following.getMonthValue() == date.getMonthValue() ? following : calendar.previousOrSame(date);
+            }
+            case MODIFIED_PRECEDING -> {
+                LocalDate preceding = calendar.previousOrSame(date);
+                yield preceding.getMonthValue() == date.getMonthValue() ? preceding : calendar.nextOrSame(date);
+            }
+        };
+    }
+
+    /**
+     * Resolves a business_day_convention name such as "Modified Following"; a leg without a
+     * convention is left unadjusted.
+     */
+    public static BusinessDayAdjustment fromName(String name) {
+        if (name == null || name.isBlank()) {
+            return UNADJUSTED;
+        }
+        String key = name.trim().toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+        try {
+            return valueOf(key);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported business day convention: " + name);
+        }
+    }
+}
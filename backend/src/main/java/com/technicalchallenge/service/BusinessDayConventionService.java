@@ -2,7 +2,9 @@ package com.technicalchallenge.service;
 
 import com.technicalchallenge.model.BusinessDayConvention;
 import com.technicalchallenge.repository.BusinessDayConventionRepository;
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,6 +19,8 @@ public class BusinessDayConventionService {
 
     @Autowired
     private BusinessDayConventionRepository businessDayConventionRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<BusinessDayConvention> findAll() {
         logger.info("Retrieving all business day conventions");
@@ -30,11 +34,14 @@ public class BusinessDayConventionService {
 
     public BusinessDayConvention save(BusinessDayConvention businessDayConvention) {
         logger.info("Saving business day convention: {}", businessDayConvention);
-        return businessDayConventionRepository.save(businessDayConvention);
+        BusinessDayConvention saved = businessDayConventionRepository.save(businessDayConvention);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(BusinessDayConvention.class, saved.getId()));
+        return saved;
     }
 
     public void deleteById(Long id) {
         logger.warn("Deleting business day convention with id: {}", id);
         businessDayConventionRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(BusinessDayConvention.class, id));
     }
 }
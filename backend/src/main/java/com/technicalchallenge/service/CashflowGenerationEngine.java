@@ -0,0 +1,142 @@
+package com.technicalchallenge.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * The one cashflow generator behind both the preview endpoint and booked trades.
+ *
+ * A leg accrues over full periods rolled from its start date; payment dates are adjusted with
+ * the leg's business day convention against its holiday calendar, while accrual runs on the
+ * unadjusted dates. Fixed legs pay notional * rate% * dayCount / basis, floating legs are
+ * generated with a zero amount until a fixing is known.
+ *
+ * Dates are kept as epoch days and amounts as longs; BigDecimal is only used to turn the leg
+ * terms into a per-day accrual and to hand the results back.
+ */
+@Service
+public class CashflowGenerationEngine {
+
+    /** Internal accrual scale: 1e-8 of a currency unit */
+    private static final int ACCRUAL_SCALE = 8;
+    /** Accrual units in one cent */
+    private static final long UNITS_PER_CENT = 1_000_000L;
+
+    private final HolidayCalendarStore holidayCalendarStore;
+    private final DayCountConvention defaultDayCount;
+
+    public CashflowGenerationEngine(HolidayCalendarStore holidayCalendarStore,
+            @Value("${cashflow.day-count-convention:30/360}") String defaultDayCount) {
+        this.holidayCalendarStore = holidayCalendarStore;
+        this.defaultDayCount = DayCountConvention.fromName(defaultDayCount);
+    }
+
+    /**
+     * Economic terms of one leg. Names (schedule, calendar, conventions) are as stored on the
+     * leg; blanks fall back to quarterly, weekends only, unadjusted and the configured day count.
+     */
+    public record LegTerms(LocalDate startDate, LocalDate maturityDate, String schedule, boolean fixed,
+            BigDecimal notional, Double ratePercent, String holidayCalendar, String paymentConvention,
+            String dayCountConvention) {
+    }
+
+    public DayCountConvention getDefaultDayCount() {
+        return defaultDayCount;
+    }
+
+    public GeneratedCashflows generate(LegTerms terms) {
+        if (terms.startDate() == null || terms.maturityDate() == null) {
+            throw new IllegalArgumentException("Start date and maturity date are required to generate cashflows");
+        }
+        int months = ScheduleEngine.parseSchedule(terms.schedule());
+        BusinessCalendar calendar = holidayCalendarStore.calendar(terms.holidayCalendar());
+        BusinessDayAdjustment adjustment = BusinessDayAdjustment.fromName(terms.paymentConvention());
+        DayCountConvention dayCount = dayCountFor(terms.dayCountConvention());
+
+        int count = ScheduleEngine.periodCount(terms.startDate(), terms.maturityDate(), months);
+        long[] paymentDays = new long[count];
+        long[] amountCents = new long[count];
+
+        long perDay = terms.fixed() ? accrualPerDay(terms.notional(), terms.ratePercent(), dayCount) : 0L;
+        long accrualStart = terms.startDate().toEpochDay();
+        for (int i = 0; i < count; i++) {
+            LocalDate unadjusted = ScheduleEngine.periodEnd(terms.startDate(), i + 1, months);
+            long accrualEnd = unadjusted.toEpochDay();
+            paymentDays[i] = adjustment.adjust(unadjusted, calendar).toEpochDay();
+            if (perDay != 0L) {
+                amountCents[i] = toCents(perDay, dayCount.dayCount(accrualStart, accrualEnd));
+            }
+            accrualStart = accrualEnd;
+        }
+        return new GeneratedCashflows(paymentDays, amountCents, dayCount);
+    }
+
+    private DayCountConvention dayCountFor(String name) {
+        return name == null || name.isBlank() ? defaultDayCount : DayCountConvention.fromName(name);
+    }
+
+    /** notional * rate% / basis, in accrual units */
+    static long accrualPerDay(BigDecimal notional, Double ratePercent, DayCountConvention dayCount) {
+        if (notional == null || ratePercent == null) {
+            return 0L;
+        }
+        return notional.multiply(BigDecimal.valueOf(ratePercent))
+                .movePointLeft(2)
+                .divide(BigDecimal.valueOf(dayCount.basis()), ACCRUAL_SCALE, RoundingMode.HALF_EVEN)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    /** perDay * days rounded half-even to cents; overflow falls back to BigDecimal */
+    static long toCents(long perDay, long days) {
+        long units;
+        try {
+            units = Math.multiplyExact(perDay, days);
+        } catch (ArithmeticException e) {
+            return BigDecimal.valueOf(perDay).multiply(BigDecimal.valueOf(days))
+                    .movePointLeft(ACCRUAL_SCALE - 2)
+                    .setScale(0, RoundingMode.HALF_EVEN)
+                    .longValueExact();
+        }
+        long cents = Math.floorDiv(units, UNITS_PER_CENT);
+        long remainder = Math.floorMod(units, UNITS_PER_CENT);
+        long twice = remainder * 2;
+        if (twice > UNITS_PER_CENT || (twice == UNITS_PER_CENT && (cents & 1) == 1)) {
+            cents++;
+        }
+        return cents;
+    }
+
+    /** Payment dates and amounts of one leg, in payment order */
+    public static final class GeneratedCashflows {
+        private final long[] paymentEpochDays;
+        private final long[] amountCents;
+        private final DayCountConvention dayCount;
+
+        GeneratedCashflows(long[] paymentEpochDays, long[] amountCents, DayCountConvention dayCount) {
+            this.paymentEpochDays = paymentEpochDays;
+            this.amountCents = amountCents;
+            this.dayCount = dayCount;
+        }
+
+        public int size() {
+            return paymentEpochDays.length;
+        }
+
+        public LocalDate paymentDate(int index) {
+            return LocalDate.ofEpochDay(paymentEpochDays[index]);
+        }
+
+        public BigDecimal amount(int index) {
+            return BigDecimal.valueOf(amountCents[index], 2);
+        }
+
+        public DayCountConvention dayCount() {
+            return dayCount;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.technicalchallenge.service;
+
+import java.util.Locale;
+
+/**
+ * How booking and amendment persist a trade's cashflows.
+ */
+public enum CashflowGenerationMode {
+    /** One repository save per cashflow inside the booking transaction */
+    INLINE,
+    /** All cashflows of the trade in one saveAll, flushed as JDBC batches with the booking */
+    BATCH,
+    /** Written in batches by the cashflow worker pool after the booking commits */
+    ASYNC;
+
+    /** Null or blank means "use the configured default" and returns null */
+    public static CashflowGenerationMode fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported cashflow mode: " + value
+                    + ". Supported modes: INLINE, BATCH, ASYNC");
+        }
+    }
+}
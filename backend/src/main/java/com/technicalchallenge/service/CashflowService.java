@@ -1,6 +1,7 @@
 package com.technicalchallenge.service;
 
 import com.technicalchallenge.dto.CashflowDTO;
+import com.technicalchallenge.dto.CashflowGenerationRequest;
 import com.technicalchallenge.model.Cashflow;
 import com.technicalchallenge.repository.CashflowRepository;
 import com.technicalchallenge.repository.BusinessDayConventionRepository;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +28,8 @@ public class CashflowService {
     private LegTypeRepository legTypeRepository;
     @Autowired
     private BusinessDayConventionRepository businessDayConventionRepository;
+    @Autowired
+    private CashflowGenerationEngine cashflowGenerationEngine;
 
     public List<Cashflow> getAllCashflows() {
         logger.info("Retrieving all cashflows");
@@ -50,6 +54,39 @@ public class CashflowService {
         return cashflowRepository.save(cashflow);
     }
 
+    /**
+     * Cashflows the given legs would generate if booked, from the same engine that builds the
+     * persisted schedule. Nothing is saved.
+     */
+    public List<CashflowDTO> previewCashflows(CashflowGenerationRequest request) {
+        List<CashflowDTO> cashflows = new ArrayList<>();
+        for (CashflowGenerationRequest.TradeLegDTO leg : request.getLegs()) {
+            CashflowGenerationEngine.GeneratedCashflows generated = cashflowGenerationEngine.generate(
+                    new CashflowGenerationEngine.LegTerms(
+                            request.getTradeStartDate(),
+                            request.getTradeMaturityDate(),
+                            leg.getCalculationPeriodSchedule(),
+                            "Fixed".equalsIgnoreCase(leg.getLegType()),
+                            leg.getNotional(),
+                            leg.getRate(),
+                            leg.getHolidayCalendar(),
+                            leg.getPaymentBusinessDayConvention(),
+                            leg.getDayCountConvention()));
+            for (int i = 0; i < generated.size(); i++) {
+                CashflowDTO cf = new CashflowDTO();
+                cf.setValueDate(generated.paymentDate(i));
+                cf.setPaymentValue(generated.amount(i));
+                cf.setPayRec(leg.getPayReceiveFlag());
+                cf.setPaymentType(leg.getLegType());
+                cf.setPaymentBusinessDayConvention(leg.getPaymentBusinessDayConvention());
+                cf.setRate(leg.getRate());
+                cashflows.add(cf);
+            }
+        }
+        logger.debug("Previewed {} cashflows for {} legs", cashflows.size(), request.getLegs().size());
+        return cashflows;
+    }
+
     public void deleteCashflow(Long id) {
         logger.warn("Deleting cashflow with id: {}", id);
         cashflowRepository.deleteById(id);
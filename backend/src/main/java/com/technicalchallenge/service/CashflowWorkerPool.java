@@ -0,0 +1,67 @@
+package com.technicalchallenge.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker pool for asynchronous cashflow generation. Both the threads and the queue are
+ * bounded; once the queue is full, or the pool has stopped, work is turned away rather than
+ * run on the submitting thread, which is usually completing a booking and still holds its
+ * connection. Turned-away trades stay PENDING and TradeService sweeps them up once a worker
+ * is free, or at the next startup. Work still queued when the application stops is abandoned
+ * after a grace period and likewise resumed at the next startup.
+ *
+ * Deliberately not exposed as an Executor bean so Spring Boot keeps its own
+ * applicationTaskExecutor for MVC async requests.
+ */
+@Component
+public class CashflowWorkerPool {
+    private static final Logger logger = LoggerFactory.getLogger(CashflowWorkerPool.class);
+
+    private final ThreadPoolExecutor executor;
+
+    public CashflowWorkerPool(@Value("${cashflow.generation.async.pool-size:4}") int poolSize,
+            @Value("${cashflow.generation.async.queue-capacity:500}") int queueCapacity) {
+        AtomicInteger threads = new AtomicInteger();
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(task, "cashflow-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), factory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Queues the task; false when the queue is full or the pool has stopped */
+    public boolean submit(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    public int queued() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Cashflow workers still busy after 30s, {} tasks abandoned until next startup",
+                    executor.shutdownNow().size());
+        }
+    }
+}
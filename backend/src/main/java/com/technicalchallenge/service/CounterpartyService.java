@@ -1,8 +1,10 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
 import com.technicalchallenge.model.Counterparty;
 import com.technicalchallenge.repository.CounterpartyRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -12,6 +14,8 @@ import java.util.Optional;
 public class CounterpartyService {
     @Autowired
     private CounterpartyRepository counterpartyRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<Counterparty> getAllCounterparties() {
         return counterpartyRepository.findAll();
@@ -22,10 +26,13 @@ public class CounterpartyService {
     }
 
     public Counterparty saveCounterparty(Counterparty counterparty) {
-        return counterpartyRepository.save(counterparty);
+        Counterparty saved = counterpartyRepository.save(counterparty);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Counterparty.class, saved.getId()));
+        return saved;
     }
 
     public void deleteCounterparty(Long id) {
         counterpartyRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Counterparty.class, id));
     }
 }
@@ -2,7 +2,9 @@ package com.technicalchallenge.service;
 
 import com.technicalchallenge.model.Currency;
 import com.technicalchallenge.repository.CurrencyRepository;
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -17,6 +19,8 @@ public class CurrencyService {
 
     @Autowired
     private CurrencyRepository currencyRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<Currency> findAll() {
         logger.info("Retrieving all currencies");
@@ -30,11 +34,14 @@ public class CurrencyService {
 
     public Currency save(Currency currency) {
         logger.info("Saving currency: {}", currency);
-        return currencyRepository.save(currency);
+        Currency saved = currencyRepository.save(currency);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Currency.class, saved.getId()));
+        return saved;
     }
 
     public void deleteById(Long id) {
         logger.warn("Deleting currency with id: {}", id);
         currencyRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Currency.class, id));
     }
 }
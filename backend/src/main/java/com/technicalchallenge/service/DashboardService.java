@@ -1,14 +1,28 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.config.TradeMetrics;
+import com.technicalchallenge.dto.CursorPage;
 import com.technicalchallenge.dto.DailySummaryDTO;
 import com.technicalchallenge.dto.TradeSummaryDTO;
 import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.Currency;
 import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeStatus;
+import com.technicalchallenge.model.TradeType;
 import com.technicalchallenge.repository.ApplicationUserRepository;
 import com.technicalchallenge.repository.DashboardRepository;
+import com.technicalchallenge.repository.TradeAggregateRepository;
+import com.technicalchallenge.repository.TradeAggregateRow;
+import com.technicalchallenge.repository.TradeCursor;
+import com.technicalchallenge.repository.TradeFetchPlan;
+import com.technicalchallenge.repository.TradeFieldSet;
 import com.technicalchallenge.repository.TradeRepository;
 import com.technicalchallenge.repository.TradeSpecifications;
+import com.technicalchallenge.repository.TradeSummaryRow;
 
+import io.micrometer.core.instrument.Timer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -18,43 +32,127 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
 public class DashboardService {
 
+    // Blotter pages always read the trades; Prometheus needs the same tag keys as the summaries
+    private static final Timer MY_TRADES = TradeMetrics.timer(TradeMetrics.DASHBOARD,
+            "view", "my-trades", "source", "trades");
+    private static final Timer BOOK_TRADES = TradeMetrics.timer(TradeMetrics.DASHBOARD,
+            "view", "book-trades", "source", "trades");
+
     private final DashboardRepository dashboardRepository;
     private final TradeRepository tradeRepository;
     private final ApplicationUserRepository applicationUserRepository;
+    private final TradeAggregateRepository tradeAggregateRepository;
+    private final TradeAggregateService tradeAggregateService;
+    private final ReferenceDataRegistry referenceDataRegistry;
 
     public DashboardService(
             DashboardRepository dashboardRepository,
             TradeRepository tradeRepository,
-            ApplicationUserRepository applicationUserRepository) {
+            ApplicationUserRepository applicationUserRepository,
+            TradeAggregateRepository tradeAggregateRepository,
+            TradeAggregateService tradeAggregateService,
+            ReferenceDataRegistry referenceDataRegistry) {
         this.dashboardRepository = dashboardRepository;
         this.tradeRepository = tradeRepository;
         this.applicationUserRepository = applicationUserRepository;
+        this.tradeAggregateRepository = tradeAggregateRepository;
+        this.tradeAggregateService = tradeAggregateService;
+        this.referenceDataRegistry = referenceDataRegistry;
     }
 
     public Page<Trade> getMyTrades(String performedBy, Pageable pageable) {
-        Long traderId = resolveUserId(performedBy);
-        if (traderId == null) {
-            return Page.empty(pageable);
-        }
-        return tradeRepository.findAll(
-                TradeSpecifications.activeTrue()
-                        .and(TradeSpecifications.traderIdEquals(traderId)),
-                pageable);
+        return TradeMetrics.time(MY_TRADES, () -> {
+            Long traderId = resolveUserId(performedBy);
+            if (traderId == null) {
+                return Page.<Trade>empty(pageable);
+            }
+            return tradeRepository.findAll(
+                    TradeSpecifications.activeTrue()
+                            .and(TradeSpecifications.traderIdEquals(traderId)),
+                    pageable);
+        });
     }
 
     public Page<Trade> getTradesByBook(Long bookId, Pageable pageable) {
-        return tradeRepository.findAll(
+        return TradeMetrics.time(BOOK_TRADES, () -> tradeRepository.findAll(
+                TradeSpecifications.activeTrue()
+                        .and(TradeSpecifications.bookIdEquals(bookId)),
+                pageable));
+    }
+
+    /** getMyTrades projected to the fields of the set */
+    public Page<Map<String, Object>> getMyTradeFields(String performedBy, TradeFieldSet fields, Pageable pageable) {
+        return TradeMetrics.time(MY_TRADES, () -> {
+            Long traderId = resolveUserId(performedBy);
+            if (traderId == null) {
+                return Page.<Map<String, Object>>empty(pageable);
+            }
+            return tradeRepository.findFields(
+                    TradeSpecifications.activeTrue()
+                            .and(TradeSpecifications.traderIdEquals(traderId)),
+                    fields, pageable);
+        });
+    }
+
+    /** getTradesByBook projected to the fields of the set */
+    public Page<Map<String, Object>> getTradeFieldsByBook(Long bookId, TradeFieldSet fields, Pageable pageable) {
+        return TradeMetrics.time(BOOK_TRADES, () -> tradeRepository.findFields(
                 TradeSpecifications.activeTrue()
                         .and(TradeSpecifications.bookIdEquals(bookId)),
-                pageable);
+                fields, pageable));
+    }
+
+    public CursorPage<Trade> getMyTradesByCursor(String performedBy, TradeCursor cursor, int size,
+            boolean includeTotal) {
+        TradeCursor.checkPageSize(size);
+        return TradeMetrics.time(MY_TRADES, () -> {
+            Long traderId = resolveUserId(performedBy);
+            if (traderId == null) {
+                return new CursorPage<Trade>(List.of(), size, false, null, includeTotal ? 0L : null);
+            }
+            return tradeRepository.findPageAfter(
+                    TradeSpecifications.activeTrue()
+                            .and(TradeSpecifications.traderIdEquals(traderId)),
+                    cursor, size, includeTotal);
+        });
+    }
+
+    public CursorPage<Trade> getTradesByBookByCursor(Long bookId, TradeCursor cursor, int size,
+            boolean includeTotal) {
+        TradeCursor.checkPageSize(size);
+        return TradeMetrics.time(BOOK_TRADES, () -> tradeRepository.findPageAfter(
+                TradeSpecifications.activeTrue()
+                        .and(TradeSpecifications.bookIdEquals(bookId)),
+                cursor, size, includeTotal));
+    }
+
+    /** Loads the legs and cashflows the fetch plan maps for a blotter page */
+    public void fetchAssociations(Collection<Trade> trades, TradeFetchPlan plan) {
+        tradeRepository.fetchAssociations(trades, plan);
     }
 
     public TradeSummaryDTO buildTraderSummary(String performedBy, LocalDate from, LocalDate to) {
+        return TradeMetrics.time(summaryTimer("trader-summary"), () -> traderSummary(performedBy, from, to));
+    }
+
+    public DailySummaryDTO buildDailySummary(String performedBy, LocalDate asOfDate) {
+        return TradeMetrics.time(summaryTimer("daily-summary"), () -> dailySummary(performedBy, asOfDate));
+    }
+
+    // Tagged by whether the summary comes from the pre-aggregated counters or a scan of the trades
+    private Timer summaryTimer(String view) {
+        return TradeMetrics.timer(TradeMetrics.DASHBOARD, "view", view,
+                "source", tradeAggregateService.isReady() ? "aggregates" : "scan");
+    }
+
+    private TradeSummaryDTO traderSummary(String performedBy, LocalDate from, LocalDate to) {
         Long traderId = resolveUserId(performedBy);
         if (traderId == null)
             return emptySummary(performedBy, from, to);
@@ -64,27 +162,32 @@ public class DashboardService {
         dto.setFromDate(from);
         dto.setToDate(to);
 
-        dto.setTradesByStatus(
-                toStringLongMap(dashboardRepository.countByStatusForTrader(traderId, from, to)));
-
-        dto.setNotionalByCurrency(
-                toStringBigDecimalMap(dashboardRepository.sumNotionalByCurrencyForTrader(traderId, from, to)));
-
-        dto.setTradesByType(
-                toStringLongMap(dashboardRepository.countByTypeForTrader(traderId, from, to)));
-        dto.setTradesByCounterparty(
-                toStringLongMap(dashboardRepository.countByCounterpartyForTrader(traderId, from, to)));
-        dto.setNotionalByCounterparty(
-                toStringBigDecimalMap(dashboardRepository.sumNotionalByCounterpartyForTrader(traderId, from, to)));
-
-        dto.setNotionalByBookTop(
-                toStringBigDecimalMap(dashboardRepository.topBooksByNotionalForTrader(traderId, from, to)));
-
-        Object[] totals = dashboardRepository.totalAndMostRecentForTrader(traderId, from, to);
-        if (totals != null && totals.length >= 2) {
-            dto.setTotalTrades(((Number) totals[0]).longValue());
-            dto.setMostRecentTradeDate((LocalDate) totals[1]);
+        TradeSummaryAccumulator accumulator = new TradeSummaryAccumulator();
+        if (tradeAggregateService.isReady()) {
+            // Pre-aggregated counters: one row per group instead of one per trade
+            for (TradeAggregateRow row : tradeAggregateRepository.summarizeForTrader(traderId, from, to)) {
+                String counterparty = referenceName(Counterparty.class, row.counterpartyId(), Counterparty::getName);
+                if (row.tradeCount() > 0) {
+                    accumulator.addTrades(
+                            referenceName(TradeStatus.class, row.tradeStatusId(), TradeStatus::getTradeStatus),
+                            referenceName(TradeType.class, row.tradeTypeId(), TradeType::getTradeType),
+                            counterparty, row.tradeDate(), row.tradeCount());
+                }
+                if (row.legCount() > 0) {
+                    accumulator.addLegs(
+                            referenceName(Currency.class, row.currencyId(), Currency::getCurrency),
+                            counterparty,
+                            referenceName(Book.class, row.bookId(), Book::getBookName),
+                            row.notional());
+                }
+            }
+        } else {
+            // One scan over the trader's trades and legs feeds every grouping
+            try (Stream<TradeSummaryRow> rows = dashboardRepository.streamSummaryRowsForTrader(traderId, from, to)) {
+                rows.forEach(accumulator::accept);
+            }
         }
+        accumulator.applyTo(dto);
 
         dto.setRiskExposures(Collections.emptyMap());
         dto.setWarnings(Collections.emptyList());
@@ -92,7 +195,7 @@ public class DashboardService {
         return dto;
     }
 
-    public DailySummaryDTO buildDailySummary(String performedBy, LocalDate asOfDate) {
+    private DailySummaryDTO dailySummary(String performedBy, LocalDate asOfDate) {
         Long traderId = resolveUserId(performedBy);
         if (traderId == null)
             return emptyDaily(performedBy, asOfDate);
@@ -104,18 +207,49 @@ public class DashboardService {
         dto.setTrader(performedBy);
         dto.setAsOfDate(today);
 
-        long todayCount = dashboardRepository.countTradesForTraderOn(traderId, today);
-        BigDecimal todayNotional = nvl(dashboardRepository.sumNotionalForTraderOn(traderId, today));
+        long todayCount;
+        BigDecimal todayNotional;
+        long prevCount;
+        BigDecimal prevNotional;
+
+        if (tradeAggregateService.isReady()) {
+            DailyTotals todayTotals = new DailyTotals();
+            DailyTotals prevTotals = new DailyTotals();
+            for (TradeAggregateRow row : tradeAggregateRepository.summarizeForTraderByDay(traderId, prevDay, today)) {
+                DailyTotals totals = today.equals(row.tradeDate()) ? todayTotals : prevTotals;
+                if (row.tradeCount() > 0) {
+                    totals.count += row.tradeCount();
+                    totals.byBook.merge(
+                            unknownIfNull(referenceName(Book.class, row.bookId(), Book::getBookName)),
+                            row.tradeCount(), Long::sum);
+                }
+                if (row.legCount() > 0) {
+                    BigDecimal notional = nvl(row.notional());
+                    totals.notional = totals.notional.add(notional);
+                    totals.byCurrency.merge(
+                            unknownIfNull(referenceName(Currency.class, row.currencyId(), Currency::getCurrency)),
+                            notional, BigDecimal::add);
+                }
+            }
+            todayCount = todayTotals.count;
+            todayNotional = todayTotals.notional;
+            dto.setTodayTradesByBook(todayTotals.byBook);
+            dto.setTodayNotionalByCurrency(todayTotals.byCurrency);
+            prevCount = prevTotals.count;
+            prevNotional = prevTotals.notional;
+        } else {
+            todayCount = dashboardRepository.countTradesForTraderOn(traderId, today);
+            todayNotional = nvl(dashboardRepository.sumNotionalForTraderOn(traderId, today));
+            dto.setTodayTradesByBook(
+                    toStringLongMap(dashboardRepository.countTodayByBookForTrader(traderId, today)));
+            dto.setTodayNotionalByCurrency(
+                    toStringBigDecimalMap(dashboardRepository.sumTodayByCurrencyForTrader(traderId, today)));
+            prevCount = dashboardRepository.countTradesForTraderOn(traderId, prevDay);
+            prevNotional = nvl(dashboardRepository.sumNotionalForTraderOn(traderId, prevDay));
+        }
 
         dto.setTodayTradeCount(todayCount);
         dto.setTodayTotalNotional(todayNotional);
-        dto.setTodayTradesByBook(
-                toStringLongMap(dashboardRepository.countTodayByBookForTrader(traderId, today)));
-        dto.setTodayNotionalByCurrency(
-                toStringBigDecimalMap(dashboardRepository.sumTodayByCurrencyForTrader(traderId, today)));
-
-        long prevCount = dashboardRepository.countTradesForTraderOn(traderId, prevDay);
-        BigDecimal prevNotional = nvl(dashboardRepository.sumNotionalForTraderOn(traderId, prevDay));
 
         dto.setPrevDayTradeCount(prevCount);
         dto.setPrevDayTotalNotional(prevNotional);
@@ -148,6 +282,24 @@ public class DashboardService {
         }
     }
 
+    // Aggregates store reference ids (0 when unset); names come from the in-memory registry
+    private <T> String referenceName(Class<T> type, Long id, Function<T, String> name) {
+        if (id == null || id == 0L)
+            return null;
+        return referenceDataRegistry.findById(type, id).map(name).orElse(null);
+    }
+
+    private String unknownIfNull(String key) {
+        return key == null ? "UNKNOWN" : key;
+    }
+
+    private static final class DailyTotals {
+        private long count;
+        private BigDecimal notional = BigDecimal.ZERO;
+        private final Map<String, Long> byBook = new LinkedHashMap<>();
+        private final Map<String, BigDecimal> byCurrency = new LinkedHashMap<>();
+    }
+
     private TradeSummaryDTO emptySummary(String who, LocalDate from, LocalDate to) {
         TradeSummaryDTO dto = new TradeSummaryDTO();
         dto.setTrader(who);
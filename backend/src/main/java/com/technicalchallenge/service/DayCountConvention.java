@@ -0,0 +1,62 @@
+package com.technicalchallenge.service;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Day count conventions for accruing fixed coupons. A period accrues
+ * {@link #dayCount(long, long)} / {@link #basis()} of a year; both parts are whole numbers so
+ * the cashflow engine can stay in integer arithmetic.
+ */
+public enum DayCountConvention {
+    ACT_360("ACT/360", 360),
+    ACT_365F("ACT/365F", 365),
+    THIRTY_360("30/360", 360);
+
+    private final String label;
+    private final int basis;
+
+    DayCountConvention(String label, int basis) {
+        this.label = label;
+        this.basis = basis;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int basis() {
+        return basis;
+    }
+
+    /** Days accrued between two epoch days, start inclusive, end exclusive */
+    public long dayCount(long startEpochDay, long endEpochDay) {
+        if (this != THIRTY_360) {
+            return endEpochDay - startEpochDay;
+        }
+        // 30/360 bond basis (ISDA 2006 4.16(f))
+        LocalDate start = LocalDate.ofEpochDay(startEpochDay);
+        LocalDate end = LocalDate.ofEpochDay(endEpochDay);
+        int d1 = Math.min(start.getDayOfMonth(), 30);
+        int d2 = end.getDayOfMonth() == 31 && d1 == 30 ? 30 : end.getDayOfMonth();
+        return 360L * (end.getYear() - start.getYear())
+                + 30L * (end.getMonthValue() - start.getMonthValue())
+                + (d2 - d1);
+    }
+
+    /** Accepts labels such as "ACT/360", "Actual/365 Fixed" or "30/360" and enum names */
+    public static DayCountConvention fromName(String name) {
+        String key = name.trim().toUpperCase(Locale.ROOT)
+                .replace("ACTUAL", "ACT")
+                .replace(" FIXED", "F")
+                .replace('_', '/')
+                .replace(" ", "");
+        return switch (key) {
+            case "ACT/360" -> ACT_360;
+            case "ACT/365F", "ACT/365" -> ACT_365F;
+            case "30/360", "THIRTY/360" -> THIRTY_360;
+            default -> throw new IllegalArgumentException("Unsupported day count convention: " + name
+                    + ". Supported conventions: ACT/360, ACT/365F, 30/360");
+        };
+    }
+}
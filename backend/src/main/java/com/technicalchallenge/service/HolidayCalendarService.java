@@ -2,7 +2,9 @@ package com.technicalchallenge.service;
 
 import com.technicalchallenge.model.HolidayCalendar;
 import com.technicalchallenge.repository.HolidayCalendarRepository;
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -17,6 +19,8 @@ public class HolidayCalendarService {
 
     @Autowired
     private HolidayCalendarRepository holidayCalendarRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<HolidayCalendar> findAll() {
         logger.info("Retrieving all holiday calendars");
@@ -30,11 +34,14 @@ public class HolidayCalendarService {
 
     public HolidayCalendar save(HolidayCalendar holidayCalendar) {
         logger.info("Saving holiday calendar: {}", holidayCalendar);
-        return holidayCalendarRepository.save(holidayCalendar);
+        HolidayCalendar saved = holidayCalendarRepository.save(holidayCalendar);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(HolidayCalendar.class, saved.getId()));
+        return saved;
     }
 
     public void deleteById(Long id) {
         logger.warn("Deleting holiday calendar with id: {}", id);
         holidayCalendarRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(HolidayCalendar.class, id));
     }
 }
@@ -0,0 +1,86 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
+import com.technicalchallenge.model.HolidayCalendar;
+import com.technicalchallenge.model.HolidayCalendarDate;
+import com.technicalchallenge.repository.HolidayCalendarDateRepository;
+import com.technicalchallenge.repository.HolidayDateRow;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * In-memory holiday calendars, read from holiday_calendar_date in one query on first use and
+ * compiled to {@link BusinessCalendar} bitsets. Schedule generation never goes back to the
+ * database; a {@link ReferenceDataChangedEvent} for a calendar or one of its dates drops the
+ * compiled calendars and they are read again on next use.
+ */
+@Service
+public class HolidayCalendarStore {
+    private static final Logger logger = LoggerFactory.getLogger(HolidayCalendarStore.class);
+
+    private final HolidayCalendarDateRepository holidayCalendarDateRepository;
+    private volatile Map<String, BusinessCalendar> calendars;
+
+    public HolidayCalendarStore(HolidayCalendarDateRepository holidayCalendarDateRepository) {
+        this.holidayCalendarDateRepository = holidayCalendarDateRepository;
+    }
+
+    /**
+     * The compiled calendar for name (case-insensitive). Legs without a calendar, or with one
+     * that has no holiday dates, only skip weekends.
+     */
+    public BusinessCalendar calendar(String name) {
+        if (name == null || name.isBlank()) {
+            return BusinessCalendar.WEEKENDS_ONLY;
+        }
+        Map<String, BusinessCalendar> loaded = calendars;
+        if (loaded == null) {
+            loaded = load();
+        }
+        return loaded.getOrDefault(key(name), BusinessCalendar.WEEKENDS_ONLY);
+    }
+
+    /**
+     * Drops the compiled calendars; they are reloaded on next use. Waits for a load in progress,
+     * which may have read the rows before the change committed.
+     */
+    public synchronized void invalidate() {
+        if (calendars != null) {
+            calendars = null;
+            logger.debug("Holiday calendars invalidated");
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (event.getType() == HolidayCalendar.class || event.getType() == HolidayCalendarDate.class) {
+            invalidate();
+        }
+    }
+
+    private synchronized Map<String, BusinessCalendar> load() {
+        if (calendars != null) {
+            return calendars;
+        }
+        Map<String, List<LocalDate>> holidays = new HashMap<>();
+        for (HolidayDateRow row : holidayCalendarDateRepository.findAllHolidayDates()) {
+            holidays.computeIfAbsent(row.calendar(), k -> new ArrayList<>()).add(row.holidayDate());
+        }
+
+        Map<String, BusinessCalendar> compiled = new HashMap<>();
+        holidays.forEach((name, dates) -> compiled.put(key(name), BusinessCalendar.of(name, dates)));
+        logger.info("Loaded {} holiday calendars", compiled.size());
+        calendars = Map.copyOf(compiled);
+        return calendars;
+    }
+
+    private static String key(String name) {
+        return name.trim().toUpperCase(Locale.ROOT);
+    }
+}
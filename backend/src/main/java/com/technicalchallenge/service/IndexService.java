@@ -2,7 +2,9 @@ package com.technicalchallenge.service;
 
 import com.technicalchallenge.model.Index;
 import com.technicalchallenge.repository.IndexRepository;
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -17,6 +19,8 @@ public class IndexService {
 
     @Autowired
     private IndexRepository indexRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<Index> findAll() {
         logger.info("Retrieving all indexes");
@@ -30,11 +34,14 @@ public class IndexService {
 
     public Index save(Index index) {
         logger.info("Saving index: {}", index);
-        return indexRepository.save(index);
+        Index saved = indexRepository.save(index);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Index.class, saved.getId()));
+        return saved;
     }
 
     public void deleteById(Long id) {
         logger.warn("Deleting index with id: {}", id);
         indexRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Index.class, id));
     }
 }
@@ -2,7 +2,9 @@ package com.technicalchallenge.service;
 
 import com.technicalchallenge.model.LegType;
 import com.technicalchallenge.repository.LegTypeRepository;
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -17,6 +19,8 @@ public class LegTypeService {
 
     @Autowired
     private LegTypeRepository legTypeRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<LegType> findAll() {
         logger.info("Retrieving all leg types");
@@ -30,11 +34,14 @@ public class LegTypeService {
 
     public LegType save(LegType legType) {
         logger.info("Saving leg type: {}", legType);
-        return legTypeRepository.save(legType);
+        LegType saved = legTypeRepository.save(legType);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(LegType.class, saved.getId()));
+        return saved;
     }
 
     public void deleteById(Long id) {
         logger.warn("Deleting leg type with id: {}", id);
         legTypeRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(LegType.class, id));
     }
 }
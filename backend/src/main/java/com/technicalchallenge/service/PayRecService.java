@@ -2,7 +2,9 @@ package com.technicalchallenge.service;
 
 import com.technicalchallenge.model.PayRec;
 import com.technicalchallenge.repository.PayRecRepository;
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -17,6 +19,8 @@ public class PayRecService {
 
     @Autowired
     private PayRecRepository payRecRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<PayRec> findAll() {
         logger.info("Retrieving all pay recs");
@@ -30,11 +34,14 @@ public class PayRecService {
 
     public PayRec save(PayRec payRec) {
         logger.info("Saving pay rec: {}", payRec);
-        return payRecRepository.save(payRec);
+        PayRec saved = payRecRepository.save(payRec);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(PayRec.class, saved.getId()));
+        return saved;
     }
 
     public void deleteById(Long id) {
         logger.warn("Deleting pay rec with id: {}", id);
         payRecRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(PayRec.class, id));
     }
 }
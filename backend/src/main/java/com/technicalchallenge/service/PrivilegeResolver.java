@@ -0,0 +1,169 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Privilege;
+import com.technicalchallenge.model.UserPrivilege;
+import com.technicalchallenge.model.UserProfile;
+import com.technicalchallenge.repository.ApplicationUserRepository;
+import com.technicalchallenge.repository.UserPrivilegeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves which trade operations a user may perform.
+ *
+ * A user's explicit privileges (BOOK_TRADE, AMEND_TRADE, READ_TRADE) and the operations of
+ * their role are compiled once into an immutable {@link EnumSet} and cached under the id or
+ * login the caller used, so a check is a map lookup. Entries expire after the configured TTL
+ * and are dropped as soon as the user, their privileges, profiles or privilege names change.
+ */
+@Service
+public class PrivilegeResolver {
+    private static final Logger logger = LoggerFactory.getLogger(PrivilegeResolver.class);
+
+    private static final Map<String, Set<TradeOperation>> PRIVILEGE_OPERATIONS = Map.of(
+            "BOOK_TRADE", EnumSet.of(TradeOperation.CREATE),
+            "AMEND_TRADE", EnumSet.of(TradeOperation.AMEND, TradeOperation.TERMINATE, TradeOperation.CANCEL),
+            "READ_TRADE", EnumSet.of(TradeOperation.VIEW));
+
+    private static final Map<String, Set<TradeOperation>> ROLE_OPERATIONS = Map.of(
+            "TRADER", EnumSet.allOf(TradeOperation.class),
+            "TRADER_SALES", EnumSet.allOf(TradeOperation.class),
+            "SALES", EnumSet.of(TradeOperation.CREATE, TradeOperation.AMEND, TradeOperation.VIEW),
+            "MIDDLE_OFFICE", EnumSet.of(TradeOperation.AMEND, TradeOperation.VIEW),
+            "SUPPORT", EnumSet.of(TradeOperation.VIEW),
+            "ADMIN", EnumSet.allOf(TradeOperation.class),
+            "SUPERUSER", EnumSet.allOf(TradeOperation.class));
+
+    private final ApplicationUserRepository applicationUserRepository;
+    private final UserPrivilegeRepository userPrivilegeRepository;
+    private final long ttlNanos;
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    public PrivilegeResolver(ApplicationUserRepository applicationUserRepository,
+            UserPrivilegeRepository userPrivilegeRepository,
+            @Value("${privileges.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.applicationUserRepository = applicationUserRepository;
+        this.userPrivilegeRepository = userPrivilegeRepository;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    /** Compiled permissions of one user; operations is empty for inactive users */
+    public record UserPermissions(Long userId, String loginId, Set<TradeOperation> operations) {
+
+        public boolean permits(TradeOperation operation) {
+            return operation != null && operations.contains(operation);
+        }
+    }
+
+    private record Entry(UserPermissions permissions, long expiresAt) {
+    }
+
+    /**
+     * Whether the user, given by id or login, may perform the operation. Unknown users and
+     * operations are denied.
+     */
+    public boolean isPermitted(String userId, String operation) {
+        Optional<UserPermissions> permissions = resolve(userId);
+        if (permissions.isEmpty()) {
+            logger.warn("Privilege check: user not found for id '{}'", userId);
+            return false;
+        }
+        return permissions.get().permits(TradeOperation.fromName(operation));
+    }
+
+    public Optional<UserPermissions> resolve(String userId) {
+        if (userId == null || userId.isBlank()) {
+            return Optional.empty();
+        }
+        String key = userId.trim().toLowerCase(Locale.ROOT);
+        long now = System.nanoTime();
+        Entry entry = cache.get(key);
+        if (entry != null && now - entry.expiresAt() < 0) {
+            return Optional.of(entry.permissions());
+        }
+        // Unknown users are not cached, so a user created later is seen straight away
+        Optional<UserPermissions> compiled = findUser(key).map(this::compile);
+        compiled.ifPresentOrElse(p -> cache.put(key, new Entry(p, now + ttlNanos)), () -> cache.remove(key));
+        return compiled;
+    }
+
+    private Optional<ApplicationUser> findUser(String key) {
+        try {
+            return applicationUserRepository.findById(Long.parseLong(key));
+        } catch (NumberFormatException ex) {
+            return applicationUserRepository.findByLoginId(key);
+        }
+    }
+
+    private UserPermissions compile(ApplicationUser user) {
+        if (!user.isActive()) {
+            logger.warn("Privilege check: user '{}' is not active", user.getLoginId());
+            return new UserPermissions(user.getId(), user.getLoginId(), Collections.emptySet());
+        }
+        EnumSet<TradeOperation> operations = EnumSet.noneOf(TradeOperation.class);
+        if (user.getId() != null) {
+            List<String> privileges = userPrivilegeRepository.findPrivilegeNamesByUserId(user.getId());
+            for (String privilege : privileges) {
+                operations.addAll(PRIVILEGE_OPERATIONS.getOrDefault(privilege.toUpperCase(Locale.ROOT), Set.of()));
+            }
+        }
+        String role = normalizeRole(user);
+        if (role == null) {
+            logger.warn("Privilege check: role not resolvable for user '{}'", user.getLoginId());
+        } else if (!ROLE_OPERATIONS.containsKey(role)) {
+            logger.warn("Privilege check: unknown role '{}' for user '{}'", role, user.getLoginId());
+        } else {
+            operations.addAll(ROLE_OPERATIONS.get(role));
+        }
+        logger.debug("Compiled privileges for user '{}': {}", user.getLoginId(), operations);
+        return new UserPermissions(user.getId(), user.getLoginId(), Collections.unmodifiableSet(operations));
+    }
+
+    private static String normalizeRole(ApplicationUser user) {
+        if (user.getUserProfile() == null || user.getUserProfile().getUserType() == null) {
+            return null;
+        }
+        String role = user.getUserProfile().getUserType().trim().toUpperCase(Locale.ROOT);
+        // seed uses "MO"
+        return "MO".equals(role) ? "MIDDLE_OFFICE" : role;
+    }
+
+    /** Drops the cached permissions of one user */
+    public void invalidate(Long userId) {
+        cache.values().removeIf(entry -> userId.equals(entry.permissions().userId()));
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        Class<?> type = event.getType();
+        if (type == ApplicationUser.class || type == UserPrivilege.class) {
+            if (event.getId() != null) {
+                invalidate(event.getId());
+            } else {
+                invalidateAll();
+            }
+        } else if (type == UserProfile.class || type == Privilege.class) {
+            // Role or privilege names may now mean something else for any user
+            invalidateAll();
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
 import com.technicalchallenge.model.Privilege;
 import com.technicalchallenge.repository.PrivilegeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -17,6 +19,8 @@ public class PrivilegeService {
 
     @Autowired
     private PrivilegeRepository privilegeRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<Privilege> getAllPrivileges() {
         logger.info("Retrieving all privileges");
@@ -30,11 +34,14 @@ public class PrivilegeService {
 
     public Privilege savePrivilege(Privilege privilege) {
         logger.info("Saving privilege: {}", privilege);
-        return privilegeRepository.save(privilege);
+        Privilege saved = privilegeRepository.save(privilege);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Privilege.class, saved.getId()));
+        return saved;
     }
 
     public void deletePrivilege(Long id) {
         logger.warn("Deleting privilege with id: {}", id);
         privilegeRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Privilege.class, id));
     }
 }
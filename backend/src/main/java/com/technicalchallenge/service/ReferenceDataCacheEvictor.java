@@ -0,0 +1,45 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts changed reference data from the Hibernate second-level cache.
+ *
+ * Writes made through Hibernate already keep the cache consistent; this covers everything
+ * published as a {@link ReferenceDataChangedEvent}, including changes whose rows were touched
+ * by bulk or native statements, so the next lookup always reads the database. Cached name
+ * lookups are dropped with the entity because they may resolve to the changed row.
+ */
+@Component
+public class ReferenceDataCacheEvictor {
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCacheEvictor.class);
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    public ReferenceDataCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (!sessionFactory.getMappingMetamodel().getEntityDescriptor(event.getType()).canWriteToCache()) {
+            return;
+        }
+        Cache cache = sessionFactory.getCache();
+        if (event.getId() != null) {
+            cache.evictEntityData(event.getType(), event.getId());
+        } else {
+            cache.evictEntityData(event.getType());
+        }
+        cache.evictDefaultQueryRegion();
+        logger.debug("Evicted {} {} from the second-level cache", event.getType().getSimpleName(),
+                event.getId() != null ? event.getId() : "(all)");
+    }
+}
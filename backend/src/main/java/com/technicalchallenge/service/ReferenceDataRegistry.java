@@ -0,0 +1,176 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
+import com.technicalchallenge.model.*;
+import com.technicalchallenge.repository.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read-mostly, in-memory copy of the static reference data used when booking trades.
+ *
+ * Each entity type is held in an immutable table with case-insensitive name and id maps,
+ * loaded on first use. Writes through the reference data services publish a
+ * {@link ReferenceDataChangedEvent}; the affected table is then marked stale and reloaded
+ * on the next lookup. Every reload bumps the registry version.
+ */
+@Service
+public class ReferenceDataRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataRegistry.class);
+
+    private final Map<Class<?>, Source<?>> sources = new LinkedHashMap<>();
+    private final Map<Class<?>, Table<?>> tables = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Counter> hits = new HashMap<>();
+    private final Map<Class<?>, Counter> misses = new HashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    public ReferenceDataRegistry(CurrencyRepository currencyRepository,
+            LegTypeRepository legTypeRepository,
+            IndexRepository indexRepository,
+            HolidayCalendarRepository holidayCalendarRepository,
+            ScheduleRepository scheduleRepository,
+            BusinessDayConventionRepository businessDayConventionRepository,
+            PayRecRepository payRecRepository,
+            TradeStatusRepository tradeStatusRepository,
+            TradeTypeRepository tradeTypeRepository,
+            TradeSubTypeRepository tradeSubTypeRepository,
+            BookRepository bookRepository,
+            CounterpartyRepository counterpartyRepository,
+            MeterRegistry meterRegistry) {
+        register(Currency.class, currencyRepository, Currency::getId, Currency::getCurrency);
+        register(LegType.class, legTypeRepository, LegType::getId, LegType::getType);
+        register(Index.class, indexRepository, Index::getId, Index::getIndex);
+        register(HolidayCalendar.class, holidayCalendarRepository, HolidayCalendar::getId,
+                HolidayCalendar::getHolidayCalendar);
+        register(Schedule.class, scheduleRepository, Schedule::getId, Schedule::getSchedule);
+        register(BusinessDayConvention.class, businessDayConventionRepository, BusinessDayConvention::getId,
+                BusinessDayConvention::getBdc);
+        register(PayRec.class, payRecRepository, PayRec::getId, PayRec::getPayRec);
+        register(TradeStatus.class, tradeStatusRepository, TradeStatus::getId, TradeStatus::getTradeStatus);
+        register(TradeType.class, tradeTypeRepository, TradeType::getId, TradeType::getTradeType);
+        register(TradeSubType.class, tradeSubTypeRepository, TradeSubType::getId, TradeSubType::getTradeSubType);
+        register(Book.class, bookRepository, Book::getId, Book::getBookName);
+        register(Counterparty.class, counterpartyRepository, Counterparty::getId, Counterparty::getName);
+
+        for (Class<?> type : sources.keySet()) {
+            String entity = type.getSimpleName();
+            hits.put(type, Counter.builder("reference.data.lookups")
+                    .description("Reference data registry lookups")
+                    .tag("entity", entity).tag("result", "hit")
+                    .register(meterRegistry));
+            misses.put(type, Counter.builder("reference.data.lookups")
+                    .description("Reference data registry lookups")
+                    .tag("entity", entity).tag("result", "miss")
+                    .register(meterRegistry));
+        }
+        Gauge.builder("reference.data.version", this, ReferenceDataRegistry::getVersion)
+                .description("Number of reference data reloads since startup")
+                .register(meterRegistry);
+    }
+
+    private <T> void register(Class<T> type, JpaRepository<T, Long> repository,
+            Function<T, Long> idOf, Function<T, String> nameOf) {
+        sources.put(type, new Source<>(repository, idOf, nameOf));
+    }
+
+    public <T> Optional<T> findByName(Class<T> type, String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        T value = table(type).byName.get(normalise(name));
+        return record(type, value);
+    }
+
+    public <T> Optional<T> findById(Class<T> type, Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        T value = table(type).byId.get(id);
+        return record(type, value);
+    }
+
+    public <T> List<T> findAll(Class<T> type) {
+        return table(type).all;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Drops the cached table for the given type; it is reloaded on next use.
+     */
+    public void invalidate(Class<?> type) {
+        if (tables.remove(type) != null) {
+            logger.debug("Reference data for {} invalidated", type.getSimpleName());
+        }
+    }
+
+    public void invalidateAll() {
+        tables.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        invalidate(event.getType());
+    }
+
+    private <T> Optional<T> record(Class<T> type, T value) {
+        (value != null ? hits : misses).get(type).increment();
+        return Optional.ofNullable(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Table<T> table(Class<T> type) {
+        Source<T> source = (Source<T>) sources.get(type);
+        if (source == null) {
+            throw new IllegalArgumentException("Not a registered reference data type: " + type.getName());
+        }
+        return (Table<T>) tables.computeIfAbsent(type, t -> load(type, source));
+    }
+
+    private <T> Table<T> load(Class<T> type, Source<T> source) {
+        List<T> rows = source.repository.findAll();
+        Map<String, T> byName = new HashMap<>(rows.size() * 2);
+        Map<Long, T> byId = new HashMap<>(rows.size() * 2);
+        for (T row : rows) {
+            byId.put(source.idOf.apply(row), row);
+            String name = source.nameOf.apply(row);
+            if (name != null) {
+                byName.putIfAbsent(normalise(name), row);
+            }
+        }
+        long loadedVersion = version.incrementAndGet();
+        logger.info("Loaded {} {} rows into reference data registry (version {})",
+                rows.size(), type.getSimpleName(), loadedVersion);
+        return new Table<>(Collections.unmodifiableMap(byName), Collections.unmodifiableMap(byId),
+                Collections.unmodifiableList(rows));
+    }
+
+    private static String normalise(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Source<T>(JpaRepository<T, Long> repository, Function<T, Long> idOf, Function<T, String> nameOf) {
+    }
+
+    private record Table<T>(Map<String, T> byName, Map<Long, T> byId, List<T> all) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.technicalchallenge.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses calculation period schedules and builds business-day-adjusted payment dates.
+ *
+ * Unadjusted dates are rolled from the start date (start + n * interval) rather than from the
+ * previous date, so a schedule starting on the 31st comes back to month end instead of
+ * drifting to the 28th after February. Each date is then adjusted against a precompiled
+ * calendar; nothing here touches the database.
+ */
+public final class ScheduleEngine {
+
+    private ScheduleEngine() {
+    }
+
+    /**
+     * Months per period for a calculation period schedule name. Legs without a schedule pay
+     * quarterly.
+     */
+    public static int parseSchedule(String schedule) {
+        if (schedule == null || schedule.trim().isEmpty()) {
+            return 3;
+        }
+        String value = schedule.trim();
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "monthly":
+                return 1;
+            case "quarterly":
+                return 3;
+            case "semi-annually":
+            case "semiannually":
+            case "half-yearly":
+                return 6;
+            case "annually":
+            case "yearly":
+                return 12;
+            default:
+                // "1M", "3M", "12M"
+                if (value.endsWith("M") || value.endsWith("m")) {
+                    try {
+                        int months = Integer.parseInt(value.substring(0, value.length() - 1));
+                        if (months > 0) {
+                            return months;
+                        }
+                    } catch (NumberFormatException e) {
+                        // reported below
+                    }
+                }
+                throw new IllegalArgumentException("Invalid schedule format: " + schedule
+                        + ". Supported formats: Monthly, Quarterly, Semi-annually, Annually, or 1M, 3M, 6M, 12M");
+        }
+    }
+
+    /** Number of full periods between start and maturity */
+    public static int periodCount(LocalDate startDate, LocalDate maturityDate, int monthsInterval) {
+        if (monthsInterval < 1) {
+            throw new IllegalArgumentException("Schedule interval must be at least one month: " + monthsInterval);
+        }
+        if (maturityDate.isBefore(startDate)) {
+            return 0;
+        }
+        // Month arithmetic clamps to month end, so settle the estimate against the real dates
+        int count = (int) (ChronoUnit.MONTHS.between(startDate, maturityDate) / monthsInterval);
+        while (!periodEnd(startDate, count + 1, monthsInterval).isAfter(maturityDate)) {
+            count++;
+        }
+        while (count > 0 && periodEnd(startDate, count, monthsInterval).isAfter(maturityDate)) {
+            count--;
+        }
+        return count;
+    }
+
+    /** Unadjusted end of the given period (1-based) */
+    public static LocalDate periodEnd(LocalDate startDate, int period, int monthsInterval) {
+        return startDate.plusMonths((long) period * monthsInterval);
+    }
+
+    /** Payment dates for every full period between start and maturity, adjusted with the convention */
+    public static List<LocalDate> paymentDates(LocalDate startDate, LocalDate maturityDate, int monthsInterval,
+            BusinessCalendar calendar, BusinessDayAdjustment adjustment) {
+        int count = periodCount(startDate, maturityDate, monthsInterval);
+        List<LocalDate> dates = new ArrayList<>(count);
+        for (int period = 1; period <= count; period++) {
+            dates.add(adjustment.adjust(periodEnd(startDate, period, monthsInterval), calendar));
+        }
+        return dates;
+    }
+}
@@ -2,7 +2,9 @@ package com.technicalchallenge.service;
 
 import com.technicalchallenge.model.Schedule;
 import com.technicalchallenge.repository.ScheduleRepository;
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -17,6 +19,8 @@ public class ScheduleService {
 
     @Autowired
     private ScheduleRepository scheduleRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<Schedule> findAll() {
         logger.info("Retrieving all schedules");
@@ -30,11 +34,14 @@ public class ScheduleService {
 
     public Schedule save(Schedule schedule) {
         logger.info("Saving schedule: {}", schedule);
-        return scheduleRepository.save(schedule);
+        Schedule saved = scheduleRepository.save(schedule);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Schedule.class, saved.getId()));
+        return saved;
     }
 
     public void deleteById(Long id) {
         logger.warn("Deleting schedule with id: {}", id);
         scheduleRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Schedule.class, id));
     }
 }
@@ -0,0 +1,314 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.SettlementTrigram;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.SettlementTextRow;
+import com.technicalchallenge.repository.SettlementTrigramRepository;
+import com.technicalchallenge.repository.TradeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram index over the settlement instructions of active trades, so instruction searches
+ * read posting lists instead of scanning every trade with LIKE '%text%'.
+ *
+ * TradeService reports each change to a trade version's instructions; the postings are written
+ * in the caller's transaction, so they commit or roll back with the trade. A search looks
+ * up the trades holding all trigrams of the lower-cased text, confirms the text really occurs
+ * (trigrams can match out of order) and ranks the hits.
+ *
+ * Because the postings commit with the trades, a populated index is kept at startup and only
+ * an empty one is rebuilt (unless trade.search.settlement-index.rebuild-on-startup is set), so
+ * one instance restarting does not wipe the table under the others. A rebuild holds a lock
+ * that every posting writer on this instance also takes until its transaction completes, so
+ * no posting is written twice or lost. The index is read only once a rebuild has committed or
+ * a kept one was found; until then, after a failed rebuild, and for texts shorter than a
+ * trigram, searches fall back to the scan.
+ */
+@Service
+public class SettlementInstructionIndex {
+    private static final Logger logger = LoggerFactory.getLogger(SettlementInstructionIndex.class);
+
+    private static final int TRIGRAM_LENGTH = 3;
+    private static final int REBUILD_CHUNK_SIZE = 500;
+
+    private final SettlementTrigramRepository settlementTrigramRepository;
+    private final TradeRepository tradeRepository;
+    private final TransactionTemplate rebuildTransaction;
+    private final boolean enabled;
+    private final boolean rebuildOnStartup;
+    private final AtomicBoolean ready = new AtomicBoolean();
+    // Posting writers share the read side; a rebuild takes the write side
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public SettlementInstructionIndex(SettlementTrigramRepository settlementTrigramRepository,
+            TradeRepository tradeRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${trade.search.settlement-index.enabled:true}") boolean enabled,
+            @Value("${trade.search.settlement-index.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.settlementTrigramRepository = settlementTrigramRepository;
+        this.tradeRepository = tradeRepository;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        // Its own transaction, so the rebuilt postings are committed when rebuild() returns
+        this.rebuildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    public boolean isReady() {
+        return enabled && ready.get();
+    }
+
+    /** Indexes newly saved active trade versions */
+    @Transactional
+    public void add(Collection<Trade> trades) {
+        if (!enabled) {
+            return;
+        }
+        List<SettlementTrigram> postings = new ArrayList<>();
+        for (Trade trade : trades) {
+            if (trade.getId() != null && !Boolean.FALSE.equals(trade.getActive())) {
+                postings.addAll(postings(trade.getId(), trigrams(trade.getSettlementInstructions())));
+            }
+        }
+        if (!postings.isEmpty()) {
+            writePostings(() -> settlementTrigramRepository.saveAll(postings));
+        }
+    }
+
+    @Transactional
+    public void add(Trade trade) {
+        add(List.of(trade));
+    }
+
+    /** Drops a trade version that was deactivated (e.g. superseded by an amendment) */
+    @Transactional
+    public void remove(Trade trade) {
+        if (enabled && trade.getId() != null && trade.getSettlementInstructions() != null) {
+            writePostings(() -> settlementTrigramRepository.deleteByTradeId(trade.getId()));
+        }
+    }
+
+    /** Moves a trade version's postings from its previous instructions to its current ones */
+    @Transactional
+    public void update(Trade trade, String previousInstructions) {
+        if (!enabled || trade.getId() == null) {
+            return;
+        }
+        Set<String> before = trigrams(previousInstructions);
+        Set<String> after = trigrams(trade.getSettlementInstructions());
+        Set<String> removed = new HashSet<>(before);
+        removed.removeAll(after);
+        Set<String> added = new HashSet<>(after);
+        added.removeAll(before);
+        if (removed.isEmpty() && added.isEmpty()) {
+            return;
+        }
+        writePostings(() -> {
+            if (!removed.isEmpty()) {
+                settlementTrigramRepository.deleteTrigrams(trade.getId(), removed);
+            }
+            settlementTrigramRepository.saveAll(postings(trade.getId(), added));
+        });
+    }
+
+    /**
+     * Active trades whose settlement instructions contain the text, ignoring case. Trades with
+     * more occurrences rank first, then those where it occurs earlier, then the newest.
+     */
+    @Transactional(readOnly = true)
+    public List<Trade> search(String text) {
+        String term = text.toLowerCase(Locale.ROOT);
+        Set<String> trigrams = trigrams(term);
+        List<Trade> candidates;
+        if (trigrams.isEmpty() || !isReady()) {
+            candidates = tradeRepository.findByActiveTrueAndSettlementInstructionsContainingIgnoreCase(text);
+        } else {
+            List<Long> ids = settlementTrigramRepository.findTradeIdsWithAllTrigrams(trigrams, trigrams.size());
+            candidates = ids.isEmpty() ? List.of() : tradeRepository.findAllById(ids);
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (Trade trade : candidates) {
+            String instructions = trade.getSettlementInstructions();
+            if (Boolean.TRUE.equals(trade.getActive()) && instructions != null) {
+                Hit hit = Hit.of(trade, instructions.toLowerCase(Locale.ROOT), term);
+                if (hit != null) {
+                    hits.add(hit);
+                }
+            }
+        }
+        hits.sort(Hit.RANKING);
+        logger.debug("Settlement search '{}': {} trigrams, {} candidates, {} hits", text, trigrams.size(),
+                candidates.size(), hits.size());
+        return hits.stream().map(Hit::trade).toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) {
+            logger.info("Settlement instruction index disabled; searches will scan trades");
+            return;
+        }
+        long postings = settlementTrigramRepository.count();
+        if (postings > 0 && !rebuildOnStartup) {
+            ready.set(true);
+            logger.info("Settlement instruction index kept from previous run: {} postings", postings);
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            // e.g. another instance rebuilding the same empty table at the same time
+            logger.error("Could not rebuild the settlement instruction index; searches will scan trades", ex);
+        }
+    }
+
+    /**
+     * Recreates every posting from the active trades, waiting for posting writes still in flight
+     * on this instance. The index is not read until the rebuild has committed, and not at all if
+     * it fails.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        ready.set(false);
+        long[] counts = rebuildTransaction.execute(status -> {
+            Lock lock = rebuildLock.writeLock();
+            boolean releasedOnCompletion = lockUntilCompletion(lock);
+            try {
+                return rebuildPostings();
+            } finally {
+                if (!releasedOnCompletion) {
+                    lock.unlock();
+                }
+            }
+        });
+        // Committed by now; only search postings other transactions can see
+        ready.set(true);
+        logger.info("Rebuilt settlement instruction index: {} trades, {} postings", counts[0], counts[1]);
+    }
+
+    private long[] rebuildPostings() {
+        settlementTrigramRepository.deleteAllInBatch();
+        long trades = 0;
+        long postings = 0;
+        Long afterId = 0L;
+        List<SettlementTextRow> rows;
+        do {
+            rows = settlementTrigramRepository.findActiveSettlementTexts(afterId, PageRequest.of(0, REBUILD_CHUNK_SIZE));
+            List<SettlementTrigram> chunk = new ArrayList<>();
+            for (SettlementTextRow row : rows) {
+                chunk.addAll(postings(row.id(), trigrams(row.settlementInstructions())));
+                afterId = row.id();
+            }
+            settlementTrigramRepository.saveAll(chunk);
+            settlementTrigramRepository.flush();
+            // The postings are never read back here; keep the persistence context small
+            entityManager.clear();
+            trades += rows.size();
+            postings += chunk.size();
+        } while (rows.size() == REBUILD_CHUNK_SIZE);
+        return new long[] { trades, postings };
+    }
+
+    @Transactional(readOnly = true)
+    public Stats stats() {
+        return new Stats(enabled, isReady(), settlementTrigramRepository.countTrades(),
+                settlementTrigramRepository.count());
+    }
+
+    /** Runs a posting write under the shared side of the rebuild lock */
+    private void writePostings(Runnable write) {
+        Lock lock = rebuildLock.readLock();
+        boolean releasedOnCompletion = lockUntilCompletion(lock);
+        try {
+            write.run();
+        } finally {
+            if (!releasedOnCompletion) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Takes the lock and, inside a transaction, hands its release to the transaction's
+     * completion. Returns false when there is no transaction and the caller must release it.
+     */
+    private static boolean lockUntilCompletion(Lock lock) {
+        lock.lock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+        return true;
+    }
+
+    /** The distinct lower-cased trigrams of the text; empty for null or texts shorter than three */
+    static Set<String> trigrams(String text) {
+        if (text == null || text.length() < TRIGRAM_LENGTH) {
+            return Set.of();
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= lower.length(); i++) {
+            trigrams.add(lower.substring(i, i + TRIGRAM_LENGTH));
+        }
+        return trigrams;
+    }
+
+    private static List<SettlementTrigram> postings(Long tradeId, Collection<String> trigrams) {
+        return trigrams.stream().map(trigram -> new SettlementTrigram(trigram, tradeId)).toList();
+    }
+
+    public record Stats(boolean enabled, boolean ready, long indexedTrades, long postings) {
+    }
+
+    private record Hit(Trade trade, int occurrences, int firstAt) {
+        static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::occurrences).reversed()
+                .thenComparingInt(Hit::firstAt)
+                .thenComparing(hit -> hit.trade().getTradeId(), Comparator.nullsLast(Comparator.reverseOrder()));
+
+        /** Where and how often the term occurs in the lower-cased instructions, or null if not at all */
+        static Hit of(Trade trade, String instructions, String term) {
+            int firstAt = instructions.indexOf(term);
+            if (firstAt < 0) {
+                return null;
+            }
+            int occurrences = 0;
+            for (int at = firstAt; at >= 0; at = instructions.indexOf(term, at + 1)) {
+                occurrences++;
+            }
+            return new Hit(trade, occurrences, firstAt);
+        }
+    }
+}
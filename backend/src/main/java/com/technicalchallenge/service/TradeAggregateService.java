@@ -0,0 +1,235 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeLeg;
+import com.technicalchallenge.repository.TradeAggregateRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps the trade_aggregate counters in step with the trade blotter.
+ *
+ * TradeService describes what a trade adds to the aggregates before and after each change
+ * and hands both contributions over; the difference is added to each touched group, creating
+ * its row first if needed, inside the caller's transaction, so the counters commit or roll
+ * back with the trade.
+ *
+ * Because the counters commit with the trades, a populated table is kept at startup and only
+ * an empty one is rebuilt (unless dashboard.aggregates.rebuild-on-startup is set), so one
+ * instance restarting does not reset the table under the others. A rebuild holds a lock that
+ * every delta writer on this instance also takes until its transaction completes, so no
+ * booking's delta is wiped or counted twice; dashboards read the table only once a rebuild
+ * has committed.
+ */
+@Service
+public class TradeAggregateService {
+    private static final Logger logger = LoggerFactory.getLogger(TradeAggregateService.class);
+
+    private final TradeAggregateRepository tradeAggregateRepository;
+    private final TransactionTemplate rebuildTransaction;
+    private final boolean enabled;
+    private final boolean rebuildOnStartup;
+    private final AtomicBoolean ready = new AtomicBoolean();
+    // Deltas share the read side; a rebuild takes the write side
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    public TradeAggregateService(TradeAggregateRepository tradeAggregateRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${dashboard.aggregates.enabled:true}") boolean enabled,
+            @Value("${dashboard.aggregates.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.tradeAggregateRepository = tradeAggregateRepository;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        // Its own transaction, so the rebuilt rows are committed when rebuild() returns
+        this.rebuildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    public boolean isReady() {
+        return enabled && ready.get();
+    }
+
+    /** What an active trade with these legs currently adds to the aggregates */
+    public Contribution contributionOf(Trade trade, Collection<TradeLeg> legs) {
+        Map<Key, Delta> deltas = new HashMap<>();
+        if (!enabled || trade == null || Boolean.FALSE.equals(trade.getActive())) {
+            return new Contribution(deltas);
+        }
+
+        long trader = trade.getTraderUser() == null ? 0L : idOrZero(trade.getTraderUser().getId());
+        long book = trade.getBook() == null ? 0L : idOrZero(trade.getBook().getId());
+        long counterparty = trade.getCounterparty() == null ? 0L : idOrZero(trade.getCounterparty().getId());
+        long status = trade.getTradeStatus() == null ? 0L : idOrZero(trade.getTradeStatus().getId());
+        long type = trade.getTradeType() == null ? 0L : idOrZero(trade.getTradeType().getId());
+        LocalDate tradeDate = trade.getTradeDate();
+
+        deltas.merge(new Key(trader, book, counterparty, status, type, tradeDate, 0L),
+                new Delta(1, 0, BigDecimal.ZERO), Delta::plus);
+        if (legs != null) {
+            for (TradeLeg leg : legs) {
+                long currency = leg.getCurrency() == null ? 0L : idOrZero(leg.getCurrency().getId());
+                BigDecimal notional = leg.getNotional() == null ? BigDecimal.ZERO : leg.getNotional();
+                deltas.merge(new Key(trader, book, counterparty, status, type, tradeDate, currency),
+                        new Delta(0, 1, notional), Delta::plus);
+            }
+        }
+        return new Contribution(deltas);
+    }
+
+    public void add(Contribution contribution) {
+        apply(List.of(), List.of(contribution));
+    }
+
+    public void replace(Contribution before, Contribution after) {
+        apply(List.of(before), List.of(after));
+    }
+
+    /**
+     * Writes the net change of replacing the removed contributions by the added ones. Groups
+     * that come out unchanged (e.g. a settlement-only update) are not touched.
+     */
+    public void apply(Collection<Contribution> removed, Collection<Contribution> added) {
+        if (!enabled) {
+            return;
+        }
+        Map<Key, Delta> net = new HashMap<>();
+        for (Contribution contribution : removed) {
+            contribution.deltas.forEach((key, delta) -> net.merge(key, delta.negate(), Delta::plus));
+        }
+        for (Contribution contribution : added) {
+            contribution.deltas.forEach((key, delta) -> net.merge(key, delta, Delta::plus));
+        }
+
+        if (net.values().stream().allMatch(Delta::isZero)) {
+            return;
+        }
+        Lock lock = rebuildLock.readLock();
+        boolean releasedOnCompletion = lockUntilCompletion(lock);
+        try {
+            net.forEach((key, delta) -> {
+                if (!delta.isZero()) {
+                    tradeAggregateRepository.insertGroupIfAbsent(key.traderUserId(), key.bookId(),
+                            key.counterpartyId(), key.tradeStatusId(), key.tradeTypeId(), key.tradeDate(),
+                            key.currencyId());
+                    tradeAggregateRepository.applyDelta(key.traderUserId(), key.bookId(), key.counterpartyId(),
+                            key.tradeStatusId(), key.tradeTypeId(), key.tradeDate(), key.currencyId(),
+                            delta.tradeCount(), delta.legCount(), delta.notional());
+                }
+            });
+        } finally {
+            if (!releasedOnCompletion) {
+                lock.unlock();
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) {
+            logger.info("Dashboard aggregates disabled; dashboards will scan trades");
+            return;
+        }
+        long groups = tradeAggregateRepository.count();
+        if (groups > 0 && !rebuildOnStartup) {
+            ready.set(true);
+            logger.info("Dashboard aggregates kept from previous run: {} groups", groups);
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            // e.g. another instance rebuilding the same empty table at the same time
+            logger.error("Could not rebuild dashboard aggregates; dashboards will scan trades", ex);
+        }
+    }
+
+    /** Recreates the table from the trades, waiting for deltas still in flight on this instance */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        ready.set(false);
+        Integer groups = rebuildTransaction.execute(status -> {
+            Lock lock = rebuildLock.writeLock();
+            boolean releasedOnCompletion = lockUntilCompletion(lock);
+            try {
+                tradeAggregateRepository.deleteAllInBatch();
+                return tradeAggregateRepository.rebuildFromTrades();
+            } finally {
+                if (!releasedOnCompletion) {
+                    lock.unlock();
+                }
+            }
+        });
+        // Committed by now; only serve dashboards from rows other transactions can see
+        ready.set(true);
+        logger.info("Rebuilt dashboard aggregates: {} groups", groups);
+    }
+
+    /**
+     * Takes the lock and, inside a transaction, hands its release to the transaction's
+     * completion. Returns false when there is no transaction and the caller must release it.
+     */
+    private static boolean lockUntilCompletion(Lock lock) {
+        lock.lock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+        return true;
+    }
+
+    private static long idOrZero(Long id) {
+        return id == null ? 0L : id;
+    }
+
+    /** A trade's share of the aggregates; opaque to callers */
+    public static final class Contribution {
+        private final Map<Key, Delta> deltas;
+
+        private Contribution(Map<Key, Delta> deltas) {
+            this.deltas = deltas;
+        }
+    }
+
+    private record Key(long traderUserId, long bookId, long counterpartyId, long tradeStatusId, long tradeTypeId,
+            LocalDate tradeDate, long currencyId) {
+    }
+
+    private record Delta(long tradeCount, long legCount, BigDecimal notional) {
+        Delta plus(Delta other) {
+            return new Delta(tradeCount + other.tradeCount, legCount + other.legCount, notional.add(other.notional));
+        }
+
+        Delta negate() {
+            return new Delta(-tradeCount, -legCount, notional.negate());
+        }
+
+        boolean isZero() {
+            return tradeCount == 0 && legCount == 0 && notional.signum() == 0;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.technicalchallenge.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.TradeRepository;
+import jakarta.persistence.EntityManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes trade headers straight from a database cursor to an output stream as CSV or
+ * newline-delimited JSON.
+ *
+ * Rows are read fetchSize at a time and the persistence context is cleared every
+ * clearInterval rows, so memory stays flat however many trades match. Field names follow
+ * TradeDTO; legs and cashflows are not part of the export.
+ */
+@Service
+public class TradeExportService {
+    private static final Logger logger = LoggerFactory.getLogger(TradeExportService.class);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final List<Column> COLUMNS = List.of(
+            new Column("id", Trade::getId),
+            new Column("tradeId", Trade::getTradeId),
+            new Column("version", Trade::getVersion),
+            new Column("tradeDate", Trade::getTradeDate),
+            new Column("tradeStartDate", Trade::getTradeStartDate),
+            new Column("tradeMaturityDate", Trade::getTradeMaturityDate),
+            new Column("tradeExecutionDate", Trade::getTradeExecutionDate),
+            new Column("utiCode", Trade::getUtiCode),
+            new Column("bookName", t -> t.getBook() == null ? null : t.getBook().getBookName()),
+            new Column("counterpartyName", t -> t.getCounterparty() == null ? null : t.getCounterparty().getName()),
+            new Column("traderUserName", t -> fullName(t.getTraderUser())),
+            new Column("tradeInputterUserName", t -> fullName(t.getTradeInputterUser())),
+            new Column("tradeType", t -> t.getTradeType() == null ? null : t.getTradeType().getTradeType()),
+            new Column("tradeSubType", t -> t.getTradeSubType() == null ? null : t.getTradeSubType().getTradeSubType()),
+            new Column("tradeStatus", t -> t.getTradeStatus() == null ? null : t.getTradeStatus().getTradeStatus()),
+            new Column("settlementInstructions", Trade::getSettlementInstructions),
+            new Column("active", Trade::getActive),
+            new Column("lastTouchTimestamp", Trade::getLastTouchTimestamp));
+
+    private final TradeRepository tradeRepository;
+    private final EntityManager entityManager;
+    private final int fetchSize;
+    private final int clearInterval;
+
+    public TradeExportService(TradeRepository tradeRepository, EntityManager entityManager,
+            @Value("${trade.export.fetch-size:500}") int fetchSize,
+            @Value("${trade.export.clear-interval:500}") int clearInterval) {
+        if (fetchSize < 1 || clearInterval < 1) {
+            throw new IllegalArgumentException("Export fetch size and clear interval must be positive");
+        }
+        this.tradeRepository = tradeRepository;
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+        this.clearInterval = clearInterval;
+    }
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format fromParam(String value) {
+            if (value == null || value.isBlank()) {
+                return CSV;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unsupported export format: " + value + ". Use csv or ndjson");
+            }
+        }
+    }
+
+    /** Streams every trade matching spec, in id order, and returns the number of rows written */
+    @Transactional(readOnly = true)
+    public long export(Specification<Trade> spec, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rows = format == Format.NDJSON ? new NdjsonRowWriter(writer) : new CsvRowWriter(writer);
+
+        long count = 0;
+        rows.start();
+        try (Stream<Trade> trades = tradeRepository.streamAll(spec, fetchSize)) {
+            Iterator<Trade> it = trades.iterator();
+            while (it.hasNext()) {
+                rows.write(it.next());
+                if (++count % clearInterval == 0) {
+                    // Push what we have to the client and drop the managed trades before reading on
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+        logger.debug("Exported {} trades as {}", count, format);
+        return count;
+    }
+
+    private static String fullName(ApplicationUser user) {
+        return user == null ? null : user.getFirstName() + " " + user.getLastName();
+    }
+
+    private record Column(String name, Function<Trade, Object> value) {
+    }
+
+    private interface RowWriter {
+        void start() throws IOException;
+
+        void write(Trade trade) throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(COLUMNS.get(i).name());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(Trade trade) throws IOException {
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = COLUMNS.get(i).value().apply(trade);
+                if (value != null) {
+                    writer.write(escape(value.toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        // RFC 4180 quoting: only fields holding a separator, quote or line break are wrapped
+        static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private final JsonGenerator json;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            // The generator shares the writer, so it must not close it or flush past our buffer
+            this.json = JSON_FACTORY.createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void write(Trade trade) throws IOException {
+            json.writeStartObject();
+            for (Column column : COLUMNS) {
+                Object value = column.value().apply(trade);
+                json.writeFieldName(column.name());
+                if (value == null) {
+                    json.writeNull();
+                } else if (value instanceof Number number) {
+                    json.writeNumber(number.toString());
+                } else if (value instanceof Boolean bool) {
+                    json.writeBoolean(bool);
+                } else {
+                    // Dates and timestamps as ISO-8601, like the JSON API
+                    json.writeString(value.toString());
+                }
+            }
+            json.writeEndObject();
+            json.flush();
+            writer.write('\n');
+        }
+    }
+}
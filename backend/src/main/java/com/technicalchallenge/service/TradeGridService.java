@@ -0,0 +1,83 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.ServerSideRowsRequest;
+import com.technicalchallenge.dto.ServerSideRowsResponse;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.TradeFieldSet;
+import com.technicalchallenge.repository.TradeGridFilters;
+import com.technicalchallenge.repository.TradeGridRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves AG Grid's server-side row model for the trade blotter.
+ *
+ * Each request reads one block (startRow until endRow) of either group rows, while the
+ * requested level is above the last row group column, or leaf trade rows. The filter model and
+ * the keys of the opened groups become one specification. One extra row is read to tell
+ * whether the block is the last, so the total is only reported once reached and never counted.
+ */
+@Service
+public class TradeGridService {
+    private static final Logger logger = LoggerFactory.getLogger(TradeGridService.class);
+
+    public static final int MAX_BLOCK_SIZE = 1000;
+
+    private final TradeGridRepository tradeGridRepository;
+
+    public TradeGridService(TradeGridRepository tradeGridRepository) {
+        this.tradeGridRepository = tradeGridRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public ServerSideRowsResponse getRows(ServerSideRowsRequest request) {
+        int startRow = request.getStartRow();
+        int blockSize = request.getEndRow() - startRow;
+        if (startRow < 0 || blockSize <= 0 || blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("Row range must start at 0 or later and hold 1 to "
+                    + MAX_BLOCK_SIZE + " rows");
+        }
+
+        List<String> groupFields = new ArrayList<>();
+        for (ServerSideRowsRequest.Column column : orEmpty(request.getRowGroupCols())) {
+            String field = column.getField() != null ? column.getField() : column.getId();
+            if (!TradeFieldSet.isField(field)) {
+                throw new IllegalArgumentException("Cannot group by unknown column: " + field);
+            }
+            groupFields.add(field);
+        }
+        List<String> groupKeys = orEmpty(request.getGroupKeys());
+        List<ServerSideRowsRequest.Sort> sortModel = orEmpty(request.getSortModel());
+        int level = groupKeys.size();
+        if (level > groupFields.size()) {
+            throw new IllegalArgumentException("More group keys than row group columns");
+        }
+
+        Specification<Trade> spec = Specification.where(TradeGridFilters.from(request.getFilterModel()))
+                .and(TradeGridFilters.groupKeys(groupFields, groupKeys));
+        List<Map<String, Object>> rows = level < groupFields.size()
+                ? tradeGridRepository.findGroupRows(spec, groupFields.get(level), sortModel,
+                        startRow, blockSize + 1)
+                : tradeGridRepository.findLeafRows(spec, sortModel, startRow, blockSize + 1);
+
+        boolean more = rows.size() > blockSize;
+        List<Map<String, Object>> block = more ? rows.subList(0, blockSize) : rows;
+        int rowCount = more ? -1 : startRow + block.size();
+        logger.debug("Grid rows {}-{} at group level {} of {}: {} rows, rowCount {}",
+                startRow, request.getEndRow(), level, groupFields.size(), block.size(), rowCount);
+        return new ServerSideRowsResponse(List.copyOf(block), rowCount);
+    }
+
+    // The grid may send explicit nulls for unused parts of the request
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+}
@@ -0,0 +1,162 @@
+package com.technicalchallenge.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out business trade ids from blocks reserved in the trade_id_allocation hi/lo table.
+ *
+ * Ids within a block are handed out with a single atomic increment; only reserving the next
+ * block touches the database, in its own short transaction, so the cost does not depend on
+ * the size of the trade table and blocks never overlap between backend instances. Ids of a
+ * block are not returned if the booking that used them rolls back.
+ *
+ * Reservations run on a connection of their own rather than one from the application pool:
+ * the caller usually holds a pooled connection in its booking transaction, and with every
+ * pooled connection held by bookings waiting for the next block, a refill needing one more
+ * would stall them all until the pool's connection timeout.
+ */
+@Service
+public class TradeIdAllocator implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(TradeIdAllocator.class);
+
+    static final String TRADE_SEQUENCE = "trade";
+    static final long INITIAL_TRADE_ID = 10000L;
+
+    // The update row-locks the allocation until commit, so concurrent instances get disjoint blocks
+    private static final String RESERVE_BLOCK =
+            "UPDATE trade_id_allocation SET next_value = GREATEST(next_value, ?) + ? WHERE name = ?";
+    private static final String NEXT_VALUE = "SELECT next_value FROM trade_id_allocation WHERE name = ?";
+    private static final String CREATE_ROW = "INSERT INTO trade_id_allocation (name, next_value) VALUES (?, ?)";
+    private static final String MAX_TRADE_ID = "SELECT MAX(trade_id) FROM trade";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reserveTransaction;
+    private final long blockSize;
+
+    private final AtomicReference<Block> current = new AtomicReference<>();
+    private volatile boolean aligned;
+
+    @Autowired
+    public TradeIdAllocator(DataSourceProperties dataSourceProperties,
+            @Value("${trade.id.block-size:100}") long blockSize) {
+        this(allocationDataSource(dataSourceProperties), blockSize);
+    }
+
+    TradeIdAllocator(DataSource dataSource, long blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("trade.id.block-size must be positive");
+        }
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.reserveTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.blockSize = blockSize;
+    }
+
+    /** One connection, opened on first use, to the database the application pool points at */
+    private static DataSource allocationDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("trade-id-allocation");
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setMinimumIdle(0);
+        return dataSource;
+    }
+
+    public long nextId() {
+        while (true) {
+            Block block = current.get();
+            if (block != null) {
+                long id = block.next.getAndIncrement();
+                if (id < block.end) {
+                    return id;
+                }
+            }
+            refill(block);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        // Another thread may already have replaced the block while we waited
+        if (current.get() != exhausted) {
+            return;
+        }
+        current.set(reserveBlock());
+    }
+
+    private Block reserveBlock() {
+        // Ids may also arrive from clients or older data, so the first block starts above them
+        long floor = 0L;
+        if (!aligned) {
+            Long max = jdbcTemplate.queryForObject(MAX_TRADE_ID, Long.class);
+            floor = max == null ? 0L : max + 1;
+        }
+
+        Long end = reserve(floor);
+        if (end == null) {
+            createAllocationRow();
+            end = reserve(floor);
+            if (end == null) {
+                throw new IllegalStateException("Trade id allocation row missing");
+            }
+        }
+
+        aligned = true;
+        long start = end - blockSize;
+        logger.debug("Reserved trade id block [{}, {})", start, end);
+        return new Block(start, end);
+    }
+
+    private Long reserve(long floor) {
+        return reserveTransaction.execute(status -> {
+            if (jdbcTemplate.update(RESERVE_BLOCK, floor, blockSize, TRADE_SEQUENCE) == 0) {
+                return null;
+            }
+            List<Long> next = jdbcTemplate.queryForList(NEXT_VALUE, Long.class, TRADE_SEQUENCE);
+            return next.isEmpty() ? null : next.get(0);
+        });
+    }
+
+    private void createAllocationRow() {
+        try {
+            jdbcTemplate.update(CREATE_ROW, TRADE_SEQUENCE, INITIAL_TRADE_ID);
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently by another instance
+            logger.debug("Trade id allocation row already exists");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (dataSource instanceof HikariDataSource hikari) {
+            hikari.close();
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
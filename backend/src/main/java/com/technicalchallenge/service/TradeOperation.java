@@ -0,0 +1,27 @@
+package com.technicalchallenge.service;
+
+import java.util.Locale;
+
+/**
+ * Trade operations a user can be permitted to perform. Names match the
+ * {@code TradeValidationService.OPERATION_*} constants passed by the controllers.
+ */
+public enum TradeOperation {
+    CREATE,
+    AMEND,
+    TERMINATE,
+    CANCEL,
+    VIEW;
+
+    /** The operation with the given name, or null when there is none */
+    public static TradeOperation fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -1,26 +1,49 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.config.TradeMetrics;
+import com.technicalchallenge.dto.AmendmentSummaryDTO;
+import com.technicalchallenge.dto.BatchBookingResultDTO;
+import com.technicalchallenge.dto.CursorPage;
+import com.technicalchallenge.dto.TradeBookingResultDTO;
 import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.dto.TradeLegDTO;
 import com.technicalchallenge.dto.ValidationResult;
 import com.technicalchallenge.model.*;
 import com.technicalchallenge.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 @Transactional
@@ -34,35 +57,35 @@ public class TradeService {
     @Autowired
     private CashflowRepository cashflowRepository;
     @Autowired
-    private TradeStatusRepository tradeStatusRepository;
-    @Autowired
-    private BookRepository bookRepository;
-    @Autowired
-    private CounterpartyRepository counterpartyRepository;
-    @Autowired
     private ApplicationUserRepository applicationUserRepository;
     @Autowired
-    private TradeTypeRepository tradeTypeRepository;
-    @Autowired
-    private TradeSubTypeRepository tradeSubTypeRepository;
+    private AdditionalInfoService additionalInfoService;
     @Autowired
-    private CurrencyRepository currencyRepository;
+    private TradeValidationService tradeValidationService;
     @Autowired
-    private LegTypeRepository legTypeRepository;
+    private ReferenceDataRegistry referenceDataRegistry;
     @Autowired
-    private IndexRepository indexRepository;
+    private TradeIdAllocator tradeIdAllocator;
     @Autowired
-    private HolidayCalendarRepository holidayCalendarRepository;
+    private TradeAggregateService tradeAggregateService;
     @Autowired
-    private ScheduleRepository scheduleRepository;
+    private SettlementInstructionIndex settlementInstructionIndex;
     @Autowired
-    private BusinessDayConventionRepository businessDayConventionRepository;
+    private CashflowGenerationEngine cashflowGenerationEngine;
     @Autowired
-    private PayRecRepository payRecRepository;
+    private CashflowWorkerPool cashflowWorkerPool;
     @Autowired
-    private AdditionalInfoService additionalInfoService;
+    private PlatformTransactionManager transactionManager;
     @Autowired
-    private TradeValidationService tradeValidationService;
+    private Validator validator;
+
+    @Value("${cashflow.generation.mode:BATCH}")
+    private CashflowGenerationMode defaultCashflowGenerationMode = CashflowGenerationMode.BATCH;
+
+    // Asynchronous generations still running, by trade row id, so status requests can wait on them
+    private final Map<Long, CompletableFuture<CashflowGenerationStatus>> pendingCashflows = new ConcurrentHashMap<>();
+    // Set when the workers turned a trade away; the next worker to finish sweeps PENDING trades
+    private final AtomicBoolean cashflowBacklog = new AtomicBoolean();
 
     public List<Trade> getAllTrades() {
         logger.info("Retrieving all trades");
@@ -74,6 +97,15 @@ public class TradeService {
         return tradeRepository.findByTradeIdAndActiveTrue(tradeId);
     }
 
+    /**
+     * Loads the legs and cashflows the fetch plan maps for trades read earlier in this request,
+     * in one statement per level instead of a lazy load per leg.
+     */
+    @Transactional(readOnly = true)
+    public void fetchAssociations(Collection<Trade> trades, TradeFetchPlan plan) {
+        tradeRepository.fetchAssociations(trades, plan);
+    }
+
     @Transactional
     public Page<Trade> searchTrades(TradeDTO criteria, Pageable pageable) {
         if (criteria == null) {
@@ -81,6 +113,48 @@ public class TradeService {
             return tradeRepository.findAll(pageable);
         }
 
+        Specification<Trade> spec = buildSearchSpecification(criteria);
+
+        Page<Trade> page = tradeRepository.findAll(spec, pageable);
+        logger.info("Trade search returned {} results (page {}/{})",
+                page.getTotalElements(), page.getNumber() + 1, page.getTotalPages());
+
+        return page;
+    }
+
+    /**
+     * Sparse fieldset search: one tuple query for the page selecting only the requested fields
+     * (plus the count), without loading trades. A null spec matches every trade.
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> searchFields(Specification<Trade> spec, TradeFieldSet fields,
+            Pageable pageable) {
+        Page<Map<String, Object>> page = tradeRepository.findFields(spec, fields, pageable);
+        logger.debug("Projected search returned {} rows of {}", page.getNumberOfElements(), fields.getNames());
+        return page;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Trade> searchTradesByCursor(TradeDTO criteria, TradeCursor cursor, int size,
+            boolean includeTotal) {
+        Specification<Trade> spec = criteria == null ? null : buildSearchSpecification(criteria);
+        return searchByCursor(spec, cursor, size, includeTotal);
+    }
+
+    /**
+     * Keyset alternative to the offset based searches: reads the page after the cursor with a
+     * range predicate and skips the count query unless includeTotal is set.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Trade> searchByCursor(Specification<Trade> spec, TradeCursor cursor, int size,
+            boolean includeTotal) {
+        TradeCursor.checkPageSize(size);
+        CursorPage<Trade> page = tradeRepository.findPageAfter(spec, cursor, size, includeTotal);
+        logger.debug("Cursor search returned {} trades, hasNext: {}", page.getContent().size(), page.isHasNext());
+        return page;
+    }
+
+    public Specification<Trade> buildSearchSpecification(TradeDTO criteria) {
         String counterparty = criteria.getCounterpartyName();
         String book = criteria.getBookName();
         String trader = criteria.getTraderUserName();
@@ -98,13 +172,7 @@ public class TradeService {
                 "Executing trade search, counterparty: {}, book: {}, trader: {}, status: {}, dateFrom: {}, dateTo: {}",
                 counterparty, book, trader, status, dateFrom, dateTo);
 
-        Specification<Trade> spec = TradeSpecifications.build(counterparty, book, trader, status, dateFrom, dateTo);
-
-        Page<Trade> page = tradeRepository.findAll(spec, pageable);
-        logger.info("Trade search returned {} results (page {}/{})",
-                page.getTotalElements(), page.getNumber() + 1, page.getTotalPages());
-
-        return page;
+        return TradeSpecifications.build(counterparty, book, trader, status, dateFrom, dateTo);
     }
 
     @Transactional
@@ -123,7 +191,7 @@ public class TradeService {
         if (instructions == null || instructions.isBlank()) {
             return List.of();
         }
-        return tradeRepository.findByActiveTrueAndSettlementInstructionsContainingIgnoreCase(instructions.trim());
+        return settlementInstructionIndex.search(instructions.trim());
     }
 
     @Transactional
@@ -134,6 +202,7 @@ public class TradeService {
         }
 
         Trade trade = tradeOpt.get();
+        String previousInstructions = trade.getSettlementInstructions();
         if (settlementInstructions != null) {
             String trimmed = settlementInstructions.trim();
             if (!trimmed.isEmpty()) {
@@ -150,66 +219,232 @@ public class TradeService {
         }
 
         trade.setLastTouchTimestamp(LocalDateTime.now());
-        return tradeRepository.save(trade);
+        Trade savedTrade = tradeRepository.save(trade);
+        settlementInstructionIndex.update(savedTrade, previousInstructions);
+        return savedTrade;
     }
 
     @Transactional
     public Trade createTrade(TradeDTO tradeDTO) {
+        return createTrade(tradeDTO, null);
+    }
+
+    /**
+     * Books a trade, persisting its cashflows with the given mode; null uses the configured
+     * cashflow.generation.mode.
+     */
+    @Transactional
+    public Trade createTrade(TradeDTO tradeDTO, CashflowGenerationMode cashflowMode) {
         logger.info("Creating new trade with ID: {}", tradeDTO.getTradeId());
+        CashflowGenerationMode mode = resolveCashflowMode(cashflowMode);
+        TradeMetrics.Booking booking = TradeMetrics.startBooking(TradeMetrics.CREATE, legCount(tradeDTO));
+        try {
+            ValidationResult validation = tradeValidationService.validateTradeBusinessRules(tradeDTO);
+            if (validation.failed()) {
+                throw new IllegalArgumentException(String.join(";", validation.getErrors()));
+            }
+            booking.lap(TradeMetrics.Phase.VALIDATION);
 
-        ValidationResult validation = tradeValidationService.validateTradeBusinessRules(tradeDTO);
-        if (validation.failed()) {
-            throw new IllegalArgumentException(String.join(";", validation.getErrors()));
+            // Generate trade ID if not provided
+            if (tradeDTO.getTradeId() == null) {
+                Long generatedTradeId = generateNextTradeId();
+                tradeDTO.setTradeId(generatedTradeId);
+                logger.info("Generated trade ID: {}", generatedTradeId);
+            }
+            booking.lap(TradeMetrics.Phase.ID_ALLOCATION);
+
+            // Validate business rules
+            validateTradeCreation(tradeDTO);
+            booking.lap(TradeMetrics.Phase.VALIDATION);
+
+            // Create trade entity
+            Trade trade = mapDTOToEntity(tradeDTO);
+            trade.setVersion(1);
+            trade.setActive(true);
+            trade.setCreatedDate(LocalDateTime.now());
+            trade.setLastTouchTimestamp(LocalDateTime.now());
+
+            // Set default trade status to NEW if not provided
+            if (tradeDTO.getTradeStatus() == null) {
+                tradeDTO.setTradeStatus("NEW");
+            }
+
+            // Populate reference data
+            populateReferenceDataByName(trade, tradeDTO);
+
+            // Ensure we have essential reference data
+            validateReferenceData(trade);
+            booking.tradeType(tradeTypeName(trade));
+            booking.lap(TradeMetrics.Phase.REFERENCE_LOOKUP);
+
+            trade.setCashflowStatus(initialCashflowStatus(mode));
+            Trade savedTrade = tradeRepository.save(trade);
+            booking.rows(TradeMetrics.Table.TRADE, 1);
+            booking.lap(TradeMetrics.Phase.TRADE_INSERT);
+
+            // Create trade legs and cashflows
+            List<TradeLeg> legs = createTradeLegsWithCashflows(tradeDTO, savedTrade, mode, booking);
+            tradeAggregateService.add(tradeAggregateService.contributionOf(savedTrade, legs));
+            settlementInstructionIndex.add(savedTrade);
+
+            logger.info("Successfully created trade with ID: {}", savedTrade.getTradeId());
+            booking.succeeded();
+            return savedTrade;
+        } finally {
+            booking.stop();
         }
+    }
 
-        // Generate trade ID if not provided
-        if (tradeDTO.getTradeId() == null) {
-            // Generate sequential trade ID starting from 10000
-            Long generatedTradeId = generateNextTradeId();
-            tradeDTO.setTradeId(generatedTradeId);
-            logger.info("Generated trade ID: {}", generatedTradeId);
+    /**
+     * Books a batch of trades in as few statements as possible. Every trade is
+     * validated and resolved on its own so that one bad trade is reported back
+     * without failing the others; the valid ones are built in memory together
+     * with their legs and cashflows and persisted through a single cascaded
+     * saveAll so Hibernate can group the inserts into JDBC batches.
+     *
+     * A chunkSize greater than zero commits every chunk in its own transaction;
+     * otherwise the whole batch is committed at once.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchBookingResultDTO bookTrades(List<TradeDTO> tradeDTOs, int chunkSize) {
+        BatchBookingResultDTO result = new BatchBookingResultDTO();
+        if (tradeDTOs == null || tradeDTOs.isEmpty()) {
+            return result;
+        }
+
+        int effectiveChunkSize = chunkSize > 0 ? chunkSize : tradeDTOs.size();
+        logger.info("Booking batch of {} trades in chunks of {}", tradeDTOs.size(), effectiveChunkSize);
+
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        for (int from = 0; from < tradeDTOs.size(); from += effectiveChunkSize) {
+            int to = Math.min(from + effectiveChunkSize, tradeDTOs.size());
+            result.getResults().addAll(bookChunk(chunkTransaction, tradeDTOs, from, to));
         }
 
-        // Validate business rules
+        int booked = (int) result.getResults().stream()
+                .filter(r -> TradeBookingResultDTO.BOOKED.equals(r.getStatus()))
+                .count();
+        result.setSubmitted(tradeDTOs.size());
+        result.setBooked(booked);
+        result.setFailed(tradeDTOs.size() - booked);
+        result.setChunkSize(effectiveChunkSize);
+
+        logger.info("Batch booking finished: {} booked, {} failed", result.getBooked(), result.getFailed());
+        return result;
+    }
+
+    private List<TradeBookingResultDTO> bookChunk(TransactionTemplate chunkTransaction, List<TradeDTO> tradeDTOs,
+            int from, int to) {
+        List<TradeBookingResultDTO> failures = new ArrayList<>();
+        List<TradeBookingResultDTO> pending = new ArrayList<>();
+
+        try {
+            chunkTransaction.executeWithoutResult(status -> {
+                List<Trade> trades = new ArrayList<>();
+
+                for (int i = from; i < to; i++) {
+                    TradeDTO tradeDTO = tradeDTOs.get(i);
+                    List<String> errors = validateForBooking(tradeDTO);
+                    if (!errors.isEmpty()) {
+                        failures.add(TradeBookingResultDTO.failed(i, tradeDTO == null ? null : tradeDTO.getTradeId(), errors));
+                        continue;
+                    }
+
+                    if (tradeDTO.getTradeId() == null) {
+                        tradeDTO.setTradeId(generateNextTradeId());
+                    }
+
+                    try {
+                        trades.add(buildTradeGraph(tradeDTO));
+                        pending.add(TradeBookingResultDTO.booked(i, tradeDTO.getTradeId()));
+                    } catch (RuntimeException e) {
+                        failures.add(TradeBookingResultDTO.failed(i, tradeDTO.getTradeId(), List.of(String.valueOf(e.getMessage()))));
+                    }
+                }
+
+                if (!trades.isEmpty()) {
+                    tradeRepository.saveAll(trades);
+                    tradeRepository.flush();
+                    tradeAggregateService.apply(List.of(), trades.stream()
+                            .map(t -> tradeAggregateService.contributionOf(t, t.getTradeLegs()))
+                            .toList());
+                    settlementInstructionIndex.add(trades);
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.error("Batch chunk [{}, {}) rolled back: {}", from, to, e.getMessage());
+            for (TradeBookingResultDTO booked : pending) {
+                failures.add(TradeBookingResultDTO.failed(booked.getIndex(), booked.getTradeId(),
+                        List.of("Chunk rolled back: " + e.getMessage())));
+            }
+            pending.clear();
+        }
+
+        List<TradeBookingResultDTO> results = new ArrayList<>(pending);
+        results.addAll(failures);
+        results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return results;
+    }
+
+    private List<String> validateForBooking(TradeDTO tradeDTO) {
+        List<String> errors = new ArrayList<>();
+        if (tradeDTO == null) {
+            errors.add("Trade is required");
+            return errors;
+        }
+        for (ConstraintViolation<TradeDTO> violation : validator.validate(tradeDTO)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        errors.addAll(tradeValidationService.validateTradeBusinessRules(tradeDTO).getErrors());
+        return errors;
+    }
+
+    // Builds the full trade -> legs -> cashflows graph without touching the database
+    private Trade buildTradeGraph(TradeDTO tradeDTO) {
         validateTradeCreation(tradeDTO);
 
-        // Create trade entity
         Trade trade = mapDTOToEntity(tradeDTO);
         trade.setVersion(1);
         trade.setActive(true);
         trade.setCreatedDate(LocalDateTime.now());
         trade.setLastTouchTimestamp(LocalDateTime.now());
 
-        // Set default trade status to NEW if not provided
         if (tradeDTO.getTradeStatus() == null) {
             tradeDTO.setTradeStatus("NEW");
         }
 
-        // Populate reference data
         populateReferenceDataByName(trade, tradeDTO);
-
-        // Ensure we have essential reference data
         validateReferenceData(trade);
 
-        Trade savedTrade = tradeRepository.save(trade);
-
-        // Create trade legs and cashflows
-        createTradeLegsWithCashflows(tradeDTO, savedTrade);
-
-        logger.info("Successfully created trade with ID: {}", savedTrade.getTradeId());
-        return savedTrade;
+        List<TradeLeg> legs = new ArrayList<>();
+        for (TradeLegDTO legDTO : tradeDTO.getTradeLegs()) {
+            TradeLeg leg = buildTradeLeg(legDTO, trade);
+            if (tradeDTO.getTradeStartDate() != null && tradeDTO.getTradeMaturityDate() != null) {
+                leg.setCashflows(buildCashflows(leg, tradeDTO.getTradeStartDate(), tradeDTO.getTradeMaturityDate()));
+            }
+            legs.add(leg);
+        }
+        trade.setTradeLegs(legs);
+        return trade;
     }
 
     // NEW METHOD: For controller compatibility
     @Transactional
     public Trade saveTrade(Trade trade, TradeDTO tradeDTO) {
+        return saveTrade(trade, tradeDTO, null);
+    }
+
+    @Transactional
+    public Trade saveTrade(Trade trade, TradeDTO tradeDTO, CashflowGenerationMode cashflowMode) {
         logger.info("Saving trade with ID: {}", trade.getTradeId());
 
         // If this is an existing trade (has ID), handle as amendment
         if (trade.getId() != null) {
-            return amendTrade(trade.getTradeId(), tradeDTO);
+            return amendTrade(trade.getTradeId(), tradeDTO, cashflowMode);
         } else {
-            return createTrade(tradeDTO);
+            return createTrade(tradeDTO, cashflowMode);
         }
     }
 
@@ -219,28 +454,28 @@ public class TradeService {
 
         // Populate Book
         if (tradeDTO.getBookName() != null) {
-            bookRepository.findByBookName(tradeDTO.getBookName())
+            referenceDataRegistry.findByName(Book.class, tradeDTO.getBookName())
                     .ifPresent(trade::setBook);
         } else if (tradeDTO.getBookId() != null) {
-            bookRepository.findById(tradeDTO.getBookId())
+            referenceDataRegistry.findById(Book.class, tradeDTO.getBookId())
                     .ifPresent(trade::setBook);
         }
 
         // Populate Counterparty
         if (tradeDTO.getCounterpartyName() != null) {
-            counterpartyRepository.findByName(tradeDTO.getCounterpartyName())
+            referenceDataRegistry.findByName(Counterparty.class, tradeDTO.getCounterpartyName())
                     .ifPresent(trade::setCounterparty);
         } else if (tradeDTO.getCounterpartyId() != null) {
-            counterpartyRepository.findById(tradeDTO.getCounterpartyId())
+            referenceDataRegistry.findById(Counterparty.class, tradeDTO.getCounterpartyId())
                     .ifPresent(trade::setCounterparty);
         }
 
         // Populate TradeStatus
         if (tradeDTO.getTradeStatus() != null) {
-            tradeStatusRepository.findByTradeStatus(tradeDTO.getTradeStatus())
+            referenceDataRegistry.findByName(TradeStatus.class, tradeDTO.getTradeStatus())
                     .ifPresent(trade::setTradeStatus);
         } else if (tradeDTO.getTradeStatusId() != null) {
-            tradeStatusRepository.findById(tradeDTO.getTradeStatusId())
+            referenceDataRegistry.findById(TradeStatus.class, tradeDTO.getTradeStatusId())
                     .ifPresent(trade::setTradeStatus);
         }
 
@@ -313,7 +548,8 @@ public class TradeService {
     private void populateTradeTypeReferences(Trade trade, TradeDTO tradeDTO) {
         if (tradeDTO.getTradeType() != null) {
             logger.debug("Looking up trade type: {}", tradeDTO.getTradeType());
-            Optional<TradeType> tradeTypeOpt = tradeTypeRepository.findByTradeType(tradeDTO.getTradeType());
+            Optional<TradeType> tradeTypeOpt = referenceDataRegistry.findByName(TradeType.class,
+                    tradeDTO.getTradeType());
             if (tradeTypeOpt.isPresent()) {
                 trade.setTradeType(tradeTypeOpt.get());
                 logger.debug("Found trade type: {} with ID: {}", tradeTypeOpt.get().getTradeType(),
@@ -322,26 +558,16 @@ public class TradeService {
                 logger.warn("Trade type not found: {}", tradeDTO.getTradeType());
             }
         } else if (tradeDTO.getTradeTypeId() != null) {
-            tradeTypeRepository.findById(tradeDTO.getTradeTypeId())
+            referenceDataRegistry.findById(TradeType.class, tradeDTO.getTradeTypeId())
                     .ifPresent(trade::setTradeType);
         }
 
+        // Registry names are case-insensitive, so no fallback scan is needed here
         if (tradeDTO.getTradeSubType() != null) {
-            Optional<TradeSubType> tradeSubTypeOpt = tradeSubTypeRepository
-                    .findByTradeSubType(tradeDTO.getTradeSubType());
-            if (tradeSubTypeOpt.isPresent()) {
-                trade.setTradeSubType(tradeSubTypeOpt.get());
-            } else {
-                List<TradeSubType> allSubTypes = tradeSubTypeRepository.findAll();
-                for (TradeSubType subType : allSubTypes) {
-                    if (subType.getTradeSubType().equalsIgnoreCase(tradeDTO.getTradeSubType())) {
-                        trade.setTradeSubType(subType);
-                        break;
-                    }
-                }
-            }
+            referenceDataRegistry.findByName(TradeSubType.class, tradeDTO.getTradeSubType())
+                    .ifPresent(trade::setTradeSubType);
         } else if (tradeDTO.getTradeSubTypeId() != null) {
-            tradeSubTypeRepository.findById(tradeDTO.getTradeSubTypeId())
+            referenceDataRegistry.findById(TradeSubType.class, tradeDTO.getTradeSubTypeId())
                     .ifPresent(trade::setTradeSubType);
         }
     }
@@ -355,48 +581,139 @@ public class TradeService {
 
     @Transactional
     public Trade amendTrade(Long tradeId, TradeDTO tradeDTO) {
-        logger.info("Amending trade with ID: {}", tradeId);
-
-        ValidationResult validation = tradeValidationService.validateTradeBusinessRules(tradeDTO);
-        if (validation.failed()) {
-            throw new IllegalArgumentException(String.join(";", validation.getErrors()));
-        }
-
-        Optional<Trade> existingTradeOpt = getTradeById(tradeId);
-        if (existingTradeOpt.isEmpty()) {
-            throw new RuntimeException("Trade not found: " + tradeId);
-        }
-
-        Trade existingTrade = existingTradeOpt.get();
-
-        // Deactivate existing trade
-        existingTrade.setActive(false);
-        existingTrade.setDeactivatedDate(LocalDateTime.now());
-        tradeRepository.save(existingTrade);
-
-        // Create new version
-        Trade amendedTrade = mapDTOToEntity(tradeDTO);
-        amendedTrade.setTradeId(tradeId);
-        amendedTrade.setVersion(existingTrade.getVersion() + 1);
-        amendedTrade.setActive(true);
-        amendedTrade.setCreatedDate(LocalDateTime.now());
-        amendedTrade.setLastTouchTimestamp(LocalDateTime.now());
+        return amendTrade(tradeId, tradeDTO, null);
+    }
 
-        // Populate reference data
-        populateReferenceDataByName(amendedTrade, tradeDTO);
+    @Transactional
+    public Trade amendTrade(Long tradeId, TradeDTO tradeDTO, CashflowGenerationMode cashflowMode) {
+        return amendTradeWithSummary(tradeId, tradeDTO, cashflowMode).trade();
+    }
 
-        // Set status to AMENDED
-        TradeStatus amendedStatus = tradeStatusRepository.findByTradeStatus("AMENDED")
-                .orElseThrow(() -> new RuntimeException("AMENDED status not found"));
-        amendedTrade.setTradeStatus(amendedStatus);
+    /** The new trade version together with what the amendment changed */
+    public record AmendmentResult(Trade trade, AmendmentSummaryDTO summary) {
+    }
 
-        Trade savedTrade = tradeRepository.save(amendedTrade);
+    /**
+     * Amends a trade, regenerating cashflows only for legs whose economics changed. Unchanged
+     * legs have their cashflows copied from the previous version in the database.
+     */
+    @Transactional
+    public AmendmentResult amendTradeWithSummary(Long tradeId, TradeDTO tradeDTO, CashflowGenerationMode cashflowMode) {
+        logger.info("Amending trade with ID: {}", tradeId);
+        CashflowGenerationMode mode = resolveCashflowMode(cashflowMode);
+        TradeMetrics.Booking booking = TradeMetrics.startBooking(TradeMetrics.AMEND, legCount(tradeDTO));
+        try {
+            ValidationResult validation = tradeValidationService.validateTradeBusinessRules(tradeDTO);
+            if (validation.failed()) {
+                throw new IllegalArgumentException(String.join(";", validation.getErrors()));
+            }
+            booking.lap(TradeMetrics.Phase.VALIDATION);
 
-        // Create new trade legs and cashflows
-        createTradeLegsWithCashflows(tradeDTO, savedTrade);
+            Optional<Trade> existingTradeOpt = getTradeById(tradeId);
+            if (existingTradeOpt.isEmpty()) {
+                throw new RuntimeException("Trade not found: " + tradeId);
+            }
 
-        logger.info("Successfully amended trade with ID: {}", savedTrade.getTradeId());
-        return savedTrade;
+            Trade existingTrade = existingTradeOpt.get();
+            TradeAggregateService.Contribution before = tradeAggregateService.contributionOf(existingTrade,
+                    existingTrade.getTradeLegs());
+            booking.lap(TradeMetrics.Phase.LOAD);
+
+            // Deactivate existing trade
+            existingTrade.setActive(false);
+            existingTrade.setDeactivatedDate(LocalDateTime.now());
+            tradeRepository.save(existingTrade);
+            booking.lap(TradeMetrics.Phase.TRADE_INSERT);
+
+            // Create new version
+            Trade amendedTrade = mapDTOToEntity(tradeDTO);
+            amendedTrade.setTradeId(tradeId);
+            amendedTrade.setVersion(existingTrade.getVersion() + 1);
+            amendedTrade.setActive(true);
+            amendedTrade.setCreatedDate(LocalDateTime.now());
+            amendedTrade.setLastTouchTimestamp(LocalDateTime.now());
+
+            // Populate reference data
+            populateReferenceDataByName(amendedTrade, tradeDTO);
+
+            // Set status to AMENDED
+            TradeStatus amendedStatus = referenceDataRegistry.findByName(TradeStatus.class, "AMENDED")
+                    .orElseThrow(() -> new RuntimeException("AMENDED status not found"));
+            amendedTrade.setTradeStatus(amendedStatus);
+            booking.tradeType(tradeTypeName(amendedTrade));
+
+            // Diff against the current version to find the legs that need new cashflows
+            List<TradeLeg> proposedLegs = new ArrayList<>();
+            List<Long> requestedLegIds = new ArrayList<>();
+            for (TradeLegDTO legDTO : tradeDTO.getTradeLegs()) {
+                proposedLegs.add(buildTradeLeg(legDTO, amendedTrade));
+                requestedLegIds.add(legDTO.getLegId());
+            }
+            booking.lap(TradeMetrics.Phase.REFERENCE_LOOKUP);
+            AmendmentPlan plan = AmendmentPlan.diff(existingTrade, amendedTrade, proposedLegs, requestedLegIds);
+            boolean datesSet = tradeDTO.getTradeStartDate() != null && tradeDTO.getTradeMaturityDate() != null;
+            boolean regenerates = datesSet && plan.getLegs().stream()
+                    .anyMatch(leg -> leg.change() != AmendmentPlan.LegChange.REMOVED && !plan.carriesForward(leg));
+            amendedTrade.setCashflowStatus(regenerates ? initialCashflowStatus(mode) : CashflowGenerationStatus.COMPLETE);
+
+            Trade savedTrade = tradeRepository.save(amendedTrade);
+            booking.rows(TradeMetrics.Table.TRADE, 1);
+
+            AmendmentSummaryDTO summary = new AmendmentSummaryDTO();
+            summary.setTradeId(tradeId);
+            summary.setFromVersion(existingTrade.getVersion());
+            summary.setToVersion(savedTrade.getVersion());
+            summary.setChangedFields(new ArrayList<>(plan.getChangedFields()));
+            summary.setAllCashflowsRegenerated(plan.isRegenerateAll());
+            booking.lap(TradeMetrics.Phase.TRADE_INSERT);
+
+            // Carry unchanged legs forward, collect the rest for generation
+            List<TradeLeg> legs = new ArrayList<>();
+            List<TradeLeg> regenerate = new ArrayList<>();
+            int copied = 0;
+            for (AmendmentPlan.LegPlan legPlan : plan.getLegs()) {
+                Long previousLegId = legPlan.current() == null ? null : legPlan.current().getLegId();
+                if (legPlan.change() == AmendmentPlan.LegChange.REMOVED) {
+                    summary.getLegs().add(new AmendmentSummaryDTO.LegChangeDTO(legPlan.index(), previousLegId, null,
+                            legPlan.change().name(), List.of(), "NONE"));
+                    continue;
+                }
+                TradeLeg savedLeg = tradeLegRepository.save(legPlan.proposed());
+                legs.add(savedLeg);
+                booking.rows(TradeMetrics.Table.TRADE_LEG, 1);
+                booking.lap(TradeMetrics.Phase.LEG_INSERT);
+                String cashflows;
+                if (!datesSet) {
+                    cashflows = "NONE";
+                } else if (plan.carriesForward(legPlan)) {
+                    int legCopied = cashflowRepository.copyCashflows(previousLegId, savedLeg.getLegId());
+                    copied += legCopied;
+                    booking.rows(TradeMetrics.Table.CASHFLOW, legCopied);
+                    booking.lap(TradeMetrics.Phase.CASHFLOW_GENERATION);
+                    cashflows = "COPIED";
+                } else {
+                    regenerate.add(savedLeg);
+                    cashflows = "REGENERATED";
+                }
+                summary.getLegs().add(new AmendmentSummaryDTO.LegChangeDTO(legPlan.index(), previousLegId,
+                        savedLeg.getLegId(), legPlan.change().name(), new ArrayList<>(legPlan.changedFields()), cashflows));
+            }
+            summary.setCashflowsCopied(copied);
+            if (datesSet) {
+                persistCashflows(regenerate, savedTrade, tradeDTO.getTradeStartDate(), tradeDTO.getTradeMaturityDate(),
+                        mode, booking);
+            }
+            tradeAggregateService.replace(before, tradeAggregateService.contributionOf(savedTrade, legs));
+            settlementInstructionIndex.remove(existingTrade);
+            settlementInstructionIndex.add(savedTrade);
+
+            logger.info("Successfully amended trade with ID: {} (header changes {}, {} legs regenerated, {} cashflows copied)",
+                    savedTrade.getTradeId(), plan.getChangedFields(), regenerate.size(), copied);
+            booking.succeeded();
+            return new AmendmentResult(savedTrade, summary);
+        } finally {
+            booking.stop();
+        }
     }
 
     @Transactional
@@ -409,13 +726,16 @@ public class TradeService {
         }
 
         Trade trade = tradeOpt.get();
-        TradeStatus terminatedStatus = tradeStatusRepository.findByTradeStatus("TERMINATED")
+        TradeStatus terminatedStatus = referenceDataRegistry.findByName(TradeStatus.class, "TERMINATED")
                 .orElseThrow(() -> new RuntimeException("TERMINATED status not found"));
 
+        TradeAggregateService.Contribution before = tradeAggregateService.contributionOf(trade, trade.getTradeLegs());
         trade.setTradeStatus(terminatedStatus);
         trade.setLastTouchTimestamp(LocalDateTime.now());
 
-        return tradeRepository.save(trade);
+        Trade savedTrade = tradeRepository.save(trade);
+        tradeAggregateService.replace(before, tradeAggregateService.contributionOf(savedTrade, savedTrade.getTradeLegs()));
+        return savedTrade;
     }
 
     @Transactional
@@ -428,13 +748,16 @@ public class TradeService {
         }
 
         Trade trade = tradeOpt.get();
-        TradeStatus cancelledStatus = tradeStatusRepository.findByTradeStatus("CANCELLED")
+        TradeStatus cancelledStatus = referenceDataRegistry.findByName(TradeStatus.class, "CANCELLED")
                 .orElseThrow(() -> new RuntimeException("CANCELLED status not found"));
 
+        TradeAggregateService.Contribution before = tradeAggregateService.contributionOf(trade, trade.getTradeLegs());
         trade.setTradeStatus(cancelledStatus);
         trade.setLastTouchTimestamp(LocalDateTime.now());
 
-        return tradeRepository.save(trade);
+        Trade savedTrade = tradeRepository.save(trade);
+        tradeAggregateService.replace(before, tradeAggregateService.contributionOf(savedTrade, savedTrade.getTradeLegs()));
+        return savedTrade;
     }
 
     private void validateTradeCreation(TradeDTO tradeDTO) {
@@ -470,99 +793,324 @@ public class TradeService {
         return trade;
     }
 
-    private void createTradeLegsWithCashflows(TradeDTO tradeDTO, Trade savedTrade) {
+    private List<TradeLeg> createTradeLegsWithCashflows(TradeDTO tradeDTO, Trade savedTrade,
+            CashflowGenerationMode mode, TradeMetrics.Booking booking) {
+        LocalDate startDate = tradeDTO.getTradeStartDate();
+        LocalDate maturityDate = tradeDTO.getTradeMaturityDate();
+        boolean datesSet = startDate != null && maturityDate != null;
+
+        List<TradeLeg> legs = new ArrayList<>();
         for (int i = 0; i < tradeDTO.getTradeLegs().size(); i++) {
             var legDTO = tradeDTO.getTradeLegs().get(i);
 
-            TradeLeg tradeLeg = new TradeLeg();
-            tradeLeg.setTrade(savedTrade);
-            tradeLeg.setNotional(legDTO.getNotional());
-            tradeLeg.setRate(legDTO.getRate());
-            tradeLeg.setActive(true);
-            tradeLeg.setCreatedDate(LocalDateTime.now());
-
-            // Populate reference data for leg
-            populateLegReferenceData(tradeLeg, legDTO);
+            TradeLeg tradeLeg = buildTradeLeg(legDTO, savedTrade);
 
             TradeLeg savedLeg = tradeLegRepository.save(tradeLeg);
+            legs.add(savedLeg);
+        }
+        booking.rows(TradeMetrics.Table.TRADE_LEG, legs.size());
+        booking.lap(TradeMetrics.Phase.LEG_INSERT);
 
-            // Generate cashflows for this leg
-            if (tradeDTO.getTradeStartDate() != null && tradeDTO.getTradeMaturityDate() != null) {
-                generateCashflows(savedLeg, tradeDTO.getTradeStartDate(), tradeDTO.getTradeMaturityDate());
+        // Generate cashflows for the legs
+        if (datesSet) {
+            persistCashflows(legs, savedTrade, startDate, maturityDate, mode, booking);
+        }
+        return legs;
+    }
+
+    private void persistCashflows(List<TradeLeg> legs, Trade savedTrade, LocalDate startDate, LocalDate maturityDate,
+            CashflowGenerationMode mode, TradeMetrics.Booking booking) {
+        if (legs.isEmpty()) {
+            return;
+        }
+        switch (mode) {
+            case INLINE -> legs.forEach(leg ->
+                    booking.rows(TradeMetrics.Table.CASHFLOW, generateCashflows(leg, startDate, maturityDate)));
+            // Only the hand-off is timed here; the rows are counted when the worker writes them
+            case ASYNC -> scheduleCashflowGeneration(savedTrade.getId(), legs, startDate, maturityDate, booking);
+            default -> {
+                List<Cashflow> cashflows = buildCashflows(legs, startDate, maturityDate);
+                cashflowRepository.saveAll(cashflows);
+                booking.rows(TradeMetrics.Table.CASHFLOW, cashflows.size());
+                logger.info("Generated {} cashflows for trade {} in one batch", cashflows.size(), savedTrade.getTradeId());
+            }
+        }
+        booking.lap(TradeMetrics.Phase.CASHFLOW_GENERATION);
+    }
+
+    private static int legCount(TradeDTO tradeDTO) {
+        return tradeDTO.getTradeLegs() == null ? 0 : tradeDTO.getTradeLegs().size();
+    }
+
+    private static String tradeTypeName(Trade trade) {
+        return trade.getTradeType() == null ? null : trade.getTradeType().getTradeType();
+    }
+
+    private CashflowGenerationMode resolveCashflowMode(CashflowGenerationMode requested) {
+        if (requested != null) {
+            return requested;
+        }
+        return defaultCashflowGenerationMode != null ? defaultCashflowGenerationMode : CashflowGenerationMode.BATCH;
+    }
+
+    private static CashflowGenerationStatus initialCashflowStatus(CashflowGenerationMode mode) {
+        return mode == CashflowGenerationMode.ASYNC ? CashflowGenerationStatus.PENDING : CashflowGenerationStatus.COMPLETE;
+    }
+
+    /**
+     * Hands the legs to the cashflow workers once the booking transaction commits; a rollback
+     * drops the request. Without a transaction (e.g. in unit tests) the task is submitted at once.
+     */
+    private void scheduleCashflowGeneration(Long tradeRowId, List<TradeLeg> legs, LocalDate startDate,
+            LocalDate maturityDate, TradeMetrics.Booking booking) {
+        CompletableFuture<CashflowGenerationStatus> done = new CompletableFuture<>();
+        pendingCashflows.put(tradeRowId, done);
+        Runnable task = () -> writeCashflows(tradeRowId, legs, startDate, maturityDate, booking, done);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            queueCashflowGeneration(tradeRowId, task, done);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    queueCashflowGeneration(tradeRowId, task, done);
+                } else {
+                    pendingCashflows.remove(tradeRowId);
+                    done.complete(CashflowGenerationStatus.FAILED);
+                }
+            }
+        });
+    }
+
+    /**
+     * Queues the generation, or leaves the trade PENDING when the workers are saturated or
+     * stopped. It is never written on the calling thread, which may be completing the booking
+     * and still hold its connection; the next worker to finish sweeps the trade up.
+     */
+    private boolean queueCashflowGeneration(Long tradeRowId, Runnable task,
+            CompletableFuture<CashflowGenerationStatus> done) {
+        if (cashflowWorkerPool.submit(task)) {
+            return true;
+        }
+        pendingCashflows.remove(tradeRowId, done);
+        done.complete(CashflowGenerationStatus.PENDING);
+        cashflowBacklog.set(true);
+        logger.warn("Cashflow workers busy; trade row {} stays PENDING until one is free", tradeRowId);
+        return false;
+    }
+
+    /**
+     * Runs on a cashflow worker: one transaction writes the cashflows and marks the trade complete.
+     * The trade row is locked and its status re-checked first, so a trade that another worker
+     * (e.g. a startup sweep on another instance) already handled is not generated twice. Legs
+     * of null means a resumed generation: the trade's legs that have no cashflows yet.
+     */
+    private void writeCashflows(Long tradeRowId, List<TradeLeg> legs, LocalDate startDate, LocalDate maturityDate,
+            TradeMetrics.Booking booking, CompletableFuture<CashflowGenerationStatus> done) {
+        CashflowGenerationStatus outcome = CashflowGenerationStatus.FAILED;
+        try {
+            outcome = new TransactionTemplate(transactionManager).execute(
+                    status -> generatePendingCashflows(tradeRowId, legs, startDate, maturityDate, booking));
+        } catch (RuntimeException e) {
+            logger.error("Asynchronous cashflow generation failed for trade row {}: {}", tradeRowId, e.getMessage(), e);
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(
+                        status -> tradeRepository.updateCashflowStatus(tradeRowId, CashflowGenerationStatus.FAILED));
+            } catch (RuntimeException statusError) {
+                logger.error("Could not mark trade row {} as FAILED: {}", tradeRowId, statusError.getMessage());
+            }
+        } finally {
+            done.complete(outcome);
+            pendingCashflows.remove(tradeRowId);
+        }
+        if (cashflowBacklog.compareAndSet(true, false)) {
+            sweepCashflowBacklog();
+        }
+    }
+
+    private void sweepCashflowBacklog() {
+        try {
+            resumePendingCashflowGeneration();
+        } catch (RuntimeException e) {
+            cashflowBacklog.set(true);
+            logger.error("Could not pick up trades left PENDING: {}", e.getMessage(), e);
+        }
+    }
+
+    private CashflowGenerationStatus generatePendingCashflows(Long tradeRowId, List<TradeLeg> legs,
+            LocalDate startDate, LocalDate maturityDate, TradeMetrics.Booking booking) {
+        Trade trade = tradeRepository.findByIdForUpdate(tradeRowId).orElse(null);
+        if (trade == null || trade.getCashflowStatus() != CashflowGenerationStatus.PENDING) {
+            logger.info("Cashflows for trade row {} already handled", tradeRowId);
+            return trade == null ? CashflowGenerationStatus.FAILED : trade.getCashflowStatus();
+        }
+        if (legs == null) {
+            // Legs whose cashflows an amendment copied forward already have them
+            legs = trade.getTradeLegs() == null ? List.of() : trade.getTradeLegs().stream()
+                    .filter(leg -> leg.getCashflows() == null || leg.getCashflows().isEmpty())
+                    .toList();
+            startDate = trade.getTradeStartDate();
+            maturityDate = trade.getTradeMaturityDate();
+        }
+        List<Cashflow> cashflows = startDate == null || maturityDate == null
+                ? List.of()
+                : buildCashflows(legs, startDate, maturityDate);
+        cashflowRepository.saveAll(cashflows);
+        tradeRepository.updateCashflowStatus(tradeRowId, CashflowGenerationStatus.COMPLETE);
+        if (booking != null) {
+            booking.rows(TradeMetrics.Table.CASHFLOW, cashflows.size());
+        }
+        logger.info("Generated {} cashflows for trade row {} asynchronously", cashflows.size(), tradeRowId);
+        return CashflowGenerationStatus.COMPLETE;
+    }
+
+    /**
+     * Resumes asynchronous cashflow generation that a previous process accepted but never
+     * finished, e.g. after a crash or when shutdown abandoned queued work, or that the workers
+     * turned away while saturated. Trades already queued on this instance are skipped, and the
+     * sweep stops once the workers turn one away again.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int resumePendingCashflowGeneration() {
+        int resumed = 0;
+        for (Long tradeRowId : tradeRepository.findIdsByCashflowStatus(CashflowGenerationStatus.PENDING)) {
+            CompletableFuture<CashflowGenerationStatus> done = new CompletableFuture<>();
+            if (pendingCashflows.putIfAbsent(tradeRowId, done) != null) {
+                continue;
+            }
+            if (!queueCashflowGeneration(tradeRowId,
+                    () -> writeCashflows(tradeRowId, null, null, null, null, done), done)) {
+                break;
             }
+            resumed++;
         }
+        if (resumed > 0) {
+            logger.warn("Resumed cashflow generation for {} trades left PENDING", resumed);
+        }
+        return resumed;
+    }
+
+    /**
+     * Cashflow generation status of the active version of a trade. While an asynchronous
+     * generation is still running this waits up to waitMillis for it to finish.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<Trade> awaitCashflowGeneration(Long tradeId, long waitMillis) {
+        Optional<Trade> tradeOpt = getTradeById(tradeId);
+        if (tradeOpt.isEmpty()) {
+            return tradeOpt;
+        }
+        Trade trade = tradeOpt.get();
+        CompletableFuture<CashflowGenerationStatus> pending = pendingCashflows.get(trade.getId());
+        if (trade.getCashflowStatus() == CashflowGenerationStatus.PENDING && pending != null && waitMillis > 0) {
+            try {
+                trade.setCashflowStatus(pending.get(waitMillis, TimeUnit.MILLISECONDS));
+            } catch (TimeoutException e) {
+                logger.debug("Cashflows for trade {} still pending after {}ms", tradeId, waitMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                trade.setCashflowStatus(CashflowGenerationStatus.FAILED);
+            }
+        }
+        return Optional.of(trade);
+    }
+
+    private List<Cashflow> buildCashflows(List<TradeLeg> legs, LocalDate startDate, LocalDate maturityDate) {
+        List<Cashflow> cashflows = new ArrayList<>();
+        for (TradeLeg leg : legs) {
+            cashflows.addAll(buildCashflows(leg, startDate, maturityDate));
+        }
+        return cashflows;
+    }
+
+    private TradeLeg buildTradeLeg(TradeLegDTO legDTO, Trade trade) {
+        TradeLeg tradeLeg = new TradeLeg();
+        tradeLeg.setTrade(trade);
+        tradeLeg.setNotional(legDTO.getNotional());
+        tradeLeg.setRate(legDTO.getRate());
+        tradeLeg.setDayCountConvention(legDTO.getDayCountConvention());
+        tradeLeg.setActive(true);
+        tradeLeg.setCreatedDate(LocalDateTime.now());
+
+        // Populate reference data for leg
+        populateLegReferenceData(tradeLeg, legDTO);
+        return tradeLeg;
     }
 
     private void populateLegReferenceData(TradeLeg leg, TradeLegDTO legDTO) {
         // Populate currency by name or ID
         if (legDTO.getCurrency() != null) {
-            currencyRepository.findByCurrency(legDTO.getCurrency())
+            referenceDataRegistry.findByName(Currency.class, legDTO.getCurrency())
                     .ifPresent(leg::setCurrency);
         } else if (legDTO.getCurrencyId() != null) {
-            currencyRepository.findById(legDTO.getCurrencyId())
+            referenceDataRegistry.findById(Currency.class, legDTO.getCurrencyId())
                     .ifPresent(leg::setCurrency);
         }
 
         // Populate leg type by name or ID
         if (legDTO.getLegType() != null) {
-            legTypeRepository.findByType(legDTO.getLegType())
+            referenceDataRegistry.findByName(LegType.class, legDTO.getLegType())
                     .ifPresent(leg::setLegRateType);
         } else if (legDTO.getLegTypeId() != null) {
-            legTypeRepository.findById(legDTO.getLegTypeId())
+            referenceDataRegistry.findById(LegType.class, legDTO.getLegTypeId())
                     .ifPresent(leg::setLegRateType);
         }
 
         // Populate index by name or ID
         if (legDTO.getIndexName() != null) {
-            indexRepository.findByIndex(legDTO.getIndexName())
+            referenceDataRegistry.findByName(Index.class, legDTO.getIndexName())
                     .ifPresent(leg::setIndex);
         } else if (legDTO.getIndexId() != null) {
-            indexRepository.findById(legDTO.getIndexId())
+            referenceDataRegistry.findById(Index.class, legDTO.getIndexId())
                     .ifPresent(leg::setIndex);
         }
 
         // Populate holiday calendar by name or ID
         if (legDTO.getHolidayCalendar() != null) {
-            holidayCalendarRepository.findByHolidayCalendar(legDTO.getHolidayCalendar())
+            referenceDataRegistry.findByName(HolidayCalendar.class, legDTO.getHolidayCalendar())
                     .ifPresent(leg::setHolidayCalendar);
         } else if (legDTO.getHolidayCalendarId() != null) {
-            holidayCalendarRepository.findById(legDTO.getHolidayCalendarId())
+            referenceDataRegistry.findById(HolidayCalendar.class, legDTO.getHolidayCalendarId())
                     .ifPresent(leg::setHolidayCalendar);
         }
 
         // Populate schedule by name or ID
         if (legDTO.getCalculationPeriodSchedule() != null) {
-            scheduleRepository.findBySchedule(legDTO.getCalculationPeriodSchedule())
+            referenceDataRegistry.findByName(Schedule.class, legDTO.getCalculationPeriodSchedule())
                     .ifPresent(leg::setCalculationPeriodSchedule);
         } else if (legDTO.getScheduleId() != null) {
-            scheduleRepository.findById(legDTO.getScheduleId())
+            referenceDataRegistry.findById(Schedule.class, legDTO.getScheduleId())
                     .ifPresent(leg::setCalculationPeriodSchedule);
         }
 
         // Populate payment business day convention by name or ID
         if (legDTO.getPaymentBusinessDayConvention() != null) {
-            businessDayConventionRepository.findByBdc(legDTO.getPaymentBusinessDayConvention())
+            referenceDataRegistry.findByName(BusinessDayConvention.class, legDTO.getPaymentBusinessDayConvention())
                     .ifPresent(leg::setPaymentBusinessDayConvention);
         } else if (legDTO.getPaymentBdcId() != null) {
-            businessDayConventionRepository.findById(legDTO.getPaymentBdcId())
+            referenceDataRegistry.findById(BusinessDayConvention.class, legDTO.getPaymentBdcId())
                     .ifPresent(leg::setPaymentBusinessDayConvention);
         }
 
         // Populate fixing business day convention by name or ID
         if (legDTO.getFixingBusinessDayConvention() != null) {
-            businessDayConventionRepository.findByBdc(legDTO.getFixingBusinessDayConvention())
+            referenceDataRegistry.findByName(BusinessDayConvention.class, legDTO.getFixingBusinessDayConvention())
                     .ifPresent(leg::setFixingBusinessDayConvention);
         } else if (legDTO.getFixingBdcId() != null) {
-            businessDayConventionRepository.findById(legDTO.getFixingBdcId())
+            referenceDataRegistry.findById(BusinessDayConvention.class, legDTO.getFixingBdcId())
                     .ifPresent(leg::setFixingBusinessDayConvention);
         }
 
         // Populate pay/receive flag by name or ID
         if (legDTO.getPayReceiveFlag() != null) {
-            payRecRepository.findByPayRec(legDTO.getPayReceiveFlag())
+            referenceDataRegistry.findByName(PayRec.class, legDTO.getPayReceiveFlag())
                     .ifPresent(leg::setPayReceiveFlag);
         } else if (legDTO.getPayRecId() != null) {
-            payRecRepository.findById(legDTO.getPayRecId())
+            referenceDataRegistry.findById(PayRec.class, legDTO.getPayRecId())
                     .ifPresent(leg::setPayReceiveFlag);
         }
     }
@@ -570,106 +1118,45 @@ public class TradeService {
     /**
      * FIXED: Generate cashflows based on schedule and maturity date
      */
-    private void generateCashflows(TradeLeg leg, LocalDate startDate, LocalDate maturityDate) {
+    private int generateCashflows(TradeLeg leg, LocalDate startDate, LocalDate maturityDate) {
         logger.info("Generating cashflows for leg {} from {} to {}", leg.getLegId(), startDate, maturityDate);
 
-        // Use default schedule if not set
-        String schedule = "3M"; // Default to quarterly
-        if (leg.getCalculationPeriodSchedule() != null) {
-            schedule = leg.getCalculationPeriodSchedule().getSchedule();
+        List<Cashflow> cashflows = buildCashflows(leg, startDate, maturityDate);
+        for (Cashflow cashflow : cashflows) {
+            cashflowRepository.save(cashflow);
         }
 
-        int monthsInterval = parseSchedule(schedule);
-        List<LocalDate> paymentDates = calculatePaymentDates(startDate, maturityDate, monthsInterval);
+        logger.info("Generated {} cashflows for leg {}", cashflows.size(), leg.getLegId());
+        return cashflows.size();
+    }
 
-        for (LocalDate paymentDate : paymentDates) {
+    List<Cashflow> buildCashflows(TradeLeg leg, LocalDate startDate, LocalDate maturityDate) {
+        CashflowGenerationEngine.GeneratedCashflows generated = cashflowGenerationEngine.generate(
+                new CashflowGenerationEngine.LegTerms(
+                        startDate,
+                        maturityDate,
+                        leg.getCalculationPeriodSchedule() == null ? null : leg.getCalculationPeriodSchedule().getSchedule(),
+                        leg.getLegRateType() != null && "Fixed".equals(leg.getLegRateType().getType()),
+                        leg.getNotional(),
+                        leg.getRate(),
+                        leg.getHolidayCalendar() == null ? null : leg.getHolidayCalendar().getHolidayCalendar(),
+                        leg.getPaymentBusinessDayConvention() == null ? null : leg.getPaymentBusinessDayConvention().getBdc(),
+                        leg.getDayCountConvention()));
+
+        List<Cashflow> cashflows = new ArrayList<>(generated.size());
+        for (int i = 0; i < generated.size(); i++) {
             Cashflow cashflow = new Cashflow();
             cashflow.setTradeLeg(leg); // Fixed field name
-            cashflow.setValueDate(paymentDate);
+            cashflow.setValueDate(generated.paymentDate(i));
             cashflow.setRate(leg.getRate());
-
-            // Calculate value based on leg type
-            BigDecimal cashflowValue = calculateCashflowValue(leg, monthsInterval);
-            cashflow.setPaymentValue(cashflowValue);
-
+            cashflow.setPaymentValue(generated.amount(i));
             cashflow.setPayRec(leg.getPayReceiveFlag());
             cashflow.setPaymentBusinessDayConvention(leg.getPaymentBusinessDayConvention());
             cashflow.setCreatedDate(LocalDateTime.now());
             cashflow.setActive(true);
-
-            cashflowRepository.save(cashflow);
-        }
-
-        logger.info("Generated {} cashflows for leg {}", paymentDates.size(), leg.getLegId());
-    }
-
-    private int parseSchedule(String schedule) {
-        if (schedule == null || schedule.trim().isEmpty()) {
-            return 3; // Default to quarterly
-        }
-
-        schedule = schedule.trim();
-
-        // Handle common schedule names
-        switch (schedule.toLowerCase()) {
-            case "monthly":
-                return 1;
-            case "quarterly":
-                return 3;
-            case "semi-annually":
-            case "semiannually":
-            case "half-yearly":
-                return 6;
-            case "annually":
-            case "yearly":
-                return 12;
-            default:
-                // Parse "1M", "3M", "12M" format
-                if (schedule.endsWith("M") || schedule.endsWith("m")) {
-                    try {
-                        return Integer.parseInt(schedule.substring(0, schedule.length() - 1));
-                    } catch (NumberFormatException e) {
-                        throw new RuntimeException("Invalid schedule format: " + schedule);
-                    }
-                }
-                throw new RuntimeException("Invalid schedule format: " + schedule
-                        + ". Supported formats: Monthly, Quarterly, Semi-annually, Annually, or 1M, 3M, 6M, 12M");
-        }
-    }
-
-    private List<LocalDate> calculatePaymentDates(LocalDate startDate, LocalDate maturityDate, int monthsInterval) {
-        List<LocalDate> dates = new ArrayList<>();
-        LocalDate currentDate = startDate.plusMonths(monthsInterval);
-
-        while (!currentDate.isAfter(maturityDate)) {
-            dates.add(currentDate);
-            currentDate = currentDate.plusMonths(monthsInterval);
-        }
-
-        return dates;
-    }
-
-    private BigDecimal calculateCashflowValue(TradeLeg leg, int monthsInterval) {
-        if (leg.getLegRateType() == null) {
-            return BigDecimal.ZERO;
-        }
-
-        String legType = leg.getLegRateType().getType();
-        if (!"Fixed".equals(legType)) {
-            return BigDecimal.ZERO;
+            cashflows.add(cashflow);
         }
-
-        BigDecimal notional = leg.getNotional() != null ? leg.getNotional() : BigDecimal.ZERO;
-        BigDecimal rawRate = leg.getRate() != null ? BigDecimal.valueOf(leg.getRate()) : BigDecimal.ZERO;
-        BigDecimal months = new BigDecimal(monthsInterval);
-
-        BigDecimal rateDecimal = rawRate.divide(BigDecimal.valueOf(100), 12, RoundingMode.HALF_EVEN);
-        BigDecimal periodFraction = months.divide(BigDecimal.valueOf(12), 12, RoundingMode.HALF_EVEN);
-
-        return notional
-                .multiply(rateDecimal)
-                .multiply(periodFraction)
-                .setScale(2, RoundingMode.HALF_EVEN);
+        return cashflows;
     }
 
     private void validateReferenceData(Trade trade) {
@@ -687,6 +1174,6 @@ public class TradeService {
     }
 
     private Long generateNextTradeId() {
-        return 10000L + tradeRepository.count();
+        return tradeIdAllocator.nextId();
     }
 }
@@ -2,7 +2,9 @@ package com.technicalchallenge.service;
 
 import com.technicalchallenge.model.TradeStatus;
 import com.technicalchallenge.repository.TradeStatusRepository;
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -17,6 +19,8 @@ public class TradeStatusService {
 
     @Autowired
     private TradeStatusRepository tradeStatusRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<TradeStatus> findAll() {
         logger.info("Retrieving all trade statuses");
@@ -30,11 +34,14 @@ public class TradeStatusService {
 
     public TradeStatus save(TradeStatus tradeStatus) {
         logger.info("Saving trade status: {}", tradeStatus);
-        return tradeStatusRepository.save(tradeStatus);
+        TradeStatus saved = tradeStatusRepository.save(tradeStatus);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(TradeStatus.class, saved.getId()));
+        return saved;
     }
 
     public void deleteById(Long id) {
         logger.warn("Deleting trade status with id: {}", id);
         tradeStatusRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(TradeStatus.class, id));
     }
 }
@@ -0,0 +1,88 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.TradeSummaryDTO;
+import com.technicalchallenge.repository.TradeSummaryRow;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Builds every trader summary grouping in one pass, either from raw trade/leg rows or from
+ * pre-aggregated groups.
+ *
+ * Raw rows must arrive grouped by trade (the repository orders them by trade id): trade level
+ * counts are taken on the first row of each trade, notionals on every row that carries a leg.
+ * Trades without a status are left out of the status counts, other missing keys are reported
+ * as UNKNOWN.
+ */
+class TradeSummaryAccumulator {
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final Map<String, Long> byStatus = new LinkedHashMap<>();
+    private final Map<String, Long> byType = new LinkedHashMap<>();
+    private final Map<String, Long> byCounterparty = new LinkedHashMap<>();
+    private final Map<String, BigDecimal> notionalByCurrency = new LinkedHashMap<>();
+    private final Map<String, BigDecimal> notionalByCounterparty = new LinkedHashMap<>();
+    private final Map<String, BigDecimal> notionalByBook = new LinkedHashMap<>();
+
+    private Long currentTradeId;
+    private long totalTrades;
+    private LocalDate mostRecentTradeDate;
+
+    void accept(TradeSummaryRow row) {
+        if (!Objects.equals(row.tradeId(), currentTradeId)) {
+            currentTradeId = row.tradeId();
+            addTrades(row.status(), row.tradeType(), row.counterparty(), row.tradeDate(), 1);
+        }
+        if (row.legId() != null) {
+            addLegs(row.currency(), row.counterparty(), row.book(), row.notional());
+        }
+    }
+
+    /** Counts trades sharing the same header attributes; latestTradeDate is the most recent of them */
+    void addTrades(String status, String tradeType, String counterparty, LocalDate latestTradeDate, long count) {
+        totalTrades += count;
+        if (status != null) {
+            byStatus.merge(status, count, Long::sum);
+        }
+        byType.merge(key(tradeType), count, Long::sum);
+        byCounterparty.merge(key(counterparty), count, Long::sum);
+        if (latestTradeDate != null
+                && (mostRecentTradeDate == null || latestTradeDate.isAfter(mostRecentTradeDate))) {
+            mostRecentTradeDate = latestTradeDate;
+        }
+    }
+
+    /** Adds the notional of one or more legs sharing currency, counterparty and book */
+    void addLegs(String currency, String counterparty, String book, BigDecimal notional) {
+        BigDecimal value = notional == null ? BigDecimal.ZERO : notional;
+        notionalByCurrency.merge(key(currency), value, BigDecimal::add);
+        notionalByCounterparty.merge(key(counterparty), value, BigDecimal::add);
+        notionalByBook.merge(key(book), value, BigDecimal::add);
+    }
+
+    void applyTo(TradeSummaryDTO dto) {
+        dto.setTradesByStatus(byStatus);
+        dto.setTradesByType(byType);
+        dto.setTradesByCounterparty(byCounterparty);
+        dto.setNotionalByCurrency(notionalByCurrency);
+        dto.setNotionalByCounterparty(notionalByCounterparty);
+        dto.setNotionalByBookTop(sortedByValueDesc(notionalByBook));
+        dto.setTotalTrades(totalTrades);
+        dto.setMostRecentTradeDate(mostRecentTradeDate);
+    }
+
+    private static String key(String value) {
+        return value == null ? UNKNOWN : value;
+    }
+
+    private static Map<String, BigDecimal> sortedByValueDesc(Map<String, BigDecimal> values) {
+        Map<String, BigDecimal> sorted = new LinkedHashMap<>();
+        values.entrySet().stream()
+                .sorted(Map.Entry.<String, BigDecimal>comparingByValue().reversed())
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+}
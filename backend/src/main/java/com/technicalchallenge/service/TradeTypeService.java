@@ -2,7 +2,9 @@ package com.technicalchallenge.service;
 
 import com.technicalchallenge.model.TradeType;
 import com.technicalchallenge.repository.TradeTypeRepository;
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -17,6 +19,8 @@ public class TradeTypeService {
 
     @Autowired
     private TradeTypeRepository tradeTypeRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<TradeType> findAll() {
         logger.info("Retrieving all trade types");
@@ -30,11 +34,14 @@ public class TradeTypeService {
 
     public TradeType save(TradeType tradeType) {
         logger.info("Saving trade type: {}", tradeType);
-        return tradeTypeRepository.save(tradeType);
+        TradeType saved = tradeTypeRepository.save(tradeType);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(TradeType.class, saved.getId()));
+        return saved;
     }
 
     public void deleteById(Long id) {
         logger.warn("Deleting trade type with id: {}", id);
         tradeTypeRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(TradeType.class, id));
     }
 }
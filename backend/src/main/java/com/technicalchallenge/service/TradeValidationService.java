@@ -1,12 +1,12 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.config.TradeMetrics;
 import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.dto.TradeLegDTO;
 import com.technicalchallenge.dto.ValidationResult;
 import com.technicalchallenge.model.ApplicationUser;
 import com.technicalchallenge.model.Book;
 import com.technicalchallenge.model.Counterparty;
-import com.technicalchallenge.model.UserProfile;
 import com.technicalchallenge.repository.ApplicationUserRepository;
 import com.technicalchallenge.repository.BookRepository;
 import com.technicalchallenge.repository.CounterpartyRepository;
@@ -22,6 +22,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class TradeValidationService {
@@ -41,109 +42,44 @@ public class TradeValidationService {
     @Autowired
     private CounterpartyRepository counterpartyRepository;
     @Autowired
-    private com.technicalchallenge.repository.UserPrivilegeRepository userPrivilegeRepository;
+    private PrivilegeResolver privilegeResolver;
 
     @Transactional
     public ValidationResult validateTradeBusinessRules(TradeDTO tradeDTO) {
+        long start = System.nanoTime();
         ValidationResult result = ValidationResult.ok();
         applyDateRules(tradeDTO, result);
         applyCrossLegRules(tradeDTO.getTradeLegs(), tradeDTO, result);
         applyEntityStatusRules(tradeDTO, result);
+        record("trade", tradeDTO.getTradeLegs(), result, start);
         return result;
     }
 
-    private static boolean opEquals(String a, String b) {
-        return a != null && b != null && a.equalsIgnoreCase(b);
-    }
-
-    @Transactional
+    /**
+     * Whether the user (id or login) may perform the operation, answered from the privileges
+     * compiled by {@link PrivilegeResolver}.
+     */
     public boolean validateUserPrivileges(String userId, String operation, TradeDTO tradeDTO) {
-        Optional<ApplicationUser> userOpt = resolveUser(userId);
-        if (userOpt.isEmpty()) {
-            log.warn("Privilege check: user not found for id '{}'", userId);
-            return false;
-        }
-
-        ApplicationUser user = userOpt.get();
-
-        if (!user.isActive()) {
-            log.warn("Privilege check: user '{}' is not active", user.getLoginId());
-            return false;
-        }
-
-        final String op = (operation == null ? "" : operation).toUpperCase(Locale.ROOT);
-
-        // --- Privilege-gated: prefer explicit privileges on the user if present ---
-        // CREATE
-        if (opEquals(op, OPERATION_CREATE) && hasPrivilege(user, "BOOK_TRADE")) {
-            return true;
-        }
-        // AMEND
-        if (opEquals(op, OPERATION_AMEND) && hasPrivilege(user, "AMEND_TRADE")) {
-            return true;
-        }
-        // VIEW
-        if (opEquals(op, OPERATION_VIEW) && hasPrivilege(user, "READ_TRADE")) {
-            return true;
-        }
-        // TERMINATE / CANCEL -> typically covered by AMEND_TRADE permission
-        if ((opEquals(op, OPERATION_TERMINATE) || opEquals(op, OPERATION_CANCEL))
-                && hasPrivilege(user, "AMEND_TRADE")) {
-            return true;
-        }
-
-        // --- Role fallback: support your actual seed roles as well ---
-        final String role = normalizeRole(resolveUserRole(user));
-        if (role == null) {
-            log.warn("Privilege check: role not resolvable for user '{}'", user.getLoginId());
-            return false;
-        }
-
-        switch (role) {
-            case "TRADER":
-            case "TRADER_SALES":
-                return opEqualsAny(op, OPERATION_CREATE, OPERATION_AMEND, OPERATION_TERMINATE, OPERATION_CANCEL,
-                        OPERATION_VIEW);
-            case "SALES":
-                return opEqualsAny(op, OPERATION_CREATE, OPERATION_AMEND, OPERATION_VIEW);
-            case "MIDDLE_OFFICE":
-            case "MO": // seed uses "MO"
-                return opEqualsAny(op, OPERATION_AMEND, OPERATION_VIEW);
-            case "SUPPORT":
-                return opEqualsAny(op, OPERATION_VIEW);
-            case "ADMIN":
-            case "SUPERUSER":
-                return true; // full access
-            default:
-                log.warn("Privilege check: unknown role '{}' for user '{}'", role, user.getLoginId());
-                return false;
-        }
-    }
-
-    private boolean hasPrivilege(ApplicationUser user, String privilegeName) {
-        if (user == null || user.getId() == null || privilegeName == null)
-            return false;
-        return userPrivilegeRepository
-                .existsByUserIdAndPrivilegeNameIgnoreCase(user.getId(), privilegeName);
-    }
-
-    private String normalizeRole(String role) {
-        if (role == null)
-            return null;
-        role = role.trim().toUpperCase(Locale.ROOT);
-        if ("MO".equals(role))
-            return "MIDDLE_OFFICE";
-        // leave TRADER_SALES, ADMIN, SUPERUSER, SUPPORT as-is
-        return role;
+        return privilegeResolver.isPermitted(userId, operation);
     }
 
     @Transactional
     public ValidationResult validateTradeLegConsistency(List<TradeLegDTO> legs) {
+        long start = System.nanoTime();
         ValidationResult result = ValidationResult.ok();
         applyCrossLegRules(legs, null, result);
+        record("legs", legs, result, start);
         return result;
     }
 
+    private static void record(String rules, List<TradeLegDTO> legs, ValidationResult result, long start) {
+        TradeMetrics.timer(TradeMetrics.VALIDATION,
+                "rules", rules,
+                "legs", TradeMetrics.legsTag(legs == null ? 0 : legs.size()),
+                "outcome", result.failed() ? "failed" : "passed")
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
     private void applyDateRules(TradeDTO tradeDTO, ValidationResult result) {
         LocalDate tradeDate = tradeDTO.getTradeDate();
         LocalDate startDate = tradeDTO.getTradeStartDate();
@@ -260,32 +196,6 @@ public class TradeValidationService {
         }
     }
 
-    private Optional<ApplicationUser> resolveUser(String userId) {
-        if (userId == null || userId.isBlank())
-            return Optional.empty();
-        try {
-            long id = Long.parseLong(userId);
-            return applicationUserRepository.findById(id);
-        } catch (NumberFormatException ex) {
-            return applicationUserRepository.findByLoginId(userId.toLowerCase(Locale.ROOT));
-        }
-    }
-
-    private String resolveUserRole(ApplicationUser user) {
-        UserProfile profile = user.getUserProfile();
-        if (profile == null || profile.getUserType() == null)
-            return null;
-        return profile.getUserType().toUpperCase(Locale.ROOT);
-    }
-
-    private static boolean opEqualsAny(String op, String... allowed) {
-        for (String a : allowed) {
-            if (op.equalsIgnoreCase(a))
-                return true;
-        }
-        return false;
-    }
-
     private static String safeLower(String s) {
         return (s == null) ? null : s.toLowerCase(Locale.ROOT);
     }
@@ -0,0 +1,349 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.SuggestionDTO;
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.repository.ApplicationUserRepository;
+import com.technicalchallenge.repository.BookRepository;
+import com.technicalchallenge.repository.CounterpartyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory typeahead over the active counterparties, books and traders, so lookup fields ask
+ * for the few best matches of what was typed instead of fetching every name.
+ *
+ * Each kind has a dictionary, loaded on first use, that maps every searchable field and every
+ * word start within it to the entries holding it; a sorted map turns a prefix into a range scan.
+ * Queries of three or more characters also match inside words through a trigram map. Matches
+ * rank exact first, then field prefix, word prefix and infix, shorter values first within a rank.
+ * Writes through the reference data and user services publish a {@link ReferenceDataChangedEvent};
+ * the changed row is then re-read and only its postings replaced. Each change also bumps its
+ * kind's generation, and a dictionary loaded while the generation moved is used for the query
+ * that loaded it but not kept, so a change arriving mid-load is never lost.
+ */
+@Service
+public class TypeaheadIndex {
+    private static final Logger logger = LoggerFactory.getLogger(TypeaheadIndex.class);
+
+    public static final int MAX_LIMIT = 50;
+
+    private static final int TRIGRAM_LENGTH = 3;
+
+    public enum Kind {
+        COUNTERPARTY, BOOK, TRADER
+    }
+
+    private final Map<Kind, Source<?>> sources = new EnumMap<>(Kind.class);
+    private final Map<Kind, Dictionary> dictionaries = new ConcurrentHashMap<>();
+    // Bumped by every change, under the kind's entry in dictionaries, so a load can tell it missed one
+    private final Map<Kind, AtomicLong> generations = new EnumMap<>(Kind.class);
+
+    public TypeaheadIndex(CounterpartyRepository counterpartyRepository,
+            BookRepository bookRepository,
+            ApplicationUserRepository applicationUserRepository) {
+        register(Kind.COUNTERPARTY, Counterparty.class, counterpartyRepository,
+                counterparty -> counterparty.isActive()
+                        ? Entry.of(counterparty.getId(), counterparty.getName(), counterparty.getName(),
+                                counterparty.getName())
+                        : null);
+        register(Kind.BOOK, Book.class, bookRepository,
+                book -> book.isActive()
+                        ? Entry.of(book.getId(), book.getBookName(), book.getBookName(), book.getBookName())
+                        : null);
+        register(Kind.TRADER, ApplicationUser.class, applicationUserRepository, TypeaheadIndex::traderEntry);
+    }
+
+    private <T> void register(Kind kind, Class<T> type, JpaRepository<T, Long> repository,
+            Function<T, Entry> toEntry) {
+        sources.put(kind, new Source<>(type, repository, toEntry));
+        generations.put(kind, new AtomicLong());
+    }
+
+    /**
+     * The best matches of the query among the active entities of the given kind, ignoring case.
+     * A blank query matches nothing.
+     */
+    public List<SuggestionDTO> suggest(Kind kind, String query, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        String term = normalise(query);
+        if (term.isEmpty()) {
+            return List.of();
+        }
+        return dictionary(kind).suggest(term, limit).stream()
+                .map(entry -> new SuggestionDTO(entry.id(), entry.value(), entry.label()))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        sources.forEach((kind, source) -> {
+            if (source.type() == event.getType()) {
+                refresh(kind, source, event.getId());
+            }
+        });
+    }
+
+    private <T> void refresh(Kind kind, Source<T> source, Long id) {
+        Dictionary dictionary = dictionaries.compute(kind, (k, current) -> {
+            generations.get(k).incrementAndGet();
+            return id == null ? null : current;
+        });
+        if (id == null) {
+            logger.debug("Typeahead dictionary for {} dropped", kind);
+            return;
+        }
+        if (dictionary == null) {
+            // Not loaded yet, or still loading; the next suggestion reads the current rows
+            return;
+        }
+        Entry entry = source.repository().findById(id).map(source.toEntry()).orElse(null);
+        if (entry == null) {
+            dictionary.remove(id);
+        } else {
+            dictionary.put(entry);
+        }
+        logger.debug("Typeahead entry {} {} refreshed", kind, id);
+    }
+
+    private Dictionary dictionary(Kind kind) {
+        Dictionary dictionary = dictionaries.get(kind);
+        if (dictionary != null) {
+            return dictionary;
+        }
+        AtomicLong generation = generations.get(kind);
+        long loadedAt = generation.get();
+        Dictionary loaded = load(kind, sources.get(kind));
+        Dictionary published = dictionaries.compute(kind, (k, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return generation.get() == loadedAt ? loaded : null;
+        });
+        if (published == null) {
+            logger.debug("Typeahead dictionary for {} changed while loading; reloading on next use", kind);
+            return loaded;
+        }
+        return published;
+    }
+
+    private <T> Dictionary load(Kind kind, Source<T> source) {
+        List<T> rows = source.repository().findAll();
+        Dictionary dictionary = new Dictionary();
+        for (T row : rows) {
+            Entry entry = source.toEntry().apply(row);
+            if (entry != null) {
+                dictionary.put(entry);
+            }
+        }
+        logger.info("Loaded {} of {} {} rows into the typeahead index", dictionary.size(), rows.size(), kind);
+        return dictionary;
+    }
+
+    private static Entry traderEntry(ApplicationUser user) {
+        if (!user.isActive()) {
+            return null;
+        }
+        String name = Stream.of(user.getFirstName(), user.getLastName())
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" "));
+        String label = name.isBlank() ? user.getLoginId() : name + " (" + user.getLoginId() + ")";
+        return Entry.of(user.getId(), user.getLoginId(), label,
+                user.getFirstName(), user.getLastName(), user.getLoginId(), name);
+    }
+
+    static String normalise(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The lower-cased text from each word start on: after a separator, or where a lower-case
+     * letter is followed by an upper-case one, so "MegaFund" also starts with "fund".
+     */
+    static List<String> wordStarts(String text) {
+        String trimmed = text.trim().replaceAll("\\s+", " ");
+        List<String> starts = new ArrayList<>();
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                continue;
+            }
+            char previous = i == 0 ? ' ' : trimmed.charAt(i - 1);
+            if (!Character.isLetterOrDigit(previous)
+                    || (Character.isLowerCase(previous) && Character.isUpperCase(c))) {
+                starts.add(trimmed.substring(i).toLowerCase(Locale.ROOT));
+            }
+        }
+        return starts;
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + TRIGRAM_LENGTH));
+        }
+        return trigrams;
+    }
+
+    private record Source<T>(Class<T> type, JpaRepository<T, Long> repository, Function<T, Entry> toEntry) {
+    }
+
+    /** One suggestion and the normalised texts it can be found by */
+    record Entry(Long id, String value, String label, List<String> fields, List<String> wordStarts) {
+
+        static final Comparator<Entry> BY_VALUE = Comparator.comparingInt((Entry entry) -> entry.value().length())
+                .thenComparing(Entry::value, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(Entry::id);
+
+        /** Null when there is no value to suggest */
+        static Entry of(Long id, String value, String label, String... texts) {
+            if (id == null || value == null || value.isBlank()) {
+                return null;
+            }
+            Set<String> fields = new LinkedHashSet<>();
+            Set<String> starts = new LinkedHashSet<>();
+            for (String text : texts) {
+                if (text != null && !text.isBlank()) {
+                    fields.add(normalise(text));
+                    starts.addAll(TypeaheadIndex.wordStarts(text));
+                }
+            }
+            return new Entry(id, value, label, List.copyOf(fields), List.copyOf(starts));
+        }
+
+        Set<String> prefixKeys() {
+            Set<String> keys = new HashSet<>(fields);
+            keys.addAll(wordStarts);
+            return keys;
+        }
+
+        Set<String> trigramKeys() {
+            Set<String> keys = new HashSet<>();
+            fields.forEach(field -> keys.addAll(trigrams(field)));
+            return keys;
+        }
+
+        /** 0 exact, 1 a field starts with the term, 2 a word does, 3 it occurs inside one; -1 no match */
+        int rank(String term) {
+            if (fields.contains(term)) {
+                return 0;
+            }
+            if (fields.stream().anyMatch(field -> field.startsWith(term))) {
+                return 1;
+            }
+            if (wordStarts.stream().anyMatch(start -> start.startsWith(term))) {
+                return 2;
+            }
+            return fields.stream().anyMatch(field -> field.contains(term)) ? 3 : -1;
+        }
+    }
+
+    /**
+     * Postings for one kind. Writers are serialised; readers take no lock and re-check every
+     * candidate against its current entry, so a search racing an update never returns a stale match.
+     */
+    static final class Dictionary {
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<String, Set<Long>> prefixes = new ConcurrentSkipListMap<>();
+        private final Map<String, Set<Long>> trigrams = new ConcurrentHashMap<>();
+
+        synchronized void put(Entry entry) {
+            remove(entry.id());
+            entries.put(entry.id(), entry);
+            entry.prefixKeys().forEach(key -> post(prefixes, key, entry.id()));
+            entry.trigramKeys().forEach(key -> post(trigrams, key, entry.id()));
+        }
+
+        synchronized void remove(Long id) {
+            Entry entry = entries.remove(id);
+            if (entry != null) {
+                entry.prefixKeys().forEach(key -> unpost(prefixes, key, id));
+                entry.trigramKeys().forEach(key -> unpost(trigrams, key, id));
+            }
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        List<Entry> suggest(String term, int limit) {
+            Set<Long> candidates = new HashSet<>();
+            prefixes.subMap(term, true, term + Character.MAX_VALUE, false).values().forEach(candidates::addAll);
+            if (term.length() >= TRIGRAM_LENGTH) {
+                candidates.addAll(infixCandidates(term));
+            }
+
+            List<Match> matches = new ArrayList<>();
+            for (Long id : candidates) {
+                Entry entry = entries.get(id);
+                int rank = entry == null ? -1 : entry.rank(term);
+                if (rank >= 0) {
+                    matches.add(new Match(entry, rank));
+                }
+            }
+            matches.sort(Match.RANKING);
+            return matches.stream().limit(limit).map(Match::entry).toList();
+        }
+
+        /** Entries holding every trigram of the term, intersected from the shortest posting list */
+        private Set<Long> infixCandidates(String term) {
+            List<Set<Long>> postings = new ArrayList<>();
+            for (String trigram : trigrams(term)) {
+                Set<Long> ids = trigrams.get(trigram);
+                if (ids == null) {
+                    return Set.of();
+                }
+                postings.add(ids);
+            }
+            postings.sort(Comparator.comparingInt(Set::size));
+            Set<Long> candidates = new HashSet<>(postings.get(0));
+            for (int i = 1; i < postings.size() && !candidates.isEmpty(); i++) {
+                candidates.retainAll(postings.get(i));
+            }
+            return candidates;
+        }
+
+        private static void post(Map<String, Set<Long>> postings, String key, Long id) {
+            postings.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+
+        private static void unpost(Map<String, Set<Long>> postings, String key, Long id) {
+            Set<Long> ids = postings.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    private record Match(Entry entry, int rank) {
+        static final Comparator<Match> RANKING = Comparator.comparingInt(Match::rank)
+                .thenComparing(Match::entry, Entry.BY_VALUE);
+    }
+}
@@ -1,8 +1,10 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
 import com.technicalchallenge.model.UserPrivilege;
 import com.technicalchallenge.repository.UserPrivilegeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -17,6 +19,8 @@ public class UserPrivilegeService {
 
     @Autowired
     private UserPrivilegeRepository userPrivilegeRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<UserPrivilege> getAllUserPrivileges() {
         logger.info("Retrieving all user privileges");
@@ -30,11 +34,15 @@ public class UserPrivilegeService {
 
     public UserPrivilege saveUserPrivilege(UserPrivilege userPrivilege) {
         logger.info("Saving user privilege: {}", userPrivilege);
-        return userPrivilegeRepository.save(userPrivilege);
+        UserPrivilege saved = userPrivilegeRepository.save(userPrivilege);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(UserPrivilege.class, saved.getUserId()));
+        return saved;
     }
 
     public void deleteUserPrivilege(Long id) {
         logger.warn("Deleting user privilege with id: {}", id);
         userPrivilegeRepository.deleteById(id);
+        // The id does not identify the user, so every user's privileges are recompiled
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(UserPrivilege.class, null));
     }
 }
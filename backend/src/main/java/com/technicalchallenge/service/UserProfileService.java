@@ -1,8 +1,10 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
 import com.technicalchallenge.model.UserProfile;
 import com.technicalchallenge.repository.UserProfileRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -12,6 +14,8 @@ import java.util.Optional;
 public class UserProfileService {
     @Autowired
     private UserProfileRepository userProfileRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<UserProfile> getAllUserProfiles() {
         return userProfileRepository.findAll();
@@ -22,19 +26,24 @@ public class UserProfileService {
     }
 
     public UserProfile saveUserProfile(UserProfile userProfile) {
-        return userProfileRepository.save(userProfile);
+        UserProfile saved = userProfileRepository.save(userProfile);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(UserProfile.class, saved.getId()));
+        return saved;
     }
 
     public Optional<UserProfile> updateUserProfile(Long id, UserProfile updatedProfile) {
         return userProfileRepository.findById(id).map(existingProfile -> {
             existingProfile.setUserType(updatedProfile.getUserType());
-            return userProfileRepository.save(existingProfile);
+            UserProfile saved = userProfileRepository.save(existingProfile);
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(UserProfile.class, id));
+            return saved;
         });
     }
 
     public boolean deleteUserProfile(Long id) {
         if (userProfileRepository.existsById(id)) {
             userProfileRepository.deleteById(id);
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(UserProfile.class, id));
             return true;
         }
         return false;
@@ -0,0 +1,278 @@
+-- Baseline schema, as Hibernate generates it for the entity model. The prod profile validates
+-- the entities against it (ddl-auto=validate); every later change is a new migration.
+
+create sequence cashflow_seq start with 10000 increment by 50;
+create sequence trade_leg_seq start with 10000 increment by 50;
+create sequence trade_seq start with 10000 increment by 50;
+
+create table additional_info (
+    active boolean not null,
+    version integer not null,
+    created_date timestamp(6) not null,
+    deactivated_date timestamp(6),
+    entity_id bigint not null,
+    id bigint generated by default as identity,
+    last_modified_date timestamp(6),
+    entity_type varchar(255) not null,
+    field_name varchar(255) not null,
+    field_type varchar(255) not null,
+    field_value text,
+    primary key (id)
+);
+
+create table application_user (
+    active boolean not null,
+    version integer not null,
+    id bigint generated by default as identity,
+    last_modified_timestamp timestamp(6),
+    user_profile_id bigint,
+    first_name varchar(255),
+    last_name varchar(255),
+    login_id varchar(255) not null unique,
+    password varchar(255),
+    primary key (id)
+);
+
+create table book (
+    active boolean not null,
+    version integer not null,
+    cost_center_id bigint,
+    id bigint generated by default as identity,
+    book_name varchar(255),
+    primary key (id)
+);
+
+create table business_day_convention (
+    id bigint generated by default as identity,
+    bdc varchar(255),
+    primary key (id)
+);
+
+create table cashflow (
+    active boolean,
+    payment_value numeric(38,2),
+    rate float(53),
+    validity_end_date date,
+    validity_start_date date,
+    value_date date,
+    created_date timestamp(6),
+    id bigint not null,
+    leg_id bigint,
+    pay_rec_id bigint,
+    payment_business_day_convention_id bigint,
+    payment_type_id bigint,
+    primary key (id)
+);
+
+create table cost_center (
+    id bigint generated by default as identity,
+    subdesk_id bigint,
+    cost_center_name varchar(255),
+    primary key (id)
+);
+
+create table counterparty (
+    active boolean not null,
+    created_date date,
+    last_modified_date date,
+    id bigint generated by default as identity,
+    internal_code bigint,
+    address varchar(255),
+    name varchar(255),
+    phone_number varchar(255),
+    primary key (id)
+);
+
+create table currency (
+    id bigint generated by default as identity,
+    currency varchar(255),
+    primary key (id)
+);
+
+create table desk (
+    id bigint generated by default as identity,
+    desk_name varchar(255),
+    primary key (id)
+);
+
+create table holiday_calendar (
+    id bigint generated by default as identity,
+    holiday_calendar varchar(255),
+    primary key (id)
+);
+
+create table holiday_calendar_date (
+    holiday_date date not null,
+    holiday_calendar_id bigint not null,
+    id bigint generated by default as identity,
+    description varchar(255),
+    primary key (id),
+    constraint uk_holiday_calendar_date unique (holiday_calendar_id, holiday_date)
+);
+
+create table index_table (
+    id bigint generated by default as identity,
+    index varchar(255),
+    primary key (id)
+);
+
+create table leg_type (
+    id bigint generated by default as identity,
+    type varchar(255),
+    primary key (id)
+);
+
+create table pay_rec (
+    id bigint generated by default as identity,
+    pay_rec varchar(255),
+    primary key (id)
+);
+
+create table privilege (
+    id bigint generated by default as identity,
+    name varchar(255),
+    primary key (id)
+);
+
+create table schedule (
+    id bigint generated by default as identity,
+    schedule varchar(255),
+    primary key (id)
+);
+
+create table sub_desk (
+    desk_id bigint,
+    id bigint generated by default as identity,
+    subdesk_name varchar(255),
+    primary key (id)
+);
+
+create table trade (
+    active boolean,
+    trade_date date,
+    trade_execution_date date,
+    trade_maturity_date date,
+    trade_start_date date,
+    validity_end_date date,
+    validity_start_date date,
+    version integer,
+    additional_fields_id bigint,
+    book_id bigint,
+    counterparty_id bigint,
+    created_date timestamp(6),
+    deactivated_date timestamp(6),
+    id bigint not null,
+    inputter_user_id bigint,
+    last_touch_timestamp timestamp(6),
+    trade_id bigint,
+    trade_status_id bigint,
+    trade_sub_type_id bigint,
+    trade_type_id bigint,
+    trader_user_id bigint,
+    cashflow_status varchar(16) check (cashflow_status in ('PENDING','COMPLETE','FAILED')),
+    settlement_instructions varchar(500),
+    uti_code varchar(255),
+    primary key (id)
+);
+
+create table trade_aggregate (
+    notional numeric(38,2),
+    trade_date date,
+    book_id bigint not null,
+    counterparty_id bigint not null,
+    currency_id bigint not null,
+    id bigint generated by default as identity,
+    leg_count bigint not null,
+    trade_count bigint not null,
+    trade_status_id bigint not null,
+    trade_type_id bigint not null,
+    trader_user_id bigint not null,
+    primary key (id),
+    constraint uk_trade_aggregate_key unique (trader_user_id, book_id, counterparty_id, trade_status_id, trade_type_id, trade_date, currency_id)
+);
+
+create table trade_id_allocation (
+    next_value bigint,
+    name varchar(255) not null,
+    primary key (name)
+);
+
+create table trade_leg (
+    active boolean,
+    notional numeric(38,2),
+    rate float(53),
+    calculation_period_schedule_id bigint,
+    created_date timestamp(6),
+    currency_id bigint,
+    deactivated_date timestamp(6),
+    fixing_business_day_convention_id bigint,
+    holiday_calendar_id bigint,
+    index_id bigint,
+    leg_id bigint not null,
+    leg_rate_type_id bigint,
+    pay_rec_id bigint,
+    payment_business_day_convention_id bigint,
+    trade_id bigint,
+    day_count_convention varchar(255),
+    primary key (leg_id)
+);
+
+create table trade_status (
+    id bigint generated by default as identity,
+    trade_status varchar(255),
+    primary key (id)
+);
+
+create table trade_sub_type (
+    id bigint generated by default as identity,
+    trade_sub_type varchar(255),
+    primary key (id)
+);
+
+create table trade_type (
+    id bigint generated by default as identity,
+    trade_type varchar(255),
+    primary key (id)
+);
+
+create table user_privilege (
+    privilege_id bigint not null,
+    user_id bigint not null,
+    primary key (privilege_id, user_id)
+);
+
+create table user_profile (
+    id bigint generated by default as identity,
+    user_type varchar(255),
+    primary key (id)
+);
+
+create index idx_cashflow_leg_id on cashflow (leg_id);
+create index idx_trade_aggregate_trader_date on trade_aggregate (trader_user_id, trade_date);
+create index idx_trade_leg_trade_id on trade_leg (trade_id);
+
+alter table application_user add constraint fk_application_user_user_profile foreign key (user_profile_id) references user_profile;
+alter table book add constraint fk_book_cost_center foreign key (cost_center_id) references cost_center;
+alter table cashflow add constraint fk_cashflow_pay_rec foreign key (pay_rec_id) references pay_rec;
+alter table cashflow add constraint fk_cashflow_payment_business_day_convention foreign key (payment_business_day_convention_id) references business_day_convention;
+alter table cashflow add constraint fk_cashflow_payment_type foreign key (payment_type_id) references leg_type;
+alter table cashflow add constraint fk_cashflow_leg foreign key (leg_id) references trade_leg;
+alter table cost_center add constraint fk_cost_center_subdesk foreign key (subdesk_id) references sub_desk;
+alter table holiday_calendar_date add constraint fk_holiday_calendar_date_holiday_calendar foreign key (holiday_calendar_id) references holiday_calendar;
+alter table sub_desk add constraint fk_sub_desk_desk foreign key (desk_id) references desk;
+alter table trade add constraint fk_trade_book foreign key (book_id) references book;
+alter table trade add constraint fk_trade_counterparty foreign key (counterparty_id) references counterparty;
+alter table trade add constraint fk_trade_inputter_user foreign key (inputter_user_id) references application_user;
+alter table trade add constraint fk_trade_trade_status foreign key (trade_status_id) references trade_status;
+alter table trade add constraint fk_trade_trade_sub_type foreign key (trade_sub_type_id) references trade_sub_type;
+alter table trade add constraint fk_trade_trade_type foreign key (trade_type_id) references trade_type;
+alter table trade add constraint fk_trade_trader_user foreign key (trader_user_id) references application_user;
+alter table trade_leg add constraint fk_trade_leg_calculation_period_schedule foreign key (calculation_period_schedule_id) references schedule;
+alter table trade_leg add constraint fk_trade_leg_currency foreign key (currency_id) references currency;
+alter table trade_leg add constraint fk_trade_leg_fixing_business_day_convention foreign key (fixing_business_day_convention_id) references business_day_convention;
+alter table trade_leg add constraint fk_trade_leg_holiday_calendar foreign key (holiday_calendar_id) references holiday_calendar;
+alter table trade_leg add constraint fk_trade_leg_index foreign key (index_id) references index_table;
+alter table trade_leg add constraint fk_trade_leg_leg_rate_type foreign key (leg_rate_type_id) references leg_type;
+alter table trade_leg add constraint fk_trade_leg_pay_rec foreign key (pay_rec_id) references pay_rec;
+alter table trade_leg add constraint fk_trade_leg_payment_business_day_convention foreign key (payment_business_day_convention_id) references business_day_convention;
+alter table trade_leg add constraint fk_trade_leg_trade foreign key (trade_id) references trade;
@@ -0,0 +1,11 @@
+-- Indexes for trade lookups and blotters. Trades are read by business id for the active
+-- version; the trader and book blotters filter on active, and the trader's daily summaries
+-- and date-range searches on trade date too; the date-keyed cursor seeks on (trade date, id).
+-- Additional info is read per entity and field.
+
+create index idx_trade_trade_id_active on trade (trade_id, active);
+create index idx_trade_trader_active_date on trade (trader_user_id, active, trade_date);
+create index idx_trade_book_active on trade (book_id, active);
+create index idx_trade_trade_date_id on trade (trade_date, id);
+
+create index idx_additional_info_entity_field on additional_info (entity_type, entity_id, field_name);
@@ -0,0 +1,249 @@
+-- Reference data: the fixed vocabularies every environment needs. Desks, books,
+-- counterparties and users are created through the API (development adds them in data.sql).
+-- Development loads this script too; later changes ship as new versioned migrations
+INSERT INTO trade_type (id, trade_type) VALUES (1000, 'Spot'), (1001, 'Swap'), (1002, 'Option');
+INSERT INTO trade_sub_type (id, trade_sub_type) VALUES (1000, 'Vanilla'), (1001, 'Barrier'), (1002, 'XCCY Swap'), (1003, 'IR Swap');
+INSERT INTO trade_status (id, trade_status) VALUES (1000, 'NEW'), (1001, 'AMENDED'), (1002, 'TERMINATED'),(1003, 'CANCELLED'), (1004, 'LIVE'), (1005, 'DEAD');
+INSERT INTO currency (id, currency) VALUES (1000, 'USD'), (1001, 'EUR'), (1002, 'GBP');
+INSERT INTO leg_type (id, type) VALUES (1000, 'Fixed'), (1001, 'Floating');
+INSERT INTO index_table (id, index) VALUES (1000, 'LIBOR'), (1001, 'EURIBOR');
+INSERT INTO holiday_calendar (id, holiday_calendar) VALUES (1000, 'NY'), (1001, 'LON');
+INSERT INTO schedule (id, schedule) VALUES (1000, 'Monthly'), (1001, 'Quarterly');
+INSERT INTO business_day_convention (id, bdc) VALUES (1000, 'Following'), (1001, 'Modified Following'), (1002, 'Preceding');
+INSERT INTO pay_rec (id, pay_rec) VALUES (1000, 'Pay'), (1001, 'Receive');
+
+-- Holiday calendar dates (weekends are always non-business days and are not listed)
+INSERT INTO holiday_calendar_date (holiday_calendar_id, holiday_date, description) VALUES
+  (1000, '2024-01-01', 'New Year''s Day'),
+  (1000, '2024-01-15', 'Martin Luther King Jr. Day'),
+  (1000, '2024-02-19', 'Presidents'' Day'),
+  (1000, '2024-05-27', 'Memorial Day'),
+  (1000, '2024-06-19', 'Juneteenth'),
+  (1000, '2024-07-04', 'Independence Day'),
+  (1000, '2024-09-02', 'Labor Day'),
+  (1000, '2024-10-14', 'Columbus Day'),
+  (1000, '2024-11-11', 'Veterans Day'),
+  (1000, '2024-11-28', 'Thanksgiving Day'),
+  (1000, '2024-12-25', 'Christmas Day'),
+  (1001, '2024-01-01', 'New Year''s Day'),
+  (1001, '2024-03-29', 'Good Friday'),
+  (1001, '2024-04-01', 'Easter Monday'),
+  (1001, '2024-05-06', 'Early May Bank Holiday'),
+  (1001, '2024-05-27', 'Spring Bank Holiday'),
+  (1001, '2024-08-26', 'Summer Bank Holiday'),
+  (1001, '2024-12-25', 'Christmas Day'),
+  (1001, '2024-12-26', 'Boxing Day'),
+  (1000, '2025-01-01', 'New Year''s Day'),
+  (1000, '2025-01-20', 'Martin Luther King Jr. Day'),
+  (1000, '2025-02-17', 'Presidents'' Day'),
+  (1000, '2025-05-26', 'Memorial Day'),
+  (1000, '2025-06-19', 'Juneteenth'),
+  (1000, '2025-07-04', 'Independence Day'),
+  (1000, '2025-09-01', 'Labor Day'),
+  (1000, '2025-10-13', 'Columbus Day'),
+  (1000, '2025-11-11', 'Veterans Day'),
+  (1000, '2025-11-27', 'Thanksgiving Day'),
+  (1000, '2025-12-25', 'Christmas Day'),
+  (1001, '2025-01-01', 'New Year''s Day'),
+  (1001, '2025-04-18', 'Good Friday'),
+  (1001, '2025-04-21', 'Easter Monday'),
+  (1001, '2025-05-05', 'Early May Bank Holiday'),
+  (1001, '2025-05-26', 'Spring Bank Holiday'),
+  (1001, '2025-08-25', 'Summer Bank Holiday'),
+  (1001, '2025-12-25', 'Christmas Day'),
+  (1001, '2025-12-26', 'Boxing Day'),
+  (1000, '2026-01-01', 'New Year''s Day'),
+  (1000, '2026-01-19', 'Martin Luther King Jr. Day'),
+  (1000, '2026-02-16', 'Presidents'' Day'),
+  (1000, '2026-05-25', 'Memorial Day'),
+  (1000, '2026-06-19', 'Juneteenth'),
+  (1000, '2026-07-03', 'Independence Day'),
+  (1000, '2026-09-07', 'Labor Day'),
+  (1000, '2026-10-12', 'Columbus Day'),
+  (1000, '2026-11-11', 'Veterans Day'),
+  (1000, '2026-11-26', 'Thanksgiving Day'),
+  (1000, '2026-12-25', 'Christmas Day'),
+  (1001, '2026-01-01', 'New Year''s Day'),
+  (1001, '2026-04-03', 'Good Friday'),
+  (1001, '2026-04-06', 'Easter Monday'),
+  (1001, '2026-05-04', 'Early May Bank Holiday'),
+  (1001, '2026-05-25', 'Spring Bank Holiday'),
+  (1001, '2026-08-31', 'Summer Bank Holiday'),
+  (1001, '2026-12-25', 'Christmas Day'),
+  (1001, '2026-12-28', 'Boxing Day'),
+  (1000, '2027-01-01', 'New Year''s Day'),
+  (1000, '2027-01-18', 'Martin Luther King Jr. Day'),
+  (1000, '2027-02-15', 'Presidents'' Day'),
+  (1000, '2027-05-31', 'Memorial Day'),
+  (1000, '2027-06-18', 'Juneteenth'),
+  (1000, '2027-07-05', 'Independence Day'),
+  (1000, '2027-09-06', 'Labor Day'),
+  (1000, '2027-10-11', 'Columbus Day'),
+  (1000, '2027-11-11', 'Veterans Day'),
+  (1000, '2027-11-25', 'Thanksgiving Day'),
+  (1000, '2027-12-24', 'Christmas Day'),
+  (1001, '2027-01-01', 'New Year''s Day'),
+  (1001, '2027-03-26', 'Good Friday'),
+  (1001, '2027-03-29', 'Easter Monday'),
+  (1001, '2027-05-03', 'Early May Bank Holiday'),
+  (1001, '2027-05-31', 'Spring Bank Holiday'),
+  (1001, '2027-08-30', 'Summer Bank Holiday'),
+  (1001, '2027-12-27', 'Christmas Day'),
+  (1001, '2027-12-28', 'Boxing Day'),
+  (1000, '2028-01-17', 'Martin Luther King Jr. Day'),
+  (1000, '2028-02-21', 'Presidents'' Day'),
+  (1000, '2028-05-29', 'Memorial Day'),
+  (1000, '2028-06-19', 'Juneteenth'),
+  (1000, '2028-07-04', 'Independence Day'),
+  (1000, '2028-09-04', 'Labor Day'),
+  (1000, '2028-10-09', 'Columbus Day'),
+  (1000, '2028-11-10', 'Veterans Day'),
+  (1000, '2028-11-23', 'Thanksgiving Day'),
+  (1000, '2028-12-25', 'Christmas Day'),
+  (1001, '2028-01-03', 'New Year''s Day'),
+  (1001, '2028-04-14', 'Good Friday'),
+  (1001, '2028-04-17', 'Easter Monday'),
+  (1001, '2028-05-01', 'Early May Bank Holiday'),
+  (1001, '2028-05-29', 'Spring Bank Holiday'),
+  (1001, '2028-08-28', 'Summer Bank Holiday'),
+  (1001, '2028-12-25', 'Christmas Day'),
+  (1001, '2028-12-26', 'Boxing Day'),
+  (1000, '2029-01-01', 'New Year''s Day'),
+  (1000, '2029-01-15', 'Martin Luther King Jr. Day'),
+  (1000, '2029-02-19', 'Presidents'' Day'),
+  (1000, '2029-05-28', 'Memorial Day'),
+  (1000, '2029-06-19', 'Juneteenth'),
+  (1000, '2029-07-04', 'Independence Day'),
+  (1000, '2029-09-03', 'Labor Day'),
+  (1000, '2029-10-08', 'Columbus Day'),
+  (1000, '2029-11-12', 'Veterans Day'),
+  (1000, '2029-11-22', 'Thanksgiving Day'),
+  (1000, '2029-12-25', 'Christmas Day'),
+  (1001, '2029-01-01', 'New Year''s Day'),
+  (1001, '2029-03-30', 'Good Friday'),
+  (1001, '2029-04-02', 'Easter Monday'),
+  (1001, '2029-05-07', 'Early May Bank Holiday'),
+  (1001, '2029-05-28', 'Spring Bank Holiday'),
+  (1001, '2029-08-27', 'Summer Bank Holiday'),
+  (1001, '2029-12-25', 'Christmas Day'),
+  (1001, '2029-12-26', 'Boxing Day'),
+  (1000, '2030-01-01', 'New Year''s Day'),
+  (1000, '2030-01-21', 'Martin Luther King Jr. Day'),
+  (1000, '2030-02-18', 'Presidents'' Day'),
+  (1000, '2030-05-27', 'Memorial Day'),
+  (1000, '2030-06-19', 'Juneteenth'),
+  (1000, '2030-07-04', 'Independence Day'),
+  (1000, '2030-09-02', 'Labor Day'),
+  (1000, '2030-10-14', 'Columbus Day'),
+  (1000, '2030-11-11', 'Veterans Day'),
+  (1000, '2030-11-28', 'Thanksgiving Day'),
+  (1000, '2030-12-25', 'Christmas Day'),
+  (1001, '2030-01-01', 'New Year''s Day'),
+  (1001, '2030-04-19', 'Good Friday'),
+  (1001, '2030-04-22', 'Easter Monday'),
+  (1001, '2030-05-06', 'Early May Bank Holiday'),
+  (1001, '2030-05-27', 'Spring Bank Holiday'),
+  (1001, '2030-08-26', 'Summer Bank Holiday'),
+  (1001, '2030-12-25', 'Christmas Day'),
+  (1001, '2030-12-26', 'Boxing Day'),
+  (1000, '2031-01-01', 'New Year''s Day'),
+  (1000, '2031-01-20', 'Martin Luther King Jr. Day'),
+  (1000, '2031-02-17', 'Presidents'' Day'),
+  (1000, '2031-05-26', 'Memorial Day'),
+  (1000, '2031-06-19', 'Juneteenth'),
+  (1000, '2031-07-04', 'Independence Day'),
+  (1000, '2031-09-01', 'Labor Day'),
+  (1000, '2031-10-13', 'Columbus Day'),
+  (1000, '2031-11-11', 'Veterans Day'),
+  (1000, '2031-11-27', 'Thanksgiving Day'),
+  (1000, '2031-12-25', 'Christmas Day'),
+  (1001, '2031-01-01', 'New Year''s Day'),
+  (1001, '2031-04-11', 'Good Friday'),
+  (1001, '2031-04-14', 'Easter Monday'),
+  (1001, '2031-05-05', 'Early May Bank Holiday'),
+  (1001, '2031-05-26', 'Spring Bank Holiday'),
+  (1001, '2031-08-25', 'Summer Bank Holiday'),
+  (1001, '2031-12-25', 'Christmas Day'),
+  (1001, '2031-12-26', 'Boxing Day'),
+  (1000, '2032-01-01', 'New Year''s Day'),
+  (1000, '2032-01-19', 'Martin Luther King Jr. Day'),
+  (1000, '2032-02-16', 'Presidents'' Day'),
+  (1000, '2032-05-31', 'Memorial Day'),
+  (1000, '2032-06-18', 'Juneteenth'),
+  (1000, '2032-07-05', 'Independence Day'),
+  (1000, '2032-09-06', 'Labor Day'),
+  (1000, '2032-10-11', 'Columbus Day'),
+  (1000, '2032-11-11', 'Veterans Day'),
+  (1000, '2032-11-25', 'Thanksgiving Day'),
+  (1000, '2032-12-24', 'Christmas Day'),
+  (1001, '2032-01-01', 'New Year''s Day'),
+  (1001, '2032-03-26', 'Good Friday'),
+  (1001, '2032-03-29', 'Easter Monday'),
+  (1001, '2032-05-03', 'Early May Bank Holiday'),
+  (1001, '2032-05-31', 'Spring Bank Holiday'),
+  (1001, '2032-08-30', 'Summer Bank Holiday'),
+  (1001, '2032-12-27', 'Christmas Day'),
+  (1001, '2032-12-28', 'Boxing Day'),
+  (1000, '2033-01-17', 'Martin Luther King Jr. Day'),
+  (1000, '2033-02-21', 'Presidents'' Day'),
+  (1000, '2033-05-30', 'Memorial Day'),
+  (1000, '2033-06-20', 'Juneteenth'),
+  (1000, '2033-07-04', 'Independence Day'),
+  (1000, '2033-09-05', 'Labor Day'),
+  (1000, '2033-10-10', 'Columbus Day'),
+  (1000, '2033-11-11', 'Veterans Day'),
+  (1000, '2033-11-24', 'Thanksgiving Day'),
+  (1000, '2033-12-26', 'Christmas Day'),
+  (1001, '2033-01-03', 'New Year''s Day'),
+  (1001, '2033-04-15', 'Good Friday'),
+  (1001, '2033-04-18', 'Easter Monday'),
+  (1001, '2033-05-02', 'Early May Bank Holiday'),
+  (1001, '2033-05-30', 'Spring Bank Holiday'),
+  (1001, '2033-08-29', 'Summer Bank Holiday'),
+  (1001, '2033-12-26', 'Boxing Day'),
+  (1001, '2033-12-27', 'Christmas Day'),
+  (1000, '2034-01-02', 'New Year''s Day'),
+  (1000, '2034-01-16', 'Martin Luther King Jr. Day'),
+  (1000, '2034-02-20', 'Presidents'' Day'),
+  (1000, '2034-05-29', 'Memorial Day'),
+  (1000, '2034-06-19', 'Juneteenth'),
+  (1000, '2034-07-04', 'Independence Day'),
+  (1000, '2034-09-04', 'Labor Day'),
+  (1000, '2034-10-09', 'Columbus Day'),
+  (1000, '2034-11-10', 'Veterans Day'),
+  (1000, '2034-11-23', 'Thanksgiving Day'),
+  (1000, '2034-12-25', 'Christmas Day'),
+  (1001, '2034-01-02', 'New Year''s Day'),
+  (1001, '2034-04-07', 'Good Friday'),
+  (1001, '2034-04-10', 'Easter Monday'),
+  (1001, '2034-05-01', 'Early May Bank Holiday'),
+  (1001, '2034-05-29', 'Spring Bank Holiday'),
+  (1001, '2034-08-28', 'Summer Bank Holiday'),
+  (1001, '2034-12-25', 'Christmas Day'),
+  (1001, '2034-12-26', 'Boxing Day'),
+  (1000, '2035-01-01', 'New Year''s Day'),
+  (1000, '2035-01-15', 'Martin Luther King Jr. Day'),
+  (1000, '2035-02-19', 'Presidents'' Day'),
+  (1000, '2035-05-28', 'Memorial Day'),
+  (1000, '2035-06-19', 'Juneteenth'),
+  (1000, '2035-07-04', 'Independence Day'),
+  (1000, '2035-09-03', 'Labor Day'),
+  (1000, '2035-10-08', 'Columbus Day'),
+  (1000, '2035-11-12', 'Veterans Day'),
+  (1000, '2035-11-22', 'Thanksgiving Day'),
+  (1000, '2035-12-25', 'Christmas Day'),
+  (1001, '2035-01-01', 'New Year''s Day'),
+  (1001, '2035-03-23', 'Good Friday'),
+  (1001, '2035-03-26', 'Easter Monday'),
+  (1001, '2035-05-07', 'Early May Bank Holiday'),
+  (1001, '2035-05-28', 'Spring Bank Holiday'),
+  (1001, '2035-08-27', 'Summer Bank Holiday'),
+  (1001, '2035-12-25', 'Christmas Day'),
+  (1001, '2035-12-26', 'Boxing Day');
+
+-- User profiles and privileges
+INSERT INTO user_profile (id, user_type) VALUES (1000,'TRADER_SALES'), (1001,'SUPPORT'),(1002,'ADMIN'),(1003,'MO'),(1004,'SUPERUSER');
+INSERT INTO privilege (id, name) VALUES (1000, 'BOOK_TRADE'), (1001, 'AMEND_TRADE'),(1002, 'READ_TRADE'), (1003, 'READ_USER'), (1004,'WRITE_USER'), (1005,'READ_STATIC_DATA'), (1006,'WRITE_STATIC_DATA');
+
+-- Trade id allocation (hi/lo block reservation)
+INSERT INTO trade_id_allocation (name, next_value) VALUES ('trade', 10000);
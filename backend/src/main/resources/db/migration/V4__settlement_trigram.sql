@@ -0,0 +1,10 @@
+-- Trigram postings of the settlement instructions of active trades, maintained by
+-- SettlementInstructionIndex and rebuilt from the trades at startup.
+
+create table settlement_trigram (
+    trade_id bigint not null,
+    trigram varchar(3) not null,
+    primary key (trigram, trade_id)
+);
+
+create index idx_settlement_trigram_trade_id on settlement_trigram (trade_id);
@@ -0,0 +1,73 @@
+package com.technicalchallenge.config;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TradeMetricsTest {
+
+    private PrometheusMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(registry);
+        registry.close();
+    }
+
+    @Test
+    void testBookingIsScrapedWithHistogramBucketsPerPhase() {
+        TradeMetrics.Booking booking = TradeMetrics.startBooking(TradeMetrics.CREATE, 2);
+        booking.lap(TradeMetrics.Phase.VALIDATION);
+        booking.tradeType("Swap");
+        booking.lap(TradeMetrics.Phase.REFERENCE_LOOKUP);
+        booking.lap(TradeMetrics.Phase.VALIDATION);
+        booking.succeeded();
+        booking.stop();
+
+        String scrape = registry.scrape();
+        assertTrue(scrape.contains("trade_booking_seconds_count{legs=\"2\",operation=\"create\",outcome=\"success\",tradeType=\"Swap\",} 1.0"), scrape);
+        assertTrue(scrape.contains("trade_booking_seconds_bucket{legs=\"2\",operation=\"create\",outcome=\"success\",tradeType=\"Swap\",le=\"+Inf\",} 1.0"), scrape);
+        assertTrue(scrape.contains("trade_booking_phase_seconds_count{legs=\"2\",operation=\"create\",phase=\"validation\",tradeType=\"Swap\",} 1.0"), scrape);
+        assertTrue(scrape.contains("phase=\"reference-lookup\""));
+        // Phases that never ran publish nothing
+        assertFalse(scrape.contains("phase=\"trade-insert\",tradeType=\"Swap\""));
+    }
+
+    @Test
+    void testFailedBookingKeepsUnknownTradeType() {
+        TradeMetrics.Booking booking = TradeMetrics.startBooking(TradeMetrics.AMEND, 7);
+        booking.lap(TradeMetrics.Phase.VALIDATION);
+        booking.stop();
+
+        assertEquals(1, registry.get(TradeMetrics.BOOKING)
+                .tags("operation", "amend", "tradeType", TradeMetrics.UNKNOWN, "legs", "5+", "outcome", "failure")
+                .timer().count());
+    }
+
+    @Test
+    void testRowsAreCountedPerTable() {
+        TradeMetrics.Booking booking = TradeMetrics.startBooking(TradeMetrics.CREATE, 3);
+        booking.tradeType("Bond");
+        booking.rows(TradeMetrics.Table.TRADE, 1);
+        booking.rows(TradeMetrics.Table.TRADE_LEG, 3);
+        booking.rows(TradeMetrics.Table.CASHFLOW, 0);
+        booking.stop();
+        // Asynchronous cashflows arrive after the booking returned
+        booking.rows(TradeMetrics.Table.CASHFLOW, 24);
+
+        assertEquals(1.0, registry.get(TradeMetrics.BOOKING_ROWS).tags("tradeType", "Bond", "table", "trade").counter().count());
+        assertEquals(3.0, registry.get(TradeMetrics.BOOKING_ROWS).tags("tradeType", "Bond", "table", "trade_leg").counter().count());
+        assertEquals(24.0, registry.get(TradeMetrics.BOOKING_ROWS).tags("tradeType", "Bond", "table", "cashflow").counter().count());
+    }
+}
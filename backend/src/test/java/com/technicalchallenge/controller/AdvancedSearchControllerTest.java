@@ -5,6 +5,7 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.mapper.TradeMapper;
 import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.service.TradeExportService;
 import com.technicalchallenge.service.TradeService;
 import com.technicalchallenge.service.TradeValidationService;
 import org.junit.jupiter.api.BeforeEach;
@@ -47,6 +48,9 @@ public class AdvancedSearchControllerTest {
     @MockBean
     private TradeValidationService tradeValidationService;
 
+    @MockBean
+    private TradeExportService tradeExportService;
+
     private ObjectMapper objectMapper;
     private Trade trade;
     private TradeDTO tradeDTO;
@@ -222,4 +226,30 @@ public class AdvancedSearchControllerTest {
 
         verify(tradeService, never()).searchBySpecification(any(), any(Pageable.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testRsql_parameterisedQuery_ok() throws Exception {
+        when(tradeService.searchBySpecification(any(), any(Pageable.class))).thenReturn(tradePage);
+
+        mockMvc.perform(get("/api/trades/rsql")
+                .param("query", "counterparty.name==:cp;tradeDate=ge=:from")
+                .param("p.cp", "TestCounterparty")
+                .param("p.from", "2025-01-01")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)));
+
+        verify(tradeService).searchBySpecification(any(), any(Pageable.class));
+    }
+
+    @Test
+    void testRsql_parameterisedQuery_missingValue_400() throws Exception {
+        mockMvc.perform(get("/api/trades/rsql")
+                .param("query", "counterparty.name==:cp")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Missing value for query parameter: cp")));
+
+        verify(tradeService, never()).searchBySpecification(any(), any(Pageable.class));
+    }
+}
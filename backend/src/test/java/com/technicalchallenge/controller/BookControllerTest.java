@@ -4,6 +4,7 @@ import com.technicalchallenge.dto.BookDTO;
 import com.technicalchallenge.mapper.BookMapper;
 import com.technicalchallenge.model.Book;
 import com.technicalchallenge.service.BookService;
+import com.technicalchallenge.service.TypeaheadIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -30,6 +31,8 @@ public class BookControllerTest {
 
     @MockBean
     private BookMapper bookMapper;
+    @MockBean
+    private TypeaheadIndex typeaheadIndex;
 
     @BeforeEach
     public void setup() {
@@ -1,9 +1,11 @@
 package com.technicalchallenge.controller;
 
 import com.technicalchallenge.dto.CounterpartyDTO;
+import com.technicalchallenge.dto.SuggestionDTO;
 import com.technicalchallenge.mapper.CounterpartyMapper;
 import com.technicalchallenge.model.Counterparty;
 import com.technicalchallenge.service.CounterpartyService;
+import com.technicalchallenge.service.TypeaheadIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +19,7 @@ import java.util.List;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(SpringExtension.class)
@@ -31,6 +34,9 @@ public class CounterpartyControllerTest {
     @MockBean
     private CounterpartyMapper counterpartyMapper;
 
+    @MockBean
+    private TypeaheadIndex typeaheadIndex;
+
     @BeforeEach
     public void setup() {
         Counterparty counterparty = new Counterparty();
@@ -52,5 +58,24 @@ public class CounterpartyControllerTest {
         mockMvc.perform(get("/api/counterparties"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void shouldReturnSuggestions() throws Exception {
+        when(typeaheadIndex.suggest(TypeaheadIndex.Kind.COUNTERPARTY, "coun", 5))
+                .thenReturn(List.of(new SuggestionDTO(1L, "Counterparty 1", "Counterparty 1")));
+
+        mockMvc.perform(get("/api/counterparties/suggest").param("q", "coun").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].value").value("Counterparty 1"));
+    }
+
+    @Test
+    void shouldRejectSuggestionLimitOutOfRange() throws Exception {
+        when(typeaheadIndex.suggest(TypeaheadIndex.Kind.COUNTERPARTY, "coun", 500))
+                .thenThrow(new IllegalArgumentException("Limit must be between 1 and 50"));
+
+        mockMvc.perform(get("/api/counterparties/suggest").param("q", "coun").param("limit", "500"))
+                .andExpect(status().isBadRequest());
+    }
     // Add more tests for POST, PUT, DELETE as needed
 }
@@ -2,6 +2,7 @@ package com.technicalchallenge.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.technicalchallenge.dto.CursorPage;
 import com.technicalchallenge.dto.DailySummaryDTO;
 import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.dto.TradeSummaryDTO;
@@ -111,6 +112,29 @@ public class DashboardControllerTest {
                                 .andExpect(jsonPath("$.content[1].bookName", is("Credit")));
         }
 
+        @Test
+        void bookTradesByCursor_returnsContinuationToken() throws Exception {
+                when(dashboardService.getTradesByBookByCursor(eq(5L), ArgumentMatchers.any(), eq(2), eq(false)))
+                                .thenReturn(new CursorPage<>(List.of(trade1, trade2), 2, true, "abc", null));
+
+                mockMvc.perform(get("/api/dashboard/book/{id}/trades/cursor", 5L)
+                                .param("size", "2")
+                                .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content", hasSize(2)))
+                                .andExpect(jsonPath("$.hasNext", is(true)))
+                                .andExpect(jsonPath("$.nextCursor", is("abc")));
+        }
+
+        @Test
+        void myTradesByCursor_rejectsInvalidCursor() throws Exception {
+                mockMvc.perform(get("/api/dashboard/my-trades/cursor")
+                                .param("performedBy", "traderA")
+                                .param("cursor", "garbage")
+                                .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isBadRequest());
+        }
+
         @Test
         void summary_returnsAggregatePortfolioStats() throws Exception {
                 TradeSummaryDTO summary = new TradeSummaryDTO();
@@ -2,9 +2,17 @@ package com.technicalchallenge.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.technicalchallenge.dto.AmendmentSummaryDTO;
+import com.technicalchallenge.dto.BatchBookingResultDTO;
+import com.technicalchallenge.dto.CursorPage;
+import com.technicalchallenge.dto.TradeBookingResultDTO;
 import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.mapper.TradeMapper;
+import com.technicalchallenge.model.CashflowGenerationStatus;
 import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.service.CashflowGenerationMode;
+import com.technicalchallenge.repository.TradeCursor;
+import com.technicalchallenge.service.TradeExportService;
 import com.technicalchallenge.service.TradeService;
 import com.technicalchallenge.service.TradeValidationService;
 
@@ -18,7 +26,9 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -48,6 +58,9 @@ public class TradeControllerTest {
     @MockBean
     private TradeValidationService tradeValidationService;
 
+    @MockBean
+    private TradeExportService tradeExportService;
+
     private ObjectMapper objectMapper;
     private TradeDTO tradeDTO;
     private Trade trade;
@@ -138,7 +151,7 @@ public class TradeControllerTest {
     @Test
     void testCreateTrade() throws Exception {
         // Given
-        when(tradeService.saveTrade(any(Trade.class), any(TradeDTO.class))).thenReturn(trade);
+        when(tradeService.saveTrade(any(Trade.class), any(TradeDTO.class), any())).thenReturn(trade);
         doNothing().when(tradeService).populateReferenceDataByName(any(Trade.class), any(TradeDTO.class));
 
         // When/Then
@@ -149,7 +162,7 @@ public class TradeControllerTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.tradeId", is(1001)));
 
-        verify(tradeService).saveTrade(any(Trade.class), any(TradeDTO.class));
+        verify(tradeService).saveTrade(any(Trade.class), any(TradeDTO.class), any());
         verify(tradeService).populateReferenceDataByName(any(Trade.class), any(TradeDTO.class));
     }
 
@@ -169,7 +182,7 @@ public class TradeControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string("Trade date is required"));
 
-        verify(tradeService, never()).saveTrade(any(Trade.class), any(TradeDTO.class));
+        verify(tradeService, never()).saveTrade(any(Trade.class), any(TradeDTO.class), any());
     }
 
     @Test
@@ -188,7 +201,7 @@ public class TradeControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string("Book and Counterparty are required"));
 
-        verify(tradeService, never()).saveTrade(any(Trade.class), any(TradeDTO.class));
+        verify(tradeService, never()).saveTrade(any(Trade.class), any(TradeDTO.class), any());
     }
 
     @Test
@@ -196,8 +209,11 @@ public class TradeControllerTest {
         // Given
         Long tradeId = 1001L;
         tradeDTO.setTradeId(tradeId);
-        when(tradeService.saveTrade(any(Trade.class), any(TradeDTO.class))).thenReturn(trade);
-        doNothing().when(tradeService).populateReferenceDataByName(any(Trade.class), any(TradeDTO.class));
+        AmendmentSummaryDTO summary = new AmendmentSummaryDTO();
+        summary.setChangedFields(List.of("settlementInstructions"));
+        summary.setCashflowsCopied(8);
+        when(tradeService.amendTradeWithSummary(eq(tradeId), any(TradeDTO.class), any()))
+                .thenReturn(new TradeService.AmendmentResult(trade, summary));
 
         // When/Then
         mockMvc.perform(put("/api/trades/{id}", tradeId)
@@ -205,9 +221,11 @@ public class TradeControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(tradeDTO)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.tradeId", is(1001)));
+                .andExpect(jsonPath("$.tradeId", is(1001)))
+                .andExpect(jsonPath("$.amendment.changedFields[0]", is("settlementInstructions")))
+                .andExpect(jsonPath("$.amendment.cashflowsCopied", is(8)));
 
-        verify(tradeService).saveTrade(any(Trade.class), any(TradeDTO.class));
+        verify(tradeService).amendTradeWithSummary(eq(tradeId), any(TradeDTO.class), any());
     }
 
     @Test
@@ -223,7 +241,7 @@ public class TradeControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string("Trade ID in path must match Trade ID in request body"));
 
-        verify(tradeService, never()).saveTrade(any(Trade.class), any(TradeDTO.class));
+        verify(tradeService, never()).saveTrade(any(Trade.class), any(TradeDTO.class), any());
     }
 
     @Test
@@ -255,4 +273,134 @@ public class TradeControllerTest {
 
         verify(tradeService, never()).createTrade(any(TradeDTO.class));
     }
+
+    @Test
+    void testBookTradesBatch() throws Exception {
+        // Given
+        BatchBookingResultDTO result = new BatchBookingResultDTO(2, 1, 1, 50, List.of(
+                TradeBookingResultDTO.booked(0, 1001L),
+                TradeBookingResultDTO.failed(1, null, List.of("Trade must have exactly 2 legs"))));
+        when(tradeService.bookTrades(anyList(), eq(50))).thenReturn(result);
+
+        // When/Then
+        mockMvc.perform(post("/api/trades/batch")
+                .param("performedBy", "tester")
+                .param("chunkSize", "50")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(tradeDTO, new TradeDTO()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.booked", is(1)))
+                .andExpect(jsonPath("$.results[1].status", is("FAILED")));
+
+        verify(tradeService).bookTrades(anyList(), eq(50));
+    }
+
+    @Test
+    void testBookTradesBatchWithoutPrivilege() throws Exception {
+        // Given
+        when(tradeValidationService.validateUserPrivileges(anyString(), anyString(), any())).thenReturn(false);
+
+        // When/Then
+        mockMvc.perform(post("/api/trades/batch")
+                .param("performedBy", "support")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(tradeDTO))))
+                .andExpect(status().isForbidden());
+
+        verify(tradeService, never()).bookTrades(anyList(), anyInt());
+    }
+
+    @Test
+    void testSearchTradesByCursor() throws Exception {
+        // Given
+        when(tradeService.searchTradesByCursor(any(TradeDTO.class), any(TradeCursor.class), eq(1), eq(true)))
+                .thenReturn(new CursorPage<>(List.of(trade), 1, true, "token", 3L));
+
+        // When/Then
+        mockMvc.perform(get("/api/trades/search/cursor")
+                .param("counterparty", "Test")
+                .param("size", "1")
+                .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].tradeId", is(1001)))
+                .andExpect(jsonPath("$.nextCursor", is("token")))
+                .andExpect(jsonPath("$.totalElements", is(3)));
+    }
+
+    @Test
+    void testFilterTradesByCursorRejectsUnknownSortKey() throws Exception {
+        mockMvc.perform(get("/api/trades/filter/cursor")
+                .param("sortBy", "counterparty"))
+                .andExpect(status().isBadRequest());
+
+        verify(tradeService, never()).searchByCursor(any(), any(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    void testExportTradesStreamsCsv() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("id,tradeId\r\n1,1001\r\n".getBytes());
+            return 1L;
+        }).when(tradeExportService).export(any(), eq(TradeExportService.Format.CSV), any());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/trades/export")
+                .param("counterparty", "Test")
+                .param("query", "tradeLegs.currency.currency==USD"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"trades.csv\""))
+                .andExpect(content().string("id,tradeId\r\n1,1001\r\n"));
+        verify(tradeService).buildSearchSpecification(any(TradeDTO.class));
+    }
+
+    @Test
+    void testExportTradesRejectsUnknownFormat() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/trades/export").param("format", "xlsx"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Unsupported export format: xlsx. Use csv or ndjson"));
+
+        verify(tradeExportService, never()).export(any(), any(), any());
+    }
+
+    @Test
+    void testCreateTradeWithAsyncCashflows() throws Exception {
+        when(tradeService.saveTrade(any(Trade.class), any(TradeDTO.class), eq(CashflowGenerationMode.ASYNC)))
+                .thenReturn(trade);
+
+        mockMvc.perform(post("/api/trades")
+                .param("performedBy", "tester")
+                .param("cashflowMode", "async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tradeDTO)))
+                .andExpect(status().isCreated());
+
+        verify(tradeService).saveTrade(any(Trade.class), any(TradeDTO.class), eq(CashflowGenerationMode.ASYNC));
+    }
+
+    @Test
+    void testGetCashflowStatusWaitsWithinLimit() throws Exception {
+        trade.setCashflowStatus(CashflowGenerationStatus.PENDING);
+        when(tradeService.awaitCashflowGeneration(1001L, 30_000L)).thenReturn(Optional.of(trade));
+        when(tradeService.awaitCashflowGeneration(9999L, 0L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/trades/1001/cashflow-status").param("waitMillis", "600000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tradeId", is(1001)))
+                .andExpect(jsonPath("$.cashflowStatus", is("PENDING")));
+
+        mockMvc.perform(get("/api/trades/9999/cashflow-status"))
+                .andExpect(status().isNotFound());
+    }
 }
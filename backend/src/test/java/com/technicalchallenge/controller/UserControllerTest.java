@@ -5,6 +5,7 @@ import com.technicalchallenge.mapper.ApplicationUserMapper;
 import com.technicalchallenge.model.ApplicationUser;
 import com.technicalchallenge.model.UserProfile;
 import com.technicalchallenge.service.ApplicationUserService;
+import com.technicalchallenge.service.TypeaheadIndex;
 import com.technicalchallenge.service.UserProfileService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,6 +32,8 @@ public class UserControllerTest {
     private ApplicationUserMapper applicationUserMapper;
     @MockBean
     private UserProfileService userProfileService;
+    @MockBean
+    private TypeaheadIndex typeaheadIndex;
 
 
     @BeforeEach
@@ -0,0 +1,86 @@
+package com.technicalchallenge.diagnostics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryDiagnosticsTest {
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(60);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryDiagnostics diagnostics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        diagnostics = new QueryDiagnostics(meterRegistry, 50, 3);
+    }
+
+    @Test
+    void testNormalizeStripsLiteralsCommentsAndInListLength() {
+        assertEquals("select t1_0.id from trade t1_0 where t1_0.trade_id in (?...) and t1_0.book_name=?",
+                SqlNormalizer.normalize("/* load Trade */ select t1_0.id\n   from trade t1_0\n"
+                        + "where t1_0.trade_id in (?, ?,?) and t1_0.book_name='O''Brien'"));
+        assertEquals("select * from trade where version=? limit ?",
+                SqlNormalizer.normalize("select * from trade where version=2 limit 50"));
+    }
+
+    @Test
+    void testStatementsAndLoadsAreCountedPerRequestAndEndpoint() {
+        for (int request = 0; request < 2; request++) {
+            RequestQueryStats stats = diagnostics.beginRequest(() -> "GET /api/trades/{id}");
+            diagnostics.queryExecuted("select 1", FAST, 0, true);
+            diagnostics.queryExecuted("select 2", FAST, 0, true);
+            diagnostics.entityLoaded();
+            diagnostics.endRequest(stats);
+            assertEquals(2, stats.getStatements());
+            assertEquals(1, stats.getEntityLoads());
+        }
+        // Outside a request nothing is attributed
+        diagnostics.queryExecuted("select 3", FAST, 0, true);
+
+        QueryDiagnostics.EndpointSummary summary = diagnostics.getEndpoints().get("GET /api/trades/{id}");
+        assertEquals(2, summary.requests());
+        assertEquals(4, summary.statements());
+        assertEquals(2.0, summary.statementsPerRequest());
+        assertEquals(2, summary.entityLoads());
+        assertEquals(1, diagnostics.getEndpoints().size());
+        assertEquals(4.0, meterRegistry.get("db.request.statements").tag("endpoint", "GET /api/trades/{id}")
+                .summary().totalAmount());
+        assertTrue(diagnostics.getSlowQueries().isEmpty());
+    }
+
+    @Test
+    void testSlowQueriesKeepTheLatestInTheRingSlowestFirst() {
+        RequestQueryStats stats = diagnostics.beginRequest(() -> null);
+        diagnostics.queryExecuted("select 'first'", SLOW, 0, true);
+        diagnostics.endRequest(stats);
+        stats = diagnostics.beginRequest(() -> "POST /api/trades");
+        diagnostics.queryExecuted("insert into cashflow values (?, ?)", SLOW * 3, 24, true);
+        diagnostics.endRequest(stats);
+        diagnostics.queryExecuted("update trade set cashflow_status=? where id=?", SLOW * 2, 0, true);
+        diagnostics.queryExecuted("select 42", SLOW + FAST, 0, false);
+
+        List<SlowQuery> slow = diagnostics.getSlowQueries();
+        assertEquals(4, diagnostics.getSlowQueryCount());
+        assertEquals(3, slow.size());
+        assertEquals("insert into cashflow values (?, ?)", slow.get(0).sql());
+        assertEquals("POST /api/trades", slow.get(0).endpoint());
+        assertEquals(24, slow.get(0).batchSize());
+        assertEquals(QueryDiagnostics.BACKGROUND, slow.get(1).endpoint());
+        assertEquals("select ?", slow.get(2).sql());
+        assertFalse(slow.get(2).success());
+        assertTrue(diagnostics.getEndpoints().containsKey(QueryDiagnostics.UNMAPPED));
+
+        diagnostics.reset();
+        assertTrue(diagnostics.getSlowQueries().isEmpty());
+        assertTrue(diagnostics.getEndpoints().isEmpty());
+    }
+}
@@ -0,0 +1,66 @@
+package com.technicalchallenge.diagnostics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the prod profile's migrations into an in-memory database, with Hibernate validating the
+ * entities against the result, and checks the migrated indexes.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrated;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.defer-datasource-initialization=false",
+        "spring.sql.init.mode=never" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SchemaIndexCheck.class)
+public class SchemaIndexCheckTest {
+
+    @Autowired
+    private SchemaIndexCheck schemaIndexCheck;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testMigratedSchema_HasEveryExpectedIndexAndReferenceDataOnly() throws Exception {
+        assertEquals(List.of(), schemaIndexCheck.findMissingIndexes());
+        assertEquals(4, jdbcTemplate.queryForObject("select count(*) from flyway_schema_history where version is not null and success", Integer.class));
+        assertTrue(jdbcTemplate.queryForObject("select count(*) from currency", Integer.class) > 0);
+        assertTrue(jdbcTemplate.queryForObject("select count(*) from holiday_calendar_date", Integer.class) > 0);
+        // No demo users or sample trades outside development
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from application_user", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from trade", Integer.class));
+    }
+
+    @Test
+    void testFindMissingIndexes_ReportsDroppedIndex() throws Exception {
+        jdbcTemplate.execute("drop index idx_trade_trader_active_date");
+        try {
+            assertEquals(List.of(new SchemaIndexCheck.ExpectedIndex("trade", "trader_user_id", "active", "trade_date")),
+                    schemaIndexCheck.findMissingIndexes());
+        } finally {
+            jdbcTemplate.execute("create index idx_trade_trader_active_date on trade (trader_user_id, active, trade_date)");
+        }
+    }
+
+    @Test
+    void testFindMissingIndexes_AcceptsWiderIndexWithSameLeadingColumns() throws Exception {
+        jdbcTemplate.execute("drop index idx_trade_book_active");
+        jdbcTemplate.execute("create index idx_trade_book_active_date on trade (book_id, active, trade_date)");
+        try {
+            assertEquals(List.of(), schemaIndexCheck.findMissingIndexes());
+        } finally {
+            jdbcTemplate.execute("drop index idx_trade_book_active_date");
+            jdbcTemplate.execute("create index idx_trade_book_active on trade (book_id, active)");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.technicalchallenge.mapper;
+
+import com.technicalchallenge.dto.AdditionalInfoDTO;
+import com.technicalchallenge.dto.BookDTO;
+import com.technicalchallenge.dto.UserDTO;
+import com.technicalchallenge.model.AdditionalInfo;
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.CostCenter;
+import com.technicalchallenge.model.UserProfile;
+import com.technicalchallenge.repository.CostCenterRepository;
+import com.technicalchallenge.repository.UserProfileRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class GeneratedMapperTest {
+
+    @Test
+    void testBookMapsCostCenterByName() {
+        CostCenter costCenter = new CostCenter();
+        costCenter.setId(1000L);
+        costCenter.setCostCenterName("London Trading");
+        BookMapperImpl mapper = new BookMapperImpl();
+        mapper.costCenterRepository = mock(CostCenterRepository.class);
+        when(mapper.costCenterRepository.findAll()).thenReturn(List.of(costCenter));
+
+        Book book = new Book();
+        book.setId(1L);
+        book.setBookName("FX-BOOK-1");
+        book.setActive(true);
+        book.setVersion(3);
+        book.setCostCenter(costCenter);
+        BookDTO dto = mapper.toDto(book);
+
+        assertEquals("FX-BOOK-1", dto.getBookName());
+        assertEquals(3, dto.getVersion());
+        assertTrue(dto.isActive());
+        assertEquals("London Trading", dto.getCostCenterName());
+        assertSame(costCenter, mapper.toEntity(dto).getCostCenter());
+
+        dto.setCostCenterName(null);
+        assertNull(mapper.toEntity(dto).getCostCenter());
+        assertNull(mapper.toDto(null));
+    }
+
+    @Test
+    void testUserMapsProfileByType() {
+        UserProfile profile = new UserProfile();
+        profile.setId(1000L);
+        profile.setUserType("TRADER_SALES");
+        ApplicationUserMapperImpl mapper = new ApplicationUserMapperImpl();
+        mapper.userProfileRepository = mock(UserProfileRepository.class);
+        when(mapper.userProfileRepository.findByUserType("TRADER_SALES")).thenReturn(Optional.of(profile));
+
+        ApplicationUser user = new ApplicationUser();
+        user.setId(1000L);
+        user.setLoginId("simon");
+        user.setUserProfile(profile);
+        UserDTO dto = mapper.toDto(user);
+
+        assertEquals("simon", dto.getLoginId());
+        assertEquals("TRADER_SALES", dto.getUserProfile());
+        assertSame(profile, mapper.toEntity(dto).getUserProfile());
+    }
+
+    @Test
+    void testAdditionalInfoRoundTrip() {
+        AdditionalInfoMapper mapper = new AdditionalInfoMapperImpl();
+        AdditionalInfo info = new AdditionalInfo();
+        info.setId(5L);
+        info.setEntityType("TRADE");
+        info.setEntityId(100001L);
+        info.setFieldName("SETTLEMENT_INSTRUCTIONS");
+        info.setFieldValue("Settle via CLS");
+        info.setActive(true);
+        info.setVersion(2);
+        info.setCreatedDate(LocalDateTime.of(2025, 1, 15, 9, 30));
+        info.setDeactivatedDate(LocalDateTime.of(2025, 1, 16, 9, 30));
+
+        AdditionalInfoDTO dto = mapper.toDto(info);
+        AdditionalInfo copy = mapper.toEntity(dto);
+
+        assertEquals("Settle via CLS", dto.getFieldValue());
+        assertEquals(2, dto.getVersion());
+        assertEquals(info.getCreatedDate(), copy.getCreatedDate());
+        assertNull(copy.getDeactivatedDate());
+    }
+}
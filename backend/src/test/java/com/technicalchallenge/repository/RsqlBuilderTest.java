@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -96,4 +97,176 @@ class RsqlBuilderTest {
 
         assertThrows(Exception.class, () -> typedSpec.toPredicate(typedRoot, typedQuery, cb));
     }
-}
\ No newline at end of file
+
+    @Test
+    void from_sameQueryWithSurroundingSpaces_reusesCompiledPlan() {
+        RsqlBuilder.clearCache();
+        RsqlBuilder.CacheStats before = RsqlBuilder.cacheStats();
+
+        assertNotNull(RsqlBuilder.from("counterparty.name==ABC;tradeDate=ge=2025-01-01"));
+        assertNotNull(RsqlBuilder.from("  counterparty.name==ABC;tradeDate=ge=2025-01-01 "));
+
+        RsqlBuilder.CacheStats after = RsqlBuilder.cacheStats();
+        assertEquals(1, after.misses() - before.misses());
+        assertEquals(1, after.hits() - before.hits());
+        assertEquals(1, after.size());
+    }
+
+    @Test
+    void from_keywordOperators_parse() {
+        assertNotNull(RsqlBuilder.from("book.bookName==A and tradeDate=ge=2025-01-01"));
+        assertNotNull(RsqlBuilder.from("book.bookName==A or book.bookName==B"));
+        assertNotNull(RsqlBuilder.from("counterparty.name=='Big Bank' and tradeDate=lt=2026-01-01"));
+    }
+
+    @Test
+    void from_unquotedValueWithSpace_throwsRsqlParserException() {
+        assertThrows(RSQLParserException.class, () -> RsqlBuilder.from("counterparty.name==ABC Corp"));
+    }
+
+    @Test
+    void from_failedQuery_isNotCached() {
+        RsqlBuilder.clearCache();
+
+        assertThrows(IllegalArgumentException.class, () -> RsqlBuilder.from("foo==bar"));
+        assertThrows(IllegalArgumentException.class, () -> RsqlBuilder.from("foo==bar"));
+
+        assertEquals(0, RsqlBuilder.cacheStats().size());
+    }
+
+    @Test
+    void from_parameterisedQuery_bindsValuesPerCall() {
+        RsqlBuilder.clearCache();
+
+        Specification<?> first = RsqlBuilder.from("counterparty.name==:cp", Map.of("cp", "ABC"));
+        Specification<?> second = RsqlBuilder.from("counterparty.name==:cp", Map.of("cp", "XYZ"));
+        assertNotSame(first, second);
+        assertEquals(1, RsqlBuilder.cacheStats().size());
+
+        @SuppressWarnings("unchecked")
+        Root<Object> root = (Root<Object>) mock(Root.class);
+        @SuppressWarnings("unchecked")
+        jakarta.persistence.criteria.Join<Object, Object> join = mock(jakarta.persistence.criteria.Join.class);
+        @SuppressWarnings("unchecked")
+        Path<Object> namePath = (Path<Object>) mock(Path.class);
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        when(root.join("counterparty", jakarta.persistence.criteria.JoinType.LEFT)).thenReturn(join);
+        when(join.get("name")).thenReturn(namePath);
+
+        @SuppressWarnings("unchecked")
+        Specification<Object> typedSpec = (Specification<Object>) (Specification<?>) second;
+        typedSpec.toPredicate(root, mock(CriteriaQuery.class), cb);
+
+        verify(cb).equal(namePath, "XYZ");
+    }
+
+    @Test
+    void from_parameterisedQuery_missingValue_throwsIAE() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> RsqlBuilder.from("tradeDate=ge=:from", Map.of()));
+        assertTrue(ex.getMessage().contains("from"));
+    }
+
+    @Test
+    void cache_evictsLeastRecentlyUsedPlan() {
+        RsqlBuilder.clearCache();
+        RsqlBuilder.resizeCache(2);
+        try {
+            long evictions = RsqlBuilder.cacheStats().evictions();
+            RsqlBuilder.from("counterparty.name==A");
+            RsqlBuilder.from("counterparty.name==B");
+            RsqlBuilder.from("counterparty.name==A");
+            RsqlBuilder.from("counterparty.name==C");
+
+            long hits = RsqlBuilder.cacheStats().hits();
+            RsqlBuilder.from("counterparty.name==A");
+            assertEquals(hits + 1, RsqlBuilder.cacheStats().hits());
+            assertEquals(2, RsqlBuilder.cacheStats().size());
+            assertEquals(evictions + 1, RsqlBuilder.cacheStats().evictions());
+        } finally {
+            RsqlBuilder.resizeCache(RsqlBuilder.DEFAULT_CACHE_SIZE);
+        }
+    }
+
+    @Test
+    void from_tradeId_gt_comparesAsLong() {
+        @SuppressWarnings("unchecked")
+        Root<Object> root = (Root<Object>) mock(Root.class);
+        @SuppressWarnings("unchecked")
+        Path<Object> idPath = (Path<Object>) mock(Path.class);
+        @SuppressWarnings("unchecked")
+        Expression<Long> idExpr = (Expression<Long>) mock(Expression.class);
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        when(root.get("tradeId")).thenReturn(idPath);
+        doReturn(idExpr).when(idPath).as(Long.class);
+
+        @SuppressWarnings("unchecked")
+        Specification<Object> spec = (Specification<Object>) (Specification<?>) RsqlBuilder.from("tradeId=gt=100001");
+        spec.toPredicate(root, mock(CriteriaQuery.class), cb);
+
+        verify(cb).greaterThan(idExpr, 100001L);
+    }
+
+    @Test
+    void from_legNotional_badNumber_failsOnToPredicate() {
+        Specification<?> spec = RsqlBuilder.from("tradeLegs.notional=gt=lots");
+
+        @SuppressWarnings("unchecked")
+        Specification<Object> typedSpec = (Specification<Object>) (Specification<?>) spec;
+        @SuppressWarnings("unchecked")
+        Root<Object> root = (Root<Object>) mock(Root.class, RETURNS_DEEP_STUBS);
+        @SuppressWarnings("unchecked")
+        CriteriaQuery<Object> query = (CriteriaQuery<Object>) mock(CriteriaQuery.class, RETURNS_DEEP_STUBS);
+
+        assertThrows(NumberFormatException.class,
+                () -> typedSpec.toPredicate(root, query, mock(CriteriaBuilder.class, RETURNS_DEEP_STUBS)));
+    }
+
+    @Test
+    void from_legFieldsInOneGroup_shareSingleExistsSubquery() {
+        Specification<?> spec = RsqlBuilder.from(
+                "tradeLegs.notional=gt=1000000;counterparty.name==ABC;tradeLegs.currency.currency==USD;tradeLegs.cashflows.valueDate=ge=2025-01-01");
+
+        @SuppressWarnings("unchecked")
+        Specification<Object> typedSpec = (Specification<Object>) (Specification<?>) spec;
+        @SuppressWarnings("unchecked")
+        Root<Object> root = (Root<Object>) mock(Root.class, RETURNS_DEEP_STUBS);
+        @SuppressWarnings("unchecked")
+        CriteriaQuery<Object> query = (CriteriaQuery<Object>) mock(CriteriaQuery.class, RETURNS_DEEP_STUBS);
+        CriteriaBuilder cb = mock(CriteriaBuilder.class, RETURNS_DEEP_STUBS);
+
+        typedSpec.toPredicate(root, query, cb);
+
+        verify(query, times(1)).subquery(Long.class);
+        verify(cb, times(1)).exists(any());
+        verify(root, never()).join(eq("tradeLegs"), any(jakarta.persistence.criteria.JoinType.class));
+    }
+
+    @Test
+    void from_legFieldsInSeparateGroups_useOneSubqueryEach() {
+        Specification<?> spec = RsqlBuilder.from("(tradeLegs.index.index==SOFR,tradeLegs.rate=gt=0.05);tradeLegs.notional=lt=100");
+
+        @SuppressWarnings("unchecked")
+        Specification<Object> typedSpec = (Specification<Object>) (Specification<?>) spec;
+        @SuppressWarnings("unchecked")
+        Root<Object> root = (Root<Object>) mock(Root.class, RETURNS_DEEP_STUBS);
+        @SuppressWarnings("unchecked")
+        CriteriaQuery<Object> query = (CriteriaQuery<Object>) mock(CriteriaQuery.class, RETURNS_DEEP_STUBS);
+        CriteriaBuilder cb = mock(CriteriaBuilder.class, RETURNS_DEEP_STUBS);
+
+        typedSpec.toPredicate(root, query, cb);
+
+        verify(query, times(2)).subquery(Long.class);
+    }
+
+    @Test
+    void from_stringField_orderingOperator_failsOnToPredicate() {
+        @SuppressWarnings("unchecked")
+        Specification<Object> spec = (Specification<Object>) (Specification<?>) RsqlBuilder.from("counterparty.name=gt=ABC");
+        @SuppressWarnings("unchecked")
+        Root<Object> root = (Root<Object>) mock(Root.class, RETURNS_DEEP_STUBS);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> spec.toPredicate(root, mock(CriteriaQuery.class), mock(CriteriaBuilder.class)));
+    }
+}
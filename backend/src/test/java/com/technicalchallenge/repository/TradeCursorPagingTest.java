@@ -0,0 +1,64 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.dto.CursorPage;
+import com.technicalchallenge.model.Trade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+public class TradeCursorPagingTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        LocalDate march = LocalDate.of(2025, 3, 1);
+        for (LocalDate tradeDate : new LocalDate[] { march, null, march.plusDays(2), march, null, march.plusDays(1), null }) {
+            Trade trade = new Trade();
+            trade.setTradeId(900_000L + ids.size());
+            trade.setVersion(1);
+            trade.setTradeDate(tradeDate);
+            ids.add(entityManager.persistAndGetId(trade, Long.class));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testTradeDateScanVisitsUndatedTradesAfterDatedOnesAndMatchesTotal() {
+        // Dated trades by (date, id), then the undated ones by id, in either direction
+        assertEquals(List.of(ids.get(0), ids.get(3), ids.get(5), ids.get(2), ids.get(1), ids.get(4), ids.get(6)),
+                scan(Sort.Direction.ASC));
+        assertEquals(List.of(ids.get(2), ids.get(5), ids.get(3), ids.get(0), ids.get(6), ids.get(4), ids.get(1)),
+                scan(Sort.Direction.DESC));
+    }
+
+    private List<Long> scan(Sort.Direction direction) {
+        List<Long> seen = new ArrayList<>();
+        TradeCursor cursor = TradeCursor.first(TradeCursor.Key.TRADE_DATE, direction);
+        while (true) {
+            CursorPage<Trade> page = tradeRepository.findPageAfter(null, cursor, 2, true);
+            assertEquals(ids.size(), page.getTotalElements());
+            page.getContent().forEach(trade -> seen.add(trade.getId()));
+            if (!page.isHasNext()) {
+                return seen;
+            }
+            cursor = TradeCursor.decode(page.getNextCursor());
+        }
+    }
+}
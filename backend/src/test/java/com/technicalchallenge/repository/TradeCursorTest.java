@@ -0,0 +1,75 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.Trade;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradeCursorTest {
+
+    @Test
+    void resolve_withoutToken_startsFromParams() {
+        TradeCursor cursor = TradeCursor.resolve(null, "id", "asc");
+
+        assertTrue(cursor.isFirst());
+        assertEquals(TradeCursor.Key.ID, cursor.getKey());
+        assertEquals(Sort.Direction.ASC, cursor.getDirection());
+    }
+
+    @Test
+    void resolve_defaultsToTradeDateDescending() {
+        TradeCursor cursor = TradeCursor.resolve("", null, null);
+
+        assertEquals(TradeCursor.Key.TRADE_DATE, cursor.getKey());
+        assertEquals(Sort.Direction.DESC, cursor.getDirection());
+    }
+
+    @Test
+    void encode_decode_roundTripKeepsPosition() {
+        Trade last = new Trade();
+        last.setId(42L);
+        last.setTradeDate(LocalDate.of(2025, 3, 14));
+
+        String token = TradeCursor.first(TradeCursor.Key.TRADE_DATE, Sort.Direction.DESC).after(last).encode();
+        TradeCursor decoded = TradeCursor.resolve(token, "id", "asc");
+
+        // The token wins over the first-page parameters
+        assertFalse(decoded.isFirst());
+        assertEquals(TradeCursor.Key.TRADE_DATE, decoded.getKey());
+        assertEquals(Sort.Direction.DESC, decoded.getDirection());
+        assertEquals(token, decoded.encode());
+    }
+
+    @Test
+    void encode_decode_keepsUndatedPosition() {
+        Trade last = new Trade();
+        last.setId(7L);
+
+        String token = TradeCursor.first(TradeCursor.Key.TRADE_DATE, Sort.Direction.ASC).after(last).encode();
+        TradeCursor decoded = TradeCursor.decode(token);
+
+        assertFalse(decoded.isFirst());
+        assertEquals(token, decoded.encode());
+    }
+
+    @Test
+    void decode_tamperedToken_throwsIAE() {
+        assertThrows(IllegalArgumentException.class, () -> TradeCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> TradeCursor.decode("%%%"));
+    }
+
+    @Test
+    void fromParam_unknownKey_throwsIAE() {
+        assertThrows(IllegalArgumentException.class, () -> TradeCursor.resolve(null, "counterparty", null));
+    }
+
+    @Test
+    void checkPageSize_outOfRange_throwsIAE() {
+        assertThrows(IllegalArgumentException.class, () -> TradeCursor.checkPageSize(0));
+        assertThrows(IllegalArgumentException.class, () -> TradeCursor.checkPageSize(TradeCursor.MAX_PAGE_SIZE + 1));
+        assertDoesNotThrow(() -> TradeCursor.checkPageSize(TradeCursor.MAX_PAGE_SIZE));
+    }
+}
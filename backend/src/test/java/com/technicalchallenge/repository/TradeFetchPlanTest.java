@@ -0,0 +1,156 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.mapper.TradeMapper;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.Currency;
+import com.technicalchallenge.model.LegType;
+import com.technicalchallenge.model.PayRec;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeLeg;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+public class TradeFetchPlanTest {
+
+    private static final int TRADES = 50;
+    private static final int PAGE_SIZE = 25;
+    private static final int CASHFLOWS_PER_LEG = 12;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    private final TradeMapper tradeMapper = new TradeMapper();
+    private Statistics statistics;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        book = new Book();
+        book.setBookName("FETCH-PLAN-BOOK");
+        book.setActive(true);
+        entityManager.persist(book);
+        Counterparty counterparty = new Counterparty();
+        counterparty.setName("Fetch Plan Bank");
+        entityManager.persist(counterparty);
+        Currency currency = new Currency();
+        currency.setCurrency("USD");
+        entityManager.persist(currency);
+        LegType fixed = new LegType();
+        fixed.setType("Fixed");
+        entityManager.persist(fixed);
+        PayRec pay = payRec("Pay");
+        PayRec receive = payRec("Receive");
+
+        for (int i = 0; i < TRADES; i++) {
+            Trade trade = new Trade();
+            trade.setTradeId(900_000L + i);
+            trade.setVersion(1);
+            trade.setBook(book);
+            trade.setCounterparty(counterparty);
+            trade.setTradeDate(LocalDate.of(2025, 1, 2));
+            trade.setTradeLegs(new ArrayList<>());
+            for (PayRec payRec : List.of(pay, receive)) {
+                TradeLeg leg = new TradeLeg();
+                leg.setTrade(trade);
+                leg.setNotional(BigDecimal.valueOf(1_000_000));
+                leg.setRate(3.5);
+                leg.setCurrency(currency);
+                leg.setLegRateType(fixed);
+                leg.setPayReceiveFlag(payRec);
+                leg.setCashflows(new ArrayList<>());
+                for (int m = 1; m <= CASHFLOWS_PER_LEG; m++) {
+                    Cashflow cashflow = new Cashflow();
+                    cashflow.setTradeLeg(leg);
+                    cashflow.setPaymentValue(BigDecimal.valueOf(2916.67));
+                    cashflow.setValueDate(LocalDate.of(2025, 1, 2).plusMonths(m));
+                    cashflow.setPayRec(payRec);
+                    cashflow.setPaymentType(fixed);
+                    leg.getCashflows().add(cashflow);
+                }
+                trade.getTradeLegs().add(leg);
+            }
+            entityManager.persist(trade);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testSummaryPageIsPageAndCountQueriesOnly() {
+        List<TradeDTO> page = mapFirstPage(TradeFetchPlan.SUMMARY);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(PAGE_SIZE, page.size());
+        assertEquals("FETCH-PLAN-BOOK", page.get(0).getBookName());
+        assertEquals("Fetch Plan Bank", page.get(0).getCounterpartyName());
+        assertNull(page.get(0).getTradeLegs());
+    }
+
+    @Test
+    void testLegsPageAddsOneStatement() {
+        List<TradeDTO> page = mapFirstPage(TradeFetchPlan.LEGS);
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(2, page.get(PAGE_SIZE - 1).getTradeLegs().size());
+        assertEquals("USD", page.get(PAGE_SIZE - 1).getTradeLegs().get(0).getCurrency());
+        assertNull(page.get(PAGE_SIZE - 1).getTradeLegs().get(0).getCashflows());
+    }
+
+    @Test
+    void testCashflowsPageAddsTwoStatements() {
+        List<TradeDTO> page = mapFirstPage(TradeFetchPlan.CASHFLOWS);
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+        int cashflows = page.stream()
+                .flatMap(trade -> trade.getTradeLegs().stream())
+                .mapToInt(leg -> leg.getCashflows().size())
+                .sum();
+        assertEquals(PAGE_SIZE * 2 * CASHFLOWS_PER_LEG, cashflows);
+        assertEquals("Receive", page.get(0).getTradeLegs().stream()
+                .filter(leg -> "Receive".equals(leg.getPayReceiveFlag()))
+                .findFirst().orElseThrow()
+                .getCashflows().get(0).getPayRec());
+    }
+
+    private PayRec payRec(String name) {
+        PayRec payRec = new PayRec();
+        payRec.setPayRec(name);
+        return entityManager.persist(payRec);
+    }
+
+    // Reads and maps the first page the way the blotter endpoints do, counting statements from the page query on
+    private List<TradeDTO> mapFirstPage(TradeFetchPlan plan) {
+        statistics.clear();
+        Page<Trade> page = tradeRepository.findAll(TradeSpecifications.bookIdEquals(book.getId()),
+                PageRequest.of(0, PAGE_SIZE, Sort.by("tradeId")));
+        tradeRepository.fetchAssociations(page.getContent(), plan);
+        return page.map(trade -> tradeMapper.toDto(trade, plan)).getContent();
+    }
+}
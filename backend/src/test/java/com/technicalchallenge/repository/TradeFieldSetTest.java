@@ -0,0 +1,101 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.CashflowGenerationStatus;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.Trade;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+public class TradeFieldSetTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    private Statistics statistics;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        book = new Book();
+        book.setBookName("FIELDS-BOOK");
+        book.setActive(true);
+        entityManager.persist(book);
+        Counterparty counterparty = new Counterparty();
+        counterparty.setName("Fields Bank");
+        entityManager.persist(counterparty);
+        ApplicationUser trader = new ApplicationUser();
+        trader.setFirstName("Simon");
+        trader.setLastName("King");
+        trader.setLoginId("fields-trader");
+        entityManager.persist(trader);
+
+        for (int i = 0; i < 30; i++) {
+            Trade trade = new Trade();
+            trade.setTradeId(800_000L + i);
+            trade.setVersion(1);
+            trade.setBook(book);
+            trade.setCounterparty(i % 2 == 0 ? counterparty : null);
+            trade.setTraderUser(trader);
+            trade.setTradeDate(LocalDate.of(2025, 3, 1).plusDays(i));
+            trade.setCashflowStatus(CashflowGenerationStatus.COMPLETE);
+            entityManager.persist(trade);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testRowsHoldOnlyRequestedFieldsInRequestOrder() {
+        TradeFieldSet fields = TradeFieldSet.parse("tradeId, counterpartyName,traderUserName,cashflowStatus,tradeId");
+        statistics.clear();
+
+        Page<Map<String, Object>> page = tradeRepository.findFields(TradeSpecifications.bookIdEquals(book.getId()),
+                fields, PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "tradeId")));
+
+        // Page query and count, no entity loads
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(30, page.getTotalElements());
+        Map<String, Object> row = page.getContent().get(0);
+        assertEquals(List.of("tradeId", "counterpartyName", "traderUserName", "cashflowStatus"), List.copyOf(row.keySet()));
+        assertEquals(800_019L, row.get("tradeId"));
+        assertNull(row.get("counterpartyName"));
+        assertEquals("Simon King", row.get("traderUserName"));
+        assertEquals("COMPLETE", row.get("cashflowStatus"));
+        assertEquals("Fields Bank", page.getContent().get(1).get("counterpartyName"));
+    }
+
+    @Test
+    void testBlankAndUnknownFields() {
+        assertNull(TradeFieldSet.parse(" "));
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> TradeFieldSet.parse("tradeId,tradeLegs"));
+        assertTrue(ex.getMessage().startsWith("Unknown field: tradeLegs"));
+        assertThrows(IllegalArgumentException.class, () -> TradeFieldSet.parse(",,"));
+    }
+}
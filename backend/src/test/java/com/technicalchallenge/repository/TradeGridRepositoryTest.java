@@ -0,0 +1,180 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.dto.ServerSideRowsRequest;
+import com.technicalchallenge.dto.ServerSideRowsResponse;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeLeg;
+import com.technicalchallenge.service.TradeGridService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Import(TradeGridRepository.class)
+public class TradeGridRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TradeGridRepository tradeGridRepository;
+
+    private TradeGridService tradeGridService;
+
+    @BeforeEach
+    void setUp() {
+        tradeGridService = new TradeGridService(tradeGridRepository);
+
+        Book rates = book("GRID-RATES");
+        Book credit = book("GRID-CREDIT");
+        Counterparty alpha = counterparty("Alpha Bank");
+        Counterparty beta = counterparty("Beta Bank");
+        // Each trade has legs of 1,000,000 and 500,000
+        trade(1, rates, alpha);
+        trade(2, rates, alpha);
+        trade(3, rates, beta);
+        trade(4, credit, beta);
+        trade(5, credit, beta);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testGroupRowsCarryCountsAndNotionals() {
+        ServerSideRowsResponse response = tradeGridService.getRows(request(0, 100, List.of("bookName"), List.of()));
+
+        assertEquals(2, response.getRowCount());
+        Map<String, Object> credit = response.getRowData().get(0);
+        assertEquals("GRID-CREDIT", credit.get("bookName"));
+        assertEquals(2L, credit.get(TradeGridRepository.CHILD_COUNT));
+        assertAmount("3000000", credit.get(TradeGridRepository.NOTIONAL));
+        Map<String, Object> rates = response.getRowData().get(1);
+        assertEquals("GRID-RATES", rates.get("bookName"));
+        assertEquals(3L, rates.get(TradeGridRepository.CHILD_COUNT));
+        assertAmount("4500000", rates.get(TradeGridRepository.NOTIONAL));
+    }
+
+    @Test
+    void testGroupKeysDrillDownToLeafRows() {
+        List<String> groupBy = List.of("bookName", "counterpartyName");
+
+        ServerSideRowsResponse counterparties = tradeGridService.getRows(request(0, 100, groupBy, List.of("GRID-RATES")));
+        assertEquals(List.of("Alpha Bank", "Beta Bank"),
+                counterparties.getRowData().stream().map(row -> row.get("counterpartyName")).toList());
+        assertEquals(2L, counterparties.getRowData().get(0).get(TradeGridRepository.CHILD_COUNT));
+
+        ServerSideRowsResponse leaves = tradeGridService.getRows(request(0, 100, groupBy, List.of("GRID-RATES", "Beta Bank")));
+        assertEquals(1, leaves.getRowCount());
+        assertEquals(800_003L, leaves.getRowData().get(0).get("tradeId"));
+        assertAmount("1500000", leaves.getRowData().get(0).get(TradeGridRepository.NOTIONAL));
+    }
+
+    @Test
+    void testFilterModelNarrowsRows() {
+        ServerSideRowsRequest request = request(0, 100, List.of(), List.of());
+        request.getFilterModel().put("counterpartyName", filter("filterType", "text", "type", "contains", "filter", "beta"));
+        request.getFilterModel().put("tradeDate", filter("filterType", "date", "type", "inRange",
+                "dateFrom", "2025-01-05 00:00:00", "dateTo", "2025-01-06 00:00:00"));
+        request.getFilterModel().put("bookName", filter("filterType", "set", "values", List.of("GRID-CREDIT")));
+
+        ServerSideRowsResponse response = tradeGridService.getRows(request);
+
+        assertEquals(List.of(800_004L, 800_005L), tradeIds(response));
+    }
+
+    @Test
+    void testBlocksReportRowCountOnlyOnceLastRowIsReached() {
+        ServerSideRowsRequest first = request(0, 2, List.of(), List.of());
+        first.getSortModel().add(new ServerSideRowsRequest.Sort("tradeDate", "desc"));
+        ServerSideRowsResponse firstBlock = tradeGridService.getRows(first);
+        assertEquals(-1, firstBlock.getRowCount());
+        assertEquals(List.of(800_005L, 800_004L), tradeIds(firstBlock));
+
+        ServerSideRowsRequest last = request(4, 6, List.of(), List.of());
+        last.getSortModel().add(new ServerSideRowsRequest.Sort("tradeDate", "desc"));
+        ServerSideRowsResponse lastBlock = tradeGridService.getRows(last);
+        assertEquals(5, lastBlock.getRowCount());
+        assertEquals(List.of(800_001L), tradeIds(lastBlock));
+    }
+
+    @Test
+    void testInvalidRequestsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> tradeGridService.getRows(request(0, TradeGridService.MAX_BLOCK_SIZE + 1, List.of(), List.of())));
+        assertThrows(IllegalArgumentException.class,
+                () -> tradeGridService.getRows(request(0, 100, List.of("notAField"), List.of())));
+        ServerSideRowsRequest badSort = request(0, 100, List.of(), List.of());
+        badSort.getSortModel().add(new ServerSideRowsRequest.Sort("notAField", "asc"));
+        assertThrows(IllegalArgumentException.class, () -> tradeGridService.getRows(badSort));
+    }
+
+    private Book book(String name) {
+        Book book = new Book();
+        book.setBookName(name);
+        book.setActive(true);
+        return entityManager.persist(book);
+    }
+
+    private Counterparty counterparty(String name) {
+        Counterparty counterparty = new Counterparty();
+        counterparty.setName(name);
+        return entityManager.persist(counterparty);
+    }
+
+    private void trade(int n, Book book, Counterparty counterparty) {
+        Trade trade = new Trade();
+        trade.setTradeId(800_000L + n);
+        trade.setVersion(1);
+        trade.setBook(book);
+        trade.setCounterparty(counterparty);
+        trade.setTradeDate(LocalDate.of(2025, 1, 1).plusDays(n));
+        trade.setTradeLegs(new ArrayList<>());
+        for (long notional : new long[] { 1_000_000, 500_000 }) {
+            TradeLeg leg = new TradeLeg();
+            leg.setTrade(trade);
+            leg.setNotional(BigDecimal.valueOf(notional));
+            trade.getTradeLegs().add(leg);
+        }
+        entityManager.persist(trade);
+    }
+
+    private static ServerSideRowsRequest request(int startRow, int endRow, List<String> groupBy, List<String> groupKeys) {
+        ServerSideRowsRequest request = new ServerSideRowsRequest();
+        request.setStartRow(startRow);
+        request.setEndRow(endRow);
+        request.setRowGroupCols(groupBy.stream()
+                .map(field -> new ServerSideRowsRequest.Column(field, field, field, null))
+                .toList());
+        request.setGroupKeys(groupKeys);
+        return request;
+    }
+
+    private static Map<String, Object> filter(Object... entries) {
+        Map<String, Object> filter = new LinkedHashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            filter.put((String) entries[i], entries[i + 1]);
+        }
+        return filter;
+    }
+
+    private static List<Object> tradeIds(ServerSideRowsResponse response) {
+        return response.getRowData().stream().map(row -> row.get("tradeId")).toList();
+    }
+
+    private static void assertAmount(String expected, Object actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo((BigDecimal) actual), () -> "was " + actual);
+    }
+}
@@ -0,0 +1,123 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.CashflowGenerationStatus;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.Schedule;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeLeg;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AmendmentPlanTest {
+
+    private Trade current;
+    private Trade proposed;
+
+    @BeforeEach
+    void setUp() {
+        current = trade(1000L, "Pay via CLS");
+        current.setTradeLegs(List.of(leg(10L, "1000000.00", 3.5, 1000L), leg(11L, "1000000", null, 1000L)));
+        proposed = trade(1000L, "Pay via CLS");
+    }
+
+    @Test
+    void testHeaderOnlyChangeCarriesEveryLegForward() {
+        proposed.setCounterparty(counterparty(1001L));
+        proposed.setSettlementInstructions("Pay via Euroclear");
+        List<TradeLeg> legs = List.of(leg(null, "1000000", 3.5, 1000L), leg(null, "1000000.0", null, 1000L));
+
+        AmendmentPlan plan = AmendmentPlan.diff(current, proposed, legs, null);
+
+        assertEquals(List.of("settlementInstructions", "counterparty"), plan.getChangedFields());
+        assertFalse(plan.isRegenerateAll());
+        assertEquals(2, plan.count(AmendmentPlan.LegChange.UNCHANGED));
+        assertTrue(plan.getLegs().stream().allMatch(plan::carriesForward));
+        assertEquals(10L, plan.getLegs().get(0).current().getLegId());
+    }
+
+    @Test
+    void testEconomicChangeOnlyRegeneratesThatLeg() {
+        List<TradeLeg> legs = List.of(leg(null, "1000000", 4.0, 1000L), leg(null, "1000000", null, 1001L));
+
+        AmendmentPlan plan = AmendmentPlan.diff(current, proposed, legs, null);
+
+        AmendmentPlan.LegPlan fixed = plan.getLegs().get(0);
+        AmendmentPlan.LegPlan floating = plan.getLegs().get(1);
+        assertEquals(AmendmentPlan.LegChange.CHANGED, fixed.change());
+        assertEquals(List.of("rate"), fixed.changedFields());
+        assertFalse(plan.carriesForward(fixed));
+        assertEquals(List.of("calculationPeriodSchedule"), floating.changedFields());
+        assertTrue(plan.getChangedFields().isEmpty());
+    }
+
+    @Test
+    void testLegsPairByRequestedIdThenPosition() {
+        // Legs sent in reverse order, the second one without an id, plus a new third leg
+        List<TradeLeg> legs = List.of(leg(null, "1000000", null, 1000L), leg(null, "1000000", 3.5, 1000L),
+                leg(null, "5000000", 1.0, 1000L));
+
+        AmendmentPlan plan = AmendmentPlan.diff(current, proposed, legs, Arrays.asList(11L, null, null));
+
+        assertEquals(11L, plan.getLegs().get(0).current().getLegId());
+        assertEquals(AmendmentPlan.LegChange.UNCHANGED, plan.getLegs().get(0).change());
+        // Position 1 belongs to leg 11, which was claimed explicitly, so the first free leg is used
+        assertEquals(10L, plan.getLegs().get(1).current().getLegId());
+        assertEquals(AmendmentPlan.LegChange.UNCHANGED, plan.getLegs().get(1).change());
+        assertEquals(AmendmentPlan.LegChange.ADDED, plan.getLegs().get(2).change());
+        assertEquals(3, plan.getLegs().size());
+
+        AmendmentPlan dropped = AmendmentPlan.diff(current, proposed, List.of(leg(null, "1000000", null, 1000L)),
+                List.of(11L));
+        assertEquals(AmendmentPlan.LegChange.REMOVED, dropped.getLegs().get(1).change());
+        assertEquals(10L, dropped.getLegs().get(1).current().getLegId());
+    }
+
+    @Test
+    void testMovedDatesOrPendingCashflowsRegenerateEverything() {
+        List<TradeLeg> legs = List.of(leg(null, "1000000", 3.5, 1000L), leg(null, "1000000", null, 1000L));
+        proposed.setTradeMaturityDate(current.getTradeMaturityDate().plusYears(1));
+
+        AmendmentPlan moved = AmendmentPlan.diff(current, proposed, legs, null);
+        assertTrue(moved.isRegenerateAll());
+        assertEquals(2, moved.count(AmendmentPlan.LegChange.UNCHANGED));
+        assertFalse(moved.getLegs().stream().anyMatch(moved::carriesForward));
+
+        proposed.setTradeMaturityDate(current.getTradeMaturityDate());
+        current.setCashflowStatus(CashflowGenerationStatus.PENDING);
+        assertTrue(AmendmentPlan.diff(current, proposed, legs, null).isRegenerateAll());
+    }
+
+    private static Trade trade(Long counterpartyId, String instructions) {
+        Trade trade = new Trade();
+        trade.setTradeDate(LocalDate.of(2025, 1, 15));
+        trade.setTradeStartDate(LocalDate.of(2025, 1, 17));
+        trade.setTradeMaturityDate(LocalDate.of(2030, 1, 17));
+        trade.setCounterparty(counterparty(counterpartyId));
+        trade.setSettlementInstructions(instructions);
+        return trade;
+    }
+
+    private static Counterparty counterparty(Long id) {
+        Counterparty counterparty = new Counterparty();
+        counterparty.setId(id);
+        return counterparty;
+    }
+
+    private static TradeLeg leg(Long legId, String notional, Double rate, Long scheduleId) {
+        TradeLeg leg = new TradeLeg();
+        leg.setLegId(legId);
+        leg.setNotional(new BigDecimal(notional));
+        leg.setRate(rate);
+        Schedule schedule = new Schedule();
+        schedule.setId(scheduleId);
+        leg.setCalculationPeriodSchedule(schedule);
+        return leg;
+    }
+}
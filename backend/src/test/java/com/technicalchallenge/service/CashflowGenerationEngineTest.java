@@ -0,0 +1,107 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.repository.HolidayCalendarDateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class CashflowGenerationEngineTest {
+
+    private CashflowGenerationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new CashflowGenerationEngine(new HolidayCalendarStore(mock(HolidayCalendarDateRepository.class)),
+                "30/360");
+    }
+
+    @Test
+    void testDayCountConventions() {
+        long jan31 = LocalDate.of(2025, 1, 31).toEpochDay();
+        long feb28 = LocalDate.of(2025, 2, 28).toEpochDay();
+        long jan30 = LocalDate.of(2025, 1, 30).toEpochDay();
+        long mar31 = LocalDate.of(2025, 3, 31).toEpochDay();
+
+        assertEquals(28, DayCountConvention.ACT_360.dayCount(jan31, feb28));
+        assertEquals(28, DayCountConvention.ACT_365F.dayCount(jan31, feb28));
+        assertEquals(28, DayCountConvention.THIRTY_360.dayCount(jan31, feb28));
+        // 31st only rolls back to the 30th when the period started on the 30th or 31st
+        assertEquals(60, DayCountConvention.THIRTY_360.dayCount(jan30, mar31));
+        assertEquals(33, DayCountConvention.THIRTY_360.dayCount(feb28, mar31));
+
+        assertEquals(DayCountConvention.ACT_365F, DayCountConvention.fromName("Actual/365 Fixed"));
+        assertEquals(DayCountConvention.ACT_360, DayCountConvention.fromName("act_360"));
+        assertEquals(DayCountConvention.THIRTY_360, DayCountConvention.fromName("30/360"));
+        assertThrows(IllegalArgumentException.class, () -> DayCountConvention.fromName("BUS/252"));
+    }
+
+    @Test
+    void testFixedLegOnThirty360PaysEqualQuarters() {
+        CashflowGenerationEngine.GeneratedCashflows generated = engine.generate(new CashflowGenerationEngine.LegTerms(
+                LocalDate.of(2025, 1, 17), LocalDate.of(2026, 1, 17), "Quarterly", true,
+                BigDecimal.valueOf(10_000_000), 5.0, null, "Following", null));
+
+        assertEquals(DayCountConvention.THIRTY_360, generated.dayCount());
+        assertEquals(4, generated.size());
+        for (int i = 0; i < generated.size(); i++) {
+            assertEquals(new BigDecimal("125000.00"), generated.amount(i));
+        }
+        // Saturday 17 January 2026 pays on the Monday
+        assertEquals(LocalDate.of(2026, 1, 19), generated.paymentDate(3));
+    }
+
+    @Test
+    void testFixedLegOnAct360AccruesActualDays() {
+        CashflowGenerationEngine.GeneratedCashflows generated = engine.generate(new CashflowGenerationEngine.LegTerms(
+                LocalDate.of(2025, 1, 15), LocalDate.of(2025, 4, 15), "Monthly", true,
+                BigDecimal.valueOf(1_000_000), 3.5, null, null, "ACT/360"));
+
+        assertEquals(3, generated.size());
+        assertEquals(new BigDecimal("3013.89"), generated.amount(0)); // 31 days
+        assertEquals(new BigDecimal("2722.22"), generated.amount(1)); // 28 days
+        assertEquals(new BigDecimal("3013.89"), generated.amount(2)); // 31 days
+        assertEquals(LocalDate.of(2025, 2, 15), generated.paymentDate(0));
+    }
+
+    @Test
+    void testFloatingLegAndStubAreNotAccrued() {
+        CashflowGenerationEngine.GeneratedCashflows generated = engine.generate(new CashflowGenerationEngine.LegTerms(
+                LocalDate.of(2025, 1, 15), LocalDate.of(2025, 12, 1), "Quarterly", false,
+                BigDecimal.valueOf(1_000_000), null, null, null, null));
+
+        // Only full periods are generated; the stub after 15 October is dropped
+        assertEquals(3, generated.size());
+        assertEquals(BigDecimal.ZERO.setScale(2), generated.amount(0));
+    }
+
+    @Test
+    void testRejectsUnknownScheduleAndDayCount() {
+        assertThrows(IllegalArgumentException.class, () -> engine.generate(new CashflowGenerationEngine.LegTerms(
+                LocalDate.of(2025, 1, 15), LocalDate.of(2026, 1, 15), "Fortnightly", true,
+                BigDecimal.ONE, 1.0, null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> engine.generate(new CashflowGenerationEngine.LegTerms(
+                LocalDate.of(2025, 1, 15), LocalDate.of(2026, 1, 15), "Monthly", true,
+                BigDecimal.ONE, 1.0, null, null, "ACT/ACT")));
+        assertEquals(6, ScheduleEngine.parseSchedule("6m"));
+        assertEquals(3, ScheduleEngine.parseSchedule(null));
+    }
+
+    @Test
+    void testCentRoundingIsHalfEvenWithOverflowFallback() {
+        // 0.005 per day: one day is half a cent (rounds to even 0), three days are 1.5 cents (rounds to 2)
+        assertEquals(0, CashflowGenerationEngine.toCents(500_000L, 1));
+        assertEquals(2, CashflowGenerationEngine.toCents(500_000L, 3));
+        assertEquals(2, CashflowGenerationEngine.toCents(2_500_000L, 1));
+
+        long perDay = Long.MAX_VALUE / 3;
+        long expected = BigDecimal.valueOf(perDay).multiply(BigDecimal.valueOf(7))
+                .movePointLeft(6).setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+        assertEquals(expected, CashflowGenerationEngine.toCents(perDay, 7));
+    }
+}
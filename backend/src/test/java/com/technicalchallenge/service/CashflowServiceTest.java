@@ -1,10 +1,13 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.dto.CashflowDTO;
+import com.technicalchallenge.dto.CashflowGenerationRequest;
 import com.technicalchallenge.model.Cashflow;
 import com.technicalchallenge.model.PayRec;
 import com.technicalchallenge.model.TradeLeg;
 import com.technicalchallenge.repository.CashflowRepository;
 import com.technicalchallenge.repository.BusinessDayConventionRepository;
+import com.technicalchallenge.repository.HolidayCalendarDateRepository;
 import com.technicalchallenge.repository.LegTypeRepository;
 import com.technicalchallenge.repository.PayRecRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -38,6 +42,10 @@ public class CashflowServiceTest {
     @Mock
     private BusinessDayConventionRepository businessDayConventionRepository;
 
+    @Spy
+    private CashflowGenerationEngine cashflowGenerationEngine = new CashflowGenerationEngine(
+            new HolidayCalendarStore(mock(HolidayCalendarDateRepository.class)), "30/360");
+
     @InjectMocks
     private CashflowService cashflowService;
 
@@ -189,4 +197,38 @@ public class CashflowServiceTest {
         // Then
         verify(cashflowRepository).deleteById(cashflowId);
     }
+
+    @Test
+    void testPreviewCashflowsMatchesBookedSchedule() {
+        // Given
+        CashflowGenerationRequest.TradeLegDTO fixedLeg = new CashflowGenerationRequest.TradeLegDTO();
+        fixedLeg.setLegType("Fixed");
+        fixedLeg.setNotional(BigDecimal.valueOf(10_000_000));
+        fixedLeg.setRate(5.0);
+        fixedLeg.setCalculationPeriodSchedule("Quarterly");
+        fixedLeg.setPaymentBusinessDayConvention("Following");
+        fixedLeg.setPayReceiveFlag("Pay");
+
+        CashflowGenerationRequest.TradeLegDTO floatingLeg = new CashflowGenerationRequest.TradeLegDTO();
+        floatingLeg.setLegType("Floating");
+        floatingLeg.setNotional(BigDecimal.valueOf(10_000_000));
+        floatingLeg.setCalculationPeriodSchedule("Monthly");
+        floatingLeg.setPayReceiveFlag("Rec");
+
+        CashflowGenerationRequest request = new CashflowGenerationRequest();
+        request.setTradeStartDate(LocalDate.of(2025, 1, 17));
+        request.setTradeMaturityDate(LocalDate.of(2026, 1, 17));
+        request.setLegs(Arrays.asList(fixedLeg, floatingLeg));
+
+        // When
+        List<CashflowDTO> preview = cashflowService.previewCashflows(request);
+
+        // Then
+        assertEquals(16, preview.size());
+        assertEquals(new BigDecimal("125000.00"), preview.get(0).getPaymentValue());
+        assertEquals(LocalDate.of(2026, 1, 19), preview.get(3).getValueDate());
+        assertEquals("Pay", preview.get(3).getPayRec());
+        assertEquals(BigDecimal.ZERO.setScale(2), preview.get(4).getPaymentValue());
+        verifyNoInteractions(cashflowRepository);
+    }
 }
@@ -1,5 +1,6 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
 import com.technicalchallenge.model.Counterparty;
 import com.technicalchallenge.repository.CounterpartyRepository;
 import org.junit.jupiter.api.Test;
@@ -7,6 +8,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
 import java.util.Optional;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -15,6 +18,8 @@ import static org.junit.jupiter.api.Assertions.*;
 public class CounterpartyServiceTest {
     @Mock
     private CounterpartyRepository counterpartyRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private CounterpartyService counterpartyService;
 
@@ -27,5 +32,19 @@ public class CounterpartyServiceTest {
         assertTrue(found.isPresent());
         assertEquals(1L, found.get().getId());
     }
-    // Add more tests for save, update, delete
+
+    @Test
+    void testSaveCounterpartyPublishesChange() {
+        Counterparty counterparty = new Counterparty();
+        counterparty.setId(2L);
+        when(counterpartyRepository.save(counterparty)).thenReturn(counterparty);
+
+        counterpartyService.saveCounterparty(counterparty);
+
+        ArgumentCaptor<ReferenceDataChangedEvent> captor = ArgumentCaptor.forClass(ReferenceDataChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(Counterparty.class, captor.getValue().getType());
+        assertEquals(2L, captor.getValue().getId());
+    }
+    // Add more tests for update, delete
 }
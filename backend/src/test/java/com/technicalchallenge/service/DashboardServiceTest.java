@@ -1,12 +1,22 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.dto.CursorPage;
 import com.technicalchallenge.dto.DailySummaryDTO;
 import com.technicalchallenge.dto.TradeSummaryDTO;
 import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.Currency;
 import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeStatus;
+import com.technicalchallenge.model.TradeType;
 import com.technicalchallenge.repository.ApplicationUserRepository;
 import com.technicalchallenge.repository.DashboardRepository;
+import com.technicalchallenge.repository.TradeAggregateRepository;
+import com.technicalchallenge.repository.TradeAggregateRow;
+import com.technicalchallenge.repository.TradeCursor;
 import com.technicalchallenge.repository.TradeRepository;
+import com.technicalchallenge.repository.TradeSummaryRow;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,6 +32,9 @@ import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +46,12 @@ public class DashboardServiceTest {
     private TradeRepository tradeRepository;
     @Mock
     private ApplicationUserRepository applicationUserRepository;
+    @Mock
+    private TradeAggregateRepository tradeAggregateRepository;
+    @Mock
+    private TradeAggregateService tradeAggregateService;
+    @Mock
+    private ReferenceDataRegistry referenceDataRegistry;
 
     @InjectMocks
     private DashboardService service;
@@ -62,53 +81,40 @@ public class DashboardServiceTest {
 
         Long traderId = 7L;
 
-        List<Object[]> byStatus = new ArrayList<>();
-        byStatus.add(new Object[] { "NEW", 10L });
-        byStatus.add(new Object[] { "LIVE", 7L });
-
-        List<Object[]> notionalByCcy = new ArrayList<>();
-        notionalByCcy.add(new Object[] { "USD", new BigDecimal("1000000") });
-        notionalByCcy.add(new Object[] { "EUR", new BigDecimal("500000") });
-
-        List<Object[]> byType = new ArrayList<>();
-        byType.add(new Object[] { "IRS", 8L });
-        byType.add(new Object[] { "CDS", 9L });
-
-        List<Object[]> byCpCount = new ArrayList<>();
-        byCpCount.add(new Object[] { "ABC", 9L });
-        byCpCount.add(new Object[] { "XYZ", 8L });
-
-        List<Object[]> byCpNotional = new ArrayList<>();
-        byCpNotional.add(new Object[] { "ABC", new BigDecimal("900000") });
-        byCpNotional.add(new Object[] { "XYZ", new BigDecimal("600000") });
-
-        List<Object[]> topBooks = new ArrayList<>();
-        topBooks.add(new Object[] { "Rates", new BigDecimal("1500000") });
-
-        when(dashboardRepository.countByStatusForTrader(traderId, from, to)).thenReturn(byStatus);
-        when(dashboardRepository.sumNotionalByCurrencyForTrader(traderId, from, to)).thenReturn(notionalByCcy);
-        when(dashboardRepository.countByTypeForTrader(traderId, from, to)).thenReturn(byType);
-        when(dashboardRepository.countByCounterpartyForTrader(traderId, from, to)).thenReturn(byCpCount);
-        when(dashboardRepository.sumNotionalByCounterpartyForTrader(traderId, from, to)).thenReturn(byCpNotional);
-        when(dashboardRepository.topBooksByNotionalForTrader(traderId, from, to)).thenReturn(topBooks);
-        when(dashboardRepository.totalAndMostRecentForTrader(traderId, from, to))
-                .thenReturn(new Object[] { 17L, LocalDate.of(2025, 10, 1) });
+        // Rows arrive ordered by trade; trade 1 has two legs, trade 3 none
+        List<TradeSummaryRow> rows = List.of(
+                new TradeSummaryRow(1L, "NEW", "IRS", "ABC", "Rates", LocalDate.of(2025, 3, 1),
+                        10L, "USD", new BigDecimal("600000")),
+                new TradeSummaryRow(1L, "NEW", "IRS", "ABC", "Rates", LocalDate.of(2025, 3, 1),
+                        11L, "EUR", new BigDecimal("500000")),
+                new TradeSummaryRow(2L, "LIVE", "CDS", "XYZ", "Rates", LocalDate.of(2025, 10, 1),
+                        12L, "USD", new BigDecimal("400000")),
+                new TradeSummaryRow(3L, "NEW", "IRS", "ABC", "Credit", LocalDate.of(2025, 5, 1),
+                        null, null, null),
+                new TradeSummaryRow(4L, null, null, "XYZ", "Credit", LocalDate.of(2025, 6, 1),
+                        13L, null, new BigDecimal("200000")));
+
+        when(dashboardRepository.streamSummaryRowsForTrader(traderId, from, to)).thenReturn(rows.stream());
 
         TradeSummaryDTO dto = service.buildTraderSummary(performedBy, from, to);
 
         assertThat(dto.getTrader()).isEqualTo("traderA");
         assertThat(dto.getFromDate()).isEqualTo(from);
         assertThat(dto.getToDate()).isEqualTo(to);
-        assertThat(dto.getTotalTrades()).isEqualTo(17L);
+        assertThat(dto.getTotalTrades()).isEqualTo(4L);
         assertThat(dto.getMostRecentTradeDate()).isEqualTo(LocalDate.of(2025, 10, 1));
-        assertThat(dto.getTradesByStatus()).containsEntry("NEW", 10L).containsEntry("LIVE", 7L);
+        assertThat(dto.getTradesByStatus()).containsOnly(Map.entry("NEW", 2L), Map.entry("LIVE", 1L));
         assertThat(dto.getNotionalByCurrency()).containsEntry("USD", new BigDecimal("1000000"))
-                .containsEntry("EUR", new BigDecimal("500000"));
-        assertThat(dto.getTradesByType()).containsEntry("IRS", 8L).containsEntry("CDS", 9L);
-        assertThat(dto.getTradesByCounterparty()).containsEntry("ABC", 9L).containsEntry("XYZ", 8L);
-        assertThat(dto.getNotionalByCounterparty()).containsEntry("ABC", new BigDecimal("900000"))
+                .containsEntry("EUR", new BigDecimal("500000"))
+                .containsEntry("UNKNOWN", new BigDecimal("200000"));
+        assertThat(dto.getTradesByType()).containsEntry("IRS", 2L).containsEntry("CDS", 1L)
+                .containsEntry("UNKNOWN", 1L);
+        assertThat(dto.getTradesByCounterparty()).containsEntry("ABC", 2L).containsEntry("XYZ", 2L);
+        assertThat(dto.getNotionalByCounterparty()).containsEntry("ABC", new BigDecimal("1100000"))
                 .containsEntry("XYZ", new BigDecimal("600000"));
-        assertThat(dto.getNotionalByBookTop()).containsEntry("Rates", new BigDecimal("1500000"));
+        assertThat(dto.getNotionalByBookTop()).containsExactly(
+                Map.entry("Rates", new BigDecimal("1500000")),
+                Map.entry("Credit", new BigDecimal("200000")));
     }
 
     @Test
@@ -173,6 +179,80 @@ public class DashboardServiceTest {
                 .containsEntry("EUR", new BigDecimal("300000"));
     }
 
+    @Test
+    void buildTraderSummary_readsAggregates_whenReady() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 12, 31);
+        when(applicationUserRepository.findByLoginId("tradera")).thenReturn(Optional.of(user7));
+        when(tradeAggregateService.isReady()).thenReturn(true);
+        stubReferenceNames();
+
+        // Trade-count group (currency 0) plus one leg group per currency
+        when(tradeAggregateRepository.summarizeForTrader(7L, from, to)).thenReturn(List.of(
+                new TradeAggregateRow(LocalDate.of(2025, 3, 1), 1L, 2L, 3L, 4L, 0L, 2L, 0L, BigDecimal.ZERO),
+                new TradeAggregateRow(LocalDate.of(2025, 3, 1), 1L, 2L, 3L, 4L, 5L, 0L, 3L, new BigDecimal("1500000")),
+                new TradeAggregateRow(LocalDate.of(2025, 6, 1), 1L, 2L, 0L, 0L, 0L, 1L, 1L, new BigDecimal("250000")),
+                new TradeAggregateRow(null, 1L, 2L, 3L, 4L, 5L, 0L, 0L, BigDecimal.ZERO)));
+
+        TradeSummaryDTO dto = service.buildTraderSummary("traderA", from, to);
+
+        assertThat(dto.getTotalTrades()).isEqualTo(3L);
+        assertThat(dto.getMostRecentTradeDate()).isEqualTo(LocalDate.of(2025, 6, 1));
+        assertThat(dto.getTradesByStatus()).containsOnly(Map.entry("LIVE", 2L));
+        assertThat(dto.getTradesByType()).containsEntry("IRS", 2L).containsEntry("UNKNOWN", 1L);
+        assertThat(dto.getTradesByCounterparty()).containsOnly(Map.entry("ABC", 3L));
+        assertThat(dto.getNotionalByCurrency()).containsOnly(
+                Map.entry("USD", new BigDecimal("1500000")),
+                Map.entry("UNKNOWN", new BigDecimal("250000")));
+        assertThat(dto.getNotionalByBookTop()).containsOnly(Map.entry("Rates", new BigDecimal("1750000")));
+        verify(dashboardRepository, never()).streamSummaryRowsForTrader(any(), any(), any());
+    }
+
+    @Test
+    void buildDailySummary_readsAggregates_whenReady() {
+        LocalDate asOf = LocalDate.of(2025, 10, 1);
+        LocalDate prev = asOf.minusDays(1);
+        when(applicationUserRepository.findByLoginId("tradera")).thenReturn(Optional.of(user7));
+        when(tradeAggregateService.isReady()).thenReturn(true);
+        stubReferenceNames();
+
+        when(tradeAggregateRepository.summarizeForTraderByDay(7L, prev, asOf)).thenReturn(List.of(
+                new TradeAggregateRow(asOf, 1L, 2L, 3L, 4L, 0L, 4L, 0L, BigDecimal.ZERO),
+                new TradeAggregateRow(asOf, 1L, 2L, 3L, 4L, 5L, 0L, 8L, new BigDecimal("400000")),
+                new TradeAggregateRow(prev, 1L, 2L, 3L, 4L, 0L, 2L, 0L, BigDecimal.ZERO),
+                new TradeAggregateRow(prev, 1L, 2L, 3L, 4L, 5L, 0L, 4L, new BigDecimal("200000"))));
+
+        DailySummaryDTO dto = service.buildDailySummary("traderA", asOf);
+
+        assertThat(dto.getTodayTradeCount()).isEqualTo(4L);
+        assertThat(dto.getTodayTotalNotional()).isEqualByComparingTo("400000");
+        assertThat(dto.getTodayTradesByBook()).containsOnly(Map.entry("Rates", 4L));
+        assertThat(dto.getTodayNotionalByCurrency()).containsOnly(Map.entry("USD", new BigDecimal("400000")));
+        assertThat(dto.getPrevDayTradeCount()).isEqualTo(2L);
+        assertThat(dto.getTradeCountDelta()).isEqualTo(2L);
+        assertThat(dto.getNotionalDeltaPercentage()).isEqualTo(100.0);
+        verify(dashboardRepository, never()).countTradesForTraderOn(any(), any());
+    }
+
+    private void stubReferenceNames() {
+        Book book = new Book();
+        book.setBookName("Rates");
+        Counterparty counterparty = new Counterparty();
+        counterparty.setName("ABC");
+        TradeStatus status = new TradeStatus();
+        status.setTradeStatus("LIVE");
+        TradeType type = new TradeType();
+        type.setTradeType("IRS");
+        Currency currency = new Currency();
+        currency.setCurrency("USD");
+
+        lenient().when(referenceDataRegistry.findById(Book.class, 1L)).thenReturn(Optional.of(book));
+        lenient().when(referenceDataRegistry.findById(Counterparty.class, 2L)).thenReturn(Optional.of(counterparty));
+        lenient().when(referenceDataRegistry.findById(TradeStatus.class, 3L)).thenReturn(Optional.of(status));
+        lenient().when(referenceDataRegistry.findById(TradeType.class, 4L)).thenReturn(Optional.of(type));
+        lenient().when(referenceDataRegistry.findById(Currency.class, 5L)).thenReturn(Optional.of(currency));
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     void getMyTrades_resolvesLoginId_andReturnsPage() {
@@ -217,4 +297,37 @@ public class DashboardServiceTest {
         assertThat(result.getContent().get(0).getTradeId()).isEqualTo(2001L);
         assertThat(result.getContent().get(1).getTradeId()).isEqualTo(2002L);
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getMyTradesByCursor_seeksWithoutCount() {
+        when(applicationUserRepository.findByLoginId("tradera"))
+                .thenReturn(Optional.of(user7));
+
+        Trade t1 = new Trade();
+        t1.setTradeId(1001L);
+        TradeCursor cursor = TradeCursor.first(TradeCursor.Key.ID, Sort.Direction.DESC);
+        CursorPage<Trade> page = new CursorPage<>(List.of(t1), 1, true, "next", null);
+
+        when(tradeRepository.findPageAfter(any(Specification.class), eq(cursor), eq(1), eq(false)))
+                .thenReturn(page);
+
+        CursorPage<Trade> result = service.getMyTradesByCursor("traderA", cursor, 1, false);
+
+        assertThat(result.getContent()).containsExactly(t1);
+        assertThat(result.getNextCursor()).isEqualTo("next");
+        assertThat(result.getTotalElements()).isNull();
+    }
+
+    @Test
+    void getMyTradesByCursor_unknownUser_returnsEmptyPage() {
+        when(applicationUserRepository.findByLoginId("nobody")).thenReturn(Optional.empty());
+
+        CursorPage<Trade> result = service.getMyTradesByCursor("nobody",
+                TradeCursor.first(TradeCursor.Key.TRADE_DATE, Sort.Direction.DESC), 20, true);
+
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getTotalElements()).isZero();
+    }
 }
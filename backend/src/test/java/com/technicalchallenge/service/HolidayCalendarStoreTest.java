@@ -0,0 +1,70 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
+import com.technicalchallenge.model.Currency;
+import com.technicalchallenge.model.HolidayCalendar;
+import com.technicalchallenge.repository.HolidayCalendarDateRepository;
+import com.technicalchallenge.repository.HolidayDateRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HolidayCalendarStoreTest {
+
+    // A Monday
+    private static final LocalDate HOLIDAY = LocalDate.of(2025, 5, 26);
+
+    @Mock
+    private HolidayCalendarDateRepository holidayCalendarDateRepository;
+
+    private HolidayCalendarStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new HolidayCalendarStore(holidayCalendarDateRepository);
+    }
+
+    @Test
+    void testCalendarIsLoadedOnceAndLooksUpIgnoringCase() {
+        when(holidayCalendarDateRepository.findAllHolidayDates()).thenReturn(List.of(new HolidayDateRow("NYSE", HOLIDAY)));
+
+        assertFalse(store.calendar("nyse").isBusinessDay(HOLIDAY));
+        assertTrue(store.calendar("LSE").isBusinessDay(HOLIDAY));
+        verify(holidayCalendarDateRepository, times(1)).findAllHolidayDates();
+    }
+
+    @Test
+    void testCalendarChangeReloadsOnNextUse() {
+        when(holidayCalendarDateRepository.findAllHolidayDates())
+                .thenReturn(List.of(new HolidayDateRow("NYSE", HOLIDAY)))
+                .thenReturn(List.of(new HolidayDateRow("NYSE-US", HOLIDAY)));
+        assertFalse(store.calendar("NYSE").isBusinessDay(HOLIDAY));
+
+        // Renamed through the calendar CRUD API
+        store.onReferenceDataChanged(new ReferenceDataChangedEvent(HolidayCalendar.class, 1L));
+
+        assertFalse(store.calendar("NYSE-US").isBusinessDay(HOLIDAY));
+        assertSame(BusinessCalendar.WEEKENDS_ONLY, store.calendar("NYSE"));
+        verify(holidayCalendarDateRepository, times(2)).findAllHolidayDates();
+    }
+
+    @Test
+    void testOtherReferenceDataChangesKeepCalendars() {
+        when(holidayCalendarDateRepository.findAllHolidayDates()).thenReturn(List.of(new HolidayDateRow("NYSE", HOLIDAY)));
+        store.calendar("NYSE");
+
+        store.onReferenceDataChanged(new ReferenceDataChangedEvent(Currency.class, 1L));
+        store.calendar("NYSE");
+
+        verify(holidayCalendarDateRepository, times(1)).findAllHolidayDates();
+    }
+}
@@ -0,0 +1,97 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.UserPrivilege;
+import com.technicalchallenge.model.UserProfile;
+import com.technicalchallenge.repository.ApplicationUserRepository;
+import com.technicalchallenge.repository.UserPrivilegeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PrivilegeResolverTest {
+
+    @Mock
+    private ApplicationUserRepository applicationUserRepository;
+    @Mock
+    private UserPrivilegeRepository userPrivilegeRepository;
+
+    private PrivilegeResolver resolver;
+    private ApplicationUser support;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new PrivilegeResolver(applicationUserRepository, userPrivilegeRepository, 300);
+        support = new ApplicationUser();
+        support.setId(1001L);
+        support.setLoginId("ashley");
+        support.setActive(true);
+        UserProfile profile = new UserProfile();
+        profile.setUserType("SUPPORT");
+        support.setUserProfile(profile);
+    }
+
+    @Test
+    void testExplicitPrivilegesAddToRoleOperations() {
+        when(applicationUserRepository.findByLoginId("ashley")).thenReturn(Optional.of(support));
+        when(userPrivilegeRepository.findPrivilegeNamesByUserId(1001L)).thenReturn(List.of("amend_trade", "READ_USER"));
+
+        PrivilegeResolver.UserPermissions permissions = resolver.resolve("Ashley").orElseThrow();
+
+        assertEquals(EnumSet.of(TradeOperation.AMEND, TradeOperation.TERMINATE, TradeOperation.CANCEL,
+                TradeOperation.VIEW), permissions.operations());
+        assertFalse(resolver.isPermitted("ashley", TradeValidationService.OPERATION_CREATE));
+        assertTrue(resolver.isPermitted("ashley", "cancel"));
+        assertFalse(resolver.isPermitted("ashley", "PURGE"));
+        assertThrows(UnsupportedOperationException.class, () -> permissions.operations().add(TradeOperation.CREATE));
+    }
+
+    @Test
+    void testChecksAreServedFromCacheUntilUserChanges() {
+        when(applicationUserRepository.findByLoginId("ashley")).thenReturn(Optional.of(support));
+        when(userPrivilegeRepository.findPrivilegeNamesByUserId(1001L)).thenReturn(List.of());
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(resolver.isPermitted("ashley", TradeValidationService.OPERATION_VIEW));
+        }
+        verify(applicationUserRepository, times(1)).findByLoginId("ashley");
+        verify(userPrivilegeRepository, times(1)).findPrivilegeNamesByUserId(1001L);
+
+        // Granting BOOK_TRADE through the user privilege endpoints is visible on the next check
+        when(userPrivilegeRepository.findPrivilegeNamesByUserId(1001L)).thenReturn(List.of("BOOK_TRADE"));
+        resolver.onReferenceDataChanged(new ReferenceDataChangedEvent(UserPrivilege.class, 1001L));
+        assertTrue(resolver.isPermitted("ashley", TradeValidationService.OPERATION_CREATE));
+
+        // Deactivating the user drops every permission
+        support.setActive(false);
+        resolver.onReferenceDataChanged(new ReferenceDataChangedEvent(ApplicationUser.class, 1001L));
+        assertFalse(resolver.isPermitted("ashley", TradeValidationService.OPERATION_VIEW));
+        verify(applicationUserRepository, times(3)).findByLoginId("ashley");
+    }
+
+    @Test
+    void testExpiredEntriesAndUnknownUsersAreReloaded() {
+        PrivilegeResolver noTtl = new PrivilegeResolver(applicationUserRepository, userPrivilegeRepository, 0);
+        when(applicationUserRepository.findById(1001L)).thenReturn(Optional.of(support));
+        when(applicationUserRepository.findByLoginId("nobody")).thenReturn(Optional.empty());
+
+        assertTrue(noTtl.isPermitted("1001", TradeValidationService.OPERATION_VIEW));
+        assertTrue(noTtl.isPermitted("1001", TradeValidationService.OPERATION_VIEW));
+        assertFalse(noTtl.isPermitted("nobody", TradeValidationService.OPERATION_VIEW));
+        assertFalse(noTtl.isPermitted("nobody", TradeValidationService.OPERATION_VIEW));
+
+        verify(applicationUserRepository, times(2)).findById(1001L);
+        verify(applicationUserRepository, times(2)).findByLoginId("nobody");
+    }
+}
@@ -0,0 +1,67 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.Currency;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReferenceDataCacheEvictorTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private SessionFactoryImplementor sessionFactory;
+    @Mock
+    private MappingMetamodelImplementor mappingMetamodel;
+    @Mock
+    private CacheImplementor cache;
+
+    private ReferenceDataCacheEvictor evictor;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getMappingMetamodel()).thenReturn(mappingMetamodel);
+        evictor = new ReferenceDataCacheEvictor(entityManagerFactory);
+    }
+
+    @Test
+    void testEvictsChangedRowAndCachedLookups() {
+        stubPersister(Currency.class, true);
+        when(sessionFactory.getCache()).thenReturn(cache);
+
+        evictor.onReferenceDataChanged(new ReferenceDataChangedEvent(Currency.class, 1000L));
+        evictor.onReferenceDataChanged(new ReferenceDataChangedEvent(Currency.class, null));
+
+        verify(cache).evictEntityData(Currency.class, 1000L);
+        verify(cache).evictEntityData(Currency.class);
+        verify(cache, times(2)).evictDefaultQueryRegion();
+    }
+
+    @Test
+    void testIgnoresEntitiesThatAreNotCached() {
+        stubPersister(Book.class, false);
+
+        evictor.onReferenceDataChanged(new ReferenceDataChangedEvent(Book.class, 1000L));
+
+        verify(sessionFactory, never()).getCache();
+    }
+
+    private void stubPersister(Class<?> type, boolean cached) {
+        EntityPersister persister = mock(EntityPersister.class);
+        when(persister.canWriteToCache()).thenReturn(cached);
+        when(mappingMetamodel.getEntityDescriptor(type)).thenReturn(persister);
+    }
+}
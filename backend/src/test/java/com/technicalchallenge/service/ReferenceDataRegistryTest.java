@@ -0,0 +1,117 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.Currency;
+import com.technicalchallenge.repository.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReferenceDataRegistryTest {
+
+    @Mock
+    private CurrencyRepository currencyRepository;
+    @Mock
+    private LegTypeRepository legTypeRepository;
+    @Mock
+    private IndexRepository indexRepository;
+    @Mock
+    private HolidayCalendarRepository holidayCalendarRepository;
+    @Mock
+    private ScheduleRepository scheduleRepository;
+    @Mock
+    private BusinessDayConventionRepository businessDayConventionRepository;
+    @Mock
+    private PayRecRepository payRecRepository;
+    @Mock
+    private TradeStatusRepository tradeStatusRepository;
+    @Mock
+    private TradeTypeRepository tradeTypeRepository;
+    @Mock
+    private TradeSubTypeRepository tradeSubTypeRepository;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private CounterpartyRepository counterpartyRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReferenceDataRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new ReferenceDataRegistry(currencyRepository, legTypeRepository, indexRepository,
+                holidayCalendarRepository, scheduleRepository, businessDayConventionRepository, payRecRepository,
+                tradeStatusRepository, tradeTypeRepository, tradeSubTypeRepository, bookRepository,
+                counterpartyRepository, meterRegistry);
+    }
+
+    @Test
+    void testLookupByNameIsCaseInsensitiveAndLoadsOnce() {
+        when(currencyRepository.findAll()).thenReturn(List.of(currency(1L, "USD"), currency(2L, "EUR")));
+
+        assertEquals(1L, registry.findByName(Currency.class, "usd").get().getId());
+        assertEquals(2L, registry.findByName(Currency.class, " EUR ").get().getId());
+        assertEquals("USD", registry.findById(Currency.class, 1L).get().getCurrency());
+
+        verify(currencyRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testHitAndMissCounters() {
+        when(currencyRepository.findAll()).thenReturn(List.of(currency(1L, "USD")));
+
+        registry.findByName(Currency.class, "USD");
+        Optional<Currency> missing = registry.findByName(Currency.class, "JPY");
+
+        assertTrue(missing.isEmpty());
+        assertEquals(1.0, meterRegistry.get("reference.data.lookups")
+                .tags("entity", "Currency", "result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("reference.data.lookups")
+                .tags("entity", "Currency", "result", "miss").counter().count());
+    }
+
+    @Test
+    void testChangeEventReloadsOnlyThatType() {
+        Book book = new Book();
+        book.setId(10L);
+        book.setBookName("FX-BOOK-1");
+        when(bookRepository.findAll()).thenReturn(List.of(book));
+        when(currencyRepository.findAll()).thenReturn(List.of(currency(1L, "USD")));
+
+        registry.findByName(Book.class, "fx-book-1");
+        registry.findByName(Currency.class, "USD");
+        long version = registry.getVersion();
+
+        registry.onReferenceDataChanged(new ReferenceDataChangedEvent(Book.class, 10L));
+        registry.findByName(Book.class, "fx-book-1");
+        registry.findByName(Currency.class, "USD");
+
+        verify(bookRepository, times(2)).findAll();
+        verify(currencyRepository, times(1)).findAll();
+        assertEquals(version + 1, registry.getVersion());
+    }
+
+    @Test
+    void testUnregisteredTypeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> registry.findById(String.class, 1L));
+    }
+
+    private Currency currency(Long id, String code) {
+        Currency currency = new Currency();
+        currency.setId(id);
+        currency.setCurrency(code);
+        return currency;
+    }
+}
@@ -0,0 +1,96 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.repository.HolidayCalendarDateRepository;
+import com.technicalchallenge.repository.HolidayDateRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ScheduleEngineTest {
+
+    // 2025-05-26 Memorial Day (Monday), 2025-12-25 Christmas (Thursday), 2026-01-01 New Year (Thursday)
+    private static final BusinessCalendar NY = BusinessCalendar.of("NY", List.of(
+            LocalDate.of(2025, 5, 26), LocalDate.of(2025, 12, 25), LocalDate.of(2026, 1, 1)));
+
+    @Mock
+    private HolidayCalendarDateRepository holidayCalendarDateRepository;
+
+    @InjectMocks
+    private HolidayCalendarStore holidayCalendarStore;
+
+    @Test
+    void testCalendarClosesWeekendsAndHolidaysInsideAndOutsideItsYears() {
+        assertTrue(NY.isBusinessDay(LocalDate.of(2025, 5, 27)));
+        assertFalse(NY.isBusinessDay(LocalDate.of(2025, 5, 26)));
+        assertFalse(NY.isBusinessDay(LocalDate.of(2025, 5, 24)));
+        assertFalse(NY.isBusinessDay(LocalDate.of(2030, 6, 1)));
+        assertTrue(NY.isBusinessDay(LocalDate.of(2030, 6, 3)));
+    }
+
+    @Test
+    void testConventionsRollAroundHolidayWeekends() {
+        // Saturday 24 May, Sunday 25 May and Memorial Day Monday 26 May are all closed
+        LocalDate saturday = LocalDate.of(2025, 5, 24);
+        assertEquals(LocalDate.of(2025, 5, 27), BusinessDayAdjustment.FOLLOWING.adjust(saturday, NY));
+        assertEquals(LocalDate.of(2025, 5, 23), BusinessDayAdjustment.PRECEDING.adjust(saturday, NY));
+        assertEquals(saturday, BusinessDayAdjustment.UNADJUSTED.adjust(saturday, NY));
+
+        // Following from Saturday 31 May 2025 would land in June, so modified following goes back
+        LocalDate monthEnd = LocalDate.of(2025, 5, 31);
+        assertEquals(LocalDate.of(2025, 6, 2), BusinessDayAdjustment.FOLLOWING.adjust(monthEnd, NY));
+        assertEquals(LocalDate.of(2025, 5, 30), BusinessDayAdjustment.MODIFIED_FOLLOWING.adjust(monthEnd, NY));
+
+        // Preceding from New Year's Day 2026 would land in December, so modified preceding goes forward
+        LocalDate newYear = LocalDate.of(2026, 1, 1);
+        assertEquals(LocalDate.of(2025, 12, 31), BusinessDayAdjustment.PRECEDING.adjust(newYear, NY));
+        assertEquals(LocalDate.of(2026, 1, 2), BusinessDayAdjustment.MODIFIED_PRECEDING.adjust(newYear, NY));
+
+        // Beyond the last compiled year only weekends are skipped
+        assertEquals(LocalDate.of(2031, 1, 2), BusinessDayAdjustment.FOLLOWING.adjust(LocalDate.of(2031, 1, 2), NY));
+        assertEquals(LocalDate.of(2026, 1, 5), BusinessDayAdjustment.FOLLOWING.adjust(LocalDate.of(2026, 1, 3), NY));
+    }
+
+    @Test
+    void testConventionNames() {
+        assertEquals(BusinessDayAdjustment.MODIFIED_FOLLOWING, BusinessDayAdjustment.fromName("Modified Following"));
+        assertEquals(BusinessDayAdjustment.PRECEDING, BusinessDayAdjustment.fromName("preceding"));
+        assertEquals(BusinessDayAdjustment.UNADJUSTED, BusinessDayAdjustment.fromName(null));
+        assertThrows(IllegalArgumentException.class, () -> BusinessDayAdjustment.fromName("End of Month"));
+    }
+
+    @Test
+    void testScheduleRollsFromStartAndAdjustsEachDate() {
+        List<LocalDate> dates = ScheduleEngine.paymentDates(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 6, 30), 1,
+                NY, BusinessDayAdjustment.MODIFIED_FOLLOWING);
+
+        // Feb 28, then back to month end (Mar 31) rather than drifting to the 28th; May 31 is a Saturday
+        assertEquals(List.of(LocalDate.of(2025, 2, 28), LocalDate.of(2025, 3, 31), LocalDate.of(2025, 4, 30),
+                LocalDate.of(2025, 5, 30), LocalDate.of(2025, 6, 30)), dates);
+    }
+
+    @Test
+    void testStoreLoadsCalendarsOnceAndFallsBackToWeekends() {
+        when(holidayCalendarDateRepository.findAllHolidayDates()).thenReturn(List.of(
+                new HolidayDateRow("NY", LocalDate.of(2025, 12, 25)),
+                new HolidayDateRow("LON", LocalDate.of(2025, 12, 26))));
+
+        BusinessCalendar ny = holidayCalendarStore.calendar("ny");
+        BusinessCalendar lon = holidayCalendarStore.calendar("LON");
+
+        assertFalse(ny.isBusinessDay(LocalDate.of(2025, 12, 25)));
+        assertTrue(ny.isBusinessDay(LocalDate.of(2025, 12, 26)));
+        assertFalse(lon.isBusinessDay(LocalDate.of(2025, 12, 26)));
+        assertSame(BusinessCalendar.WEEKENDS_ONLY, holidayCalendarStore.calendar("TOKYO"));
+        assertSame(BusinessCalendar.WEEKENDS_ONLY, holidayCalendarStore.calendar(null));
+        verify(holidayCalendarDateRepository, times(1)).findAllHolidayDates();
+    }
+}
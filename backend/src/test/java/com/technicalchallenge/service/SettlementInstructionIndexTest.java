@@ -0,0 +1,176 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.SettlementTrigramRepository;
+import com.technicalchallenge.repository.TradeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional, so the rebuild commits and the index becomes ready as at startup
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SettlementInstructionIndex.class)
+public class SettlementInstructionIndexTest {
+
+    @Autowired
+    private SettlementInstructionIndex settlementInstructionIndex;
+    @Autowired
+    private SettlementTrigramRepository settlementTrigramRepository;
+    @Autowired
+    private TradeRepository tradeRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        settlementTrigramRepository.deleteAllInBatch();
+        tradeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testSearch_ReadsRebuiltIndexAndRanksByOccurrencesThenPosition() {
+        Trade once = saveTrade(1L, true, "Settle through Chase London branch");
+        Trade twice = saveTrade(2L, true, "Pay via CHASE NY, chase reference 42");
+        Trade early = saveTrade(3L, true, "Chase Manhattan direct settlement");
+        saveTrade(4L, true, "Euroclear account 12345");
+        saveTrade(5L, false, "Old version paid via Chase");
+
+        settlementInstructionIndex.rebuild();
+
+        assertTrue(settlementInstructionIndex.isReady());
+        assertEquals(4, settlementInstructionIndex.stats().indexedTrades());
+        assertEquals(ids(twice, early, once), ids(settlementInstructionIndex.search("chase")));
+        assertEquals(List.of(), settlementInstructionIndex.search("citibank"));
+    }
+
+    @Test
+    void testSearch_DropsCandidatesWhoseTrigramsMatchOutOfOrder() {
+        Trade match = saveTrade(1L, true, "Account abcd at custodian");
+        saveTrade(2L, true, "Account abcxbcd at custodian");
+        settlementInstructionIndex.rebuild();
+
+        assertEquals(2, settlementTrigramRepository.findTradeIdsWithAllTrigrams(Set.of("abc", "bcd"), 2).size());
+        assertEquals(ids(match), ids(settlementInstructionIndex.search("ABCD")));
+    }
+
+    @Test
+    void testSearch_ShortTextScansTrades() {
+        Trade match = saveTrade(1L, true, "Deliver to NY desk");
+        saveTrade(2L, true, "Deliver to London desk");
+        settlementInstructionIndex.rebuild();
+
+        assertEquals(ids(match), ids(settlementInstructionIndex.search("ny")));
+    }
+
+    @Test
+    void testIndex_FollowsAddUpdateAndRemove() {
+        settlementInstructionIndex.rebuild();
+        Trade trade = saveTrade(1L, true, "Pay via Chase New York");
+        settlementInstructionIndex.add(trade);
+        assertEquals(ids(trade), ids(settlementInstructionIndex.search("chase new")));
+
+        String previous = trade.getSettlementInstructions();
+        trade.setSettlementInstructions("Pay via Barclays London");
+        settlementInstructionIndex.update(trade, previous);
+        assertEquals(List.of(), settlementInstructionIndex.search("chase"));
+        assertEquals(List.of(trade.getId()), settlementTrigramRepository.findTradeIdsWithAllTrigrams(
+                SettlementInstructionIndex.trigrams("barclays"), SettlementInstructionIndex.trigrams("barclays").size()));
+
+        settlementInstructionIndex.remove(trade);
+        assertEquals(0, settlementTrigramRepository.count());
+    }
+
+    @Test
+    void testRebuildOnStartup_KeepsPopulatedIndex() {
+        Trade indexed = saveTrade(1L, true, "Pay via Chase New York");
+        settlementInstructionIndex.rebuild();
+        // Written around the index, so only a rebuild would pick it up
+        saveTrade(2L, true, "Pay via Chase London");
+
+        settlementInstructionIndex.rebuildOnStartup();
+
+        assertTrue(settlementInstructionIndex.isReady());
+        assertEquals(ids(indexed), ids(settlementInstructionIndex.search("chase")));
+    }
+
+    @Test
+    void testRebuild_WaitsForPostingWritesStillInFlight() throws Exception {
+        Trade existing = saveTrade(1L, true, "Pay via Chase New York");
+        settlementInstructionIndex.rebuild();
+
+        CountDownLatch added = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Trade> booking = executor.submit(() -> new TransactionTemplate(transactionManager).execute(status -> {
+                Trade booked = saveTrade(2L, true, "Pay via Chase London");
+                settlementInstructionIndex.add(booked);
+                added.countDown();
+                try {
+                    commit.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return booked;
+            }));
+            assertTrue(added.await(5, TimeUnit.SECONDS));
+
+            // Would otherwise re-insert the booking's postings once it commits mid-rebuild
+            Future<?> rebuild = executor.submit(settlementInstructionIndex::rebuild);
+            assertThrows(TimeoutException.class, () -> rebuild.get(200, TimeUnit.MILLISECONDS));
+            assertFalse(settlementInstructionIndex.isReady());
+
+            commit.countDown();
+            Trade booked = booking.get(5, TimeUnit.SECONDS);
+            rebuild.get(5, TimeUnit.SECONDS);
+
+            assertTrue(settlementInstructionIndex.isReady());
+            assertEquals(ids(booked, existing), ids(settlementInstructionIndex.search("chase")));
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testTrigrams_AreDistinctAndLowerCased() {
+        assertEquals(List.of("aba", "bab"), List.copyOf(SettlementInstructionIndex.trigrams("ABABA")));
+        assertEquals(Set.of(), SettlementInstructionIndex.trigrams("ab"));
+        assertEquals(Set.of(), SettlementInstructionIndex.trigrams(null));
+    }
+
+    private Trade saveTrade(Long tradeId, boolean active, String settlementInstructions) {
+        Trade trade = new Trade();
+        trade.setTradeId(tradeId);
+        trade.setVersion(1);
+        trade.setActive(active);
+        trade.setSettlementInstructions(settlementInstructions);
+        return tradeRepository.save(trade);
+    }
+
+    private static List<Long> ids(Trade... trades) {
+        return ids(List.of(trades));
+    }
+
+    private static List<Long> ids(List<Trade> trades) {
+        return trades.stream().map(Trade::getId).toList();
+    }
+}
@@ -0,0 +1,148 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.*;
+import com.technicalchallenge.repository.TradeAggregateRepository;
+import com.technicalchallenge.repository.TradeAggregateRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Bookings commit from their own threads, in the PostgreSQL mode the application runs in
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:aggregates;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.sql.init.mode=never" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(TradeAggregateService.class)
+public class TradeAggregateBookingTest {
+
+    private static final LocalDate TRADE_DATE = LocalDate.of(2025, 3, 1);
+
+    @Autowired
+    private TradeAggregateService tradeAggregateService;
+    @Autowired
+    private TradeAggregateRepository tradeAggregateRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Trade trade;
+    private List<TradeLeg> legs;
+
+    @BeforeEach
+    void setUp() {
+        trade = new Trade();
+        trade.setActive(true);
+        ApplicationUser trader = new ApplicationUser();
+        trader.setId(7L);
+        trade.setTraderUser(trader);
+        Book book = new Book();
+        book.setId(1L);
+        trade.setBook(book);
+
+        Currency usd = new Currency();
+        usd.setId(5L);
+        TradeLeg leg = new TradeLeg();
+        leg.setCurrency(usd);
+        leg.setNotional(new BigDecimal("1000000"));
+        legs = List.of(leg);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tradeAggregateRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testConcurrentBookingsIntoNewGroupBothCommitAndAddUp() throws Exception {
+        trade.setTradeDate(TRADE_DATE);
+
+        // The second booking's insert waits on the unique key for the first to commit
+        bookTwiceConcurrently(true);
+
+        assertEquals(2, tradeAggregateRepository.count());
+        assertSummary(TRADE_DATE, TRADE_DATE.plusDays(1));
+    }
+
+    @Test
+    void testConcurrentBookingsIntoNewUndatedGroupBothCommitAndAddUp() throws Exception {
+        trade.setTradeDate(null);
+
+        // The unique key does not cover undated groups, so each booking may create its own row
+        bookTwiceConcurrently(false);
+
+        assertSummary(null, null);
+    }
+
+    /** The second booking writes its delta while the first, which created the group, is still open */
+    private void bookTwiceConcurrently(boolean secondWaits) throws Exception {
+        TransactionTemplate booking = new TransactionTemplate(transactionManager);
+        CountDownLatch firstWritten = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> booking.executeWithoutResult(status -> {
+                tradeAggregateService.add(tradeAggregateService.contributionOf(trade, legs));
+                firstWritten.countDown();
+                await(commitFirst);
+            }));
+            assertTrue(firstWritten.await(5, TimeUnit.SECONDS));
+
+            Future<?> second = executor.submit(() -> booking.executeWithoutResult(status ->
+                    tradeAggregateService.add(tradeAggregateService.contributionOf(trade, legs))));
+            if (secondWaits) {
+                assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+            } else {
+                second.get(5, TimeUnit.SECONDS);
+            }
+
+            commitFirst.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            commitFirst.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertSummary(LocalDate fromDate, LocalDate toDate) {
+        List<TradeAggregateRow> rows = tradeAggregateRepository.summarizeForTrader(7L, fromDate, toDate).stream()
+                .sorted(Comparator.comparing(TradeAggregateRow::currencyId))
+                .toList();
+        assertEquals(2, rows.size());
+        assertEquals(0L, rows.get(0).currencyId());
+        assertEquals(2L, rows.get(0).tradeCount());
+        assertEquals(5L, rows.get(1).currencyId());
+        assertEquals(2L, rows.get(1).legCount());
+        assertEquals(0, new BigDecimal("2000000").compareTo(rows.get(1).notional()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
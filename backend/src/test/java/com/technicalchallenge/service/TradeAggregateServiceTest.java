@@ -0,0 +1,191 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.*;
+import com.technicalchallenge.repository.TradeAggregateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TradeAggregateServiceTest {
+
+    private static final LocalDate TRADE_DATE = LocalDate.of(2025, 3, 1);
+
+    @Mock
+    private TradeAggregateRepository tradeAggregateRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TradeAggregateService service;
+    private Trade trade;
+    private List<TradeLeg> legs;
+
+    @BeforeEach
+    void setUp() {
+        service = new TradeAggregateService(tradeAggregateRepository, transactionManager, true, false);
+
+        trade = new Trade();
+        trade.setActive(true);
+        trade.setTradeDate(TRADE_DATE);
+        trade.setTraderUser(withId(new ApplicationUser(), 7L));
+        Book book = new Book();
+        book.setId(1L);
+        trade.setBook(book);
+        Counterparty counterparty = new Counterparty();
+        counterparty.setId(2L);
+        trade.setCounterparty(counterparty);
+        trade.setTradeStatus(status(3L));
+
+        Currency usd = new Currency();
+        usd.setId(5L);
+        legs = List.of(leg(usd, "1000000"), leg(usd, "500000"));
+    }
+
+    @Test
+    void testBookingAddsTradeCountAndMergedLegNotional() {
+        service.add(service.contributionOf(trade, legs));
+
+        verify(tradeAggregateRepository).insertGroupIfAbsent(7L, 1L, 2L, 3L, 0L, TRADE_DATE, 0L);
+        verify(tradeAggregateRepository).insertGroupIfAbsent(7L, 1L, 2L, 3L, 0L, TRADE_DATE, 5L);
+        verify(tradeAggregateRepository).applyDelta(7L, 1L, 2L, 3L, 0L, TRADE_DATE, 0L, 1L, 0L, BigDecimal.ZERO);
+        verify(tradeAggregateRepository).applyDelta(7L, 1L, 2L, 3L, 0L, TRADE_DATE, 5L, 0L, 2L, new BigDecimal("1500000"));
+        verifyNoMoreInteractions(tradeAggregateRepository);
+    }
+
+    @Test
+    void testStatusChangeMovesCountsBetweenGroups() {
+        TradeAggregateService.Contribution before = service.contributionOf(trade, legs);
+        trade.setTradeStatus(status(9L));
+
+        service.replace(before, service.contributionOf(trade, legs));
+
+        verify(tradeAggregateRepository, times(4)).insertGroupIfAbsent(eq(7L), eq(1L), eq(2L), anyLong(), eq(0L),
+                eq(TRADE_DATE), anyLong());
+        verify(tradeAggregateRepository).applyDelta(7L, 1L, 2L, 3L, 0L, TRADE_DATE, 0L, -1L, 0L, BigDecimal.ZERO);
+        verify(tradeAggregateRepository).applyDelta(7L, 1L, 2L, 9L, 0L, TRADE_DATE, 0L, 1L, 0L, BigDecimal.ZERO);
+        verify(tradeAggregateRepository).applyDelta(eq(7L), eq(1L), eq(2L), eq(3L), eq(0L), eq(TRADE_DATE), eq(5L),
+                eq(0L), eq(-2L), argThat(n -> n.compareTo(new BigDecimal("-1500000")) == 0));
+        verify(tradeAggregateRepository).applyDelta(7L, 1L, 2L, 9L, 0L, TRADE_DATE, 5L, 0L, 2L, new BigDecimal("1500000"));
+        verifyNoMoreInteractions(tradeAggregateRepository);
+    }
+
+    @Test
+    void testUnchangedGroupsAreNotWritten() {
+        TradeAggregateService.Contribution before = service.contributionOf(trade, legs);
+        trade.setSettlementInstructions("Settle via CLS on value date");
+
+        service.replace(before, service.contributionOf(trade, legs));
+
+        verifyNoInteractions(tradeAggregateRepository);
+    }
+
+    @Test
+    void testInactiveTradeContributesNothing() {
+        trade.setActive(false);
+
+        service.add(service.contributionOf(trade, legs));
+
+        verifyNoInteractions(tradeAggregateRepository);
+    }
+
+    @Test
+    void testRebuildMarksReadyAndDisabledServiceNeverWrites() {
+        assertFalse(service.isReady());
+        service.rebuild();
+        assertTrue(service.isReady());
+        verify(tradeAggregateRepository).deleteAllInBatch();
+        verify(tradeAggregateRepository).rebuildFromTrades();
+
+        TradeAggregateService disabled = new TradeAggregateService(tradeAggregateRepository, transactionManager,
+                false, false);
+        disabled.rebuildOnStartup();
+        disabled.rebuild();
+        disabled.add(disabled.contributionOf(trade, legs));
+        assertFalse(disabled.isReady());
+        verifyNoMoreInteractions(tradeAggregateRepository);
+    }
+
+    @Test
+    void testStartupKeepsPopulatedTableAndRebuildsEmptyOne() {
+        when(tradeAggregateRepository.count()).thenReturn(4L);
+        service.rebuildOnStartup();
+        assertTrue(service.isReady());
+        verify(tradeAggregateRepository, never()).deleteAllInBatch();
+
+        TradeAggregateService forced = new TradeAggregateService(tradeAggregateRepository, transactionManager,
+                true, true);
+        forced.rebuildOnStartup();
+        assertTrue(forced.isReady());
+        verify(tradeAggregateRepository).deleteAllInBatch();
+    }
+
+    @Test
+    void testFailedStartupRebuildLeavesDashboardsScanning() {
+        when(tradeAggregateRepository.count()).thenReturn(0L);
+        when(tradeAggregateRepository.rebuildFromTrades()).thenThrow(new IllegalStateException("duplicate key"));
+
+        assertDoesNotThrow(() -> service.rebuildOnStartup());
+
+        assertFalse(service.isReady());
+    }
+
+    @Test
+    void testRebuildWaitsForDeltasStillInFlight() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // A booking on this thread has written its delta but not yet committed
+            service.add(service.contributionOf(trade, legs));
+
+            Future<?> rebuild = executor.submit(service::rebuild);
+            assertThrows(TimeoutException.class, () -> rebuild.get(200, TimeUnit.MILLISECONDS));
+            verify(tradeAggregateRepository, never()).deleteAllInBatch();
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+            rebuild.get(5, TimeUnit.SECONDS);
+            verify(tradeAggregateRepository).deleteAllInBatch();
+            assertTrue(service.isReady());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            executor.shutdownNow();
+        }
+    }
+
+    private static ApplicationUser withId(ApplicationUser user, Long id) {
+        user.setId(id);
+        return user;
+    }
+
+    private static TradeStatus status(Long id) {
+        TradeStatus status = new TradeStatus();
+        status.setId(id);
+        return status;
+    }
+
+    private static TradeLeg leg(Currency currency, String notional) {
+        TradeLeg leg = new TradeLeg();
+        leg.setCurrency(currency);
+        leg.setNotional(new BigDecimal(notional));
+        return leg;
+    }
+}
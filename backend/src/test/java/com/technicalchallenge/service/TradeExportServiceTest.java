@@ -0,0 +1,111 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.*;
+import com.technicalchallenge.repository.TradeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TradeExportServiceTest {
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private TradeExportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TradeExportService(tradeRepository, entityManager, 100, 2);
+    }
+
+    @Test
+    void testCsvHasHeaderAndQuotesSpecialCharacters() throws Exception {
+        Trade trade = trade(100001L);
+        trade.setSettlementInstructions("Pay \"ABC\", via CLS");
+        when(tradeRepository.streamAll(any(), eq(100))).thenReturn(Stream.of(trade));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = service.export(null, TradeExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(1, count);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("id,tradeId,version,tradeDate,"));
+        assertTrue(lines[1].startsWith("1,100001,1,2025-03-01,"));
+        assertTrue(lines[1].contains(",FX-BOOK-1,BigBank,Simon King,,"));
+        assertTrue(lines[1].contains(",\"Pay \"\"ABC\"\", via CLS\",true,"));
+    }
+
+    @Test
+    void testNdjsonWritesOneObjectPerLine() throws Exception {
+        when(tradeRepository.streamAll(any(), eq(100))).thenReturn(Stream.of(trade(100001L), trade(100002L)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(null, TradeExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"tradeId\":100001,\"version\":1,\"tradeDate\":\"2025-03-01\""));
+        assertTrue(lines[1].contains("\"tradeId\":100002"));
+        assertTrue(lines[1].contains("\"tradeInputterUserName\":null"));
+        assertTrue(lines[1].endsWith("\"active\":true,\"lastTouchTimestamp\":null}"));
+    }
+
+    @Test
+    void testPersistenceContextClearedEveryIntervalAndStreamClosed() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Trade> trades = IntStream.rangeClosed(1, 5).mapToObj(i -> trade((long) i))
+                .onClose(() -> closed.set(true));
+        when(tradeRepository.streamAll(any(), eq(100))).thenReturn(trades);
+
+        long count = service.export(null, TradeExportService.Format.CSV, new ByteArrayOutputStream());
+
+        assertEquals(5, count);
+        verify(entityManager, times(2)).clear();
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testFormatParameter() {
+        assertEquals(TradeExportService.Format.CSV, TradeExportService.Format.fromParam(null));
+        assertEquals(TradeExportService.Format.NDJSON, TradeExportService.Format.fromParam(" NDJson "));
+        assertThrows(IllegalArgumentException.class, () -> TradeExportService.Format.fromParam("xlsx"));
+    }
+
+    private static Trade trade(Long tradeId) {
+        Trade trade = new Trade();
+        trade.setId(tradeId - 100000);
+        trade.setTradeId(tradeId);
+        trade.setVersion(1);
+        trade.setTradeDate(LocalDate.of(2025, 3, 1));
+        Book book = new Book();
+        book.setBookName("FX-BOOK-1");
+        trade.setBook(book);
+        Counterparty counterparty = new Counterparty();
+        counterparty.setName("BigBank");
+        trade.setCounterparty(counterparty);
+        ApplicationUser trader = new ApplicationUser();
+        trader.setFirstName("Simon");
+        trader.setLastName("King");
+        trade.setTraderUser(trader);
+        return trade;
+    }
+}
@@ -0,0 +1,148 @@
+package com.technicalchallenge.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TradeIdAllocatorTest {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private String url;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:tradeid" + DATABASES.incrementAndGet() + ";DB_CLOSE_DELAY=-1";
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        dataSource.setUser("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table trade_id_allocation (next_value bigint, name varchar(255) not null, primary key (name))");
+        jdbcTemplate.execute("create table trade (id bigint auto_increment primary key, trade_id bigint)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("shutdown");
+    }
+
+    @Test
+    void testFirstBlockStartsAboveExistingTradeIds() {
+        jdbcTemplate.update("insert into trade_id_allocation (name, next_value) values ('trade', 10000)");
+        jdbcTemplate.update("insert into trade (trade_id) values (100002)");
+        TradeIdAllocator allocator = new TradeIdAllocator(jdbcTemplate.getDataSource(), 3);
+
+        assertEquals(100003L, allocator.nextId());
+        assertEquals(100004L, allocator.nextId());
+        assertEquals(100005L, allocator.nextId());
+        // Only the very first block is aligned; later ones follow on from the table
+        jdbcTemplate.update("insert into trade (trade_id) values (200000)");
+        assertEquals(100006L, allocator.nextId());
+        assertEquals(100009L, nextValue());
+    }
+
+    @Test
+    void testMissingAllocationRowIsCreated() {
+        TradeIdAllocator allocator = new TradeIdAllocator(jdbcTemplate.getDataSource(), 10);
+
+        assertEquals(10000L, allocator.nextId());
+        assertEquals(10010L, nextValue());
+    }
+
+    @Test
+    void testConcurrentCallersNeverReceiveTheSameId() throws Exception {
+        TradeIdAllocator allocator = new TradeIdAllocator(jdbcTemplate.getDataSource(), 50);
+
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        ids.add(allocator.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(4000, ids.size());
+        assertEquals(14000L, nextValue());
+    }
+
+    @Test
+    void testRefillsWhileBookingsHoldEveryPooledConnection() throws Exception {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(url);
+        properties.setUsername("sa");
+        TradeIdAllocator allocator = new TradeIdAllocator(properties, 2);
+
+        // The application pool: every connection is held by a booking transaction asking for ids
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(2);
+        pool.setConnectionTimeout(10_000);
+        TransactionTemplate booking = new TransactionTemplate(new DataSourceTransactionManager(pool));
+        JdbcTemplate bookingJdbc = new JdbcTemplate(pool);
+
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> booking.executeWithoutResult(status -> {
+                    for (int i = 0; i < 25; i++) {
+                        long id = allocator.nextId();
+                        bookingJdbc.update("insert into trade (trade_id) values (?)", id);
+                        ids.add(id);
+                    }
+                })));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+            allocator.destroy();
+            pool.close();
+        }
+
+        assertEquals(100, ids.size());
+        assertEquals(100, jdbcTemplate.queryForObject("select count(distinct trade_id) from trade", Integer.class));
+    }
+
+    @Test
+    void testInvalidBlockSizeRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TradeIdAllocator(jdbcTemplate.getDataSource(), 0));
+    }
+
+    private long nextValue() {
+        return jdbcTemplate.queryForObject("select next_value from trade_id_allocation where name = 'trade'", Long.class);
+    }
+}
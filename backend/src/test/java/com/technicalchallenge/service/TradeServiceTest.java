@@ -1,5 +1,8 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.config.TradeMetrics;
+import com.technicalchallenge.dto.BatchBookingResultDTO;
+import com.technicalchallenge.dto.TradeBookingResultDTO;
 import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.dto.TradeLegDTO;
 import com.technicalchallenge.model.Trade;
@@ -7,31 +10,43 @@ import com.technicalchallenge.model.TradeLeg;
 import com.technicalchallenge.model.TradeStatus;
 import com.technicalchallenge.model.Book;
 import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.CashflowGenerationStatus;
 import com.technicalchallenge.model.Counterparty;
 import com.technicalchallenge.model.LegType;
 import com.technicalchallenge.model.Schedule;
 import com.technicalchallenge.repository.CashflowRepository;
+import com.technicalchallenge.repository.HolidayCalendarDateRepository;
 import com.technicalchallenge.repository.TradeLegRepository;
 import com.technicalchallenge.repository.TradeRepository;
-import com.technicalchallenge.repository.TradeStatusRepository;
-import com.technicalchallenge.repository.BookRepository;
-import com.technicalchallenge.repository.CounterpartyRepository;
-import com.technicalchallenge.repository.ScheduleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import jakarta.validation.Validator;
 import com.technicalchallenge.dto.ValidationResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import org.mockito.ArgumentCaptor;
 
@@ -48,22 +63,35 @@ public class TradeServiceTest {
     private CashflowRepository cashflowRepository;
 
     @Mock
-    private TradeStatusRepository tradeStatusRepository;
+    private AdditionalInfoService additionalInfoService;
 
     @Mock
-    private AdditionalInfoService additionalInfoService;
+    private TradeValidationService tradeValidationService;
 
     @Mock
-    private BookRepository bookRepository;
+    private ReferenceDataRegistry referenceDataRegistry;
 
     @Mock
-    private CounterpartyRepository counterpartyRepository;
+    private TradeIdAllocator tradeIdAllocator;
 
     @Mock
-    private ScheduleRepository scheduleRepository;
+    private TradeAggregateService tradeAggregateService;
 
     @Mock
-    private TradeValidationService tradeValidationService;
+    private SettlementInstructionIndex settlementInstructionIndex;
+
+    @Spy
+    private CashflowGenerationEngine cashflowGenerationEngine = new CashflowGenerationEngine(
+            new HolidayCalendarStore(mock(HolidayCalendarDateRepository.class)), "30/360");
+
+    @Mock
+    private CashflowWorkerPool cashflowWorkerPool;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Validator validator;
 
     @InjectMocks
     private TradeService tradeService;
@@ -100,9 +128,9 @@ public class TradeServiceTest {
     @Test
     void testCreateTrade_Success() {
         // Given
-        when(bookRepository.findByBookName("TestBook")).thenReturn(Optional.of(new Book()));
-        when(counterpartyRepository.findByName("TestCounterparty")).thenReturn(Optional.of(new Counterparty()));
-        when(tradeStatusRepository.findByTradeStatus("NEW")).thenReturn(Optional.of(new TradeStatus()));
+        when(referenceDataRegistry.findByName(Book.class, "TestBook")).thenReturn(Optional.of(new Book()));
+        when(referenceDataRegistry.findByName(Counterparty.class, "TestCounterparty")).thenReturn(Optional.of(new Counterparty()));
+        when(referenceDataRegistry.findByName(TradeStatus.class, "NEW")).thenReturn(Optional.of(new TradeStatus()));
 
         when(tradeRepository.save(any(Trade.class))).thenAnswer(inv -> inv.getArgument(0));
         when(tradeLegRepository.save(any(TradeLeg.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -117,6 +145,7 @@ public class TradeServiceTest {
         assertNotNull(result);
         assertEquals(100001L, result.getTradeId());
         verify(tradeRepository).save(any(Trade.class));
+        verify(settlementInstructionIndex).add(result);
     }
 
     @Test
@@ -188,7 +217,10 @@ public class TradeServiceTest {
 
         // Given
         when(tradeRepository.findByTradeIdAndActiveTrue(100001L)).thenReturn(Optional.of(trade));
-        when(tradeStatusRepository.findByTradeStatus("AMENDED"))
+        when(referenceDataRegistry.findByName(Book.class, "TestBook")).thenReturn(Optional.of(new Book()));
+        when(referenceDataRegistry.findByName(Counterparty.class, "TestCounterparty"))
+                .thenReturn(Optional.of(new Counterparty()));
+        when(referenceDataRegistry.findByName(TradeStatus.class, "AMENDED"))
                 .thenReturn(Optional.of(new com.technicalchallenge.model.TradeStatus()));
         when(tradeRepository.save(any(Trade.class))).thenAnswer(inv -> inv.getArgument(0));
         when(tradeLegRepository.save(any(TradeLeg.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -201,6 +233,21 @@ public class TradeServiceTest {
         // Then
         assertNotNull(result);
         verify(tradeRepository, times(2)).save(any(Trade.class)); // Save old and new
+        // The superseded version leaves the settlement index and the new one joins it
+        verify(settlementInstructionIndex).remove(trade);
+        verify(settlementInstructionIndex).add(result);
+    }
+
+    @Test
+    void testUpdateSettlementInstructions_MovesIndexPostings() {
+        trade.setSettlementInstructions("Pay via Chase New York");
+        when(tradeRepository.findByTradeIdAndActiveTrue(100001L)).thenReturn(Optional.of(trade));
+        when(tradeRepository.save(any(Trade.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        Trade result = tradeService.updateSettlementInstructions(100001L, "  Pay via Barclays London ");
+
+        assertEquals("Pay via Barclays London", result.getSettlementInstructions());
+        verify(settlementInstructionIndex).update(result, "Pay via Chase New York");
     }
 
     @Test
@@ -248,13 +295,13 @@ public class TradeServiceTest {
 
         dto.setTradeLegs(java.util.List.of(legMonthly, legDefaultQuarterly));
 
-        when(bookRepository.findByBookName("TestBook")).thenReturn(Optional.of(new Book()));
-        when(counterpartyRepository.findByName("TestCounterparty")).thenReturn(Optional.of(new Counterparty()));
-        when(tradeStatusRepository.findByTradeStatus("NEW")).thenReturn(Optional.of(new TradeStatus()));
+        when(referenceDataRegistry.findByName(Book.class, "TestBook")).thenReturn(Optional.of(new Book()));
+        when(referenceDataRegistry.findByName(Counterparty.class, "TestCounterparty")).thenReturn(Optional.of(new Counterparty()));
+        when(referenceDataRegistry.findByName(TradeStatus.class, "NEW")).thenReturn(Optional.of(new TradeStatus()));
 
         Schedule schedule = new Schedule();
         schedule.setSchedule("1M");
-        when(scheduleRepository.findBySchedule("1M")).thenReturn(Optional.of(schedule));
+        when(referenceDataRegistry.findByName(Schedule.class, "1M")).thenReturn(Optional.of(schedule));
 
         when(tradeRepository.save(any(Trade.class))).thenAnswer(inv -> inv.getArgument(0));
 
@@ -271,7 +318,7 @@ public class TradeServiceTest {
         when(tradeValidationService.validateTradeBusinessRules(any()))
                 .thenReturn(ValidationResult.ok());
 
-        tradeService.createTrade(dto);
+        tradeService.createTrade(dto, CashflowGenerationMode.INLINE);
 
         verify(cashflowRepository, times(1)).save(any(Cashflow.class));
     }
@@ -301,9 +348,9 @@ public class TradeServiceTest {
 
         dto.setTradeLegs(java.util.List.of(fixedQuarterly, dummy));
 
-        when(bookRepository.findByBookName("TestBook")).thenReturn(Optional.of(new Book()));
-        when(counterpartyRepository.findByName("TestCounterparty")).thenReturn(Optional.of(new Counterparty()));
-        when(tradeStatusRepository.findByTradeStatus("NEW")).thenReturn(Optional.of(new TradeStatus()));
+        when(referenceDataRegistry.findByName(Book.class, "TestBook")).thenReturn(Optional.of(new Book()));
+        when(referenceDataRegistry.findByName(Counterparty.class, "TestCounterparty")).thenReturn(Optional.of(new Counterparty()));
+        when(referenceDataRegistry.findByName(TradeStatus.class, "NEW")).thenReturn(Optional.of(new TradeStatus()));
         when(tradeRepository.save(any(Trade.class))).thenAnswer(inv -> inv.getArgument(0));
 
         when(tradeLegRepository.save(any(TradeLeg.class))).thenAnswer(inv -> {
@@ -326,8 +373,383 @@ public class TradeServiceTest {
         when(tradeValidationService.validateTradeBusinessRules(any()))
                 .thenReturn(ValidationResult.ok());
 
-        tradeService.createTrade(dto);
+        tradeService.createTrade(dto, CashflowGenerationMode.INLINE);
 
         verify(cashflowRepository, times(2)).save(any(Cashflow.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCashflowGeneration_BatchModeSavesAllCashflowsInOneCall() {
+        stubBooking();
+
+        Trade result = tradeService.createTrade(tradeDTO, CashflowGenerationMode.BATCH);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Cashflow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(cashflowRepository).saveAll(captor.capture());
+        assertEquals(8, captor.getValue().size());
+        verify(cashflowRepository, never()).save(any(Cashflow.class));
+        assertEquals(CashflowGenerationStatus.COMPLETE, result.getCashflowStatus());
+    }
+
+    @Test
+    void testCreateTrade_RecordsBookingPhasesAndRowsWritten() {
+        stubBooking();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            tradeService.createTrade(tradeDTO, CashflowGenerationMode.BATCH);
+
+            assertEquals(1, timed(registry, TradeMetrics.BOOKING, "operation", "create", "outcome", "success"));
+            for (String phase : List.of("validation", "id-allocation", "reference-lookup", "trade-insert",
+                    "leg-insert", "cashflow-generation")) {
+                assertEquals(1, timed(registry, TradeMetrics.BOOKING_PHASE, "operation", "create", "phase", phase), phase);
+            }
+            assertEquals(1.0, counted(registry, "trade"));
+            assertEquals(2.0, counted(registry, "trade_leg"));
+            assertEquals(8.0, counted(registry, "cashflow"));
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    // Meters other tests created are copied into a newly added registry with zero counts, so sum all matches
+    private static long timed(SimpleMeterRegistry registry, String name, String... tags) {
+        return registry.find(name).tags(tags).timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    private static double counted(SimpleMeterRegistry registry, String table) {
+        return registry.find(TradeMetrics.BOOKING_ROWS).tag("table", table).counters().stream()
+                .mapToDouble(Counter::count).sum();
+    }
+
+    @Test
+    void testCashflowGeneration_AsyncModeWritesAfterBookingReturns() {
+        stubBooking();
+        when(tradeRepository.save(any(Trade.class))).thenAnswer(inv -> {
+            Trade saved = inv.getArgument(0);
+            saved.setId(10L);
+            return saved;
+        });
+        when(tradeRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(pendingTrade(10L)));
+        when(cashflowWorkerPool.submit(any())).thenReturn(true);
+
+        Trade result = tradeService.createTrade(tradeDTO, CashflowGenerationMode.ASYNC);
+
+        // Booking only queues the work
+        assertEquals(CashflowGenerationStatus.PENDING, result.getCashflowStatus());
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(cashflowWorkerPool).submit(task.capture());
+        verify(cashflowRepository, never()).saveAll(any());
+
+        task.getValue().run();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Cashflow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(cashflowRepository).saveAll(captor.capture());
+        assertEquals(8, captor.getValue().size());
+        verify(tradeRepository).updateCashflowStatus(10L, CashflowGenerationStatus.COMPLETE);
+    }
+
+    @Test
+    void testCashflowGeneration_AsyncFailureMarksTradeFailed() {
+        stubBooking();
+        when(tradeRepository.save(any(Trade.class))).thenAnswer(inv -> {
+            Trade saved = inv.getArgument(0);
+            saved.setId(11L);
+            return saved;
+        });
+        when(tradeRepository.findByIdForUpdate(11L)).thenReturn(Optional.of(pendingTrade(11L)));
+        when(cashflowRepository.saveAll(any())).thenThrow(new RuntimeException("disk full"));
+        when(cashflowWorkerPool.submit(any())).thenReturn(true);
+
+        tradeService.createTrade(tradeDTO, CashflowGenerationMode.ASYNC);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(cashflowWorkerPool).submit(task.capture());
+        task.getValue().run();
+
+        verify(tradeRepository).updateCashflowStatus(11L, CashflowGenerationStatus.FAILED);
+        verify(tradeRepository, never()).updateCashflowStatus(11L, CashflowGenerationStatus.COMPLETE);
+    }
+
+    @Test
+    void testCashflowGeneration_SaturatedPoolLeavesTradePendingUntilAWorkerIsFree() throws Exception {
+        CashflowWorkerPool saturated = new CashflowWorkerPool(1, 1);
+        ReflectionTestUtils.setField(tradeService, "cashflowWorkerPool", saturated);
+        CountDownLatch release = new CountDownLatch(1);
+        // All stubbing up front, before a worker thread can touch the mocks
+        stubBooking();
+        when(tradeRepository.save(any(Trade.class))).thenAnswer(inv -> {
+            Trade saved = inv.getArgument(0);
+            saved.setId(12L);
+            return saved;
+        });
+        when(tradeRepository.findByIdForUpdate(12L)).thenReturn(Optional.of(pendingTrade(12L)));
+        when(tradeRepository.findIdsByCashflowStatus(CashflowGenerationStatus.PENDING))
+                .thenReturn(List.of(30L, 31L), List.of(12L));
+        when(tradeRepository.findByIdForUpdate(30L)).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        when(tradeRepository.findByIdForUpdate(31L)).thenReturn(Optional.empty());
+        try {
+            // The only worker is stuck on a resumed trade and another one waits in the queue
+            assertEquals(2, tradeService.resumePendingCashflowGeneration());
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                tradeService.createTrade(tradeDTO, CashflowGenerationMode.ASYNC);
+                // As the transaction manager does once the booking has committed
+                List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+                TransactionSynchronizationManager.clearSynchronization();
+                synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            } finally {
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+            }
+
+            // Turned away rather than written on the thread still holding the booking's connection
+            verify(tradeRepository, never()).findByIdForUpdate(12L);
+            verify(cashflowRepository, never()).saveAll(any());
+
+            release.countDown();
+            verify(tradeRepository, timeout(5000)).updateCashflowStatus(12L, CashflowGenerationStatus.COMPLETE);
+        } finally {
+            release.countDown();
+            saturated.shutdown();
+        }
+    }
+
+    @Test
+    void testAmendTrade_CopiesCashflowsOfUnchangedLegs() {
+        Schedule quarterly = new Schedule();
+        quarterly.setId(1001L);
+        quarterly.setSchedule("Quarterly");
+        tradeDTO.getTradeLegs().get(0).setCalculationPeriodSchedule("Quarterly");
+        tradeDTO.getTradeLegs().get(1).setCalculationPeriodSchedule("Quarterly");
+        when(referenceDataRegistry.findByName(Schedule.class, "Quarterly")).thenReturn(Optional.of(quarterly));
+
+        // Current version: same dates and legs, different settlement instructions
+        trade.setVersion(1);
+        trade.setTradeDate(tradeDTO.getTradeDate());
+        trade.setTradeStartDate(tradeDTO.getTradeStartDate());
+        trade.setTradeMaturityDate(tradeDTO.getTradeMaturityDate());
+        TradeLeg fixed = new TradeLeg();
+        fixed.setLegId(501L);
+        fixed.setNotional(BigDecimal.valueOf(1000000));
+        fixed.setRate(0.05);
+        fixed.setCalculationPeriodSchedule(quarterly);
+        TradeLeg floating = new TradeLeg();
+        floating.setLegId(502L);
+        floating.setNotional(BigDecimal.valueOf(1000000));
+        floating.setRate(1.0);
+        floating.setCalculationPeriodSchedule(quarterly);
+        trade.setTradeLegs(List.of(fixed, floating));
+        tradeDTO.setSettlementInstructions("Settle via CLS");
+
+        when(tradeRepository.findByTradeIdAndActiveTrue(100001L)).thenReturn(Optional.of(trade));
+        when(referenceDataRegistry.findByName(Book.class, "TestBook")).thenReturn(Optional.of(new Book()));
+        when(referenceDataRegistry.findByName(Counterparty.class, "TestCounterparty")).thenReturn(Optional.of(new Counterparty()));
+        when(referenceDataRegistry.findByName(TradeStatus.class, "AMENDED")).thenReturn(Optional.of(new TradeStatus()));
+        when(tradeRepository.save(any(Trade.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(tradeLegRepository.save(any(TradeLeg.class))).thenAnswer(inv -> {
+            TradeLeg leg = inv.getArgument(0);
+            leg.setLegId(600L + leg.getRate().longValue());
+            return leg;
+        });
+        when(cashflowRepository.copyCashflows(501L, 600L)).thenReturn(20);
+        when(tradeValidationService.validateTradeBusinessRules(any())).thenReturn(ValidationResult.ok());
+
+        TradeService.AmendmentResult result = tradeService.amendTradeWithSummary(100001L, tradeDTO,
+                CashflowGenerationMode.BATCH);
+
+        // Leg 1 keeps its cashflows, leg 2 changed rate (1.0 -> 0.0) and is regenerated
+        assertEquals(List.of("settlementInstructions"), result.summary().getChangedFields());
+        assertEquals(20, result.summary().getCashflowsCopied());
+        assertEquals("COPIED", result.summary().getLegs().get(0).getCashflows());
+        assertEquals("REGENERATED", result.summary().getLegs().get(1).getCashflows());
+        assertEquals(List.of("rate"), result.summary().getLegs().get(1).getChangedFields());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Cashflow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(cashflowRepository).saveAll(captor.capture());
+        assertEquals(4, captor.getValue().size());
+        assertTrue(captor.getValue().stream().allMatch(c -> c.getTradeLeg().getLegId() == 600L));
+        verify(cashflowRepository, never()).copyCashflows(eq(502L), any());
+    }
+
+    @Test
+    void testResumePendingCashflowGeneration_GeneratesLegsStillWithoutCashflows() {
+        Trade pending = pendingTrade(20L);
+        pending.setTradeStartDate(LocalDate.of(2025, 1, 17));
+        pending.setTradeMaturityDate(LocalDate.of(2026, 1, 17));
+        TradeLeg copied = new TradeLeg();
+        copied.setNotional(BigDecimal.valueOf(1000000));
+        copied.setRate(0.05);
+        copied.setCashflows(List.of(new Cashflow()));
+        TradeLeg missing = new TradeLeg();
+        missing.setNotional(BigDecimal.valueOf(1000000));
+        missing.setRate(0.05);
+        pending.setTradeLegs(List.of(copied, missing));
+        when(tradeRepository.findIdsByCashflowStatus(CashflowGenerationStatus.PENDING)).thenReturn(List.of(20L));
+        when(tradeRepository.findByIdForUpdate(20L)).thenReturn(Optional.of(pending));
+        when(cashflowWorkerPool.submit(any())).thenReturn(true);
+
+        assertEquals(1, tradeService.resumePendingCashflowGeneration());
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(cashflowWorkerPool).submit(task.capture());
+        // Still queued here, so a second sweep leaves it alone
+        assertEquals(0, tradeService.resumePendingCashflowGeneration());
+
+        task.getValue().run();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Cashflow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(cashflowRepository).saveAll(captor.capture());
+        assertEquals(4, captor.getValue().size());
+        assertTrue(captor.getValue().stream().allMatch(cashflow -> cashflow.getTradeLeg() == missing));
+        verify(tradeRepository).updateCashflowStatus(20L, CashflowGenerationStatus.COMPLETE);
+    }
+
+    @Test
+    void testAsyncCashflowGeneration_SkipsTradeAlreadyHandledElsewhere() {
+        Trade done = pendingTrade(21L);
+        done.setCashflowStatus(CashflowGenerationStatus.COMPLETE);
+        when(tradeRepository.findIdsByCashflowStatus(CashflowGenerationStatus.PENDING)).thenReturn(List.of(21L));
+        when(tradeRepository.findByIdForUpdate(21L)).thenReturn(Optional.of(done));
+        when(cashflowWorkerPool.submit(any())).thenReturn(true);
+
+        tradeService.resumePendingCashflowGeneration();
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(cashflowWorkerPool).submit(task.capture());
+        task.getValue().run();
+
+        verify(cashflowRepository, never()).saveAll(any());
+        verify(tradeRepository, never()).updateCashflowStatus(eq(21L), any());
+    }
+
+    private static Trade pendingTrade(Long id) {
+        Trade pending = new Trade();
+        pending.setId(id);
+        pending.setCashflowStatus(CashflowGenerationStatus.PENDING);
+        return pending;
+    }
+
+    private void stubBooking() {
+        when(referenceDataRegistry.findByName(Book.class, "TestBook")).thenReturn(Optional.of(new Book()));
+        when(referenceDataRegistry.findByName(Counterparty.class, "TestCounterparty")).thenReturn(Optional.of(new Counterparty()));
+        when(referenceDataRegistry.findByName(TradeStatus.class, "NEW")).thenReturn(Optional.of(new TradeStatus()));
+        lenient().when(tradeRepository.save(any(Trade.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(tradeLegRepository.save(any(TradeLeg.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(tradeValidationService.validateTradeBusinessRules(any())).thenReturn(ValidationResult.ok());
+    }
+
+    @Test
+    void testBookTrades_ReportsErrorsPerTradeAndSavesValidOnesTogether() {
+        TradeDTO invalidLegs = new TradeDTO();
+        invalidLegs.setTradeId(100002L);
+        invalidLegs.setTradeDate(LocalDate.of(2025, 1, 15));
+        invalidLegs.setBookName("TestBook");
+        invalidLegs.setCounterpartyName("TestCounterparty");
+        invalidLegs.setTradeLegs(List.of(new TradeLegDTO()));
+
+        TradeDTO rejected = new TradeDTO();
+        rejected.setTradeId(100003L);
+
+        when(referenceDataRegistry.findByName(Book.class, "TestBook")).thenReturn(Optional.of(new Book()));
+        when(referenceDataRegistry.findByName(Counterparty.class, "TestCounterparty")).thenReturn(Optional.of(new Counterparty()));
+        when(referenceDataRegistry.findByName(TradeStatus.class, "NEW")).thenReturn(Optional.of(new TradeStatus()));
+        when(tradeValidationService.validateTradeBusinessRules(any())).thenAnswer(inv -> {
+            ValidationResult vr = ValidationResult.ok();
+            if (inv.getArgument(0) == rejected) {
+                vr.addError("Trade date is required");
+            }
+            return vr;
+        });
+
+        BatchBookingResultDTO result = tradeService.bookTrades(List.of(tradeDTO, invalidLegs, rejected), 0);
+
+        assertEquals(3, result.getSubmitted());
+        assertEquals(1, result.getBooked());
+        assertEquals(2, result.getFailed());
+        assertEquals(TradeBookingResultDTO.BOOKED, result.getResults().get(0).getStatus());
+        assertTrue(result.getResults().get(1).getErrors().get(0).contains("2 legs"));
+        assertEquals(List.of("Trade date is required"), result.getResults().get(2).getErrors());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Trade>> captor = ArgumentCaptor.forClass(List.class);
+        verify(tradeRepository).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        Trade booked = captor.getValue().get(0);
+        assertEquals(2, booked.getTradeLegs().size());
+        assertEquals(4, booked.getTradeLegs().get(0).getCashflows().size());
+        verify(tradeLegRepository, never()).save(any(TradeLeg.class));
+        verify(cashflowRepository, never()).save(any(Cashflow.class));
+        verify(settlementInstructionIndex).add(captor.getValue());
+    }
+
+    @Test
+    void testBookTrades_ReportsNullEntryAndBooksTheOthers() {
+        TradeDTO second = new TradeDTO();
+        second.setTradeId(100002L);
+        second.setTradeDate(LocalDate.of(2025, 1, 15));
+        second.setBookName("TestBook");
+        second.setCounterpartyName("TestCounterparty");
+        second.setTradeLegs(tradeDTO.getTradeLegs());
+
+        when(referenceDataRegistry.findByName(Book.class, "TestBook")).thenReturn(Optional.of(new Book()));
+        when(referenceDataRegistry.findByName(Counterparty.class, "TestCounterparty")).thenReturn(Optional.of(new Counterparty()));
+        when(referenceDataRegistry.findByName(TradeStatus.class, "NEW")).thenReturn(Optional.of(new TradeStatus()));
+        when(tradeValidationService.validateTradeBusinessRules(any())).thenReturn(ValidationResult.ok());
+
+        BatchBookingResultDTO result = tradeService.bookTrades(Arrays.asList(tradeDTO, null, second), 0);
+
+        assertEquals(3, result.getSubmitted());
+        assertEquals(2, result.getBooked());
+        assertEquals(3, result.getResults().size());
+        TradeBookingResultDTO missing = result.getResults().get(1);
+        assertEquals(1, missing.getIndex());
+        assertNull(missing.getTradeId());
+        assertEquals(List.of("Trade is required"), missing.getErrors());
+        assertEquals(TradeBookingResultDTO.BOOKED, result.getResults().get(2).getStatus());
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    void testBookTrades_CommitsEachChunkSeparately() {
+        TradeDTO second = new TradeDTO();
+        second.setTradeDate(LocalDate.of(2025, 1, 15));
+        second.setBookName("TestBook");
+        second.setCounterpartyName("TestCounterparty");
+        second.setTradeLegs(tradeDTO.getTradeLegs());
+
+        when(referenceDataRegistry.findByName(Book.class, "TestBook")).thenReturn(Optional.of(new Book()));
+        when(referenceDataRegistry.findByName(Counterparty.class, "TestCounterparty")).thenReturn(Optional.of(new Counterparty()));
+        when(referenceDataRegistry.findByName(TradeStatus.class, "NEW")).thenReturn(Optional.of(new TradeStatus()));
+        when(tradeValidationService.validateTradeBusinessRules(any())).thenReturn(ValidationResult.ok());
+        when(tradeIdAllocator.nextId()).thenReturn(10005L);
+
+        BatchBookingResultDTO result = tradeService.bookTrades(List.of(tradeDTO, second), 1);
+
+        assertEquals(2, result.getBooked());
+        assertEquals(10005L, result.getResults().get(1).getTradeId());
+        verify(tradeRepository, times(2)).saveAll(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void testBookTrades_RolledBackChunkMarksItsTradesFailed() {
+        when(referenceDataRegistry.findByName(Book.class, "TestBook")).thenReturn(Optional.of(new Book()));
+        when(referenceDataRegistry.findByName(Counterparty.class, "TestCounterparty")).thenReturn(Optional.of(new Counterparty()));
+        when(referenceDataRegistry.findByName(TradeStatus.class, "NEW")).thenReturn(Optional.of(new TradeStatus()));
+        when(tradeValidationService.validateTradeBusinessRules(any())).thenReturn(ValidationResult.ok());
+        doThrow(new RuntimeException("unique constraint")).when(tradeRepository).flush();
+
+        BatchBookingResultDTO result = tradeService.bookTrades(List.of(tradeDTO), 0);
+
+        assertEquals(0, result.getBooked());
+        assertEquals(1, result.getFailed());
+        assertTrue(result.getResults().get(0).getErrors().get(0).contains("unique constraint"));
+        verify(transactionManager).rollback(any());
+    }
+}
@@ -5,10 +5,12 @@ import com.technicalchallenge.dto.TradeLegDTO;
 import com.technicalchallenge.dto.ValidationResult;
 import com.technicalchallenge.model.*;
 import com.technicalchallenge.repository.*;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -25,10 +27,18 @@ public class TradeValidationServiceTest {
     private BookRepository bookRepository;
     @Mock
     private CounterpartyRepository counterpartyRepository;
+    @Mock
+    private UserPrivilegeRepository userPrivilegeRepository;
 
     @InjectMocks
     private TradeValidationService validationService;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(validationService, "privilegeResolver",
+                new PrivilegeResolver(applicationUserRepository, userPrivilegeRepository, 300));
+    }
+
     private ApplicationUser activeUserWithRole(String role) {
         ApplicationUser user = new ApplicationUser();
         user.setActive(true);
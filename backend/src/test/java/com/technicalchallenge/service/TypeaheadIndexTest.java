@@ -0,0 +1,171 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.SuggestionDTO;
+import com.technicalchallenge.event.ReferenceDataChangedEvent;
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.repository.ApplicationUserRepository;
+import com.technicalchallenge.repository.BookRepository;
+import com.technicalchallenge.repository.CounterpartyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TypeaheadIndexTest {
+
+    @Mock
+    private CounterpartyRepository counterpartyRepository;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private ApplicationUserRepository applicationUserRepository;
+
+    private TypeaheadIndex typeaheadIndex;
+
+    @BeforeEach
+    void setUp() {
+        typeaheadIndex = new TypeaheadIndex(counterpartyRepository, bookRepository, applicationUserRepository);
+    }
+
+    @Test
+    void testSuggest_RanksExactThenPrefixThenWordThenInfix() {
+        when(counterpartyRepository.findAll()).thenReturn(List.of(
+                counterparty(1L, "Fund Partners", true),
+                counterparty(2L, "MegaFund", true),
+                counterparty(3L, "Fund", true),
+                counterparty(4L, "Refunds Ltd", true),
+                counterparty(5L, "BigBank", true),
+                counterparty(6L, "Fundamental Capital", false)));
+
+        assertEquals(List.of("Fund", "Fund Partners", "MegaFund", "Refunds Ltd"),
+                values(typeaheadIndex.suggest(TypeaheadIndex.Kind.COUNTERPARTY, " FUND ", 10)));
+        assertEquals(List.of("Fund", "Fund Partners"),
+                values(typeaheadIndex.suggest(TypeaheadIndex.Kind.COUNTERPARTY, "fund", 2)));
+        assertEquals(List.of("BigBank"), values(typeaheadIndex.suggest(TypeaheadIndex.Kind.COUNTERPARTY, "ba", 10)));
+        assertEquals(List.of(), typeaheadIndex.suggest(TypeaheadIndex.Kind.COUNTERPARTY, "  ", 10));
+        // Short queries only match from a word start
+        assertEquals(List.of(), typeaheadIndex.suggest(TypeaheadIndex.Kind.COUNTERPARTY, "un", 10));
+        verify(counterpartyRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testSuggest_MatchesTradersByNameOrLogin() {
+        when(applicationUserRepository.findAll()).thenReturn(List.of(
+                user(1L, "Simon", "King", "simon"),
+                user(2L, "Stuart", "McGill", "stuart"),
+                user(3L, "Ashley", "Lovegood", "ashley")));
+
+        List<SuggestionDTO> byLastName = typeaheadIndex.suggest(TypeaheadIndex.Kind.TRADER, "kin", 10);
+        assertEquals(1, byLastName.size());
+        assertEquals("simon", byLastName.get(0).getValue());
+        assertEquals("Simon King (simon)", byLastName.get(0).getLabel());
+        assertEquals(List.of("simon", "stuart"), values(typeaheadIndex.suggest(TypeaheadIndex.Kind.TRADER, "s", 10)));
+        assertEquals(List.of("simon"), values(typeaheadIndex.suggest(TypeaheadIndex.Kind.TRADER, "simon k", 10)));
+    }
+
+    @Test
+    void testOnReferenceDataChanged_RefreshesOnlyTheChangedRow() {
+        Book fx = book(1L, "FX-BOOK-1", true);
+        when(bookRepository.findAll()).thenReturn(List.of(fx, book(2L, "RATES-BOOK-1", true)));
+        assertEquals(List.of("FX-BOOK-1"), values(typeaheadIndex.suggest(TypeaheadIndex.Kind.BOOK, "fx", 10)));
+
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book(1L, "EMFX-BOOK-2", true)));
+        typeaheadIndex.onReferenceDataChanged(new ReferenceDataChangedEvent(Book.class, 1L));
+        assertEquals(List.of("EMFX-BOOK-2"), values(typeaheadIndex.suggest(TypeaheadIndex.Kind.BOOK, "emfx", 10)));
+        assertEquals(List.of(), typeaheadIndex.suggest(TypeaheadIndex.Kind.BOOK, "fx-book-1", 10));
+
+        when(bookRepository.findById(2L)).thenReturn(Optional.of(book(2L, "RATES-BOOK-1", false)));
+        typeaheadIndex.onReferenceDataChanged(new ReferenceDataChangedEvent(Book.class, 2L));
+        assertEquals(List.of("EMFX-BOOK-2"), values(typeaheadIndex.suggest(TypeaheadIndex.Kind.BOOK, "book", 10)));
+
+        when(bookRepository.findById(1L)).thenReturn(Optional.empty());
+        typeaheadIndex.onReferenceDataChanged(new ReferenceDataChangedEvent(Book.class, 1L));
+        assertEquals(List.of(), typeaheadIndex.suggest(TypeaheadIndex.Kind.BOOK, "book", 10));
+        verify(bookRepository, times(1)).findAll();
+        verifyNoInteractions(counterpartyRepository);
+    }
+
+    @Test
+    void testOnReferenceDataChanged_WithoutIdReloadsTheKind() {
+        when(counterpartyRepository.findAll()).thenReturn(List.of(counterparty(1L, "BigBank", true)))
+                .thenReturn(List.of(counterparty(1L, "BigBank", true), counterparty(2L, "BigFund", true)));
+        assertEquals(1, typeaheadIndex.suggest(TypeaheadIndex.Kind.COUNTERPARTY, "big", 10).size());
+
+        typeaheadIndex.onReferenceDataChanged(new ReferenceDataChangedEvent(Counterparty.class, null));
+
+        assertEquals(2, typeaheadIndex.suggest(TypeaheadIndex.Kind.COUNTERPARTY, "big", 10).size());
+    }
+
+    @Test
+    void testOnReferenceDataChanged_DuringLoadIsNotLost() {
+        when(counterpartyRepository.findAll())
+                .thenAnswer(inv -> {
+                    // Renamed and committed after the load read the rows
+                    typeaheadIndex.onReferenceDataChanged(new ReferenceDataChangedEvent(Counterparty.class, 2L));
+                    return List.of(counterparty(1L, "BigBank", true), counterparty(2L, "MegaFund", true));
+                })
+                .thenReturn(List.of(counterparty(1L, "BigBank", true), counterparty(2L, "GigaFund", true)));
+
+        assertEquals(List.of("MegaFund"), values(typeaheadIndex.suggest(TypeaheadIndex.Kind.COUNTERPARTY, "mega", 10)));
+
+        // The stale load was not kept
+        assertEquals(List.of(), typeaheadIndex.suggest(TypeaheadIndex.Kind.COUNTERPARTY, "mega", 10));
+        assertEquals(List.of("GigaFund"), values(typeaheadIndex.suggest(TypeaheadIndex.Kind.COUNTERPARTY, "giga", 10)));
+        verify(counterpartyRepository, times(2)).findAll();
+        verify(counterpartyRepository, never()).findById(any());
+    }
+
+    @Test
+    void testSuggest_RejectsLimitOutOfRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> typeaheadIndex.suggest(TypeaheadIndex.Kind.BOOK, "fx", 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> typeaheadIndex.suggest(TypeaheadIndex.Kind.BOOK, "fx", TypeaheadIndex.MAX_LIMIT + 1));
+    }
+
+    @Test
+    void testWordStarts_SplitOnSeparatorsAndCaseChanges() {
+        assertEquals(List.of("megafund plc", "fund plc", "plc"), TypeaheadIndex.wordStarts("MegaFund  PLC"));
+        assertEquals(List.of("fx-book-1", "book-1", "1"), TypeaheadIndex.wordStarts("FX-BOOK-1"));
+    }
+
+    private static List<String> values(List<SuggestionDTO> suggestions) {
+        return suggestions.stream().map(SuggestionDTO::getValue).toList();
+    }
+
+    private static Counterparty counterparty(Long id, String name, boolean active) {
+        Counterparty counterparty = new Counterparty();
+        counterparty.setId(id);
+        counterparty.setName(name);
+        counterparty.setActive(active);
+        return counterparty;
+    }
+
+    private static Book book(Long id, String bookName, boolean active) {
+        Book book = new Book();
+        book.setId(id);
+        book.setBookName(bookName);
+        book.setActive(active);
+        return book;
+    }
+
+    private static ApplicationUser user(Long id, String firstName, String lastName, String loginId) {
+        ApplicationUser user = new ApplicationUser();
+        user.setId(id);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setLoginId(loginId);
+        user.setActive(true);
+        return user;
+    }
+}